@@ -0,0 +1,73 @@
+package voronoi.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import voronoi.algorithm.Voronoi;
+import voronoi.algorithm.dcel.Edge;
+import voronoi.util.Rectangle2D;
+import voronoi.util.Util;
+
+/**
+ * Measures {@link Util#beachLineIntersectionX(Edge, Edge, double)} over the
+ * neighboring edges of a real beach line, taken halfway through a sweep of
+ * uniformly random sites, so that the mix of parabolas and straight edges is
+ * the one the sweep and the renderer see.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeachLineBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    private final Rectangle2D bounds = new Rectangle2D(0, 0, 1000, 1000);
+
+    private final Edge[] left = new Edge[PAIRS];
+    private final Edge[] right = new Edge[PAIRS];
+
+    private double sweepY;
+
+    @Setup
+    public void setup() {
+        final Voronoi voronoi = MidSweep.create(10000, bounds);
+        sweepY = voronoi.nextEvent().point.getY();
+
+        final List<Edge> beachLine = new ArrayList<>();
+        final Edge topBorder = voronoi.getTopBorder();
+        for (Edge g = topBorder.getNext().getNext(); g.getNext() != topBorder; g = g.getNext())
+            beachLine.add(g);
+
+        for (int i = 0; i < PAIRS; i++) {
+            final Edge edge = beachLine.get(i % (beachLine.size() - 1));
+            left[i] = edge;
+            right[i] = edge.getNext();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double intersect() {
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++)
+            sum += Util.beachLineIntersectionX(left[i], right[i], sweepY);
+        return sum;
+    }
+
+}
@@ -0,0 +1,30 @@
+package voronoi.bench;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line, but always with the GC
+ * profiler enabled, so that allocation rates ({@code gc.alloc.rate.norm}) are
+ * reported next to every score. Other profilers can still be added with
+ * {@code -prof}.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(final String[] args) throws Exception {
+        final CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp() || options.shouldList() || options.shouldListProfilers()
+                || options.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build()).run();
+    }
+
+}
@@ -0,0 +1,112 @@
+package voronoi.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.algorithm.dcel.Edge;
+import voronoi.util.Point2D;
+
+/**
+ * Measures the basic DCEL operations on a single square face, for both the
+ * object DCEL ({@link Edge}) and {@link ArrayDCEL}. Each operation is paired
+ * with the one that undoes it (subdividing an edge and collapsing it again,
+ * splitting the face and dissolving the new edge), so that the DCEL stays the
+ * same size however many times the benchmark runs.
+ *
+ * Since {@code ArrayDCEL} does not reuse faces, its split and dissolve pair is
+ * run in batches on a DCEL that is cleared before each batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DCELBenchmark {
+
+    private static final int BATCH = 1024;
+
+    private final Point2D point = new Point2D(0.5, 0);
+
+    /**
+     * The edges of the square face of the object DCEL, in order
+     */
+    private final Edge[] square = new Edge[4];
+
+    private ArrayDCEL dcel;
+
+    /**
+     * The edge of the square face of {@code dcel} that is subdivided and collapsed
+     */
+    private int arrayEdge;
+
+    @Setup
+    public void setup() {
+        square[0] = Edge.newDCEL();
+        for (int i = 1; i < 4; i++)
+            square[i] = square[i - 1].subdivide(new Point2D(i % 2, i / 2));
+
+        dcel = new ArrayDCEL();
+        arrayEdge = squareArrayDCEL();
+    }
+
+    /**
+     * Clears {@code dcel} and builds a square face in it.
+     *
+     * @return the first edge of the square
+     */
+    private int squareArrayDCEL() {
+        dcel.clear();
+        int edge = 0;
+        for (int i = 1; i < 4; i++)
+            edge = dcel.subdivide(edge, i % 2, i / 2);
+        return 0;
+    }
+
+    @Benchmark
+    public Edge subdivideCollapse() {
+        final Edge added = square[0].subdivide(point);
+        square[0].collapse();
+        square[0] = added;
+        return added;
+    }
+
+    @Benchmark
+    public Edge splitDissolve() {
+        final Edge split = Edge.splitFaceBetween(square[0], square[2]);
+        split.dissolve();
+        return split;
+    }
+
+    @Benchmark
+    public int arraySubdivideCollapse() {
+        final int added = dcel.subdivide(arrayEdge, point.getX(), point.getY());
+        dcel.collapse(arrayEdge);
+        arrayEdge = added;
+        return added;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int arraySplitDissolve() {
+        final int first = squareArrayDCEL();
+        final int opposite = dcel.next(dcel.next(first));
+        int face = 0;
+        for (int i = 0; i < BATCH; i++)
+            face += dcel.dissolve(dcel.splitFaceBetween(first, opposite));
+        return face;
+    }
+
+}
@@ -0,0 +1,67 @@
+package voronoi.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import voronoi.algorithm.ArrayVoronoi;
+import voronoi.algorithm.LloydRelaxation;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Measures the time per iteration of Lloyd's algorithm once the sites have
+ * started to settle, against sweeping the same sites from scratch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class LloydBenchmark {
+
+    @Param({ "10000", "100000" })
+    public int numPoints;
+
+    private final Rectangle2D bounds = new Rectangle2D(0, 0, 1000, 1000);
+
+    private LloydRelaxation relaxation;
+
+    @Setup
+    public void setup() {
+        final Random rand = new Random(11610);
+        final double[] x = new double[numPoints];
+        final double[] y = new double[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            x[i] = rand.nextDouble() * bounds.getWidth() + bounds.getMinX();
+            y[i] = rand.nextDouble() * bounds.getHeight() + bounds.getMinY();
+        }
+
+        relaxation = new LloydRelaxation(x, y, bounds);
+        relaxation.run(5, 0);
+    }
+
+    @Benchmark
+    public double iterate() {
+        return relaxation.step();
+    }
+
+    @Benchmark
+    public ArrayVoronoi recompute() {
+        final ArrayVoronoi voronoi = new ArrayVoronoi(relaxation.getSiteXs(), relaxation.getSiteYs(), bounds);
+        voronoi.run();
+        return voronoi;
+    }
+
+}
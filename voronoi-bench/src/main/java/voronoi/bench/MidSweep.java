@@ -0,0 +1,39 @@
+package voronoi.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import voronoi.algorithm.Voronoi;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Creates sweeps that are stopped halfway, for the benchmarks of the beach line
+ * and of drawing.
+ */
+final class MidSweep {
+
+    private MidSweep() {}
+
+    /**
+     * Sweeps uniformly random sites until the sweep line reaches the middle of
+     * the given bounds.
+     *
+     * @param n      - the number of sites
+     * @param bounds - the bounds of the diagram
+     * @return the partially-swept diagram
+     */
+    static Voronoi create(final int n, final Rectangle2D bounds) {
+        final double[][] sites = Sites.generate("uniform", n, bounds, 11610);
+        final List<Point2D> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+            points.add(new Point2D(sites[0][i], sites[1][i]));
+
+        final Voronoi voronoi = new Voronoi(points, bounds);
+        final double midY = bounds.getMinY() + bounds.getHeight() / 2;
+        while (voronoi.hasEvents() && voronoi.nextEvent().point.getY() > midY)
+            voronoi.step();
+        return voronoi;
+    }
+
+}
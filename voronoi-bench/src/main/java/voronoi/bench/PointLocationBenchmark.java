@@ -0,0 +1,86 @@
+package voronoi.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import voronoi.algorithm.ArrayVoronoi;
+import voronoi.algorithm.PointLocator;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Measures finding the site whose cell contains a point, one point at a time
+ * and in batches, for random query points.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class PointLocationBenchmark {
+
+    private static final int QUERIES = 1 << 16;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int numPoints;
+
+    private final Rectangle2D bounds = new Rectangle2D(0, 0, 1000, 1000);
+
+    private PointLocator locator;
+
+    private double[] queries;
+
+    private int[] sites;
+
+    @Setup
+    public void setup() {
+        final Random rand = new Random(11610);
+        final double[] x = new double[numPoints];
+        final double[] y = new double[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            x[i] = rand.nextDouble() * bounds.getWidth() + bounds.getMinX();
+            y[i] = rand.nextDouble() * bounds.getHeight() + bounds.getMinY();
+        }
+
+        final ArrayVoronoi voronoi = new ArrayVoronoi(x, y, bounds);
+        voronoi.run();
+        locator = new PointLocator(voronoi.getDelaunayTriangulation(), bounds);
+
+        queries = new double[2 * QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[2 * i] = rand.nextDouble() * bounds.getWidth() + bounds.getMinX();
+            queries[2 * i + 1] = rand.nextDouble() * bounds.getHeight() + bounds.getMinY();
+        }
+        sites = new int[QUERIES];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int locate() {
+        int sum = 0;
+        for (int i = 0; i < QUERIES; i++)
+            sum += locator.locate(queries[2 * i], queries[2 * i + 1]);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int[] locateAll() {
+        locator.locateAll(queries, sites);
+        return sites;
+    }
+
+}
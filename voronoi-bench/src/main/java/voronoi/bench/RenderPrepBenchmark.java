@@ -0,0 +1,159 @@
+package voronoi.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import voronoi.algorithm.Voronoi;
+import voronoi.algorithm.dcel.Edge;
+import voronoi.algorithm.dcel.Face;
+import voronoi.algorithm.dcel.ParabolaEdge;
+import voronoi.algorithm.dcel.Vertex;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+import voronoi.util.Util;
+
+/**
+ * Measures the geometry work of drawing one frame of a sweep halfway through,
+ * as done by {@code Window.drawGraphicsState} in the renderer: sampling each
+ * beach line parabola, and collecting the boxed outline of every face. The
+ * JavaFX nodes themselves are left out, so that this runs without a display.
+ *
+ * Parabolas are sampled either with a fixed number of segments each, or with
+ * as many segments as their curvature needs, as the renderer does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderPrepBenchmark {
+
+    /**
+     * The number of segments each parabola is drawn with when sampling is fixed
+     */
+    private static final int SEGMENTS = 32;
+
+    /**
+     * The largest distance between a segment and its parabola, and the largest
+     * number of segments, when sampling is adaptive
+     */
+    private static final double TOLERANCE = 0.25;
+    private static final int MAX_SEGMENTS = 128;
+
+    @Param({ "1000", "10000" })
+    public int numPoints;
+
+    @Param({ "fixed", "adaptive" })
+    public String sampling;
+
+    private final Rectangle2D bounds = new Rectangle2D(0, 0, 1000, 1000);
+
+    private Voronoi voronoi;
+
+    private double sweepY;
+
+    private List<Edge> beachLine;
+
+    @Setup
+    public void setup() {
+        voronoi = MidSweep.create(numPoints, bounds);
+        sweepY = voronoi.nextEvent().point.getY();
+
+        beachLine = new ArrayList<>();
+        final Edge topBorder = voronoi.getTopBorder();
+        Edge g = topBorder.getNext().getNext();
+        do {
+            beachLine.add(g);
+            g = g.getNext();
+        } while (g != topBorder.getNext().getNext());
+    }
+
+    @Benchmark
+    public List<List<Double>> prepare() {
+        final Map<Vertex, Point2D> actualPoints = new HashMap<>();
+        final Map<ParabolaEdge, double[]> parEdges = new HashMap<>();
+
+        final Edge topBorder = voronoi.getTopBorder();
+        double minY = topBorder.getOrigin().getY();
+        for (final Edge edge : beachLine) {
+            if (edge instanceof ParabolaEdge) {
+                final Point2D focus = ((ParabolaEdge) edge).focus;
+
+                final double topY = Util.beachLineHeightForPoint(focus.getX(), focus, sweepY);
+                if (topY < minY)
+                    minY = topY;
+
+                final double x0 = Util.beachLineIntersectionX(edge.getPrevious(), edge, sweepY);
+                final double x1 = Util.beachLineIntersectionX(edge, edge.getNext(), sweepY);
+
+                final int segments = "adaptive".equals(sampling)
+                        ? Util.beachLineSegments(x0, x1, focus, sweepY, TOLERANCE, MAX_SEGMENTS)
+                        : SEGMENTS;
+                final double[] pts = new double[2 * segments + 2];
+                for (int i = 0; i <= segments; i++) {
+                    final double x = (x1 - x0) * i / segments + x0;
+                    pts[i * 2] = x;
+                    pts[i * 2 + 1] = Util.beachLineHeightForPoint(x, focus, sweepY);
+                }
+
+                actualPoints.put(edge.getOrigin(), new Point2D(pts[0], pts[1]));
+                parEdges.put((ParabolaEdge) edge, pts);
+            } else if (edge.isHorizontal()) {
+                final double x0 = Util.beachLineIntersectionX(edge.getPrevious(), edge, sweepY);
+                final double y0 = edge == topBorder ? minY : edge.getOrigin().getY();
+                actualPoints.put(edge.getOrigin(), new Point2D(x0, y0));
+            } else {
+                double x0 = edge.getOrigin().getX();
+                double y0 = edge.getPrevious() == topBorder ? minY : edge.getOrigin().getY();
+                if (edge.getPrevious() instanceof ParabolaEdge) {
+                    x0 = edge.getNext().getOrigin().getX();
+                    y0 = Util.beachLineHeightForPoint(x0, ((ParabolaEdge) edge.getPrevious()).focus, sweepY);
+                }
+                actualPoints.put(edge.getOrigin(), new Point2D(x0, y0));
+            }
+        }
+
+        final List<List<Double>> polygons = new ArrayList<>();
+        for (final Face f : voronoi.getFaces()) {
+            if (voronoi.isSpecialFace(f))
+                continue;
+
+            final List<Double> pts = new ArrayList<>();
+            f.forEachEdge(edge -> {
+                if (parEdges.containsKey(edge)) {
+                    Arrays.stream(parEdges.get(edge)).skip(2).forEach(pts::add);
+                } else if (parEdges.containsKey(edge.getTwin())) {
+                    final double[] p = parEdges.get(edge.getTwin());
+                    for (int i = p.length - 2; i > 0; i -= 2) {
+                        pts.add(p[i]);
+                        pts.add(p[i + 1]);
+                    }
+                } else {
+                    final Point2D point = actualPoints.getOrDefault(edge.getOrigin(), edge.getOrigin().getPoint());
+                    pts.add(point.getX());
+                    pts.add(point.getY());
+                }
+            });
+            polygons.add(pts);
+        }
+        return polygons;
+    }
+
+}
@@ -0,0 +1,101 @@
+package voronoi.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import voronoi.algorithm.Voronoi;
+import voronoi.algorithm.dcel.Face;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Compares removing, inserting and moving single sites of a finished diagram
+ * against sweeping all of the sites again. The sites are spread over an area
+ * of 1000 x 1000, so moves of about one unit stay near the site's cell.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class SiteEditBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int numPoints;
+
+    private final Rectangle2D bounds = new Rectangle2D(0, 0, 1000, 1000);
+
+    private final Random rand = new Random(11610);
+
+    private List<Point2D> points;
+
+    private Voronoi voronoi;
+
+    @Setup
+    public void setup() {
+        points = new ArrayList<>(numPoints);
+        for (int i = 0; i < numPoints; i++)
+            points.add(randomPoint());
+
+        voronoi = new Voronoi(points, bounds);
+        while (voronoi.hasEvents())
+            voronoi.step();
+    }
+
+    private Point2D randomPoint() {
+        return new Point2D(rand.nextDouble() * bounds.getWidth() + bounds.getMinX(),
+                rand.nextDouble() * bounds.getHeight() + bounds.getMinY());
+    }
+
+    /**
+     * Removes a random site and inserts it again, so that the diagram keeps the
+     * same size.
+     */
+    @Benchmark
+    public Face removeAndInsert() {
+        final Point2D site = points.get(rand.nextInt(points.size()));
+        voronoi.remove(site);
+        return voronoi.insert(site);
+    }
+
+    /**
+     * Moves a random site by a small random offset.
+     */
+    @Benchmark
+    public Face move() {
+        final int index = rand.nextInt(points.size());
+        final Point2D site = points.get(index);
+        Point2D newPosition;
+        do {
+            newPosition = site.add(rand.nextGaussian(), rand.nextGaussian());
+        } while (!bounds.contains(newPosition.getX(), newPosition.getY()));
+        final Face cell = voronoi.move(site, newPosition);
+        points.set(index, newPosition);
+        return cell;
+    }
+
+    @Benchmark
+    public Voronoi recompute() {
+        final Voronoi voronoi = new Voronoi(points, bounds);
+        while (voronoi.hasEvents())
+            voronoi.step();
+
+        return voronoi;
+    }
+
+}
@@ -0,0 +1,93 @@
+package voronoi.bench;
+
+import java.util.Random;
+
+import voronoi.util.Rectangle2D;
+
+/**
+ * Generates the site sets the benchmarks are run over.
+ */
+final class Sites {
+
+    /**
+     * The number of clusters in the {@code clustered} distribution
+     */
+    private static final int CLUSTERS = 20;
+
+    private Sites() {}
+
+    /**
+     * Generates sites with the given distribution inside the given bounds. The
+     * distributions are:
+     * <ul>
+     * <li>{@code uniform}: uniformly random sites;</li>
+     * <li>{@code clustered}: sites normally distributed around a few random
+     * centers;</li>
+     * <li>{@code grid}: a square lattice, so that many sites share each
+     * x-coordinate and y-coordinate and every Voronoi vertex is shared by four
+     * cells;</li>
+     * <li>{@code cocircular}: sites evenly spaced around a single circle, so that
+     * every circle event involves all of the sites.</li>
+     * </ul>
+     *
+     * @param distribution - the name of the distribution
+     * @param n            - the number of sites
+     * @param bounds       - the bounds of the diagram
+     * @param seed         - the seed for the random distributions
+     * @return the x-coordinates and y-coordinates of the sites, as two arrays
+     */
+    static double[][] generate(final String distribution, final int n, final Rectangle2D bounds,
+            final long seed) {
+        final Random rand = new Random(seed);
+        final double[] x = new double[n];
+        final double[] y = new double[n];
+        final double w = bounds.getWidth();
+        final double h = bounds.getHeight();
+
+        switch (distribution) {
+        case "uniform":
+            for (int i = 0; i < n; i++) {
+                x[i] = rand.nextDouble() * w + bounds.getMinX();
+                y[i] = rand.nextDouble() * h + bounds.getMinY();
+            }
+            break;
+        case "clustered":
+            final double[] cx = new double[CLUSTERS];
+            final double[] cy = new double[CLUSTERS];
+            for (int c = 0; c < CLUSTERS; c++) {
+                cx[c] = (rand.nextDouble() * 0.8 + 0.1) * w + bounds.getMinX();
+                cy[c] = (rand.nextDouble() * 0.8 + 0.1) * h + bounds.getMinY();
+            }
+            for (int i = 0; i < n; i++) {
+                final int c = rand.nextInt(CLUSTERS);
+                x[i] = clamp(cx[c] + rand.nextGaussian() * w * 0.02, bounds.getMinX(), bounds.getMaxX());
+                y[i] = clamp(cy[c] + rand.nextGaussian() * h * 0.02, bounds.getMinY(), bounds.getMaxY());
+            }
+            break;
+        case "grid":
+            final int side = (int) Math.ceil(Math.sqrt(n));
+            for (int i = 0; i < n; i++) {
+                x[i] = bounds.getMinX() + (i % side + 0.5) * w / side;
+                y[i] = bounds.getMinY() + (i / side + 0.5) * h / side;
+            }
+            break;
+        case "cocircular":
+            final double r = 0.4 * Math.min(w, h);
+            for (int i = 0; i < n; i++) {
+                final double t = 2 * Math.PI * i / n;
+                x[i] = bounds.getMinX() + w / 2 + r * Math.cos(t);
+                y[i] = bounds.getMinY() + h / 2 + r * Math.sin(t);
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown site distribution " + distribution);
+        }
+
+        return new double[][] { x, y };
+    }
+
+    private static double clamp(final double value, final double min, final double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+}
@@ -0,0 +1,77 @@
+package voronoi.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import voronoi.algorithm.ArrayVoronoi;
+import voronoi.algorithm.Voronoi;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Measures full sweeps of the object-based {@link Voronoi} and the array-based
+ * {@link ArrayVoronoi} over several site distributions (see
+ * {@link Sites#generate(String, int, Rectangle2D, long)}), including the
+ * degenerate ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+@State(Scope.Benchmark)
+public class SweepBenchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int numPoints;
+
+    @Param({ "uniform", "clustered", "grid", "cocircular" })
+    public String distribution;
+
+    private final Rectangle2D bounds = new Rectangle2D(0, 0, 1000, 1000);
+
+    private double[] x;
+    private double[] y;
+
+    private List<Point2D> points;
+
+    @Setup
+    public void setup() {
+        final double[][] sites = Sites.generate(distribution, numPoints, bounds, 11610);
+        x = sites[0];
+        y = sites[1];
+
+        points = new ArrayList<>(numPoints);
+        for (int i = 0; i < numPoints; i++)
+            points.add(new Point2D(x[i], y[i]));
+    }
+
+    @Benchmark
+    public Voronoi object() {
+        final Voronoi voronoi = new Voronoi(points, bounds);
+        while (voronoi.hasEvents())
+            voronoi.step();
+        return voronoi;
+    }
+
+    @Benchmark
+    public ArrayVoronoi array() {
+        final ArrayVoronoi voronoi = new ArrayVoronoi(x, y, bounds);
+        voronoi.run();
+        return voronoi;
+    }
+
+}
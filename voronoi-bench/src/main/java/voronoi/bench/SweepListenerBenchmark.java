@@ -0,0 +1,79 @@
+package voronoi.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import voronoi.algorithm.PrintSweepListener;
+import voronoi.algorithm.Voronoi;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Compares a full sweep with no listener installed against a sweep that formats
+ * every event into a discarded stream (as the sweep did before tracing was
+ * pluggable).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SweepListenerBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int numPoints;
+
+    @Param({ "none", "print" })
+    public String listener;
+
+    private final Rectangle2D bounds = new Rectangle2D(0, 0, 1000, 1000);
+
+    private List<Point2D> points;
+
+    private PrintStream nullStream;
+
+    @Setup
+    public void setup() {
+        final Random rand = new Random(11610);
+        points = new ArrayList<>(numPoints);
+        for (int i = 0; i < numPoints; i++)
+            points.add(new Point2D(rand.nextDouble() * bounds.getWidth() + bounds.getMinX(),
+                    rand.nextDouble() * bounds.getHeight() + bounds.getMinY()));
+
+        nullStream = new PrintStream(new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {}
+        });
+    }
+
+    @Benchmark
+    public Voronoi sweep() {
+        final Voronoi voronoi = new Voronoi(points, bounds);
+        if (listener.equals("print"))
+            voronoi.setSweepListener(new PrintSweepListener(nullStream));
+
+        while (voronoi.hasEvents())
+            voronoi.step();
+
+        return voronoi;
+    }
+
+}
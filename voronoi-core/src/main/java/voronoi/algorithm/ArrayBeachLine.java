@@ -0,0 +1,409 @@
+package voronoi.algorithm;
+
+import java.util.Arrays;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.util.Util;
+
+/**
+ * The equivalent of {@link BeachLine} for an {@link ArrayVoronoi}: a treap with
+ * implicit keys over the half-edges of the beach line face.
+ *
+ * Nodes are stored in parallel arrays and identified by int handles. The node
+ * of each half-edge is found through an open-addressing hash table, so the
+ * memory used is proportional to the length of the beach line, rather than the
+ * size of the DCEL.
+ */
+class ArrayBeachLine {
+
+    private static final int NONE = ArrayDCEL.NONE;
+
+    private final ArrayVoronoi voronoi;
+
+    /**
+     * The root node of the tree, or {@code NONE} if the tree is empty
+     */
+    private int root = NONE;
+
+    private int[] edge;
+    private int[] priority;
+    private int[] parent;
+    private int[] left;
+    private int[] right;
+    /**
+     * The handle of the pending circle event of each node in the sweep's event
+     * queue, or {@code NONE}
+     */
+    private int[] circleEvent;
+
+    private int nodeCount = 0;
+    private int freeNodes = NONE;
+
+    /**
+     * The keys (half-edges) of the hash table from half-edges to nodes, or
+     * {@code NONE} for empty slots
+     */
+    private int[] keys;
+
+    /**
+     * The values (nodes) of the hash table from half-edges to nodes
+     */
+    private int[] values;
+
+    private int size = 0;
+
+    /**
+     * The state of the generator used for node priorities
+     */
+    private int seed = 0x2545F491;
+
+    /**
+     * Creates a new beach line containing the half-edges of the beach line face
+     * from {@code first} (inclusive) to {@code end} (exclusive), in order.
+     *
+     * @param voronoi - the sweep whose beach line this is, used to compute
+     *                breakpoints
+     * @param dcel    - the DCEL containing the beach line face
+     * @param first   - the first half-edge on the beach line
+     * @param end     - the half-edge following the last half-edge on the beach
+     *                line
+     */
+    ArrayBeachLine(final ArrayVoronoi voronoi, final ArrayDCEL dcel, final int first, final int end) {
+        this.voronoi = voronoi;
+
+        this.edge = new int[16];
+        this.priority = new int[16];
+        this.parent = new int[16];
+        this.left = new int[16];
+        this.right = new int[16];
+        this.circleEvent = new int[16];
+
+        this.keys = new int[32];
+        this.values = new int[32];
+        Arrays.fill(keys, NONE);
+
+        int last = NONE;
+        for (int e = first; e != end; e = dcel.next(e)) {
+            last = last == NONE ? insertFirst(e) : insertAfterNode(last, e);
+        }
+    }
+
+    /**
+     * Finds the half-edge on the beach line directly above the given
+     * x-coordinate.
+     *
+     * @see BeachLine#find(double, double)
+     *
+     * @param x               - the x-coordinate to search for
+     * @param sweepLineHeight - the height of the sweep line
+     * @return the half-edge above the given x-coordinate, or {@code NONE} if there
+     *         is no such half-edge
+     */
+    int find(final double x, final double sweepLineHeight) {
+        int found = NONE;
+        int node = root;
+        while (node != NONE) {
+            if (voronoi.breakpointX(edge[node], sweepLineHeight) < x) {
+                found = edge[node];
+                node = left[node];
+            } else {
+                node = right[node];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Inserts the given half-edge directly after a half-edge already on the beach
+     * line.
+     *
+     * @param previous - the half-edge to insert after
+     * @param e        - the half-edge to insert
+     */
+    void insertAfter(final int previous, final int e) {
+        insertAfterNode(get(previous), e);
+    }
+
+    /**
+     * @param e - a half-edge on the beach line
+     * @return the handle of the pending circle event with the given half-edge as
+     *         its middle edge, or {@code NONE} if there is no such event
+     */
+    int getCircleEvent(final int e) {
+        final int node = get(e);
+        return node == NONE ? NONE : circleEvent[node];
+    }
+
+    /**
+     * Sets the pending circle event for the given half-edge. Half-edges that are
+     * not on the beach line are ignored.
+     *
+     * @param e     - a half-edge on the beach line
+     * @param event - the handle of the circle event with the given half-edge as
+     *              its middle edge, or {@code NONE} to clear the half-edge's event
+     */
+    void setCircleEvent(final int e, final int event) {
+        final int node = get(e);
+        if (node != NONE)
+            circleEvent[node] = event;
+    }
+
+    /**
+     * Removes the given half-edge from the beach line. Half-edges that are not on
+     * the beach line are ignored.
+     *
+     * @param e - the half-edge to remove
+     */
+    void remove(final int e) {
+        final int node = removeKey(e);
+        if (node == NONE)
+            return;
+
+        while (left[node] != NONE || right[node] != NONE) {
+            if (right[node] == NONE || left[node] != NONE && priority[left[node]] > priority[right[node]])
+                rotateRight(node);
+            else
+                rotateLeft(node);
+        }
+        replaceChild(node, NONE);
+
+        circleEvent[node] = NONE;
+        parent[node] = freeNodes;
+        freeNodes = node;
+    }
+
+    /**
+     * Removes all half-edges from the beach line.
+     */
+    void clear() {
+        root = NONE;
+        nodeCount = 0;
+        freeNodes = NONE;
+        Arrays.fill(circleEvent, NONE);
+
+        size = 0;
+        Arrays.fill(keys, NONE);
+    }
+
+    /**
+     * Checks that the half-edges in this tree match the half-edges of the beach
+     * line face, from {@code first} (inclusive) to {@code end} (exclusive).
+     *
+     * @param dcel  - the DCEL containing the beach line face
+     * @param first - the first half-edge on the beach line
+     * @param end   - the half-edge following the last half-edge on the beach line
+     */
+    void check(final ArrayDCEL dcel, final int first, final int end) {
+        if (!Util.DO_CHECK)
+            return;
+
+        int node = root;
+        while (node != NONE && left[node] != NONE)
+            node = left[node];
+
+        int e = first;
+        for (; e != end && node != NONE; e = dcel.next(e), node = successor(node)) {
+            if (edge[node] != e)
+                throw new IllegalStateException(String.format("Beach line has edge %d (expected %d)", edge[node], e));
+        }
+        if (e != end || node != NONE)
+            throw new IllegalStateException("Beach line has incorrect length");
+    }
+
+    private int insertFirst(final int e) {
+        final int node = newNode(e);
+        root = node;
+        return node;
+    }
+
+    private int insertAfterNode(final int previous, final int e) {
+        final int node = newNode(e);
+
+        if (right[previous] == NONE) {
+            right[previous] = node;
+            parent[node] = previous;
+        } else {
+            int succ = right[previous];
+            while (left[succ] != NONE)
+                succ = left[succ];
+            left[succ] = node;
+            parent[node] = succ;
+        }
+
+        while (parent[node] != NONE && priority[parent[node]] < priority[node]) {
+            if (left[parent[node]] == node)
+                rotateRight(parent[node]);
+            else
+                rotateLeft(parent[node]);
+        }
+
+        return node;
+    }
+
+    private int newNode(final int e) {
+        final int node;
+        if (freeNodes != NONE) {
+            node = freeNodes;
+            freeNodes = parent[node];
+        } else {
+            if (nodeCount == edge.length) {
+                final int capacity = edge.length * 2;
+                edge = Arrays.copyOf(edge, capacity);
+                priority = Arrays.copyOf(priority, capacity);
+                parent = Arrays.copyOf(parent, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                circleEvent = Arrays.copyOf(circleEvent, capacity);
+            }
+            node = nodeCount++;
+        }
+
+        edge[node] = e;
+        circleEvent[node] = NONE;
+        priority[node] = nextPriority();
+        parent[node] = left[node] = right[node] = NONE;
+        put(e, node);
+        return node;
+    }
+
+    /**
+     * Rotates the given node's left child into its place.
+     */
+    private void rotateRight(final int node) {
+        final int pivot = left[node];
+        replaceChild(node, pivot);
+
+        left[node] = right[pivot];
+        if (left[node] != NONE)
+            parent[left[node]] = node;
+
+        right[pivot] = node;
+        parent[node] = pivot;
+    }
+
+    /**
+     * Rotates the given node's right child into its place.
+     */
+    private void rotateLeft(final int node) {
+        final int pivot = right[node];
+        replaceChild(node, pivot);
+
+        right[node] = left[pivot];
+        if (right[node] != NONE)
+            parent[right[node]] = node;
+
+        left[pivot] = node;
+        parent[node] = pivot;
+    }
+
+    /**
+     * Replaces the link from the given node's parent (or the root) to the given
+     * node with a link to {@code replacement}.
+     */
+    private void replaceChild(final int node, final int replacement) {
+        final int p = parent[node];
+        if (p == NONE)
+            root = replacement;
+        else if (left[p] == node)
+            left[p] = replacement;
+        else
+            right[p] = replacement;
+
+        if (replacement != NONE)
+            parent[replacement] = p;
+    }
+
+    private int successor(int node) {
+        if (right[node] != NONE) {
+            node = right[node];
+            while (left[node] != NONE)
+                node = left[node];
+            return node;
+        }
+
+        while (parent[node] != NONE && right[parent[node]] == node)
+            node = parent[node];
+        return parent[node];
+    }
+
+    private int nextPriority() {
+        // xorshift32
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private int slot(final int key) {
+        final int h = key * 0x9E3779B9;
+        return (h ^ h >>> 16) & (keys.length - 1);
+    }
+
+    private int get(final int key) {
+        for (int i = slot(key);; i = (i + 1) & (keys.length - 1)) {
+            if (keys[i] == key)
+                return values[i];
+            if (keys[i] == NONE)
+                return NONE;
+        }
+    }
+
+    private void put(final int key, final int value) {
+        if (2 * (size + 1) > keys.length) {
+            final int[] oldKeys = keys;
+            final int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            Arrays.fill(keys, NONE);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != NONE)
+                    put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        int i = slot(key);
+        while (keys[i] != NONE && keys[i] != key)
+            i = (i + 1) & (keys.length - 1);
+        if (keys[i] == NONE)
+            size++;
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Removes the given key from the hash table, shifting back any later entries
+     * in its probe sequence.
+     *
+     * @return the value mapped to the key, or {@code NONE} if there is no such
+     *         value
+     */
+    private int removeKey(final int key) {
+        final int mask = keys.length - 1;
+        int i = slot(key);
+        while (keys[i] != key) {
+            if (keys[i] == NONE)
+                return NONE;
+            i = (i + 1) & mask;
+        }
+
+        final int value = values[i];
+        size--;
+
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != NONE; j = (j + 1) & mask) {
+            final int home = slot(keys[j]);
+            // Move the entry into the gap if the gap lies between its home slot and
+            // its current slot
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = NONE;
+
+        return value;
+    }
+
+}
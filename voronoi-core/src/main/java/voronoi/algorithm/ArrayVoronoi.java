@@ -0,0 +1,875 @@
+package voronoi.algorithm;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.util.Point2D;
+import voronoi.util.Predicates;
+import voronoi.util.Rectangle2D;
+import voronoi.util.Util;
+
+/**
+ * Computes a Voronoi diagram with the same sweep as {@link Voronoi}, but builds
+ * it in an {@link ArrayDCEL}, so that the diagram is held in a few large
+ * primitive arrays instead of one object per edge, vertex and face.
+ *
+ * Sites are identified by their index in the arrays (or collection) given to
+ * the constructor. Each parabola in the DCEL has the index of its site as its
+ * focus, and each finished cell has the index of its site as its contained
+ * site. Of several sites at the same position, only one gets a cell.
+ *
+ * {@link Voronoi} does not run on an {@link ArrayDCEL}: it hands its
+ * {@link voronoi.algorithm.dcel.Edge} and {@link voronoi.algorithm.dcel.Face}
+ * objects to listeners, keeps them across edits of the finished diagram, and
+ * exposes them to the renderer, none of which an int handle can stand in for.
+ * The two classes therefore run the same sweep on different DCELs, and handle
+ * events in the same order: sites by decreasing y and then increasing x, a site
+ * before a circle event at the same y-coordinate, and circle events by
+ * decreasing y and then increasing x. A change to the sweep must be made to
+ * both.
+ */
+public class ArrayVoronoi {
+
+    private static final int NONE = ArrayDCEL.NONE;
+
+    // The coordinates of the sites, or null if they are read from a file
+    private final double[] siteX;
+    private final double[] siteY;
+
+    /**
+     * The file the sites are read from, or null if they are held in arrays
+     */
+    private final SiteFile siteFile;
+    private final int siteCount;
+
+    private final Rectangle2D bounds;
+
+    private final ArrayDCEL dcel;
+    private int topBorder;
+
+    /**
+     * The sites, in the order the sweep handles them, or null if they are already
+     * in this order
+     */
+    private final int[] siteOrder;
+    private int siteCursor = 0;
+
+    /**
+     * The pending circle events
+     */
+    private final EventQueue events;
+
+    private final int beachLine, infiniteFace;
+
+    private final int leftBorder;
+    private final int rightBorder;
+
+    /**
+     * The edge recorded by {@link #splitTop(int, boolean)} for each face, or
+     * {@code NONE} if there is no such edge
+     */
+    private int[] topPoints;
+
+    /**
+     * An index of the edges of the beach line face, used to locate the arc above
+     * each new point
+     */
+    private final ArrayBeachLine beachLineIndex;
+
+    /**
+     * The number of circle events that have been cancelled
+     */
+    private int staleEventCount = 0;
+
+    // The circle computed by the last call to computeCircle(int)
+    private double circleX, circleY, circleRadius;
+
+    /**
+     * The sink that receives each cell as soon as it is finished, or null if the
+     * cells are kept in the DCEL
+     */
+    private CellSink cellSink = null;
+
+    // The vertices of the cell being passed to the sink
+    private double[] cellX = new double[16];
+    private double[] cellY = new double[16];
+
+    /**
+     * Space for the center computed by {@link Util#circleCenter(double, double,
+     * double, double, double, double, double[])}
+     */
+    private final double[] center = new double[2];
+
+    /**
+     * Creates a new sweep over the given sites.
+     *
+     * @param points - the sites
+     * @param bounds - the bounds of the diagram
+     */
+    public ArrayVoronoi(final Collection<Point2D> points, final Rectangle2D bounds) {
+        this(points.stream().mapToDouble(Point2D::getX).toArray(), points.stream().mapToDouble(Point2D::getY).toArray(),
+                bounds);
+    }
+
+    /**
+     * Creates a new sweep over the sites {@code (x[i], y[i])}.
+     *
+     * @param x      - the x-coordinates of the sites
+     * @param y      - the y-coordinates of the sites
+     * @param bounds - the bounds of the diagram
+     */
+    public ArrayVoronoi(final double[] x, final double[] y, final Rectangle2D bounds) {
+        this(x, y, bounds, new ArrayDCEL());
+    }
+
+    /**
+     * Creates a new sweep over the sites {@code (x[i], y[i])}, which builds the
+     * diagram into the given DCEL. The DCEL is cleared first, so a DCEL that is no
+     * longer needed can be reused without allocating it again.
+     *
+     * The sweep handles the sites from the largest y-coordinate to the smallest,
+     * and sorts them into this order once up front in linear time; if they are
+     * already given in this order, they are not moved at all.
+     *
+     * @param x      - the x-coordinates of the sites
+     * @param y      - the y-coordinates of the sites
+     * @param bounds - the bounds of the diagram
+     * @param dcel   - the DCEL to build the diagram into
+     */
+    public ArrayVoronoi(final double[] x, final double[] y, final Rectangle2D bounds, final ArrayDCEL dcel) {
+        this(x.clone(), y.clone(), false, null, bounds, dcel);
+    }
+
+    /**
+     * Creates a new sweep over the sites {@code (x[i], y[i])}, and builds the
+     * diagram into the given DCEL. The arrays are not copied, so they must not be
+     * changed while the diagram is in use. Sites that must already be in the order
+     * the sweep handles them are not sorted either; this lets a caller that keeps
+     * its sites in sweep order, such as {@link LloydRelaxation}, sweep them again
+     * and again without allocating.
+     *
+     * @param x      - the x-coordinates of the sites
+     * @param y      - the y-coordinates of the sites
+     * @param bounds - the bounds of the diagram
+     * @param dcel   - the DCEL to build the diagram into
+     * @param sorted - whether the sites must already be in sweep order
+     * @throws IllegalArgumentException if the sites must be, but are not, in
+     *                                  sweep order
+     */
+    ArrayVoronoi(final double[] x, final double[] y, final Rectangle2D bounds, final ArrayDCEL dcel,
+            final boolean sorted) {
+        this(x, y, sorted, null, bounds, dcel);
+    }
+
+    /**
+     * Creates a new sweep over the sites of the given file, which must already be
+     * sorted in the order the sweep handles them (see
+     * {@link SiteFile#sort(java.nio.file.Path, java.nio.file.Path, int)}). The
+     * sites are not copied: they are read from the mapping in order as the sweep
+     * reaches them, and again whenever their arcs are needed. Together with a
+     * {@link CellSink}, the heap then only holds the cells near the beach line,
+     * and the operating system pages the file in and out as needed, so the sweep
+     * can handle more sites than fit in the heap. The memory needed still grows
+     * with the number of cells the beach line crosses at once: roughly the square
+     * root of the number of sites for evenly spread sites, but up to all of them
+     * in the worst case, such as sites on a circle.
+     *
+     * The file must stay open until the sweep has finished.
+     *
+     * @param sites  - the sorted file of sites
+     * @param bounds - the bounds of the diagram
+     * @throws IllegalArgumentException if the sites of the file are not sorted
+     */
+    public ArrayVoronoi(final SiteFile sites, final Rectangle2D bounds) {
+        this(null, null, true, sites, bounds, new ArrayDCEL());
+    }
+
+    /**
+     * Creates a new sweep over the sites in the given arrays (which are not
+     * copied), or else over the sites of the given file. Arrays that should be
+     * sorted already are only checked, not sorted.
+     */
+    private ArrayVoronoi(final double[] x, final double[] y, final boolean sorted, final SiteFile file,
+            final Rectangle2D bounds, final ArrayDCEL dcel) {
+        if (file == null) {
+            if (x.length != y.length)
+                throw new IllegalArgumentException("Site coordinate arrays must have the same length");
+            this.siteCount = x.length;
+            if (SiteOrder.isSorted(x, y))
+                this.siteOrder = null;
+            else if (sorted)
+                throw new IllegalArgumentException("Sites must be sorted in sweep order");
+            else
+                this.siteOrder = SiteOrder.sort(x, y);
+        } else {
+            if (!file.isSorted())
+                throw new IllegalArgumentException("Sites of the file must be sorted in sweep order");
+            this.siteCount = file.size();
+            this.siteOrder = null;
+        }
+        this.siteX = x;
+        this.siteY = y;
+        this.siteFile = file;
+        this.bounds = bounds;
+
+        this.dcel = dcel;
+        dcel.clear();
+        this.topBorder = 0;
+
+        dcel.setPoint(dcel.origin(topBorder), this.bounds.getMinX(), this.bounds.getMinY());
+        this.rightBorder = dcel.subdivide(topBorder, this.bounds.getMaxX(), this.bounds.getMinY());
+        final int bottomBorder = dcel.subdivide(rightBorder, this.bounds.getMaxX(), this.bounds.getMaxY());
+        this.leftBorder = dcel.subdivide(bottomBorder, this.bounds.getMinX(), this.bounds.getMaxY());
+
+        dcel.setHorizontal(topBorder, true);
+        dcel.setHorizontal(bottomBorder, true);
+
+        this.beachLine = dcel.face(topBorder);
+        this.infiniteFace = dcel.face(ArrayDCEL.twin(topBorder));
+
+        // The beach line rarely holds more than a few times the square root of the
+        // number of sites, so circle events start in a small heap
+        this.events = new EventQueue(4 * (int) Math.sqrt(siteCount) + 16);
+
+        this.topPoints = new int[16];
+        Arrays.fill(topPoints, NONE);
+
+        this.beachLineIndex = new ArrayBeachLine(this, dcel, dcel.next(topBorder), topBorder);
+    }
+
+    /**
+     * Processes the next event.
+     *
+     * @return true if an event was processed; false if there were no more events
+     */
+    public boolean step() {
+        if (hasEvents()) {
+            if (topBorder != NONE)
+                beachLineIndex.check(dcel, dcel.next(topBorder), topBorder);
+            if (isSiteNext()) {
+                final int site = nextSite();
+                // Sites at the same position are adjacent in sweep order, and only the
+                // first of them gets a cell
+                final boolean duplicate = siteCursor > 0 && getSiteX(site) == getSiteX(previousSite())
+                        && getSiteY(site) == getSiteY(previousSite());
+                siteCursor++;
+                if (!duplicate)
+                    handlePointEvent(site, getSiteX(site), getSiteY(site));
+            } else {
+                final int event = events.poll();
+                final int midEdge = events.midEdge(event);
+                beachLineIndex.setCircleEvent(midEdge, NONE);
+                handleCircleEvent(midEdge, events.x(event), events.centerY(event), events.radius(event));
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true if the next site event comes before the next circle event, or
+     *         happens at the same y-coordinate (as in {@link Voronoi#step()});
+     *         false otherwise
+     */
+    private boolean isSiteNext() {
+        if (siteCursor == siteCount)
+            return false;
+        if (events.isEmpty())
+            return true;
+
+        final int site = nextSite();
+        final double y = getSiteY(site);
+        final int event = events.peek();
+        return y >= events.y(event);
+    }
+
+    /**
+     * @return the site of the next site event
+     */
+    private int nextSite() {
+        return siteOrder == null ? siteCursor : siteOrder[siteCursor];
+    }
+
+    /**
+     * @return the site of the last site event
+     */
+    private int previousSite() {
+        return siteOrder == null ? siteCursor - 1 : siteOrder[siteCursor - 1];
+    }
+
+    /**
+     * Processes all remaining events.
+     */
+    public void run() {
+        while (step())
+            ;
+    }
+
+    private void handlePointEvent(final int site, final double x, final double y) {
+        // The left border meets the beach line at exactly the left edge of the
+        // bounds, so a site on that edge is looked up just inside it
+        final int edge = beachLineIndex.find(Math.max(x, Math.nextUp(bounds.getMinX())), y);
+        if (edge == NONE)
+            return;
+
+        cancelCircleEvent(edge);
+
+        final int origin = dcel.origin(edge);
+        final int next = dcel.subdivide(edge, dcel.x(origin), dcel.y(origin));
+        final int mid = dcel.subdivide(edge, dcel.x(origin), dcel.y(origin));
+
+        final int par = dcel.splitFaceBetween(site, next, mid);
+        beachLineIndex.insertAfter(edge, par);
+        beachLineIndex.insertAfter(par, next);
+        dcel.setSite(dcel.face(ArrayDCEL.twin(par)), site);
+
+        if (dcel.isParabola(mid))
+            dcel.convertToNonParEdge(mid);
+
+        if (canGenerateEvent(dcel.previous(par)))
+            addCircleEvent(dcel.previous(par));
+        if (canGenerateEvent(dcel.next(par)))
+            addCircleEvent(dcel.next(par));
+    }
+
+    private void handleCircleEvent(final int midEdge, final double centerX, final double centerY,
+            final double radius) {
+        final int midTwin = ArrayDCEL.twin(midEdge);
+        final int cell = dcel.face(midTwin);
+        final int prev = dcel.previous(midEdge);
+        final int next = dcel.next(midEdge);
+
+        cancelCircleEvent(prev);
+        cancelCircleEvent(next);
+
+        final double nextOriginX = dcel.x(dcel.origin(next));
+        final double nextOriginY = dcel.y(dcel.origin(next));
+
+        final int twinNext = dcel.next(midTwin);
+        final int twinPrev = dcel.previous(midTwin);
+
+        final int fixedEdge = ArrayDCEL.twin(prev);
+        int movingEdge = dcel.next(ArrayDCEL.twin(next));
+        if (movingEdge == midTwin)
+            movingEdge = dcel.next(movingEdge);
+
+        dcel.collapse(midEdge);
+        beachLineIndex.remove(midEdge);
+        dcel.ripVertex(centerX, centerY, fixedEdge, movingEdge);
+
+        if (!dcel.isParabola(next))
+            dcel.setPoint(dcel.origin(fixedEdge), nextOriginX, nextOriginY);
+
+        if (prev != leftBorder && prev != rightBorder && canGenerateEvent(prev))
+            addCircleEvent(prev);
+        if (next != leftBorder && next != rightBorder && canGenerateEvent(next))
+            addCircleEvent(next);
+
+        final double topY = dcel.y(dcel.origin(topBorder));
+        if (centerY <= topY) {
+            splitTop(twinPrev, false);
+            splitTop(twinNext, true);
+
+            dcel.setSite(dcel.face(twinNext), NONE);
+
+            // The walk starts at an edge that is kept, so that it always comes back to
+            // it, even if twinNext is dissolved; the top border split above gives the
+            // face at least one such edge
+            int start = twinNext;
+            while (isDissolvedAtTop(start)) {
+                start = dcel.next(start);
+                assert start != twinNext : "No edge of the cell is kept";
+            }
+
+            int edge = start;
+            do {
+                if (isDissolvedAtTop(edge)) {
+                    dcel.dissolve(edge);
+                    while (dcel.face(edge) == NONE)
+                        edge = dcel.next(edge);
+                } else {
+                    edge = dcel.next(edge);
+                }
+            } while (edge != start);
+        } else if (cellSink != null) {
+            emitIfFinished(cell, topY);
+        }
+
+        if (!hasEvents()) {
+            finish(centerY - radius);
+        }
+    }
+
+    /**
+     * @return true if the given edge of a cell closed off beyond the top border
+     *         separates it from another face without a site, and is dissolved to
+     *         join the two; false otherwise
+     */
+    private boolean isDissolvedAtTop(final int edge) {
+        final int adjacent = dcel.face(ArrayDCEL.twin(edge));
+        return adjacent != dcel.face(ArrayDCEL.twin(topBorder)) && dcel.site(adjacent) == NONE;
+    }
+
+    /**
+     * Adds the circle event with the given middle edge to the event queue, if it
+     * is valid, and records it as the pending event of its middle edge.
+     *
+     * @param midEdge - the middle edge of the event to add
+     */
+    private void addCircleEvent(final int midEdge) {
+        computeCircle(midEdge);
+        if (isValidEvent(midEdge))
+            beachLineIndex.setCircleEvent(midEdge, events.addCircle(midEdge, circleX, circleY, circleRadius));
+    }
+
+    /**
+     * Cancels the pending circle event of the given beach line edge, if there is
+     * one.
+     *
+     * @param midEdge - the middle edge of the event to cancel
+     */
+    private void cancelCircleEvent(final int midEdge) {
+        final int event = beachLineIndex.getCircleEvent(midEdge);
+        if (event != NONE) {
+            events.remove(event);
+            beachLineIndex.setCircleEvent(midEdge, NONE);
+            staleEventCount++;
+        }
+    }
+
+    private void finish(final double lastEventY) {
+        final int lastPar = dcel.next(dcel.next(topBorder));
+        final int lastTwin = ArrayDCEL.twin(lastPar);
+
+        // The last arc is closed off beyond the top border, even if the last event
+        // happened below it, so that the top border cuts its cell like any other
+        final double closingY = Math.min(lastEventY, bounds.getMinY() - bounds.getHeight());
+        dcel.setPoint(dcel.origin(lastPar), dcel.x(dcel.origin(rightBorder)), closingY);
+        dcel.setPoint(dcel.origin(lastTwin), dcel.x(dcel.origin(leftBorder)), closingY);
+
+        splitTop(dcel.next(lastTwin), true);
+        splitTop(dcel.previous(lastTwin), false);
+        dcel.setSite(dcel.face(lastTwin), NONE);
+
+        dcel.dissolve(topBorder);
+        topBorder = NONE;
+        beachLineIndex.clear();
+        int extraFace = dcel.dissolve(lastPar);
+        int startEdge = dcel.boundaryEdge(extraFace);
+        int edge = startEdge;
+        while (edge != dcel.previous(startEdge)) {
+            if (dcel.site(dcel.face(ArrayDCEL.twin(edge))) == NONE) {
+                extraFace = dcel.dissolve(edge);
+                edge = startEdge = dcel.boundaryEdge(extraFace);
+            } else {
+                edge = dcel.next(edge);
+            }
+        }
+
+        if (cellSink != null) {
+            for (int face = 0; face < dcel.faceCapacity(); face++) {
+                if (dcel.boundaryEdge(face) != NONE && dcel.site(face) != NONE && !isSpecialFace(face))
+                    emitCell(face);
+            }
+        }
+    }
+
+    /**
+     * Passes the given cell to the sink and releases its storage, if the cell
+     * can no longer change. That is the case once its site has no arc left on the
+     * beach line, as long as the cell lies entirely below the top border; cells
+     * that reach the top border are still cut by it, and are passed to the sink
+     * when the sweep finishes.
+     *
+     * @param cell - the cell whose arc has just been removed from the beach line
+     * @param topY - the y-coordinate of the top border
+     */
+    private void emitIfFinished(final int cell, final double topY) {
+        if (dcel.site(cell) == NONE || isSpecialFace(cell))
+            return;
+
+        final int start = dcel.boundaryEdge(cell);
+        int edge = start;
+        do {
+            if (dcel.face(ArrayDCEL.twin(edge)) == beachLine || dcel.y(dcel.origin(edge)) <= topY)
+                return;
+            edge = dcel.next(edge);
+        } while (edge != start);
+
+        emitCell(cell);
+        dcel.release(cell);
+    }
+
+    /**
+     * Passes the vertices of the given cell to the sink, skipping repeated
+     * vertices left by degenerate events.
+     */
+    private void emitCell(final int cell) {
+        int count = 0;
+        final int start = dcel.boundaryEdge(cell);
+        int edge = start;
+        do {
+            final int vertex = dcel.origin(edge);
+            final double vx = dcel.x(vertex);
+            final double vy = dcel.y(vertex);
+            if (count == 0 || vx != cellX[count - 1] || vy != cellY[count - 1]) {
+                if (count == cellX.length) {
+                    cellX = Arrays.copyOf(cellX, count * 2);
+                    cellY = Arrays.copyOf(cellY, count * 2);
+                }
+                cellX[count] = vx;
+                cellY[count] = vy;
+                count++;
+            }
+            edge = dcel.next(edge);
+        } while (edge != start);
+
+        if (count > 1 && cellX[count - 1] == cellX[0] && cellY[count - 1] == cellY[0])
+            count--;
+        cellSink.cell(dcel.site(cell), cellX, cellY, count);
+    }
+
+    private boolean splitTop(final int e, final boolean right) {
+        final double topY = dcel.y(dcel.origin(topBorder));
+        final int eTwin = ArrayDCEL.twin(e);
+        final int origin = dcel.origin(e);
+        final int end = dcel.origin(dcel.next(e));
+
+        if (dcel.y(origin) > topY == dcel.y(end) > topY)
+            return false;
+
+        final int leftFace = dcel.face(right ? e : eTwin);
+        final int rightFace = dcel.face(right ? eTwin : e);
+
+        final double splitX = Util.intersectLineHorizontalX(dcel.x(origin), dcel.y(origin), dcel.x(end), dcel.y(end),
+                topY);
+        final int e2 = dcel.subdivide(e, splitX, topY);
+
+        final int outside = dcel.face(ArrayDCEL.twin(topBorder));
+
+        if (getTopPoint(leftFace) != NONE && leftFace != outside) {
+            final int o1 = getTopPoint(leftFace);
+            setTopPoint(leftFace, NONE);
+            final int topEdge = dcel.splitFaceBetween(o1, right ? e2 : eTwin);
+
+            dcel.setSite(dcel.face(ArrayDCEL.twin(topEdge)), dcel.site(dcel.face(topEdge)));
+        } else {
+            setTopPoint(leftFace, right ? e2 : eTwin);
+        }
+
+        if (getTopPoint(rightFace) != NONE && rightFace != outside) {
+            final int o1 = right ? eTwin : e2;
+            final int o2 = dcel.previous(getTopPoint(rightFace));
+            setTopPoint(rightFace, NONE);
+            final int topEdge = dcel.splitFaceBetween(o1, dcel.next(o2));
+
+            dcel.setSite(dcel.face(ArrayDCEL.twin(topEdge)), dcel.site(dcel.face(topEdge)));
+        } else {
+            setTopPoint(rightFace, right ? eTwin : e2);
+        }
+
+        return true;
+    }
+
+    private int getTopPoint(final int face) {
+        return face < topPoints.length ? topPoints[face] : NONE;
+    }
+
+    private void setTopPoint(final int face, final int edge) {
+        if (face >= topPoints.length) {
+            final int oldLength = topPoints.length;
+            topPoints = Arrays.copyOf(topPoints, Math.max(face + 1, oldLength * 2));
+            Arrays.fill(topPoints, oldLength, topPoints.length, NONE);
+        }
+        topPoints[face] = edge;
+    }
+
+    /**
+     * @see CircleEvent#canGenerateEvent(voronoi.algorithm.dcel.Edge)
+     */
+    private boolean canGenerateEvent(final int midEdge) {
+        final int prev = dcel.focus(dcel.previous(midEdge));
+        final int next = dcel.focus(dcel.next(midEdge));
+
+        if (prev == NONE && next == NONE)
+            return false;
+        if (prev != NONE && prev == next)
+            return false;
+        return true;
+    }
+
+    /**
+     * Computes the circle of the circle event with the given middle edge, and
+     * stores it in {@link #circleX}, {@link #circleY} and {@link #circleRadius}.
+     *
+     * @see CircleEvent#CircleEvent(voronoi.algorithm.dcel.Edge)
+     */
+    private void computeCircle(final int midEdge) {
+        int numPar = 0;
+        int focus0 = NONE, focus1 = NONE, focus2 = NONE;
+        int nonParEdge = NONE;
+        for (int i = 0, e = dcel.previous(midEdge); i < 3; i++, e = dcel.next(e)) {
+            if (dcel.isParabola(e)) {
+                final int focus = dcel.focus(e);
+                if (numPar == 0)
+                    focus0 = focus;
+                else if (numPar == 1)
+                    focus1 = focus;
+                else
+                    focus2 = focus;
+                numPar++;
+            } else {
+                nonParEdge = e;
+            }
+        }
+
+        if (numPar == 1) {
+            circleX = dcel.x(dcel.origin(nonParEdge));
+            circleY = dcel.y(dcel.origin(nonParEdge));
+        } else if (numPar == 2 && dcel.isHorizontal(nonParEdge)) {
+            circleY = dcel.y(dcel.origin(nonParEdge));
+            circleX = Util.circleCenterX(getSiteX(focus0), getSiteY(focus0), getSiteX(focus1), getSiteY(focus1),
+                    circleY);
+        } else if (numPar == 2) {
+            circleX = dcel.x(dcel.origin(nonParEdge));
+            circleY = getSiteY(focus0) == getSiteY(focus1) ? Util.FAR_AWAY
+                    : Util.circleCenterY(getSiteX(focus0), getSiteY(focus0), getSiteX(focus1), getSiteY(focus1),
+                            circleX);
+        } else {
+            Util.circleCenter(getSiteX(focus0), getSiteY(focus0), getSiteX(focus1), getSiteY(focus1),
+                    getSiteX(focus2), getSiteY(focus2), center);
+            circleX = center[0];
+            circleY = center[1];
+        }
+
+        circleRadius = Math.hypot(circleX - getSiteX(focus0), circleY - getSiteY(focus0));
+    }
+
+    /**
+     * @return whether or not the circle last computed for the given middle edge
+     *         is a valid circle event
+     */
+    private boolean isValidEvent(final int midEdge) {
+        final int prev = dcel.previous(midEdge);
+        final int next = dcel.next(midEdge);
+        final boolean prevPar = dcel.isParabola(prev);
+        final boolean midPar = dcel.isParabola(midEdge);
+        final boolean nextPar = dcel.isParabola(next);
+        if (!prevPar && !nextPar) {
+            return false;
+        } else if (midPar && (prevPar || nextPar)) {
+            final double pmx = getSiteX(dcel.focus(midEdge));
+            final double pmy = getSiteY(dcel.focus(midEdge));
+
+            if (!(prevPar && nextPar)) {
+                final int other = dcel.focus(prevPar ? prev : next);
+                final int border = prevPar ? next : prev;
+                if (!dcel.isHorizontal(border)) {
+                    // Beside a vertical border, the breakpoint between the two arcs moves
+                    // towards the border exactly when the arc beside it belongs to the
+                    // higher site, so compare the sites rather than a point on a circle
+                    // whose center may be too far away to be represented precisely.
+                    // Sites at the same height are ordered as the sweep orders them
+                    return pmy > getSiteY(other) || pmy == getSiteY(other) && pmx < getSiteX(other);
+                } else if (pmx == getSiteX(other)) {
+                    // The breakpoints of the arcs of two sites directly above one another
+                    // move parallel to a horizontal border, and never meet it
+                    return false;
+                } else if (pmy == dcel.y(dcel.origin(border))) {
+                    // The arc of a site on a horizontal border meets the border at points
+                    // that move away from the site, so the circle's center has to be on
+                    // the same side of the site as the border
+                    return prevPar ? circleX < pmx : circleX > pmx;
+                }
+            }
+
+            final double ppx, ppy;
+            if (prevPar) {
+                ppx = getSiteX(dcel.focus(prev));
+                ppy = getSiteY(dcel.focus(prev));
+            } else if (dcel.isHorizontal(prev)) {
+                ppx = circleX + circleRadius;
+                ppy = circleY;
+            } else {
+                ppx = circleX;
+                ppy = circleY + circleRadius;
+            }
+
+            final double pnx, pny;
+            if (nextPar) {
+                pnx = getSiteX(dcel.focus(next));
+                pny = getSiteY(dcel.focus(next));
+            } else if (dcel.isHorizontal(next)) {
+                pnx = circleX - circleRadius;
+                pny = circleY;
+            } else {
+                pnx = circleX;
+                pny = circleY + circleRadius;
+            }
+
+            // The breakpoints converge only if the arcs' foci turn counterclockwise;
+            // three collinear foci have no circle event
+            final double orientation = Predicates.orient2d(pnx, pny, ppx, ppy, pmx, pmy);
+            return prevPar && nextPar ? orientation > 0 : orientation >= 0;
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Calculates the x-coordinate of the breakpoint between the given beach line
+     * edge and its successor.
+     *
+     * @see Util#beachLineIntersectionX(voronoi.algorithm.dcel.Edge,
+     *      voronoi.algorithm.dcel.Edge, double)
+     *
+     * @param leftEdge        - the left edge
+     * @param sweepLineHeight - the height of the sweep line
+     * @return the x-coordinate of the breakpoint
+     */
+    double breakpointX(final int leftEdge, final double sweepLineHeight) {
+        final int rightEdge = dcel.next(leftEdge);
+        final int leftFocus = dcel.focus(leftEdge);
+        final int rightFocus = dcel.focus(rightEdge);
+
+        if (leftFocus != NONE && rightFocus != NONE)
+            return Util.parabolaIntersectionX(getSiteX(leftFocus), getSiteY(leftFocus), getSiteX(rightFocus),
+                    getSiteY(rightFocus), sweepLineHeight);
+
+        final double x;
+        if (leftFocus != NONE) {
+            if (!dcel.isHorizontal(rightEdge))
+                return dcel.x(dcel.origin(rightEdge));
+
+            x = Util.parabolaHorizontalIntersectionX(getSiteX(leftFocus), getSiteY(leftFocus),
+                    dcel.y(dcel.origin(rightEdge)), true, sweepLineHeight);
+        } else if (rightFocus != NONE) {
+            if (!dcel.isHorizontal(leftEdge))
+                return dcel.x(dcel.origin(leftEdge));
+
+            x = Util.parabolaHorizontalIntersectionX(getSiteX(rightFocus), getSiteY(rightFocus),
+                    dcel.y(dcel.origin(leftEdge)), false, sweepLineHeight);
+        } else {
+            return dcel.x(dcel.origin(rightEdge));
+        }
+
+        if (Double.isNaN(x))
+            return leftFocus != NONE ? dcel.x(dcel.origin(rightEdge)) : dcel.x(dcel.origin(leftEdge));
+        return x;
+    }
+
+    /**
+     * Sets the sink that receives each cell as soon as the sweep has finished it.
+     * Once a cell has been passed to the sink, its face, edges and vertices are
+     * released from the DCEL as far as its neighbors allow, and their slots are
+     * reused for the cells that follow, so the DCEL only ever holds the cells
+     * near the beach line rather than the whole diagram. The cells that reach the
+     * top border are passed to the sink when the sweep finishes, and stay in the
+     * DCEL. This bounds the size of the DCEL by the number of cells the beach line
+     * crosses at once, not by the number of sites; that number is still
+     * proportional to the number of sites for inputs such as sites on a circle,
+     * whose cells all meet the beach line together.
+     *
+     * Since the finished diagram is not kept, it cannot be read afterwards with
+     * {@link #getDelaunayTriangulation()}.
+     *
+     * @param sink - the sink, or null to keep every cell in the DCEL
+     * @throws IllegalStateException if the sweep has already started
+     */
+    public void setCellSink(final CellSink sink) {
+        if (siteCursor > 0)
+            throw new IllegalStateException("Cannot change the cell sink after the sweep has started");
+        this.cellSink = sink;
+    }
+
+    /**
+     * @return true if there are more events to process; false otherwise
+     */
+    public boolean hasEvents() {
+        return siteCursor < siteCount || !events.isEmpty();
+    }
+
+    /**
+     * @return the DCEL containing the diagram
+     */
+    public ArrayDCEL getDCEL() {
+        return dcel;
+    }
+
+    /**
+     * @return the top border edge, or {@code NONE} once the sweep has finished
+     */
+    public int getTopBorder() {
+        return topBorder;
+    }
+
+    /**
+     * Reads the Delaunay triangulation of the sites from the finished diagram, in
+     * which each site keeps its index.
+     *
+     * @return the Delaunay triangulation of the sites
+     * @throws IllegalStateException if the sweep has not finished, or its cells
+     *                               were passed to a {@link CellSink}
+     */
+    public DelaunayTriangulation getDelaunayTriangulation() {
+        if (topBorder != NONE || hasEvents())
+            throw new IllegalStateException("The sweep has not finished");
+        if (cellSink != null)
+            throw new IllegalStateException("The cells of the diagram were passed to a sink and not kept");
+        if (siteFile != null)
+            return DelaunayTriangulation.of(dcel, siteFile.getXs(), siteFile.getYs());
+        return DelaunayTriangulation.of(dcel, siteX, siteY);
+    }
+
+    /**
+     * Is the given face a special face, i.e. not related to any point (the special
+     * faces are the beach line face, and the infinite face).
+     *
+     * @param face - the face to check
+     * @return true if the face is special, false otherwise
+     */
+    public boolean isSpecialFace(final int face) {
+        return face == this.beachLine || face == this.infiniteFace;
+    }
+
+    /**
+     * @return the number of sites
+     */
+    public int getSiteCount() {
+        return siteCount;
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the x-coordinate of the given site
+     */
+    public double getSiteX(final int site) {
+        return siteFile == null ? siteX[site] : siteFile.getX(site);
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the y-coordinate of the given site
+     */
+    public double getSiteY(final int site) {
+        return siteFile == null ? siteY[site] : siteFile.getY(site);
+    }
+
+    /**
+     * @return the bounds of the diagram
+     */
+    public Rectangle2D getBounds() {
+        return bounds;
+    }
+
+    /**
+     * @return the number of circle events that have been cancelled
+     */
+    public int getStaleEventCount() {
+        return staleEventCount;
+    }
+
+}
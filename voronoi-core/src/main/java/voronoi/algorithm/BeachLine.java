@@ -0,0 +1,295 @@
+package voronoi.algorithm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import voronoi.algorithm.dcel.Edge;
+import voronoi.util.Util;
+
+/**
+ * A balanced search tree over the edges of the beach line face.
+ *
+ * The edges are kept in the same order as they appear when walking the beach
+ * line face from the successor of the top border. Edges are not keyed by a
+ * stored value; the breakpoint between an edge and its successor is computed
+ * from the DCEL on demand, at the current height of the sweep line. Since the
+ * breakpoints decrease along the beach line, this allows the arc above a given
+ * point to be found by descending the tree, rather than by walking the beach
+ * line.
+ *
+ * The tree is a treap with implicit keys, so edges are inserted relative to an
+ * existing edge instead of by comparison. It is only accurate if every change
+ * to the beach line face is mirrored here.
+ *
+ * Each edge also holds its pending circle event (if any), so that the event can
+ * be cancelled when the edge's neighbors change.
+ */
+class BeachLine {
+
+    /**
+     * The root of the tree, or null if the tree is empty
+     */
+    private Node root;
+
+    /**
+     * The node containing each edge in the tree
+     */
+    private final Map<Edge, Node> nodes = new HashMap<>();
+
+    /**
+     * The state of the generator used for node priorities
+     */
+    private int seed = 0x2545F491;
+
+    /**
+     * Creates an empty beach line.
+     */
+    BeachLine() {}
+
+    /**
+     * Creates a new beach line containing the edges of the beach line face from
+     * {@code first} (inclusive) to {@code end} (exclusive), in order.
+     *
+     * @param first - the first edge on the beach line
+     * @param end   - the edge following the last edge on the beach line
+     */
+    BeachLine(final Edge first, final Edge end) {
+        Node last = null;
+        for (Edge edge = first; edge != end; edge = edge.getNext()) {
+            last = last == null ? insertFirst(edge) : insertAfter(last, edge);
+        }
+    }
+
+    /**
+     * Finds the edge on the beach line directly above the given x-coordinate, that
+     * is, the first edge whose breakpoint with its successor is less than
+     * {@code x}.
+     *
+     * @param x               - the x-coordinate to search for
+     * @param sweepLineHeight - the height of the sweep line
+     * @return the edge above the given x-coordinate, or null if there is no such
+     *         edge
+     */
+    Edge find(final double x, final double sweepLineHeight) {
+        Edge found = null;
+        Node node = root;
+        while (node != null) {
+            if (Util.beachLineIntersectionX(node.edge, node.edge.getNext(), sweepLineHeight) < x) {
+                found = node.edge;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Inserts the given edge directly after an edge already on the beach line.
+     *
+     * @param previous - the edge to insert after
+     * @param edge     - the edge to insert
+     */
+    void insertAfter(final Edge previous, final Edge edge) {
+        insertAfter(nodes.get(previous), edge);
+    }
+
+    /**
+     * @param edge - an edge on the beach line
+     * @return the pending circle event with the given edge as its middle edge, or
+     *         null if there is no such event
+     */
+    CircleEvent getCircleEvent(final Edge edge) {
+        final Node node = nodes.get(edge);
+        return node == null ? null : node.circleEvent;
+    }
+
+    /**
+     * Sets the pending circle event for the given edge. Edges that are not on the
+     * beach line are ignored.
+     *
+     * @param edge  - an edge on the beach line
+     * @param event - the circle event with the given edge as its middle edge, or
+     *              null to clear the edge's event
+     */
+    void setCircleEvent(final Edge edge, final CircleEvent event) {
+        final Node node = nodes.get(edge);
+        if (node != null)
+            node.circleEvent = event;
+    }
+
+    /**
+     * Removes the given edge from the beach line. Edges that are not on the beach
+     * line are ignored.
+     *
+     * @param edge - the edge to remove
+     */
+    void remove(final Edge edge) {
+        final Node node = nodes.remove(edge);
+        if (node == null)
+            return;
+
+        while (node.left != null || node.right != null) {
+            if (node.right == null || node.left != null && node.left.priority > node.right.priority)
+                rotateRight(node);
+            else
+                rotateLeft(node);
+        }
+        replaceChild(node, null);
+    }
+
+    /**
+     * @return the number of edges on the beach line
+     */
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Removes all edges from the beach line.
+     */
+    void clear() {
+        root = null;
+        nodes.clear();
+    }
+
+    /**
+     * Checks that the edges in this tree match the edges of the beach line face,
+     * from {@code first} (inclusive) to {@code end} (exclusive).
+     *
+     * @param first - the first edge on the beach line
+     * @param end   - the edge following the last edge on the beach line
+     */
+    void check(final Edge first, final Edge end) {
+        if (!Util.DO_CHECK)
+            return;
+
+        Node node = root;
+        while (node != null && node.left != null)
+            node = node.left;
+
+        Edge edge = first;
+        for (; edge != end && node != null; edge = edge.getNext(), node = successor(node)) {
+            if (node.edge != edge)
+                throw new IllegalStateException(
+                        String.format("Beach line has edge %s (expected %s)", node.edge, edge));
+        }
+        if (edge != end || node != null)
+            throw new IllegalStateException("Beach line has incorrect length");
+    }
+
+    private Node insertFirst(final Edge edge) {
+        final Node node = new Node(edge, nextPriority());
+        nodes.put(edge, node);
+        root = node;
+        return node;
+    }
+
+    private Node insertAfter(final Node previous, final Edge edge) {
+        final Node node = new Node(edge, nextPriority());
+        nodes.put(edge, node);
+
+        if (previous.right == null) {
+            previous.right = node;
+            node.parent = previous;
+        } else {
+            Node succ = previous.right;
+            while (succ.left != null)
+                succ = succ.left;
+            succ.left = node;
+            node.parent = succ;
+        }
+
+        while (node.parent != null && node.parent.priority < node.priority) {
+            if (node.parent.left == node)
+                rotateRight(node.parent);
+            else
+                rotateLeft(node.parent);
+        }
+
+        return node;
+    }
+
+    /**
+     * Rotates the given node's left child into its place.
+     */
+    private void rotateRight(final Node node) {
+        final Node pivot = node.left;
+        replaceChild(node, pivot);
+
+        node.left = pivot.right;
+        if (node.left != null)
+            node.left.parent = node;
+
+        pivot.right = node;
+        node.parent = pivot;
+    }
+
+    /**
+     * Rotates the given node's right child into its place.
+     */
+    private void rotateLeft(final Node node) {
+        final Node pivot = node.right;
+        replaceChild(node, pivot);
+
+        node.right = pivot.left;
+        if (node.right != null)
+            node.right.parent = node;
+
+        pivot.left = node;
+        node.parent = pivot;
+    }
+
+    /**
+     * Replaces the link from the given node's parent (or the root) to the given
+     * node with a link to {@code replacement}.
+     */
+    private void replaceChild(final Node node, final Node replacement) {
+        final Node parent = node.parent;
+        if (parent == null)
+            root = replacement;
+        else if (parent.left == node)
+            parent.left = replacement;
+        else
+            parent.right = replacement;
+
+        if (replacement != null)
+            replacement.parent = parent;
+    }
+
+    private static Node successor(Node node) {
+        if (node.right != null) {
+            node = node.right;
+            while (node.left != null)
+                node = node.left;
+            return node;
+        }
+
+        while (node.parent != null && node.parent.right == node)
+            node = node.parent;
+        return node.parent;
+    }
+
+    private int nextPriority() {
+        // xorshift32
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private static class Node {
+        final Edge edge;
+        final int priority;
+
+        CircleEvent circleEvent;
+
+        Node parent, left, right;
+
+        Node(final Edge edge, final int priority) {
+            this.edge = edge;
+            this.priority = priority;
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package voronoi.algorithm;
+
+/**
+ * Receives the cells of an {@link ArrayVoronoi} diagram as the sweep finishes
+ * them, so that a diagram can be written out or processed without ever being
+ * held in memory as a whole. The sweep still holds the cells the beach line is
+ * crossing, whose number depends on the layout of the sites.
+ *
+ * The sink is called synchronously from {@link ArrayVoronoi#step()}, so it
+ * should not modify the DCEL itself.
+ *
+ * @see ArrayVoronoi#setCellSink(CellSink)
+ */
+@FunctionalInterface
+public interface CellSink {
+
+    /**
+     * Called for each cell, as soon as the cell can no longer change. The
+     * vertices are given in order around the cell. The coordinate arrays are
+     * reused for the next cell, so they must be copied if they are kept.
+     *
+     * @param site        - the index of the site of the cell
+     * @param x           - the x-coordinates of the vertices, in the first
+     *                    {@code vertexCount} elements
+     * @param y           - the y-coordinates of the vertices, in the first
+     *                    {@code vertexCount} elements
+     * @param vertexCount - the number of vertices of the cell
+     */
+    void cell(int site, double[] x, double[] y, int vertexCount);
+
+}
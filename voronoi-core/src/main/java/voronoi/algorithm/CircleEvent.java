@@ -1,9 +1,8 @@
 package voronoi.algorithm;
 
-import javafx.geometry.Point2D;
-
 import voronoi.algorithm.dcel.Edge;
 import voronoi.algorithm.dcel.ParabolaEdge;
+import voronoi.util.Point2D;
 import voronoi.util.Util;
 
 public class CircleEvent extends PointEvent {
@@ -13,6 +12,12 @@ public class CircleEvent extends PointEvent {
 
     public final Edge midEdge;
 
+    /**
+     * Whether or not this event has been invalidated. Cancelled events are left in
+     * the event queue, and are skipped when they reach the front of it.
+     */
+    private boolean cancelled = false;
+
     public CircleEvent(final Edge middleEdge) {
         int numPar = 0;
         final Point2D[] foci = new Point2D[3];
@@ -38,8 +43,8 @@ public class CircleEvent extends PointEvent {
             this.center = new Point2D(Util.circleCenterX(foci[0], foci[1], nonParEdge.getOrigin().getY()),
                     nonParEdge.getOrigin().getY());
         } else if (numPar == 2) {
-            this.center = new Point2D(nonParEdge.getOrigin().getX(),
-                    Util.circleCenterY(foci[0], foci[1], nonParEdge.getOrigin().getX()));
+            this.center = new Point2D(nonParEdge.getOrigin().getX(), foci[0].getY() == foci[1].getY() ? Util.FAR_AWAY
+                    : Util.circleCenterY(foci[0], foci[1], nonParEdge.getOrigin().getX()));
         } else {
             this.center = Util.circleCenter(foci[0], foci[1], foci[2]);
         }
@@ -49,6 +54,34 @@ public class CircleEvent extends PointEvent {
         this.midEdge = middleEdge;
     }
 
+    /**
+     * Creates a copy of the given event, for a copy of the DCEL it belongs to.
+     *
+     * @param event   - the event to copy
+     * @param midEdge - the middle edge of the event in the copied DCEL
+     */
+    CircleEvent(final CircleEvent event, final Edge midEdge) {
+        this.center = event.center;
+        this.radius = event.radius;
+        this.point = event.point;
+        this.midEdge = midEdge;
+        this.cancelled = event.cancelled;
+    }
+
+    /**
+     * Marks this event as invalid, so that it is skipped instead of processed.
+     */
+    void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return true if this event has been invalidated; false otherwise
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
     public static boolean canGenerateEvent(final Edge midEdge) {
         final boolean prev = midEdge.getPrevious() instanceof ParabolaEdge;
         final boolean next = midEdge.getNext() instanceof ParabolaEdge;
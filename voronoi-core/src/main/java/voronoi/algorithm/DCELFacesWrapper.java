@@ -1,15 +1,17 @@
 package voronoi.algorithm;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 
-import javafx.geometry.Point2D;
-
+import voronoi.algorithm.dcel.DCELCopy;
 import voronoi.algorithm.dcel.Edge;
 import voronoi.algorithm.dcel.Face;
 import voronoi.algorithm.dcel.ParabolaEdge;
 import voronoi.algorithm.dcel.Vertex;
+import voronoi.util.Point2D;
 
 /**
  * A wrapper for a doubly-connected edge list.
@@ -24,12 +26,21 @@ import voronoi.algorithm.dcel.Vertex;
 public class DCELFacesWrapper {
 
     /**
-     * The list of faces in the DCEL
+     * The faces in the DCEL, in the order they were added (a set, so that faces
+     * can be removed without searching a list)
+     */
+    private final Set<Face> faces;
+
+    /**
+     * The numbers of half-edges, vertices and faces added by this wrapper's
+     * operations
      */
-    private final List<Face> faces;
+    private long edgesAdded;
+    private long verticesAdded;
+    private long facesAdded;
 
     public DCELFacesWrapper() {
-        this.faces = new ArrayList<>();
+        this.faces = new LinkedHashSet<>();
 
         final Edge edge = Edge.newDCEL();
 
@@ -37,6 +48,19 @@ public class DCELFacesWrapper {
         this.faces.add(edge.getTwin().getInteriorFace());
     }
 
+    /**
+     * Creates a wrapper for a copy of the DCEL of the given wrapper, keeping the
+     * faces in the same order.
+     *
+     * @param original - the wrapper of the original DCEL
+     * @param copy     - the copy of the original DCEL
+     */
+    DCELFacesWrapper(final DCELFacesWrapper original, final DCELCopy copy) {
+        this.faces = new LinkedHashSet<>();
+        for (final Face face : original.faces)
+            this.faces.add(copy.get(face));
+    }
+
     /**
      * @return the list of faces in the DCEL.
      */
@@ -76,7 +100,10 @@ public class DCELFacesWrapper {
      * @return the newly-added edge
      */
     public Edge subdivide(final Edge splitEdge, final Point2D splitPoint) {
-        return splitEdge.subdivide(splitPoint);
+        final Edge newEdge = splitEdge.subdivide(splitPoint);
+        edgesAdded += 2;
+        verticesAdded++;
+        return newEdge;
     }
 
     /**
@@ -119,6 +146,8 @@ public class DCELFacesWrapper {
     public Edge splitFaceBetween(final Edge edge1, final Edge edge2) {
         final Edge newEdge = Edge.splitFaceBetween(edge1, edge2);
         this.faces.add(newEdge.getTwin().getInteriorFace());
+        edgesAdded += 2;
+        facesAdded++;
         return newEdge;
     }
 
@@ -134,6 +163,22 @@ public class DCELFacesWrapper {
     public ParabolaEdge splitFaceWithParabola(final Point2D focus, final Edge edge1, final Edge edge2) {
         final ParabolaEdge newEdge = ParabolaEdge.splitFaceBetween(focus, edge1, edge2);
         this.faces.add(newEdge.getTwin().getInteriorFace());
+        edgesAdded += 2;
+        facesAdded++;
+        return newEdge;
+    }
+
+    /**
+     * Converts the given parabola into a straight-line edge.
+     *
+     * @see {@link ParabolaEdge#convertToNonParEdge()}
+     *
+     * @param edge - the parabola to convert
+     * @return the new edge, which replaces the parabola
+     */
+    public Edge convertToNonParEdge(final ParabolaEdge edge) {
+        final Edge newEdge = edge.convertToNonParEdge();
+        edgesAdded += 2;
         return newEdge;
     }
 
@@ -147,7 +192,31 @@ public class DCELFacesWrapper {
      * @return the newly-added edge.
      */
     public Edge ripVertex(final Point2D point, final Edge fixedEdge, final Edge movingEdge) {
-        return Edge.ripVertex(point, fixedEdge, movingEdge);
+        final Edge newEdge = Edge.ripVertex(point, fixedEdge, movingEdge);
+        edgesAdded += 2;
+        verticesAdded++;
+        return newEdge;
+    }
+
+    /**
+     * @return the number of half-edges added by the operations of this wrapper
+     */
+    long getEdgesAdded() {
+        return edgesAdded;
+    }
+
+    /**
+     * @return the number of vertices added by the operations of this wrapper
+     */
+    long getVerticesAdded() {
+        return verticesAdded;
+    }
+
+    /**
+     * @return the number of faces added by the operations of this wrapper
+     */
+    long getFacesAdded() {
+        return facesAdded;
     }
 
 }
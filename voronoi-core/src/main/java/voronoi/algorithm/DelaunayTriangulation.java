@@ -0,0 +1,357 @@
+package voronoi.algorithm;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.algorithm.dcel.Edge;
+import voronoi.algorithm.dcel.Face;
+
+/**
+ * The Delaunay triangulation of the sites of a finished Voronoi diagram, held in
+ * primitive arrays: the three sites of each triangle, and the neighbors of each
+ * site in compressed sparse row form.
+ *
+ * The triangulation is read directly from the DCEL of the diagram. Two sites are
+ * neighbors if their cells share an edge, and each vertex of the diagram where
+ * three cells meet is a triangle (a vertex where {@code k > 3} cells meet, which
+ * happens when {@code k} sites lie on a circle, is split into {@code k - 2}
+ * triangles). Since the diagram is clipped to its bounds, triangles whose
+ * circumcenter lies outside the bounds, and neighbors whose common edge lies
+ * outside the bounds, are not included.
+ *
+ * The arrays returned by this class are not copied, and must not be modified.
+ */
+public final class DelaunayTriangulation {
+
+    private static final int NONE = ArrayDCEL.NONE;
+
+    private final double[] siteX;
+    private final double[] siteY;
+
+    private final int[] triangles;
+
+    private final int[] neighborOffsets;
+    private final int[] neighbors;
+
+    private DelaunayTriangulation(final double[] siteX, final double[] siteY, final int[] triangles,
+            final int[] neighborOffsets, final int[] neighbors) {
+        this.siteX = siteX;
+        this.siteY = siteY;
+        this.triangles = triangles;
+        this.neighborOffsets = neighborOffsets;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * Reads the triangulation from a finished diagram in an {@link ArrayDCEL}, in
+     * which the site of each cell is its contained site.
+     *
+     * @param dcel  - the DCEL of the finished diagram
+     * @param siteX - the x-coordinates of the sites
+     * @param siteY - the y-coordinates of the sites
+     * @return the triangulation, in which each site keeps its index
+     */
+    static DelaunayTriangulation of(final ArrayDCEL dcel, final double[] siteX, final double[] siteY) {
+        final int n = siteX.length;
+
+        final int[] offsets = new int[n + 1];
+        for (int face = 0; face < dcel.faceCapacity(); face++) {
+            final int site = cellSite(dcel, face);
+            if (site != NONE)
+                offsets[site + 1] = countNeighbors(dcel, face);
+        }
+        for (int i = 0; i < n; i++)
+            offsets[i + 1] += offsets[i];
+
+        final int[] neighbors = new int[offsets[n]];
+        int[] triangles = new int[3 * Math.max(1, 2 * n)];
+        int triangleLength = 0;
+        int[] around = new int[8];
+        for (int face = 0; face < dcel.faceCapacity(); face++) {
+            final int site = cellSite(dcel, face);
+            if (site == NONE)
+                continue;
+
+            int index = offsets[site];
+            final int start = dcel.boundaryEdge(face);
+            int edge = start;
+            do {
+                final int neighbor = cellSite(dcel, dcel.face(ArrayDCEL.twin(edge)));
+                if (neighbor != NONE && neighbor != cellSite(dcel, dcel.face(ArrayDCEL.twin(dcel.previous(edge))))
+                        && (index == offsets[site] || neighbor != neighbors[offsets[site]]))
+                    neighbors[index++] = neighbor;
+
+                // Emit the triangles of the vertex from the cell with the lowest site
+                // around it, so that each is emitted once
+                int degree = 0;
+                int incident = edge;
+                do {
+                    final int other = cellSite(dcel, dcel.face(incident));
+                    if (other == NONE || other < site) {
+                        degree = 0;
+                        break;
+                    }
+                    if (degree == around.length)
+                        around = Arrays.copyOf(around, degree * 2);
+                    around[degree++] = other;
+                    incident = dcel.next(ArrayDCEL.twin(incident));
+                } while (incident != edge);
+
+                if (degree >= 3) {
+                    if (triangleLength + 3 * (degree - 2) > triangles.length)
+                        triangles = Arrays.copyOf(triangles, Math.max(triangles.length * 2,
+                                triangleLength + 3 * (degree - 2)));
+                    for (int i = 1; i < degree - 1; i++) {
+                        triangles[triangleLength++] = site;
+                        triangles[triangleLength++] = around[i];
+                        triangles[triangleLength++] = around[i + 1];
+                    }
+                }
+
+                edge = dcel.next(edge);
+            } while (edge != start);
+        }
+
+        return new DelaunayTriangulation(siteX.clone(), siteY.clone(), Arrays.copyOf(triangles, triangleLength),
+                offsets, neighbors);
+    }
+
+    /**
+     * @return the site of the given face, or {@code NONE} if it is not a cell
+     */
+    private static int cellSite(final ArrayDCEL dcel, final int face) {
+        return face == NONE || dcel.boundaryEdge(face) == NONE ? NONE : dcel.site(face);
+    }
+
+    /**
+     * @return the number of distinct cells sharing an edge with the given cell
+     */
+    private static int countNeighbors(final ArrayDCEL dcel, final int face) {
+        int count = 0;
+        int first = NONE;
+        final int start = dcel.boundaryEdge(face);
+        int edge = start;
+        do {
+            final int neighbor = cellSite(dcel, dcel.face(ArrayDCEL.twin(edge)));
+            if (neighbor != NONE && neighbor != cellSite(dcel, dcel.face(ArrayDCEL.twin(dcel.previous(edge))))
+                    && (count == 0 || neighbor != first)) {
+                if (count == 0)
+                    first = neighbor;
+                count++;
+            }
+            edge = dcel.next(edge);
+        } while (edge != start);
+        return count;
+    }
+
+    /**
+     * Reads the triangulation from a finished diagram in a
+     * {@link DCELFacesWrapper}. The sites are numbered in the order of the cells in
+     * the DCEL. The numbers are kept in a map of their own, so reading the
+     * triangulation does not change the diagram.
+     *
+     * @param dcel   - the DCEL of the finished diagram
+     * @param isCell - whether or not each face of the DCEL is the cell of a site
+     * @return the triangulation
+     */
+    static DelaunayTriangulation of(final DCELFacesWrapper dcel, final Predicate<Face> isCell) {
+        final Map<Face, Integer> sites = new IdentityHashMap<>();
+        final int[] neighborCount = { 0 };
+        dcel.forEachFace(face -> {
+            if (isCell.test(face)) {
+                sites.put(face, sites.size());
+                neighborCount[0] += countNeighbors(face, isCell);
+            }
+        });
+
+        final int n = sites.size();
+        final double[] siteX = new double[n];
+        final double[] siteY = new double[n];
+        final int[] offsets = new int[n + 1];
+        final int[] neighbors = new int[neighborCount[0]];
+        final TriangleList triangles = new TriangleList(sites);
+        dcel.forEachFace(face -> {
+            final int site = siteOf(sites, face);
+            if (site == NONE)
+                return;
+
+            siteX[site] = face.getContainedPoint().getX();
+            siteY[site] = face.getContainedPoint().getY();
+
+            int index = offsets[site];
+            final Edge start = face.getBoundaryEdge();
+            Edge edge = start;
+            do {
+                final int neighbor = siteOf(sites, edge.getTwin().getInteriorFace());
+                if (neighbor != NONE && neighbor != siteOf(sites, edge.getPrevious().getTwin().getInteriorFace())
+                        && (index == offsets[site] || neighbor != neighbors[offsets[site]]))
+                    neighbors[index++] = neighbor;
+
+                triangles.addVertex(edge, site);
+                edge = edge.getNext();
+            } while (edge != start);
+            offsets[site + 1] = index;
+        });
+
+        return new DelaunayTriangulation(siteX, siteY, triangles.toArray(), offsets, neighbors);
+    }
+
+    /**
+     * @return the number of the site of the given face, or {@code NONE} if it is
+     *         not a cell
+     */
+    private static int siteOf(final Map<Face, Integer> sites, final Face face) {
+        final Integer site = sites.get(face);
+        return site == null ? NONE : site;
+    }
+
+    /**
+     * @return the number of distinct cells sharing an edge with the given cell
+     */
+    private static int countNeighbors(final Face face, final Predicate<Face> isCell) {
+        int count = 0;
+        Face first = null;
+        final Edge start = face.getBoundaryEdge();
+        Edge edge = start;
+        do {
+            final Face neighbor = edge.getTwin().getInteriorFace();
+            if (isCell.test(neighbor) && neighbor != edge.getPrevious().getTwin().getInteriorFace()
+                    && (count == 0 || neighbor != first)) {
+                if (count == 0)
+                    first = neighbor;
+                count++;
+            }
+            edge = edge.getNext();
+        } while (edge != start);
+        return count;
+    }
+
+    /**
+     * A growable list of triangles.
+     */
+    private static final class TriangleList {
+        private final Map<Face, Integer> sites;
+
+        private int[] triangles;
+        private int length = 0;
+
+        private int[] around = new int[8];
+
+        TriangleList(final Map<Face, Integer> sites) {
+            this.sites = sites;
+            this.triangles = new int[3 * Math.max(1, 2 * sites.size())];
+        }
+
+        /**
+         * Adds the triangles of the origin of the given edge, if the given site is
+         * the lowest of the sites around it, so that each is added once.
+         */
+        void addVertex(final Edge edge, final int site) {
+            int degree = 0;
+            Edge incident = edge;
+            do {
+                final int other = siteOf(sites, incident.getInteriorFace());
+                if (other == NONE || other < site)
+                    return;
+                if (degree == around.length)
+                    around = Arrays.copyOf(around, degree * 2);
+                around[degree++] = other;
+                incident = incident.getTwin().getNext();
+            } while (incident != edge);
+
+            if (degree < 3)
+                return;
+            if (length + 3 * (degree - 2) > triangles.length)
+                triangles = Arrays.copyOf(triangles, Math.max(triangles.length * 2, length + 3 * (degree - 2)));
+            for (int i = 1; i < degree - 1; i++) {
+                triangles[length++] = site;
+                triangles[length++] = around[i];
+                triangles[length++] = around[i + 1];
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(triangles, length);
+        }
+    }
+
+    /**
+     * @return the number of sites
+     */
+    public int getSiteCount() {
+        return siteX.length;
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the x-coordinate of the given site
+     */
+    public double getSiteX(final int site) {
+        return siteX[site];
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the y-coordinate of the given site
+     */
+    public double getSiteY(final int site) {
+        return siteY[site];
+    }
+
+    /**
+     * @return the number of triangles
+     */
+    public int getTriangleCount() {
+        return triangles.length / 3;
+    }
+
+    /**
+     * @return the sites of each triangle: the sites of triangle {@code t} are
+     *         elements {@code 3t}, {@code 3t + 1} and {@code 3t + 2}. All triangles
+     *         have the same orientation.
+     */
+    public int[] getTriangles() {
+        return triangles;
+    }
+
+    /**
+     * @return the offset of the neighbors of each site in {@link #getNeighbors()}:
+     *         the neighbors of site {@code i} are the elements from
+     *         {@code offsets[i]} (inclusive) to {@code offsets[i + 1]} (exclusive).
+     *         The array has one more element than there are sites.
+     */
+    public int[] getNeighborOffsets() {
+        return neighborOffsets;
+    }
+
+    /**
+     * @return the neighbors of all sites, in the order of the edges around each
+     *         site's cell
+     * @see #getNeighborOffsets()
+     */
+    public int[] getNeighbors() {
+        return neighbors;
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the number of neighbors of the given site
+     */
+    public int getNeighborCount(final int site) {
+        return neighborOffsets[site + 1] - neighborOffsets[site];
+    }
+
+    /**
+     * @param site  - the index of a site
+     * @param index - the index of the neighbor, below
+     *              {@link #getNeighborCount(int)}
+     * @return the given neighbor of the given site
+     */
+    public int getNeighbor(final int site, final int index) {
+        return neighbors[neighborOffsets[site] + index];
+    }
+
+}
@@ -0,0 +1,288 @@
+package voronoi.algorithm;
+
+import java.util.Arrays;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+
+/**
+ * The circle event queue of {@link ArrayVoronoi}: an indexed 4-ary heap of
+ * circle events, held in primitive arrays. Site events do not go through the
+ * queue, since the sites are sorted once up front and then consumed in order.
+ *
+ * Each event is identified by an int handle, which stays valid until the event
+ * is polled or removed; handles are then recycled by later events. Events are
+ * ordered from the largest y-coordinate to the smallest, and then from the
+ * smallest x-coordinate to the largest. Since the position of each event in the
+ * heap is recorded, an event can be removed or have its key changed in
+ * {@code O(log n)} time. Apart from growing its arrays, the queue allocates
+ * nothing.
+ */
+final class EventQueue {
+
+    private static final int NONE = ArrayDCEL.NONE;
+
+    private static final int ARITY = 4;
+
+    // The key of each event
+    private double[] x;
+    private double[] y;
+
+    /**
+     * The middle edge of each event
+     */
+    private int[] midEdges;
+
+    // The center y-coordinate and radius of each event (the center x-coordinate
+    // is the x key)
+    private double[] centerY;
+    private double[] radius;
+
+    /**
+     * The position of each event in the heap, or the next free handle if the
+     * handle is free
+     */
+    private int[] position;
+
+    private int handleCount = 0;
+    private int freeHandles = NONE;
+
+    /**
+     * The handles of the events, in heap order
+     */
+    private int[] heap;
+    private int size = 0;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param capacity - the number of events to allocate space for
+     */
+    EventQueue(final int capacity) {
+        final int length = Math.max(1, capacity);
+        this.x = new double[length];
+        this.y = new double[length];
+        this.midEdges = new int[length];
+        this.centerY = new double[length];
+        this.radius = new double[length];
+        this.position = new int[length];
+        this.heap = new int[length];
+    }
+
+    /**
+     * Adds a circle event, which takes place when the sweep line reaches the
+     * bottom of the circle.
+     *
+     * @param midEdge - the middle edge of the event
+     * @param cx      - the x-coordinate of the center of the circle
+     * @param cy      - the y-coordinate of the center of the circle
+     * @param r       - the radius of the circle
+     * @return the handle of the new event
+     */
+    int addCircle(final int midEdge, final double cx, final double cy, final double r) {
+        final int handle = newHandle();
+        x[handle] = cx;
+        y[handle] = cy - r;
+        midEdges[handle] = midEdge;
+        centerY[handle] = cy;
+        radius[handle] = r;
+        insert(handle);
+        return handle;
+    }
+
+    /**
+     * @return true if there are no events in the queue; false otherwise
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of events in the queue
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the handle of the next event, or {@code NONE} if the queue is empty
+     */
+    int peek() {
+        return size == 0 ? NONE : heap[0];
+    }
+
+    /**
+     * Removes the next event from the queue. The data of the event can still be
+     * read through its handle until the next event is added.
+     *
+     * @return the handle of the removed event, or {@code NONE} if the queue is
+     *         empty
+     */
+    int poll() {
+        if (size == 0)
+            return NONE;
+
+        final int handle = heap[0];
+        remove(handle);
+        return handle;
+    }
+
+    /**
+     * Removes the given event from the queue. The data of the event can still be
+     * read through its handle until the next event is added.
+     *
+     * @param handle - the handle of an event in the queue
+     */
+    void remove(final int handle) {
+        final int index = position[handle];
+        final int last = heap[--size];
+        if (index != size) {
+            heap[index] = last;
+            position[last] = index;
+            if (!siftUp(index))
+                siftDown(index);
+        }
+
+        position[handle] = freeHandles;
+        freeHandles = handle;
+    }
+
+    /**
+     * Changes the key of the given event, and moves it to its new place in the
+     * queue.
+     *
+     * @param handle - the handle of an event in the queue
+     * @param px     - the new x key
+     * @param py     - the new y key
+     */
+    void update(final int handle, final double px, final double py) {
+        x[handle] = px;
+        y[handle] = py;
+        final int index = position[handle];
+        if (!siftUp(index))
+            siftDown(index);
+    }
+
+    /**
+     * @param handle - the handle of an event
+     * @return the x key of the event (the center x-coordinate of its circle)
+     */
+    double x(final int handle) {
+        return x[handle];
+    }
+
+    /**
+     * @param handle - the handle of an event
+     * @return the y key of the event (the bottom of its circle)
+     */
+    double y(final int handle) {
+        return y[handle];
+    }
+
+    /**
+     * @param handle - the handle of an event
+     * @return the middle edge of the event
+     */
+    int midEdge(final int handle) {
+        return midEdges[handle];
+    }
+
+    /**
+     * @param handle - the handle of an event
+     * @return the y-coordinate of the center of the event's circle
+     */
+    double centerY(final int handle) {
+        return centerY[handle];
+    }
+
+    /**
+     * @param handle - the handle of an event
+     * @return the radius of the event's circle
+     */
+    double radius(final int handle) {
+        return radius[handle];
+    }
+
+    private int newHandle() {
+        if (freeHandles != NONE) {
+            final int handle = freeHandles;
+            freeHandles = position[handle];
+            return handle;
+        }
+
+        if (handleCount == x.length) {
+            final int capacity = x.length * 2;
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            midEdges = Arrays.copyOf(midEdges, capacity);
+            centerY = Arrays.copyOf(centerY, capacity);
+            radius = Arrays.copyOf(radius, capacity);
+            position = Arrays.copyOf(position, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+        }
+        return handleCount++;
+    }
+
+    private void insert(final int handle) {
+        heap[size] = handle;
+        position[handle] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * @return true if the event of handle {@code a} comes before that of handle
+     *         {@code b}
+     */
+    private boolean before(final int a, final int b) {
+        return y[a] > y[b] || y[a] == y[b] && x[a] < x[b];
+    }
+
+    /**
+     * Moves the event at the given heap index up to its place.
+     *
+     * @return true if the event moved
+     */
+    private boolean siftUp(int index) {
+        final int handle = heap[index];
+        final int start = index;
+        while (index > 0) {
+            final int parentIndex = (index - 1) / ARITY;
+            final int parent = heap[parentIndex];
+            if (!before(handle, parent))
+                break;
+            heap[index] = parent;
+            position[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = handle;
+        position[handle] = index;
+        return index != start;
+    }
+
+    /**
+     * Moves the event at the given heap index down to its place.
+     */
+    private void siftDown(int index) {
+        final int handle = heap[index];
+        while (true) {
+            final int firstChild = ARITY * index + 1;
+            if (firstChild >= size)
+                break;
+
+            int best = firstChild;
+            final int end = Math.min(firstChild + ARITY, size);
+            for (int child = firstChild + 1; child < end; child++) {
+                if (before(heap[child], heap[best]))
+                    best = child;
+            }
+            if (!before(heap[best], handle))
+                break;
+
+            heap[index] = heap[best];
+            position[heap[index]] = index;
+            index = best;
+        }
+        heap[index] = handle;
+        position[handle] = index;
+    }
+
+}
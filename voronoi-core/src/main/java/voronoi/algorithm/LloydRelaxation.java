@@ -0,0 +1,408 @@
+package voronoi.algorithm;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Moves a set of sites towards a centroidal Voronoi diagram with Lloyd's
+ * algorithm: each iteration computes the Voronoi diagram of the sites, and then
+ * moves each site to the centroid of its cell.
+ *
+ * Consecutive iterations reuse as much as they can. The diagram is always built
+ * into the same {@link ArrayDCEL}, and the sites are kept sorted in the order the
+ * sweep handles them (from the largest y-coordinate to the smallest, and then
+ * from the smallest x-coordinate to the largest), so the sweep does not need to
+ * sort or copy them. Since sites only move a little between iterations, the
+ * order is updated with an insertion sort, which takes linear time when few
+ * sites change places; the sort only falls back to a merge sort when the sites
+ * have moved a lot, as in the first iteration. The centroids are computed in
+ * parallel.
+ *
+ * Sites are identified by their index in the arrays (or collection) given to
+ * the constructor.
+ */
+public class LloydRelaxation {
+
+    private static final int NONE = ArrayDCEL.NONE;
+
+    /**
+     * The smallest number of faces worth computing the centroids of in a separate
+     * task
+     */
+    private static final int MIN_FACES_PER_TASK = 4096;
+
+    private final Rectangle2D bounds;
+
+    private double[] siteX;
+    private double[] siteY;
+
+    // The positions of the sites after the current iteration
+    private double[] nextX;
+    private double[] nextY;
+
+    /**
+     * The sites, in sweep order: from the largest y-coordinate to the smallest,
+     * and then from the smallest x-coordinate to the largest
+     */
+    private final int[] order;
+    private final int[] sortBuffer;
+
+    // The positions of the sites in sweep order, given to each sweep
+    private final double[] sortedX;
+    private final double[] sortedY;
+
+    private final ArrayDCEL dcel = new ArrayDCEL();
+    private ArrayVoronoi diagram;
+
+    // The largest and total distance moved by a site in each task
+    private double[] taskMaxDisplacement = new double[0];
+    private double[] taskTotalDisplacement = new double[0];
+
+    private int iteration = 0;
+    private double maxDisplacement = Double.NaN;
+    private double meanDisplacement = Double.NaN;
+    private long lastIterationTime = 0;
+    private long totalTime = 0;
+
+    /**
+     * Creates a new relaxation of the given sites.
+     *
+     * @param points - the sites
+     * @param bounds - the bounds of the diagram
+     */
+    public LloydRelaxation(final Collection<Point2D> points, final Rectangle2D bounds) {
+        this(points.stream().mapToDouble(Point2D::getX).toArray(), points.stream().mapToDouble(Point2D::getY).toArray(),
+                bounds);
+    }
+
+    /**
+     * Creates a new relaxation of the sites {@code (x[i], y[i])}.
+     *
+     * @param x      - the x-coordinates of the sites
+     * @param y      - the y-coordinates of the sites
+     * @param bounds - the bounds of the diagram
+     */
+    public LloydRelaxation(final double[] x, final double[] y, final Rectangle2D bounds) {
+        if (x.length != y.length)
+            throw new IllegalArgumentException("Site coordinate arrays must have the same length");
+
+        final int n = x.length;
+        this.bounds = bounds;
+        this.siteX = x.clone();
+        this.siteY = y.clone();
+        this.nextX = new double[n];
+        this.nextY = new double[n];
+
+        this.order = new int[n];
+        for (int i = 0; i < n; i++)
+            order[i] = i;
+        this.sortBuffer = new int[n];
+
+        this.sortedX = new double[n];
+        this.sortedY = new double[n];
+    }
+
+    /**
+     * Performs one iteration on the common pool.
+     *
+     * @return the largest distance any site moved
+     */
+    public double step() {
+        return step(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Performs one iteration, computing the centroids on the given pool.
+     *
+     * @param pool - the pool to compute the centroids on
+     * @return the largest distance any site moved
+     */
+    public synchronized double step(final ForkJoinPool pool) {
+        final long start = System.nanoTime();
+        final int n = siteX.length;
+
+        sortOrder();
+        for (int i = 0; i < n; i++) {
+            sortedX[i] = siteX[order[i]];
+            sortedY[i] = siteY[order[i]];
+        }
+
+        diagram = new ArrayVoronoi(sortedX, sortedY, bounds, dcel, true);
+        diagram.run();
+
+        // Sites without a cell (which can only happen for sites outside the bounds)
+        // stay where they are
+        System.arraycopy(siteX, 0, nextX, 0, n);
+        System.arraycopy(siteY, 0, nextY, 0, n);
+
+        final int faces = dcel.faceCapacity();
+        final int tasks = Math.max(1, Math.min(faces / MIN_FACES_PER_TASK, 4 * pool.getParallelism()));
+        if (taskMaxDisplacement.length != tasks) {
+            taskMaxDisplacement = new double[tasks];
+            taskTotalDisplacement = new double[tasks];
+        }
+        if (tasks == 1) {
+            moveToCentroids(0, 0, faces);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    ParallelVoronoi.parallelFor(tasks,
+                            task -> moveToCentroids(task, (int) ((long) task * faces / tasks),
+                                    (int) ((long) (task + 1) * faces / tasks)));
+                }
+            });
+        }
+
+        double max = 0;
+        double total = 0;
+        for (int i = 0; i < tasks; i++) {
+            max = Math.max(max, taskMaxDisplacement[i]);
+            total += taskTotalDisplacement[i];
+        }
+
+        final double[] oldX = siteX;
+        final double[] oldY = siteY;
+        siteX = nextX;
+        siteY = nextY;
+        nextX = oldX;
+        nextY = oldY;
+
+        iteration++;
+        maxDisplacement = max;
+        meanDisplacement = n == 0 ? 0 : total / n;
+        lastIterationTime = System.nanoTime() - start;
+        totalTime += lastIterationTime;
+        return max;
+    }
+
+    /**
+     * Performs iterations until no site moves more than the given distance, or the
+     * given number of iterations have been performed.
+     *
+     * @param maxIterations - the largest number of iterations to perform
+     * @param tolerance     - the distance below which the sites are considered to
+     *                      have converged
+     * @return the number of iterations performed
+     */
+    public int run(final int maxIterations, final double tolerance) {
+        int count = 0;
+        while (count < maxIterations) {
+            count++;
+            if (step() <= tolerance)
+                break;
+        }
+        return count;
+    }
+
+    /**
+     * Moves the site of each cell in the given range of faces to the centroid of
+     * its cell, and records the distances moved for the given task.
+     */
+    private void moveToCentroids(final int task, final int fromFace, final int toFace) {
+        double max = 0;
+        double total = 0;
+        for (int face = fromFace; face < toFace; face++) {
+            final int start = dcel.boundaryEdge(face);
+            if (start == NONE || diagram.isSpecialFace(face) || dcel.site(face) == NONE)
+                continue;
+
+            double area = 0;
+            double cx = 0;
+            double cy = 0;
+            int edge = start;
+            do {
+                final int origin = dcel.origin(edge);
+                final int end = dcel.origin(dcel.next(edge));
+                final double x0 = dcel.x(origin);
+                final double y0 = dcel.y(origin);
+                final double x1 = dcel.x(end);
+                final double y1 = dcel.y(end);
+
+                final double cross = x0 * y1 - x1 * y0;
+                area += cross;
+                cx += (x0 + x1) * cross;
+                cy += (y0 + y1) * cross;
+                edge = dcel.next(edge);
+            } while (edge != start);
+
+            if (area == 0)
+                continue;
+
+            final int site = order[dcel.site(face)];
+            nextX[site] = cx / (3 * area);
+            nextY[site] = cy / (3 * area);
+
+            final double distance = Math.hypot(nextX[site] - siteX[site], nextY[site] - siteY[site]);
+            max = Math.max(max, distance);
+            total += distance;
+        }
+
+        taskMaxDisplacement[task] = max;
+        taskTotalDisplacement[task] = total;
+    }
+
+    /**
+     * Sorts {@link #order} into sweep order. Uses an insertion sort, which is
+     * linear in the number of sites plus the number of pairs of sites that have
+     * changed places, unless that would take too long.
+     */
+    private void sortOrder() {
+        final int n = order.length;
+        final long limit = 8L * n;
+        long moves = 0;
+        for (int i = 1; i < n; i++) {
+            final int site = order[i];
+            int j = i - 1;
+            while (j >= 0 && before(site, order[j])) {
+                order[j + 1] = order[j];
+                j--;
+                if (++moves > limit) {
+                    order[j + 1] = site;
+                    mergeSort();
+                    return;
+                }
+            }
+            order[j + 1] = site;
+        }
+    }
+
+    /**
+     * Sorts {@link #order} into sweep order with a bottom-up merge sort.
+     */
+    private void mergeSort() {
+        final int n = order.length;
+        int[] from = order;
+        int[] to = sortBuffer;
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                final int mid = Math.min(low + width, n);
+                final int high = Math.min(low + 2 * width, n);
+                int i = low;
+                int j = mid;
+                for (int k = low; k < high; k++) {
+                    if (i < mid && (j >= high || !before(from[j], from[i])))
+                        to[k] = from[i++];
+                    else
+                        to[k] = from[j++];
+                }
+            }
+            final int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != order)
+            System.arraycopy(from, 0, order, 0, n);
+    }
+
+    /**
+     * @return true if site {@code a} comes strictly before site {@code b} in sweep
+     *         order
+     */
+    private boolean before(final int a, final int b) {
+        return siteY[a] > siteY[b] || siteY[a] == siteY[b] && siteX[a] < siteX[b];
+    }
+
+    /**
+     * @return the number of sites
+     */
+    public int getSiteCount() {
+        return siteX.length;
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the current x-coordinate of the given site
+     */
+    public double getSiteX(final int site) {
+        return siteX[site];
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the current y-coordinate of the given site
+     */
+    public double getSiteY(final int site) {
+        return siteY[site];
+    }
+
+    /**
+     * @return a copy of the current x-coordinates of the sites
+     */
+    public double[] getSiteXs() {
+        return siteX.clone();
+    }
+
+    /**
+     * @return a copy of the current y-coordinates of the sites
+     */
+    public double[] getSiteYs() {
+        return siteY.clone();
+    }
+
+    /**
+     * Returns the diagram computed by the last iteration, i.e. the diagram of the
+     * sites before they were last moved. Its sites are in sweep order, so site
+     * {@code i} of the diagram is site {@link #getDiagramSite(int)
+     * getDiagramSite(i)} of this relaxation. The diagram is overwritten by the
+     * next iteration.
+     *
+     * @return the last diagram, or null if no iteration has been performed
+     */
+    public ArrayVoronoi getDiagram() {
+        return diagram;
+    }
+
+    /**
+     * @param diagramSite - the index of a site in {@link #getDiagram()}
+     * @return the index of the same site in this relaxation
+     */
+    public int getDiagramSite(final int diagramSite) {
+        return order[diagramSite];
+    }
+
+    /**
+     * @return the number of iterations performed
+     */
+    public int getIteration() {
+        return iteration;
+    }
+
+    /**
+     * @return the largest distance any site moved in the last iteration, or NaN if
+     *         no iteration has been performed
+     */
+    public double getMaxDisplacement() {
+        return maxDisplacement;
+    }
+
+    /**
+     * @return the mean distance the sites moved in the last iteration, or NaN if
+     *         no iteration has been performed
+     */
+    public double getMeanDisplacement() {
+        return meanDisplacement;
+    }
+
+    /**
+     * @return the time taken by the last iteration, in nanoseconds
+     */
+    public long getLastIterationTime() {
+        return lastIterationTime;
+    }
+
+    /**
+     * @return the time taken by all iterations, in nanoseconds
+     */
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+}
@@ -0,0 +1,941 @@
+package voronoi.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Computes a Voronoi diagram on a {@link ForkJoinPool} by dividing the sites
+ * into vertical strips, sweeping each strip independently with an
+ * {@link ArrayVoronoi}, and stitching the strips' cells into one
+ * {@link ArrayDCEL}.
+ *
+ * The sites are sorted by x-coordinate once, so each strip takes the sites of
+ * its halo as one contiguous range. Each strip is swept together with a halo of
+ * the sites within some distance of it. The cell of a site in the strip is then exact if no site outside the
+ * halo is closer to any of the cell's vertices than the site itself; if any
+ * cell of the strip fails this test, the strip is swept again with a halo twice
+ * as wide. Since every strip owns exact cells, the stitched diagram has the same
+ * cells as a sequential sweep over all the sites. Edges and vertices on the
+ * seams between strips are matched by the sites of the cells around them, so
+ * that the strips do not need to agree on their numbering. Each strip keeps the
+ * seam elements it numbers in its own table, which the strips that copy them
+ * look up directly, so the strips are never merged into one table.
+ *
+ * If two strips disagree about a seam (which can happen with degenerate inputs,
+ * such as many co-circular sites), the diagram is instead computed by a single
+ * sequential sweep. So is a diagram with a single strip, and one in which many
+ * sites share (nearly) the same x-coordinate, as in grids and tight clusters:
+ * strips cannot divide such sites evenly, and usually disagree about their
+ * seams, which is detected up front from a sample of the sites rather than
+ * after sweeping every strip.
+ *
+ * The faces of the two are numbered differently. In a stitched DCEL, the cell
+ * of site {@code i} is face {@code i}, and the face outside the bounds is face
+ * {@code n}, where {@code n} is the number of sites. After a sequential sweep
+ * (see {@link #isSequentialFallback()}), faces are numbered as by
+ * {@link ArrayVoronoi}, in the order the sweep creates them. Code that should
+ * work with either should find the site of a face with
+ * {@link ArrayDCEL#site(int)}, and skip the faces for which
+ * {@link #isSpecialFace(int)} is true.
+ */
+public class ParallelVoronoi {
+
+    private static final int NONE = ArrayDCEL.NONE;
+
+    /**
+     * Marks an element of a strip's DCEL that is numbered by another strip
+     */
+    private static final int FOREIGN = -2;
+
+    /**
+     * The initial width of the halo around each strip, in multiples of the mean
+     * distance between sites (wide enough that evenly spread sites, up to at least
+     * two million of them, need no retries)
+     */
+    private static final double INITIAL_HALO = 4;
+
+    /**
+     * The maximum number of events a strip's sweep may process per site before it
+     * is abandoned. A sweep processes about three events per site; degenerate
+     * inputs can make the sweep over a strip fail to terminate.
+     */
+    private static final int MAX_EVENTS_PER_SITE = 8;
+
+    /**
+     * The number of sites sampled per strip when choosing strip boundaries
+     */
+    private static final int SAMPLES_PER_STRIP = 64;
+
+    /**
+     * Sampled x-coordinates closer together than this fraction of the spacing of
+     * evenly spread sites are considered to be the same
+     */
+    private static final double SAME_X = 1e-6;
+
+    /**
+     * The largest fraction of the sampled sites that may share their x-coordinate
+     * with the next one before the sites are swept sequentially instead
+     */
+    private static final double MAX_SAME_X_FRACTION = 0.125;
+
+    private final double[] siteX;
+    private final double[] siteY;
+
+    private final Rectangle2D bounds;
+
+    private final int stripCount;
+
+    /**
+     * The x-coordinate of the left side of each strip but the first
+     */
+    private double[] stripBounds;
+
+    /**
+     * The strip that owns each site
+     */
+    private int[] siteStrip;
+
+    /**
+     * The sites, grouped by strip and sorted by x-coordinate within each strip, so
+     * that the sites in any range of x-coordinates are next to each other
+     */
+    private int[] byX;
+
+    /**
+     * The x-coordinates of the sites, in the order of {@link #byX}
+     */
+    private double[] sortedX;
+
+    /**
+     * The position in {@link #byX} of the first site of each strip, followed by
+     * the number of sites
+     */
+    private int[] stripStart;
+
+    private ArrayDCEL dcel;
+
+    /**
+     * The sequential sweep used instead of the strips, or null if the strips were
+     * stitched successfully
+     */
+    private ArrayVoronoi sequential;
+
+    private int haloRetries;
+
+    /**
+     * Creates a new parallel computation over the given sites.
+     *
+     * @param points     - the sites
+     * @param bounds     - the bounds of the diagram
+     * @param stripCount - the number of strips to divide the sites into
+     */
+    public ParallelVoronoi(final Collection<Point2D> points, final Rectangle2D bounds, final int stripCount) {
+        this(points.stream().mapToDouble(Point2D::getX).toArray(), points.stream().mapToDouble(Point2D::getY).toArray(),
+                bounds, stripCount);
+    }
+
+    /**
+     * Creates a new parallel computation over the sites {@code (x[i], y[i])}.
+     *
+     * @param x          - the x-coordinates of the sites
+     * @param y          - the y-coordinates of the sites
+     * @param bounds     - the bounds of the diagram
+     * @param stripCount - the number of strips to divide the sites into
+     */
+    public ParallelVoronoi(final double[] x, final double[] y, final Rectangle2D bounds, final int stripCount) {
+        if (x.length != y.length)
+            throw new IllegalArgumentException("Site coordinate arrays must have the same length");
+        if (stripCount < 1)
+            throw new IllegalArgumentException("Strip count must be positive");
+
+        this.siteX = x.clone();
+        this.siteY = y.clone();
+        this.bounds = bounds;
+        this.stripCount = stripCount;
+    }
+
+    /**
+     * Computes the diagram on the common pool, if it has not been computed yet.
+     *
+     * @return the DCEL containing the diagram
+     */
+    public ArrayDCEL compute() {
+        return compute(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the diagram on the given pool, if it has not been computed yet.
+     *
+     * @param pool - the pool to run the strips on
+     * @return the DCEL containing the diagram
+     */
+    public synchronized ArrayDCEL compute(final ForkJoinPool pool) {
+        if (dcel == null) {
+            pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    build();
+                }
+            });
+        }
+
+        return dcel;
+    }
+
+    private void build() {
+        if (stripCount == 1 || !chooseStrips()) {
+            sweepSequentially();
+            return;
+        }
+
+        final Strip[] strips = new Strip[stripCount];
+        for (int i = 0; i < stripCount; i++)
+            strips[i] = new Strip(i);
+        ForkJoinTask.invokeAll(strips);
+
+        boolean failed = false;
+        for (final Strip strip : strips) {
+            haloRetries += strip.retries;
+            failed |= strip.inconsistent;
+        }
+
+        dcel = failed ? null : stitch(strips);
+        if (dcel == null)
+            sweepSequentially();
+    }
+
+    /**
+     * Computes the diagram with a single sweep over all the sites.
+     */
+    private void sweepSequentially() {
+        // The sites were already copied by the constructor
+        sequential = new ArrayVoronoi(siteX, siteY, bounds, new ArrayDCEL(), false);
+        sequential.run();
+        dcel = sequential.getDCEL();
+    }
+
+    /**
+     * Chooses the strip boundaries from a sample of the sites, so that each strip
+     * owns roughly the same number of sites, assigns each site to a strip, and
+     * sorts the sites of each strip by x-coordinate.
+     *
+     * @return false if too many of the sampled sites share their x-coordinate for
+     *         the sites to be divided into strips; true otherwise
+     */
+    private boolean chooseStrips() {
+        final int n = siteX.length;
+        final double[] sample = new double[Math.min(n, stripCount * SAMPLES_PER_STRIP)];
+        for (int i = 0; i < sample.length; i++)
+            sample[i] = siteX[(int) ((long) i * n / sample.length)];
+        Arrays.sort(sample);
+
+        if (sample.length > 1) {
+            final double sameX = SAME_X * bounds.getWidth() / sample.length;
+            int same = 0;
+            for (int i = 1; i < sample.length; i++) {
+                if (sample[i] - sample[i - 1] <= sameX)
+                    same++;
+            }
+            if (same > MAX_SAME_X_FRACTION * sample.length)
+                return false;
+        }
+
+        stripBounds = new double[stripCount - 1];
+        for (int i = 1; i < stripCount; i++)
+            stripBounds[i - 1] = sample.length == 0 ? bounds.getMinX() : sample[i * sample.length / stripCount];
+
+        siteStrip = new int[n];
+        parallelFor(stripCount, chunk -> {
+            final int end = (int) ((long) (chunk + 1) * n / stripCount);
+            for (int i = (int) ((long) chunk * n / stripCount); i < end; i++)
+                siteStrip[i] = stripOf(siteX[i]);
+        });
+
+        stripStart = new int[stripCount + 1];
+        for (int i = 0; i < n; i++)
+            stripStart[siteStrip[i] + 1]++;
+        for (int i = 0; i < stripCount; i++)
+            stripStart[i + 1] += stripStart[i];
+
+        final int[] position = Arrays.copyOf(stripStart, stripCount);
+        byX = new int[n];
+        for (int i = 0; i < n; i++)
+            byX[position[siteStrip[i]]++] = i;
+
+        // The strips are ordered by x-coordinate, so sorting each one sorts all the
+        // sites
+        sortedX = new double[n];
+        parallelFor(stripCount, strip -> {
+            SiteOrder.sortByX(siteX, byX, stripStart[strip], stripStart[strip + 1]);
+            for (int i = stripStart[strip]; i < stripStart[strip + 1]; i++)
+                sortedX[i] = siteX[byX[i]];
+        });
+        return true;
+    }
+
+    /**
+     * @return the index of the strip containing the given x-coordinate
+     */
+    private int stripOf(final double x) {
+        int lo = 0, hi = stripBounds.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (stripBounds[mid] <= x)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the position in {@link #sortedX} of the first site whose
+     *         x-coordinate is at least the given one
+     */
+    private int firstSiteFrom(final double x) {
+        int lo = 0, hi = sortedX.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (sortedX[mid] < x)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Copies the owned cells of each strip into one DCEL.
+     *
+     * @return the stitched DCEL, or null if the strips disagree about a seam
+     */
+    private ArrayDCEL stitch(final Strip[] strips) {
+        final int n = siteX.length;
+
+        parallelFor(stripCount, i -> strips[i].number());
+
+        int pairCount = 0, vertexCount = 0;
+        for (final Strip strip : strips) {
+            if (strip.inconsistent)
+                return null;
+
+            strip.pairOffset = pairCount;
+            strip.vertexOffset = vertexCount;
+            pairCount += strip.pairCount;
+            vertexCount += strip.vertexCount;
+        }
+
+        final ArrayDCEL result = ArrayDCEL.allocate(2 * pairCount, vertexCount, n + 1);
+        for (int i = 0; i < n; i++)
+            result.setFace(i, NONE, i);
+
+        parallelFor(stripCount, i -> strips[i].copy(result, strips));
+
+        // The outside face is linked last, since consecutive edges on it can
+        // belong to different strips
+        final int[] outsideFrom = new int[vertexCount];
+        Arrays.fill(outsideFrom, NONE);
+        for (final Strip strip : strips) {
+            if (strip.inconsistent)
+                return null;
+            for (int i = 0; i < strip.outsideCount; i++)
+                outsideFrom[strip.outsideOrigins[i]] = strip.outsideEdges[i];
+        }
+        for (final Strip strip : strips) {
+            for (int i = 0; i < strip.outsideCount; i++) {
+                final int edge = strip.outsideEdges[i];
+                final int next = outsideFrom[result.origin(ArrayDCEL.twin(edge))];
+                if (next == NONE)
+                    return null;
+                result.setEdge(edge, strip.outsideOrigins[i], next, n);
+                result.setFace(n, edge, NONE);
+            }
+        }
+
+        final boolean[] consistent = { true };
+        parallelFor(stripCount, chunk -> {
+            final int end = (int) ((long) (chunk + 1) * result.edgeCapacity() / stripCount);
+            for (int e = (int) ((long) chunk * result.edgeCapacity() / stripCount); e < end; e++) {
+                final int next = result.next(e);
+                if (next == NONE || result.previous(next) != e || result.face(e) == NONE
+                        || result.origin(next) != result.origin(ArrayDCEL.twin(e)))
+                    consistent[0] = false;
+            }
+        });
+
+        return consistent[0] ? result : null;
+    }
+
+    /**
+     * Runs {@code body} for each index below {@code count} in parallel, and waits
+     * for all of them to finish. Must be called from within a pool.
+     */
+    static void parallelFor(final int count, final IntConsumer body) {
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            tasks.add(ForkJoinTask.adapt(() -> body.accept(index)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * @return the DCEL containing the diagram, or null if it has not been computed
+     */
+    public ArrayDCEL getDCEL() {
+        return dcel;
+    }
+
+    /**
+     * Reads the Delaunay triangulation of the sites from the computed diagram, in
+     * which each site keeps its index.
+     *
+     * @return the Delaunay triangulation of the sites
+     * @throws IllegalStateException if the diagram has not been computed
+     */
+    public synchronized DelaunayTriangulation getDelaunayTriangulation() {
+        if (dcel == null)
+            throw new IllegalStateException("The diagram has not been computed");
+        return DelaunayTriangulation.of(dcel, siteX, siteY);
+    }
+
+    /**
+     * Is the given face a special face, i.e. not the cell of any site.
+     *
+     * @param face - the face to check
+     * @return true if the face is special, false otherwise
+     */
+    public boolean isSpecialFace(final int face) {
+        return sequential != null ? sequential.isSpecialFace(face) : face == siteX.length;
+    }
+
+    /**
+     * @return the number of strips the sites are divided into
+     */
+    public int getStripCount() {
+        return stripCount;
+    }
+
+    /**
+     * @return the number of times a strip had to be swept again with a wider halo
+     */
+    public int getHaloRetries() {
+        return haloRetries;
+    }
+
+    /**
+     * @return true if the diagram was computed by a single sequential sweep
+     *         instead of in strips, because there is only one strip, the sites
+     *         cannot be divided into strips, or the strips could not be stitched
+     *         together, so that face {@code i} is not necessarily the cell of
+     *         site {@code i}; false otherwise
+     */
+    public boolean isSequentialFallback() {
+        return sequential != null;
+    }
+
+    /**
+     * The vertical strip of sites in {@code [lo, hi)}, swept with its halo.
+     */
+    private final class Strip extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+        private final double lo, hi;
+
+        /**
+         * The sweep over the strip and its halo, or null if the strip owns no sites
+         */
+        private ArrayVoronoi local;
+
+        /**
+         * The index of each of the local sweep's sites in the full set of sites
+         */
+        private int[] toGlobal;
+
+        /**
+         * The strip that owns each of the local sweep's sites
+         */
+        private int[] localStrip;
+
+        private int retries = 0;
+
+        /**
+         * The number assigned to each edge pair (indexed by {@code edge >> 1}) and
+         * vertex of the local DCEL that this strip copies, {@code FOREIGN} for those
+         * copied by another strip, or {@code NONE} for those not in any owned cell.
+         * An edge pair's number is that of the half-edge in the stitched DCEL (less
+         * twice the pair offset) that the pair's even local half-edge becomes.
+         */
+        private int[] pairNumbers, vertexNumbers;
+
+        private int pairCount = 0, vertexCount = 0;
+        private int pairOffset, vertexOffset;
+
+        /**
+         * The edge pairs and vertices numbered by this strip that are also part of
+         * cells owned by other strips
+         */
+        private final SeamTable seamEdges = new SeamTable();
+        private final SeamTable seamVertices = new SeamTable();
+
+        // The key of the vertex last passed to vertexKey, and the strip that numbers
+        // the vertex
+        private long keySites;
+        private int keyThird;
+        private int keyOwner;
+
+        /**
+         * The half-edges on the outside face that are twins of half-edges copied by
+         * this strip, and their origins
+         */
+        private int[] outsideEdges = new int[16], outsideOrigins = new int[16];
+        private int outsideCount = 0;
+
+        /**
+         * Whether the strip could not be swept, or disagrees with another strip
+         */
+        private boolean inconsistent = false;
+
+        Strip(final int index) {
+            this.index = index;
+            this.lo = index == 0 ? Double.NEGATIVE_INFINITY : stripBounds[index - 1];
+            this.hi = index == stripCount - 1 ? Double.POSITIVE_INFINITY : stripBounds[index];
+        }
+
+        @Override
+        protected void compute() {
+            final int n = siteX.length;
+            if (stripStart[index] == stripStart[index + 1])
+                return;
+
+            double halo = INITIAL_HALO * Math.sqrt(bounds.getWidth() * bounds.getHeight() / Math.max(1, n));
+            while (true) {
+                final double left = lo - halo, right = hi + halo;
+
+                // The sites in [left, right) are next to each other in x order
+                final int from = firstSiteFrom(left), to = firstSiteFrom(right);
+                final boolean excludedLeft = from > 0, excludedRight = to < n;
+                final int count = to - from;
+
+                toGlobal = Arrays.copyOfRange(byX, from, to);
+                final double[] x = Arrays.copyOfRange(sortedX, from, to), y = new double[count];
+                localStrip = new int[count];
+                int strip = 0;
+                for (int i = 0; i < count; i++) {
+                    y[i] = siteY[toGlobal[i]];
+                    while (from + i >= stripStart[strip + 1])
+                        strip++;
+                    localStrip[i] = strip;
+                }
+
+                final double minX = excludedLeft ? Math.max(bounds.getMinX(), left) : bounds.getMinX();
+                final double maxX = excludedRight ? Math.min(bounds.getMaxX(), right) : bounds.getMaxX();
+                local = new ArrayVoronoi(x, y, new Rectangle2D(minX, bounds.getMinY(), Math.max(0, maxX - minX),
+                        bounds.getHeight()), new ArrayDCEL(), false);
+                final long maxEvents = MAX_EVENTS_PER_SITE * (long) count + 16;
+                long events = 0;
+                try {
+                    while (local.step()) {
+                        if (++events > maxEvents) {
+                            inconsistent = true;
+                            return;
+                        }
+                    }
+                } catch (final IllegalStateException e) {
+                    inconsistent = true;
+                    return;
+                }
+
+                // Once the halo includes every site, the strip's cells are those of a
+                // sequential sweep, whether or not they pass the test
+                if (!excludedLeft && !excludedRight || isExact(excludedLeft ? left : Double.NEGATIVE_INFINITY,
+                        excludedRight ? right : Double.POSITIVE_INFINITY))
+                    return;
+
+                halo *= 2;
+                retries++;
+            }
+        }
+
+        /**
+         * Checks that no site outside {@code [left, right)} is closer to any vertex
+         * of an owned cell than the cell's site, so that no such site could cut the
+         * cell.
+         */
+        private boolean isExact(final double left, final double right) {
+            final ArrayDCEL d = local.getDCEL();
+            for (int f = 0; f < d.faceCapacity(); f++) {
+                if (!isOwnedCell(d, f))
+                    continue;
+
+                final double sx = local.getSiteX(d.site(f));
+                final double sy = local.getSiteY(d.site(f));
+                final int start = d.boundaryEdge(f);
+                int e = start;
+                do {
+                    final double vx = d.x(d.origin(e)), vy = d.y(d.origin(e));
+                    final double r = Math.hypot(vx - sx, vy - sy);
+                    if (vx - r < left || vx + r >= right)
+                        return false;
+                    e = d.next(e);
+                } while (e != start);
+            }
+            return true;
+        }
+
+        private boolean isOwnedCell(final ArrayDCEL d, final int face) {
+            return d.boundaryEdge(face) != NONE && !local.isSpecialFace(face) && d.site(face) != NONE
+                    && localStrip[d.site(face)] == index;
+        }
+
+        /**
+         * @return the global site of the given local face, or {@code n} for a face
+         *         that is not a cell
+         */
+        private int globalSite(final ArrayDCEL d, final int face) {
+            final int site = d.site(face);
+            return site == NONE || local.isSpecialFace(face) ? siteX.length : toGlobal[site];
+        }
+
+        /**
+         * Numbers the edge pairs and vertices of the owned cells that this strip
+         * copies, and records those on seams.
+         */
+        void number() {
+            if (local == null)
+                return;
+
+            final int n = siteX.length;
+            final ArrayDCEL d = local.getDCEL();
+            pairNumbers = new int[d.edgeCapacity() / 2];
+            vertexNumbers = new int[d.vertexCapacity()];
+            Arrays.fill(pairNumbers, NONE);
+            Arrays.fill(vertexNumbers, NONE);
+
+            for (int f = 0; f < d.faceCapacity(); f++) {
+                if (!isOwnedCell(d, f))
+                    continue;
+
+                final int s = globalSite(d, f);
+                final int start = d.boundaryEdge(f);
+                int e = start;
+                do {
+                    final int pair = e >> 1;
+                    if (pairNumbers[pair] == NONE) {
+                        final int t = globalSite(d, d.face(ArrayDCEL.twin(e)));
+                        final int tStrip = t == n ? index : localStrip[d.site(d.face(ArrayDCEL.twin(e)))];
+                        if (tStrip == index) {
+                            pairNumbers[pair] = halfEdgeNumber(e, s, t);
+                        } else if (tStrip > index) {
+                            if (!seamEdges.put(edgeKey(s, t), 0, pairCount)) {
+                                inconsistent = true;
+                                return;
+                            }
+                            pairNumbers[pair] = halfEdgeNumber(e, s, t);
+                        } else {
+                            pairNumbers[pair] = FOREIGN;
+                        }
+                    }
+
+                    final int v = d.origin(e);
+                    if (vertexNumbers[v] == NONE) {
+                        final boolean seam = vertexKey(d, v);
+                        if (keyOwner != index) {
+                            vertexNumbers[v] = FOREIGN;
+                        } else {
+                            if (seam && !seamVertices.put(keySites, keyThird, vertexCount)) {
+                                inconsistent = true;
+                                return;
+                            }
+                            vertexNumbers[v] = vertexCount++;
+                        }
+                    }
+
+                    e = d.next(e);
+                } while (e != start);
+            }
+        }
+
+        /**
+         * Copies the owned cells of this strip into the stitched DCEL, looking up
+         * the seam elements numbered by other strips in their tables.
+         */
+        void copy(final ArrayDCEL result, final Strip[] strips) {
+            if (local == null)
+                return;
+
+            final int n = siteX.length;
+            final ArrayDCEL d = local.getDCEL();
+            for (int f = 0; f < d.faceCapacity() && !inconsistent; f++) {
+                if (!isOwnedCell(d, f))
+                    continue;
+
+                final int s = globalSite(d, f);
+                final int start = d.boundaryEdge(f);
+                final int first = globalEdge(d, start, strips);
+                int e = start, edge = first;
+                do {
+                    final int next = d.next(e) == start ? first : globalEdge(d, d.next(e), strips);
+                    final int origin = globalVertex(d, d.origin(e), strips);
+                    if (edge == NONE || next == NONE || origin == NONE) {
+                        inconsistent = true;
+                        return;
+                    }
+
+                    result.setEdge(edge, origin, next, s);
+                    if (vertexNumbers[d.origin(e)] >= 0)
+                        result.setVertex(origin, d.x(d.origin(e)), d.y(d.origin(e)), edge);
+
+                    if (globalSite(d, d.face(ArrayDCEL.twin(e))) == n) {
+                        final int end = globalVertex(d, d.origin(d.next(e)), strips);
+                        if (end == NONE) {
+                            inconsistent = true;
+                            return;
+                        }
+                        addOutsideEdge(ArrayDCEL.twin(edge), end);
+                    }
+
+                    e = d.next(e);
+                    edge = next;
+                } while (e != start);
+
+                result.setFace(s, first, s);
+            }
+        }
+
+        /**
+         * @return the half-edge of the stitched DCEL corresponding to the given local
+         *         half-edge, or {@code NONE} if there is no such half-edge
+         */
+        private int globalEdge(final ArrayDCEL d, final int e, final Strip[] strips) {
+            if (pairNumbers[e >> 1] >= 0)
+                return 2 * pairOffset + (pairNumbers[e >> 1] ^ (e & 1));
+
+            // A seam edge is numbered by the strip of the site with the lower strip;
+            // one of its sites is owned by this strip, and the other is not outside
+            final int s = globalSite(d, d.face(e));
+            final int t = globalSite(d, d.face(ArrayDCEL.twin(e)));
+            final Strip owner = strips[Math.min(index, localStrip[d.site(d.face(ArrayDCEL.twin(e)))])];
+            final int seam = owner.seamEdges.get(edgeKey(s, t), 0);
+            if (seam == NONE)
+                return NONE;
+
+            // The half-edge in the cell of the smaller site comes first
+            return 2 * (owner.pairOffset + seam) + (s < t ? 0 : 1);
+        }
+
+        /**
+         * Numbers the next edge pair.
+         *
+         * @param e - a local half-edge of the pair, in the cell of site {@code s}
+         * @param s - the global site of the cell of {@code e}
+         * @param t - the global site of the cell of the twin of {@code e}
+         * @return the number of the pair, for {@link #pairNumbers}
+         */
+        private int halfEdgeNumber(final int e, final int s, final int t) {
+            // The half-edge in the cell of the smaller site comes first
+            return (2 * pairCount++ + (s < t ? 0 : 1)) ^ (e & 1);
+        }
+
+        /**
+         * @return the vertex of the stitched DCEL corresponding to the given local
+         *         vertex, or {@code NONE} if there is no such vertex
+         */
+        private int globalVertex(final ArrayDCEL d, final int v, final Strip[] strips) {
+            if (vertexNumbers[v] >= 0)
+                return vertexOffset + vertexNumbers[v];
+            if (!vertexKey(d, v))
+                return NONE;
+
+            final Strip owner = strips[keyOwner];
+            final int seam = owner.seamVertices.get(keySites, keyThird);
+            return seam == NONE ? NONE : owner.vertexOffset + seam;
+        }
+
+        private void addOutsideEdge(final int edge, final int origin) {
+            if (outsideCount == outsideEdges.length) {
+                outsideEdges = Arrays.copyOf(outsideEdges, outsideCount * 2);
+                outsideOrigins = Arrays.copyOf(outsideOrigins, outsideCount * 2);
+            }
+            outsideEdges[outsideCount] = edge;
+            outsideOrigins[outsideCount++] = origin;
+        }
+
+        /**
+         * Computes the key identifying the given local vertex by the cells around it,
+         * and stores it in {@link #keySites} and {@link #keyThird}, along with the
+         * strip that numbers the vertex in {@link #keyOwner}: the lowest strip of
+         * the sites around it. A vertex between three cells has the sites of the
+         * cells as its key; a vertex on the bounds has the sites of its two cells
+         * and the side of the bounds it lies on. The key of a vertex between more
+         * cells, which only degenerate inputs have, is not computed.
+         *
+         * @return true if the vertex lies on a seam and its key was computed; false
+         *         otherwise
+         */
+        private boolean vertexKey(final ArrayDCEL d, final int v) {
+            final int n = siteX.length;
+
+            int s0 = n, s1 = n, s2 = n;
+            int count = 0;
+            boolean outside = false, seam = false;
+            keyOwner = index;
+            final int start = d.incidentEdge(v);
+            int e = start;
+            do {
+                final int site = globalSite(d, d.face(e));
+                if (site == n) {
+                    outside = true;
+                } else {
+                    if (count == 0)
+                        s0 = site;
+                    else if (count == 1)
+                        s1 = site;
+                    else
+                        s2 = site;
+                    count++;
+                    final int strip = localStrip[d.site(d.face(e))];
+                    keyOwner = Math.min(keyOwner, strip);
+                    seam |= strip != index;
+                }
+                e = d.next(ArrayDCEL.twin(e));
+            } while (e != start);
+
+            if (!seam || count > (outside ? 2 : 3))
+                return false;
+
+            // Sort the sites, so that the key does not depend on where the walk started
+            if (s0 > s1) {
+                final int swap = s0;
+                s0 = s1;
+                s1 = swap;
+            }
+            if (s1 > s2) {
+                final int swap = s1;
+                s1 = s2;
+                s2 = swap;
+            }
+            if (s0 > s1) {
+                final int swap = s0;
+                s0 = s1;
+                s1 = swap;
+            }
+
+            keySites = edgeKey(s0, s1);
+            if (!outside)
+                keyThird = s2;
+            else if (d.x(v) == bounds.getMinX())
+                keyThird = -1;
+            else if (d.x(v) == bounds.getMaxX())
+                keyThird = -2;
+            else if (d.y(v) == bounds.getMinY())
+                keyThird = -3;
+            else
+                keyThird = -4;
+            return true;
+        }
+
+    }
+
+    private static long edgeKey(final int s, final int t) {
+        return (long) Math.min(s, t) << 32 | Math.max(s, t);
+    }
+
+    /**
+     * Maps the keys of a strip's seam edges or vertices to the numbers the strip
+     * gave them, in primitive arrays with open addressing. A key is a pair of
+     * sites packed by {@link ParallelVoronoi#edgeKey(int, int)} and a third int.
+     */
+    private static final class SeamTable {
+
+        private long[] pairs = new long[16];
+        private int[] thirds = new int[16];
+
+        /**
+         * The number of each slot, or {@code NONE} for an empty slot
+         */
+        private int[] values = new int[16];
+
+        private int size = 0;
+
+        SeamTable() {
+            Arrays.fill(values, NONE);
+        }
+
+        /**
+         * Adds a key with the given number.
+         *
+         * @return false if the key was already in the table; true otherwise
+         */
+        boolean put(final long pair, final int third, final int value) {
+            if (2 * (size + 1) > values.length)
+                grow();
+
+            final int slot = slot(pair, third);
+            if (values[slot] != NONE)
+                return false;
+
+            pairs[slot] = pair;
+            thirds[slot] = third;
+            values[slot] = value;
+            size++;
+            return true;
+        }
+
+        /**
+         * @return the number of the given key, or {@code NONE} if it is not in the
+         *         table
+         */
+        int get(final long pair, final int third) {
+            return values[slot(pair, third)];
+        }
+
+        /**
+         * @return the slot holding the given key, or the empty slot where it belongs
+         */
+        private int slot(final long pair, final int third) {
+            final int mask = values.length - 1;
+            long hash = (pair * 31 + third) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 32;
+            int slot = (int) hash & mask;
+            while (values[slot] != NONE && (pairs[slot] != pair || thirds[slot] != third))
+                slot = (slot + 1) & mask;
+            return slot;
+        }
+
+        private void grow() {
+            final long[] oldPairs = pairs;
+            final int[] oldThirds = thirds;
+            final int[] oldValues = values;
+
+            pairs = new long[2 * oldValues.length];
+            thirds = new int[2 * oldValues.length];
+            values = new int[2 * oldValues.length];
+            Arrays.fill(values, NONE);
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != NONE) {
+                    final int slot = slot(oldPairs[i], oldThirds[i]);
+                    pairs[slot] = oldPairs[i];
+                    thirds[slot] = oldThirds[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+    }
+
+}
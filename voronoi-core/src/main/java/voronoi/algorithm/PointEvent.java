@@ -1,5 +1,6 @@
 package voronoi.algorithm;
-import javafx.geometry.Point2D;
+
+import voronoi.util.Point2D;
 
 public class PointEvent implements Comparable<PointEvent> {
     public Point2D point;
@@ -10,9 +11,15 @@ public class PointEvent implements Comparable<PointEvent> {
         this.point = point;
     }
 
+    /**
+     * Orders events in the order the sweep handles them: from the largest
+     * y-coordinate to the smallest, and then from the smallest x-coordinate to the
+     * largest.
+     */
     @Override
     public int compareTo(final PointEvent o) {
-        return Double.compare(o.point.getY(), this.point.getY());
+        final int compare = Double.compare(o.point.getY(), this.point.getY());
+        return compare != 0 ? compare : Double.compare(this.point.getX(), o.point.getX());
     }
 
     @Override
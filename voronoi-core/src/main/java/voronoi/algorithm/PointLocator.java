@@ -0,0 +1,192 @@
+package voronoi.algorithm;
+
+import java.util.Arrays;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Finds the site whose cell contains a given point, i.e. the site nearest to
+ * the point, in a finished Voronoi diagram.
+ *
+ * The bounds of the diagram are divided into a grid of about one bucket per
+ * site, and each bucket records the site nearest to its center. A query jumps to
+ * the site of its bucket, and then walks along the Delaunay triangulation to
+ * ever closer sites until no neighbor is closer. A site's cell contains the
+ * point exactly when no Delaunay neighbor is closer, so the walk always ends at
+ * the nearest site; since it starts near the point, it takes a constant number
+ * of steps on average for evenly spread sites.
+ *
+ * A locator does not change once built, so any number of threads may query it
+ * at once. It is a snapshot of the diagram: it must be rebuilt after sites are
+ * inserted, removed or moved.
+ */
+public final class PointLocator {
+
+    private static final int NONE = ArrayDCEL.NONE;
+
+    private final DelaunayTriangulation triangulation;
+    private final Rectangle2D bounds;
+
+    private final int[] neighborOffsets;
+    private final int[] neighbors;
+
+    private final int columns;
+    private final int rows;
+    private final double bucketWidth;
+    private final double bucketHeight;
+
+    // The site nearest to the center of each bucket, in row-major order
+    private final int[] buckets;
+
+    /**
+     * Creates a locator over the given triangulation
+     *
+     * @param triangulation - the Delaunay triangulation of the finished diagram
+     * @param bounds        - the bounds of the diagram
+     */
+    public PointLocator(final DelaunayTriangulation triangulation, final Rectangle2D bounds) {
+        this.triangulation = triangulation;
+        this.bounds = bounds;
+
+        final int n = triangulation.getSiteCount();
+        this.neighborOffsets = triangulation.getNeighborOffsets();
+        this.neighbors = triangulation.getNeighbors();
+
+        final double aspect = bounds.getHeight() > 0 ? bounds.getWidth() / bounds.getHeight() : 1;
+        this.columns = Math.max(1, (int) Math.ceil(Math.sqrt(n * aspect)));
+        this.rows = Math.max(1, (int) Math.ceil((double) n / columns));
+        this.bucketWidth = bounds.getWidth() / columns;
+        this.bucketHeight = bounds.getHeight() / rows;
+
+        this.buckets = new int[columns * rows];
+        if (n == 0) {
+            Arrays.fill(buckets, NONE);
+            return;
+        }
+
+        // Walk the rows back and forth, so that each walk starts from the site of a
+        // neighboring bucket
+        int site = 0;
+        for (int row = 0; row < rows; row++) {
+            final double y = bounds.getMinY() + (row + 0.5) * bucketHeight;
+            for (int i = 0; i < columns; i++) {
+                final int column = row % 2 == 0 ? i : columns - 1 - i;
+                site = walk(site, bounds.getMinX() + (column + 0.5) * bucketWidth, y);
+                buckets[row * columns + column] = site;
+            }
+        }
+    }
+
+    /**
+     * @return the triangulation whose sites this locator returns
+     */
+    public DelaunayTriangulation getTriangulation() {
+        return triangulation;
+    }
+
+    /**
+     * @param x - the x-coordinate of the point
+     * @param y - the y-coordinate of the point
+     * @return the index of the site whose cell contains the point {@code (x, y)},
+     *         or {@code NONE} if the point is outside the bounds of the diagram
+     */
+    public int locate(final double x, final double y) {
+        final int bucket = bucket(x, y);
+        return bucket == NONE ? NONE : walk(buckets[bucket], x, y);
+    }
+
+    /**
+     * Locates many points at once.
+     *
+     * @param coordinates - the coordinates of the points, as
+     *                    {@code x0, y0, x1, y1, ...}
+     * @return the index of the site whose cell contains each point, or
+     *         {@code NONE} for points outside the bounds of the diagram
+     * @see #locate(double, double)
+     */
+    public int[] locateAll(final double[] coordinates) {
+        final int[] sites = new int[coordinates.length / 2];
+        locateAll(coordinates, sites);
+        return sites;
+    }
+
+    /**
+     * Locates many points at once. When consecutive points fall in the same
+     * bucket, the walk for each starts from the site found for the previous one,
+     * so points that are close together are located faster.
+     *
+     * @param coordinates - the coordinates of the points, as
+     *                    {@code x0, y0, x1, y1, ...}
+     * @param sites       - the array to store the index of the site whose cell
+     *                    contains each point in, or {@code NONE} for points outside
+     *                    the bounds of the diagram
+     * @throws IllegalArgumentException if the number of coordinates is odd, or
+     *                                  there are fewer sites than points
+     */
+    public void locateAll(final double[] coordinates, final int[] sites) {
+        if (coordinates.length % 2 != 0)
+            throw new IllegalArgumentException("Coordinates must come in pairs");
+        if (sites.length < coordinates.length / 2)
+            throw new IllegalArgumentException("Result array is too short");
+
+        int previousBucket = NONE;
+        int previousSite = NONE;
+        for (int i = 0; i < coordinates.length / 2; i++) {
+            final double x = coordinates[2 * i];
+            final double y = coordinates[2 * i + 1];
+            final int bucket = bucket(x, y);
+            if (bucket == NONE) {
+                sites[i] = NONE;
+                continue;
+            }
+
+            previousSite = walk(bucket == previousBucket ? previousSite : buckets[bucket], x, y);
+            previousBucket = bucket;
+            sites[i] = previousSite;
+        }
+    }
+
+    /**
+     * @return the bucket containing the given point, or {@code NONE} if the point
+     *         is outside the bounds
+     */
+    private int bucket(final double x, final double y) {
+        if (!bounds.contains(x, y) || buckets[0] == NONE)
+            return NONE;
+
+        final int column = Math.min(columns - 1, (int) ((x - bounds.getMinX()) / bucketWidth));
+        final int row = Math.min(rows - 1, (int) ((y - bounds.getMinY()) / bucketHeight));
+        return row * columns + column;
+    }
+
+    /**
+     * Walks from the given site to ever closer neighbors, until no neighbor is
+     * closer to the given point.
+     *
+     * @return the site nearest to the given point
+     */
+    private int walk(int site, final double x, final double y) {
+        double best = squaredDistance(site, x, y);
+        while (true) {
+            int closest = site;
+            for (int i = neighborOffsets[site]; i < neighborOffsets[site + 1]; i++) {
+                final double distance = squaredDistance(neighbors[i], x, y);
+                if (distance < best) {
+                    best = distance;
+                    closest = neighbors[i];
+                }
+            }
+            if (closest == site)
+                return site;
+            site = closest;
+        }
+    }
+
+    private double squaredDistance(final int site, final double x, final double y) {
+        final double dx = triangulation.getSiteX(site) - x;
+        final double dy = triangulation.getSiteY(site) - y;
+        return dx * dx + dy * dy;
+    }
+
+}
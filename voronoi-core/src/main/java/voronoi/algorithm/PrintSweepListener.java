@@ -0,0 +1,72 @@
+package voronoi.algorithm;
+
+import java.io.PrintStream;
+
+import voronoi.algorithm.dcel.Edge;
+import voronoi.algorithm.dcel.Face;
+import voronoi.algorithm.dcel.ParabolaEdge;
+
+/**
+ * A {@link SweepListener} that prints a line of diagnostic information for each
+ * change to a print stream.
+ */
+public class PrintSweepListener implements SweepListener {
+
+    private final PrintStream out;
+
+    /**
+     * Creates a new listener that prints to the given stream.
+     *
+     * @param out - the stream to print to
+     */
+    public PrintSweepListener(final PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void siteEvent(final PointEvent event) {
+        out.println(event + " at " + event.point);
+    }
+
+    @Override
+    public void circleEvent(final CircleEvent event) {
+        out.println(event + " at " + event.point);
+        out.printf("\tCenter: %s\n", event.center);
+    }
+
+    @Override
+    public void circleEventAdded(final CircleEvent event) {
+        out.println("\tAdd " + event);
+    }
+
+    @Override
+    public void circleEventSkipped(final CircleEvent event) {
+        out.println("Skip " + event);
+    }
+
+    @Override
+    public void arcSplit(final Edge arc, final ParabolaEdge newArc) {
+        out.printf("\tSplit %s with %s\n", arc, newArc);
+    }
+
+    @Override
+    public void topSplit(final Edge edge, final boolean right) {
+        out.printf("\tSplit top %s %s\n", right ? "RIGHT" : "LEFT", edge);
+    }
+
+    @Override
+    public void topFaceSplit(final Face face, final Edge topEdge) {
+        out.printf("\tBreak %08x\n", face.hashCode());
+    }
+
+    @Override
+    public void faceDissolve(final Edge edge, final Face joinedFace, final Face removedFace) {
+        out.printf("\tDissolve %s, joining %08x into %08x\n", edge, removedFace.hashCode(), joinedFace.hashCode());
+    }
+
+    @Override
+    public void finished() {
+        out.println("No events!");
+    }
+
+}
@@ -0,0 +1,363 @@
+package voronoi.algorithm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A file of sites, read through a memory mapping instead of being loaded into
+ * the heap.
+ *
+ * The file holds one record per site: its x-coordinate followed by its
+ * y-coordinate, both as little-endian doubles, with nothing before, between or
+ * after the records. Sites are identified by the index of their record. The
+ * mapping is split into chunks of 1 GB, since a single mapping cannot exceed
+ * 2 GB.
+ *
+ * An {@link ArrayVoronoi} can sweep the sites of a file directly, if they are
+ * stored in the order the sweep handles them; {@link #sort(Path, Path, int)}
+ * puts the sites of a file into this order on disk.
+ */
+public final class SiteFile implements Closeable {
+
+    /**
+     * The number of bytes in the record of a site
+     */
+    public static final int RECORD_BYTES = 2 * Double.BYTES;
+
+    private static final int CHUNK_SHIFT = 26;
+    private static final int CHUNK_SITES = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SITES - 1;
+
+    /**
+     * The size of the buffer used to write files
+     */
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final int size;
+
+    /**
+     * Whether or not the sites are in sweep order, or null if this has not been
+     * checked yet
+     */
+    private Boolean sorted = null;
+
+    private SiteFile(final Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final long bytes = channel.size();
+            if (bytes % RECORD_BYTES != 0)
+                throw new IllegalArgumentException("Site file length is not a whole number of records");
+            if (bytes / RECORD_BYTES > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Site file has too many sites");
+
+            this.size = (int) (bytes / RECORD_BYTES);
+            this.chunks = new MappedByteBuffer[(size + CHUNK_SITES - 1) >>> CHUNK_SHIFT];
+            for (int i = 0; i < chunks.length; i++) {
+                final long start = (long) i * CHUNK_SITES * RECORD_BYTES;
+                final long length = Math.min(bytes - start, (long) CHUNK_SITES * RECORD_BYTES);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps the given file of sites.
+     *
+     * @param path - the file to map
+     * @return the mapped file
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the length of the file is not a
+     *                                  multiple of {@link #RECORD_BYTES}, or the
+     *                                  file has more than
+     *                                  {@code Integer.MAX_VALUE} sites
+     */
+    public static SiteFile open(final Path path) throws IOException {
+        return new SiteFile(path);
+    }
+
+    /**
+     * Writes the sites {@code (x[i], y[i])} to a file, replacing the file if it
+     * exists.
+     *
+     * @param path - the file to write
+     * @param x    - the x-coordinates of the sites
+     * @param y    - the y-coordinates of the sites
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(final Path path, final double[] x, final double[] y) throws IOException {
+        if (x.length != y.length)
+            throw new IllegalArgumentException("Site coordinate arrays must have the same length");
+
+        try (SiteWriter writer = new SiteWriter(path)) {
+            for (int i = 0; i < x.length; i++)
+                writer.write(x[i], y[i]);
+        }
+    }
+
+    /**
+     * Sorts the sites of a file into the order the sweep handles them (from the
+     * largest y-coordinate to the smallest, and then from the smallest
+     * x-coordinate to the largest), without holding more than the given number of
+     * sites in memory at once. Runs of sites are sorted in memory and written to
+     * temporary files next to the output, which are then merged into the output
+     * in a single pass.
+     *
+     * @param input     - the file to sort
+     * @param output    - the file to write the sorted sites to, which is replaced
+     *                  if it exists (it must not be the input)
+     * @param runLength - the number of sites to sort in memory at once
+     * @return the sorted file, mapped
+     * @throws IOException if a file cannot be read or written
+     */
+    public static SiteFile sort(final Path input, final Path output, final int runLength) throws IOException {
+        if (runLength < 1)
+            throw new IllegalArgumentException("Run length must be positive");
+
+        final List<Path> runs = new ArrayList<>();
+        try (SiteFile unsorted = open(input)) {
+            final int n = unsorted.size();
+            if (n <= runLength) {
+                writeRun(unsorted, 0, n, output);
+                return open(output);
+            }
+
+            final Path directory = output.toAbsolutePath().getParent();
+            for (int start = 0; start < n; start += runLength) {
+                final Path run = Files.createTempFile(directory, "sites", ".run");
+                runs.add(run);
+                writeRun(unsorted, start, Math.min(start + runLength, n), run);
+            }
+        }
+
+        try {
+            merge(runs, output);
+        } finally {
+            for (final Path run : runs)
+                Files.deleteIfExists(run);
+        }
+        return open(output);
+    }
+
+    /**
+     * Sorts the sites in the given range of the given file in memory, and writes
+     * them to a new file.
+     */
+    private static void writeRun(final SiteFile sites, final int start, final int end, final Path path)
+            throws IOException {
+        final double[] x = new double[end - start];
+        final double[] y = new double[end - start];
+        for (int i = start; i < end; i++) {
+            x[i - start] = sites.getX(i);
+            y[i - start] = sites.getY(i);
+        }
+
+        final int[] order = SiteOrder.sort(x, y);
+        try (SiteWriter writer = new SiteWriter(path)) {
+            for (final int i : order)
+                writer.write(x[i], y[i]);
+        }
+    }
+
+    /**
+     * Merges the given sorted files into one, keeping the next site of each file
+     * in a heap.
+     */
+    private static void merge(final List<Path> paths, final Path output) throws IOException {
+        final int k = paths.size();
+        final SiteFile[] runs = new SiteFile[k];
+        final int[] cursors = new int[k];
+        try (SiteWriter writer = new SiteWriter(output)) {
+            for (int i = 0; i < k; i++)
+                runs[i] = open(paths.get(i));
+
+            // The runs that still have sites, as a binary heap ordered by their next site
+            final int[] heap = new int[k];
+            int size = 0;
+            for (int i = 0; i < k; i++) {
+                if (runs[i].size() > 0)
+                    heap[size++] = i;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--)
+                siftDown(heap, size, i, runs, cursors);
+
+            while (size > 0) {
+                final int run = heap[0];
+                final int site = cursors[run]++;
+                writer.write(runs[run].getX(site), runs[run].getY(site));
+                if (cursors[run] == runs[run].size())
+                    heap[0] = heap[--size];
+                siftDown(heap, size, 0, runs, cursors);
+            }
+        } finally {
+            for (final SiteFile run : runs) {
+                if (run != null)
+                    run.close();
+            }
+        }
+    }
+
+    private static void siftDown(final int[] heap, final int size, int index, final SiteFile[] runs,
+            final int[] cursors) {
+        final int run = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && before(heap[child + 1], heap[child], runs, cursors))
+                child++;
+            if (!before(heap[child], run, runs, cursors))
+                break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = run;
+    }
+
+    /**
+     * @return true if the next site of run {@code a} comes before that of run
+     *         {@code b} in sweep order
+     */
+    private static boolean before(final int a, final int b, final SiteFile[] runs, final int[] cursors) {
+        final double ya = runs[a].getY(cursors[a]);
+        final double yb = runs[b].getY(cursors[b]);
+        return ya > yb || ya == yb && runs[a].getX(cursors[a]) < runs[b].getX(cursors[b]);
+    }
+
+    /**
+     * @return the number of sites in the file
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the x-coordinate of the given site
+     */
+    public double getX(final int site) {
+        return chunks[site >>> CHUNK_SHIFT].getDouble((site & CHUNK_MASK) * RECORD_BYTES);
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the y-coordinate of the given site
+     */
+    public double getY(final int site) {
+        return chunks[site >>> CHUNK_SHIFT].getDouble((site & CHUNK_MASK) * RECORD_BYTES + Double.BYTES);
+    }
+
+    /**
+     * Checks whether the sites are stored in the order the sweep handles them. The
+     * first call reads through the whole file; the result is then remembered.
+     *
+     * @return true if the sites are in sweep order; false otherwise
+     */
+    public synchronized boolean isSorted() {
+        if (sorted == null) {
+            boolean result = true;
+            for (int i = 1; i < size && result; i++) {
+                final double y0 = getY(i - 1);
+                final double y1 = getY(i);
+                result = y1 < y0 || y1 == y0 && getX(i) >= getX(i - 1);
+            }
+            sorted = result;
+        }
+        return sorted;
+    }
+
+    /**
+     * Copies the x-coordinates of the sites into the heap.
+     *
+     * @return the x-coordinates of the sites
+     */
+    public double[] getXs() {
+        final double[] x = new double[size];
+        for (int i = 0; i < size; i++)
+            x[i] = getX(i);
+        return x;
+    }
+
+    /**
+     * Copies the y-coordinates of the sites into the heap.
+     *
+     * @return the y-coordinates of the sites
+     */
+    public double[] getYs() {
+        final double[] y = new double[size];
+        for (int i = 0; i < size; i++)
+            y[i] = getY(i);
+        return y;
+    }
+
+    /**
+     * @return the path of the file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Closes the file. The mapping itself is released once it is no longer
+     * reachable, so the sites must not be read after the file is closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Writes site records to a file through a direct buffer.
+     */
+    private static final class SiteWriter implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        SiteWriter(final Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void write(final double x, final double y) throws IOException {
+            if (buffer.remaining() < RECORD_BYTES)
+                flush();
+            buffer.putDouble(x).putDouble(y);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,179 @@
+package voronoi.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Sorts sites into the order in which the sweep handles them: from the largest
+ * y-coordinate to the smallest, and then from the smallest x-coordinate to the
+ * largest.
+ */
+final class SiteOrder {
+
+    /**
+     * The number of bits sorted in each pass of the radix sort
+     */
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /**
+     * The longest run of equal y-coordinates sorted with an insertion sort, rather
+     * than a radix sort, which has a fixed cost per pass
+     */
+    private static final int MAX_INSERTION_SORT = 256;
+
+    private SiteOrder() {}
+
+    /**
+     * Sorts the sites {@code (x[i], y[i])} into sweep order. Sites that are
+     * already in sweep order are recognized in linear time; otherwise they are
+     * sorted with an LSD radix sort on the bits of their y-coordinates, which
+     * also takes linear time. Each run of sites with the same y-coordinate is then
+     * sorted by x-coordinate: short runs with an insertion sort, and long runs
+     * with the same radix sort, so that many sites on one horizontal line still
+     * take linear time.
+     *
+     * @param x - the x-coordinates of the sites
+     * @param y - the y-coordinates of the sites
+     * @return the indices of the sites, in sweep order
+     */
+    static int[] sort(final double[] x, final double[] y) {
+        final int n = y.length;
+        final int[] order = new int[n];
+        for (int i = 0; i < n; i++)
+            order[i] = i;
+        if (isSorted(x, y))
+            return order;
+
+        final long[] keys = new long[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = descendingKey(y[i]);
+
+        final long[] keyBuffer = new long[n];
+        final int[] orderBuffer = new int[n];
+        final int[] counts = new int[RADIX + 1];
+        radixSort(keys, order, 0, n, keyBuffer, orderBuffer, counts);
+
+        // Sort each run of equal y-coordinates by x-coordinate
+        for (int start = 0, end; start < n; start = end) {
+            end = start + 1;
+            while (end < n && keys[end] == keys[start])
+                end++;
+
+            if (end - start > MAX_INSERTION_SORT) {
+                for (int i = start; i < end; i++)
+                    keys[i] = ascendingKey(x[order[i]]);
+                radixSort(keys, order, start, end, keyBuffer, orderBuffer, counts);
+                continue;
+            }
+
+            for (int i = start + 1; i < end; i++) {
+                final int site = order[i];
+                int j = i - 1;
+                while (j >= start && x[order[j]] > x[site]) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = site;
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * Sorts a range of sites from the smallest x-coordinate to the largest, with
+     * the same radix sort.
+     *
+     * @param x     - the x-coordinates of the sites
+     * @param sites - the indices of the sites, of which the range is sorted
+     * @param from  - the start of the range
+     * @param to    - the end of the range (exclusive)
+     */
+    static void sortByX(final double[] x, final int[] sites, final int from, final int to) {
+        final int n = to - from;
+        final int[] order = Arrays.copyOfRange(sites, from, to);
+        final long[] keys = new long[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = ascendingKey(x[order[i]]);
+
+        radixSort(keys, order, 0, n, new long[n], new int[n], new int[RADIX + 1]);
+        System.arraycopy(order, 0, sites, from, n);
+    }
+
+    /**
+     * Stably sorts the given range of {@code keys} into unsigned order with an LSD
+     * radix sort, moving the elements of {@code order} along with their keys. The
+     * buffers must be at least as long as the range's end.
+     */
+    private static void radixSort(final long[] keys, final int[] order, final int from, final int to,
+            final long[] keyBuffer, final int[] orderBuffer, final int[] counts) {
+        final int n = to - from;
+        long[] source = keys, target = keyBuffer;
+        int[] sourceOrder = order, targetOrder = orderBuffer;
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = from; i < to; i++)
+                counts[digit(source[i], shift) + 1]++;
+
+            // Skip passes in which every key has the same digit, as the high digits
+            // of nearby coordinates often do
+            if (counts[digit(source[from], shift) + 1] == n)
+                continue;
+
+            for (int d = 0; d < RADIX; d++)
+                counts[d + 1] += counts[d];
+            for (int i = from; i < to; i++) {
+                final int index = from + counts[digit(source[i], shift)]++;
+                target[index] = source[i];
+                targetOrder[index] = sourceOrder[i];
+            }
+
+            final long[] swapKeys = source;
+            source = target;
+            target = swapKeys;
+            final int[] swapOrder = sourceOrder;
+            sourceOrder = targetOrder;
+            targetOrder = swapOrder;
+        }
+
+        if (source != keys) {
+            System.arraycopy(source, from, keys, from, n);
+            System.arraycopy(sourceOrder, from, order, from, n);
+        }
+    }
+
+    /**
+     * @param x - the x-coordinates of the sites
+     * @param y - the y-coordinates of the sites
+     * @return true if the sites are already in sweep order; false otherwise
+     */
+    static boolean isSorted(final double[] x, final double[] y) {
+        for (int i = 1; i < y.length; i++) {
+            if (y[i] > y[i - 1] || y[i] == y[i - 1] && x[i] < x[i - 1])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return a key whose unsigned order is the order of the given coordinates
+     */
+    private static long ascendingKey(final double value) {
+        // Adding zero turns -0.0 into 0.0, so the two compare equal
+        final long bits = Double.doubleToLongBits(value + 0.0);
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * @return a key whose unsigned order is the reverse of the order of the given
+     *         coordinates
+     */
+    private static long descendingKey(final double value) {
+        return ~ascendingKey(value);
+    }
+
+    private static int digit(final long key, final int shift) {
+        return (int) (key >>> shift) & (RADIX - 1);
+    }
+
+}
@@ -0,0 +1,152 @@
+package voronoi.algorithm;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Records checkpoints of a {@link Voronoi} sweep as it steps forward, so that
+ * the sweep can be moved back to any earlier event without sweeping again from
+ * the start.
+ *
+ * A checkpoint is a {@link Voronoi#copy() copy} of the diagram, taken every
+ * {@code interval} events. Seeking restores the latest checkpoint at or before
+ * the target and steps forward from there, so it takes at most
+ * {@code interval} steps. The number of checkpoints is capped: when the cap is
+ * exceeded, every other checkpoint is evicted and the interval doubles, so the
+ * checkpoints always cover the whole sweep evenly, at the price of longer seeks
+ * on long sweeps. The first checkpoint, at the start of the history, is never
+ * evicted.
+ *
+ * The diagram returned by {@link #getVoronoi()} is replaced when seeking
+ * backward, and the replacement has no listener or metrics of its own.
+ */
+public final class SweepHistory {
+
+    /**
+     * The checkpoints, keyed by the number of events processed before they were
+     * taken
+     */
+    private final NavigableMap<Integer, Voronoi> checkpoints = new TreeMap<>();
+
+    private final int maxCheckpoints;
+
+    /**
+     * The number of events between checkpoints
+     */
+    private int interval;
+
+    /**
+     * The diagram in its current state
+     */
+    private Voronoi voronoi;
+
+    /**
+     * The number of events processed since the start of the history
+     */
+    private int step = 0;
+
+    /**
+     * Creates a history starting at the current state of the given diagram.
+     *
+     * @param voronoi        - the diagram to record
+     * @param interval       - the initial number of events between checkpoints
+     * @param maxCheckpoints - the largest number of checkpoints to keep
+     */
+    public SweepHistory(final Voronoi voronoi, final int interval, final int maxCheckpoints) {
+        if (interval < 1)
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        if (maxCheckpoints < 2)
+            throw new IllegalArgumentException("At least two checkpoints must be kept");
+
+        this.voronoi = voronoi;
+        this.interval = interval;
+        this.maxCheckpoints = maxCheckpoints;
+
+        checkpoints.put(0, voronoi.copy());
+    }
+
+    /**
+     * Processes the next event of the sweep, taking a checkpoint if one is due.
+     *
+     * @return the event processed, or null if there were no events left
+     */
+    public synchronized PointEvent step() {
+        if (!voronoi.hasEvents())
+            return null;
+
+        final PointEvent event = voronoi.step();
+        step++;
+        if (step % interval == 0 && !checkpoints.containsKey(step)) {
+            checkpoints.put(step, voronoi.copy());
+            if (checkpoints.size() > maxCheckpoints)
+                evict();
+        }
+        return event;
+    }
+
+    /**
+     * Doubles the interval between checkpoints, and removes the checkpoints that
+     * are no longer at a multiple of it.
+     */
+    private void evict() {
+        interval *= 2;
+        checkpoints.keySet().removeIf(s -> s % interval != 0);
+    }
+
+    /**
+     * Moves the sweep to the state after the given number of events. If the target
+     * is ahead of the current state and no checkpoint is closer to it, the sweep
+     * steps forward from its current state; otherwise it continues from a copy of
+     * the latest checkpoint before the target. If the sweep ends before the target
+     * is reached, it stops at its end.
+     *
+     * @param target - the number of events to have processed
+     * @return the diagram in its new state
+     */
+    public synchronized Voronoi seek(final int target) {
+        if (target < 0)
+            throw new IllegalArgumentException("Cannot seek before the start of the sweep");
+
+        final Map.Entry<Integer, Voronoi> checkpoint = checkpoints.floorEntry(target);
+        if (target < step || checkpoint.getKey() > step) {
+            voronoi = checkpoint.getValue().copy();
+            step = checkpoint.getKey();
+        }
+
+        while (step < target) {
+            if (step() == null)
+                break;
+        }
+        return voronoi;
+    }
+
+    /**
+     * @return the diagram in its current state
+     */
+    public synchronized Voronoi getVoronoi() {
+        return voronoi;
+    }
+
+    /**
+     * @return the number of events processed since the start of the history
+     */
+    public synchronized int getStep() {
+        return step;
+    }
+
+    /**
+     * @return the number of checkpoints currently kept
+     */
+    public synchronized int getCheckpointCount() {
+        return checkpoints.size();
+    }
+
+    /**
+     * @return the current number of events between checkpoints
+     */
+    public synchronized int getInterval() {
+        return interval;
+    }
+
+}
@@ -0,0 +1,90 @@
+package voronoi.algorithm;
+
+import voronoi.algorithm.dcel.Edge;
+import voronoi.algorithm.dcel.Face;
+import voronoi.algorithm.dcel.ParabolaEdge;
+
+/**
+ * Receives notifications of the changes a {@link Voronoi} instance makes as its
+ * sweep line advances.
+ *
+ * Listeners are called synchronously from {@link Voronoi#step()}, while the
+ * DCEL is being modified, so they should not modify the DCEL themselves. All
+ * methods do nothing by default.
+ *
+ * @see Voronoi#setSweepListener(SweepListener)
+ */
+public interface SweepListener {
+
+    /**
+     * Called when a site event is processed, before the beach line is modified.
+     *
+     * @param event - the site event
+     */
+    default void siteEvent(final PointEvent event) {}
+
+    /**
+     * Called when a circle event is processed, before the beach line is modified.
+     *
+     * @param event - the circle event
+     */
+    default void circleEvent(final CircleEvent event) {}
+
+    /**
+     * Called when a new circle event is added to the event queue.
+     *
+     * @param event - the added event
+     */
+    default void circleEventAdded(final CircleEvent event) {}
+
+    /**
+     * Called when a cancelled circle event is removed from the event queue without
+     * being processed.
+     *
+     * @param event - the cancelled event
+     */
+    default void circleEventSkipped(final CircleEvent event) {}
+
+    /**
+     * Called when a site event splits an arc of the beach line.
+     *
+     * @param arc    - the edge that was split. After the split, this is the part of
+     *               the edge before the new arc.
+     * @param newArc - the arc added for the new site
+     */
+    default void arcSplit(final Edge arc, final ParabolaEdge newArc) {}
+
+    /**
+     * Called when an edge crossing the top border is split at the top border.
+     *
+     * @param edge  - the edge being split
+     * @param right - true if the edge is on the right side of the removed arc;
+     *              false if it is on the left side
+     */
+    default void topSplit(final Edge edge, final boolean right) {}
+
+    /**
+     * Called when a face is split along the top border, joining two points where
+     * its edges cross the top border.
+     *
+     * @param face    - the face that was split
+     * @param topEdge - the newly-added edge along the top border
+     */
+    default void topFaceSplit(final Face face, final Edge topEdge) {}
+
+    /**
+     * Called when an edge is dissolved, joining the faces it separated.
+     *
+     * @param edge        - the dissolved edge (this edge is no longer part of the
+     *                    DCEL)
+     * @param joinedFace  - the face remaining after the join
+     * @param removedFace - the other face, which is no longer part of the DCEL
+     */
+    default void faceDissolve(final Edge edge, final Face joinedFace, final Face removedFace) {}
+
+    /**
+     * Called after the last event has been processed and the diagram completed.
+     */
+    default void finished() {}
+
+}
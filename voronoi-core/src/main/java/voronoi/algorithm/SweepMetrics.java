@@ -0,0 +1,300 @@
+package voronoi.algorithm;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * Counters describing the work done by a {@link Voronoi} sweep, for finding out
+ * why a particular input ran slowly.
+ *
+ * A sweep only keeps metrics while an instance is attached with
+ * {@link Voronoi#setMetrics(SweepMetrics)}; otherwise the cost is one null
+ * check per change, as for a {@link SweepListener}. The counters are plain
+ * fields written only by the sweeping thread. At the end of each step it writes
+ * a single volatile field, and every getter reads that field first, so a getter
+ * called from another thread (for example through JMX, after
+ * {@link #register(String)}) sees every counter at least as it was at the end
+ * of the last finished step. Counters changed by the step in progress may or
+ * may not be seen.
+ */
+public final class SweepMetrics implements SweepMetricsMXBean {
+
+    /**
+     * The domain of the names under which metrics are registered
+     */
+    public static final String DOMAIN = "voronoi";
+
+    private long steps;
+    private long siteEvents;
+    private long circleEvents;
+    private long circleEventsCreated;
+    private long circleEventsInvalidated;
+    private int peakQueueSize;
+    private int peakBeachLineLength;
+    private long topSplits;
+    private long topFaceSplits;
+    private long edgesAllocated;
+    private long verticesAllocated;
+    private long facesAllocated;
+
+    /**
+     * The number of steps taking each power of two nanoseconds
+     */
+    private final long[] stepLatency = new long[Long.SIZE];
+    private long totalStepNanos;
+    private long maxStepNanos;
+
+    /**
+     * The number of steps, written by the sweeping thread after all other
+     * counters at the end of each step, to publish them to other threads
+     */
+    private volatile long published;
+
+    /**
+     * Whether or not {@link #reset()} has been called since the sweeping thread
+     * last set the counters back to zero
+     */
+    private volatile boolean resetRequested;
+
+    /**
+     * The name these metrics are registered under, or null if they are not
+     * registered
+     */
+    private ObjectName name = null;
+
+    /**
+     * Registers these metrics with the platform MBean server, under the name
+     * {@code voronoi:type=SweepMetrics,name=<name>}.
+     *
+     * @param name - the name identifying the sweep
+     * @return the full name the metrics were registered under
+     * @throws IllegalArgumentException if other metrics are already registered
+     *                                  under the given name
+     * @throws IllegalStateException    if these metrics are already registered,
+     *                                  or cannot be registered
+     */
+    public synchronized ObjectName register(final String name) {
+        if (this.name != null)
+            throw new IllegalStateException("Metrics are already registered as " + this.name);
+
+        try {
+            final ObjectName objectName = new ObjectName(DOMAIN + ":type=SweepMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.name = objectName;
+            return objectName;
+        } catch (final InstanceAlreadyExistsException e) {
+            throw new IllegalArgumentException("Metrics are already registered under the name " + name, e);
+        } catch (final MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Invalid metrics name " + name, e);
+        } catch (final JMException e) {
+            throw new IllegalStateException("Cannot register metrics", e);
+        }
+    }
+
+    /**
+     * Removes these metrics from the platform MBean server, if they are
+     * registered.
+     */
+    public synchronized void unregister() {
+        if (name == null)
+            return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (final InstanceNotFoundException e) {
+            // Already unregistered through the server
+        } catch (final JMException e) {
+            throw new IllegalStateException("Cannot unregister metrics", e);
+        } finally {
+            name = null;
+        }
+    }
+
+    void siteEvent() {
+        siteEvents++;
+    }
+
+    void circleEvent() {
+        circleEvents++;
+    }
+
+    /**
+     * @param queueSize - the number of circle events queued after the new event
+     *                  was added
+     */
+    void circleEventCreated(final int queueSize) {
+        circleEventsCreated++;
+        if (queueSize > peakQueueSize)
+            peakQueueSize = queueSize;
+    }
+
+    void circleEventInvalidated() {
+        circleEventsInvalidated++;
+    }
+
+    /**
+     * @param length - the current number of edges on the beach line
+     */
+    void beachLineLength(final int length) {
+        if (length > peakBeachLineLength)
+            peakBeachLineLength = length;
+    }
+
+    void topSplit() {
+        topSplits++;
+    }
+
+    void topFaceSplit() {
+        topFaceSplits++;
+    }
+
+    /**
+     * @param edges    - the number of half-edges added
+     * @param vertices - the number of vertices added
+     * @param faces    - the number of faces added
+     */
+    void allocated(final long edges, final long vertices, final long faces) {
+        edgesAllocated += edges;
+        verticesAllocated += vertices;
+        facesAllocated += faces;
+    }
+
+    /**
+     * Records a finished step, and publishes the counters changed during it to
+     * other threads.
+     *
+     * @param nanos - the time taken by the step
+     */
+    void step(final long nanos) {
+        steps++;
+        stepLatency[nanos <= 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos)]++;
+        totalStepNanos += nanos;
+        if (nanos > maxStepNanos)
+            maxStepNanos = nanos;
+
+        if (resetRequested) {
+            clear();
+            published = steps;
+            // A reset requested while clearing is already satisfied
+            resetRequested = false;
+        } else {
+            published = steps;
+        }
+    }
+
+    /**
+     * Reads {@link #published}, so that the counters written before it are
+     * visible.
+     *
+     * @return true if the counters should be read; false if a reset is pending
+     *         and they should be reported as zero
+     */
+    private boolean acquire() {
+        return published >= 0 && !resetRequested;
+    }
+
+    @Override
+    public long getSteps() {
+        final long steps = published;
+        return resetRequested ? 0 : steps;
+    }
+
+    @Override
+    public long getSiteEvents() {
+        return acquire() ? siteEvents : 0;
+    }
+
+    @Override
+    public long getCircleEvents() {
+        return acquire() ? circleEvents : 0;
+    }
+
+    @Override
+    public long getCircleEventsCreated() {
+        return acquire() ? circleEventsCreated : 0;
+    }
+
+    @Override
+    public long getCircleEventsInvalidated() {
+        return acquire() ? circleEventsInvalidated : 0;
+    }
+
+    @Override
+    public int getPeakQueueSize() {
+        return acquire() ? peakQueueSize : 0;
+    }
+
+    @Override
+    public int getPeakBeachLineLength() {
+        return acquire() ? peakBeachLineLength : 0;
+    }
+
+    @Override
+    public long getTopSplits() {
+        return acquire() ? topSplits : 0;
+    }
+
+    @Override
+    public long getTopFaceSplits() {
+        return acquire() ? topFaceSplits : 0;
+    }
+
+    @Override
+    public long getEdgesAllocated() {
+        return acquire() ? edgesAllocated : 0;
+    }
+
+    @Override
+    public long getVerticesAllocated() {
+        return acquire() ? verticesAllocated : 0;
+    }
+
+    @Override
+    public long getFacesAllocated() {
+        return acquire() ? facesAllocated : 0;
+    }
+
+    @Override
+    public long[] getStepLatencyHistogram() {
+        return acquire() ? stepLatency.clone() : new long[Long.SIZE];
+    }
+
+    @Override
+    public double getMeanStepNanos() {
+        return !acquire() || steps == 0 ? 0 : (double) totalStepNanos / steps;
+    }
+
+    @Override
+    public long getMaxStepNanos() {
+        return acquire() ? maxStepNanos : 0;
+    }
+
+    /**
+     * Asks the sweeping thread to set all counters back to zero at the end of its
+     * next step, since only that thread writes them. Until then, the getters
+     * report zero. The work of the step that applies the reset is not counted.
+     */
+    @Override
+    public void reset() {
+        resetRequested = true;
+    }
+
+    /**
+     * Sets all counters back to zero, from the sweeping thread.
+     */
+    private void clear() {
+        steps = siteEvents = circleEvents = circleEventsCreated = circleEventsInvalidated = 0;
+        peakQueueSize = peakBeachLineLength = 0;
+        topSplits = topFaceSplits = 0;
+        edgesAllocated = verticesAllocated = facesAllocated = 0;
+        Arrays.fill(stepLatency, 0);
+        totalStepNanos = maxStepNanos = 0;
+    }
+
+}
@@ -0,0 +1,98 @@
+package voronoi.algorithm;
+
+/**
+ * The management interface of {@link SweepMetrics}, through which the counters
+ * of a sweep can be read over JMX.
+ */
+public interface SweepMetricsMXBean {
+
+    /**
+     * @return the number of steps taken
+     */
+    long getSteps();
+
+    /**
+     * @return the number of site events processed
+     */
+    long getSiteEvents();
+
+    /**
+     * @return the number of circle events processed
+     */
+    long getCircleEvents();
+
+    /**
+     * @return the number of circle events added to the event queue
+     */
+    long getCircleEventsCreated();
+
+    /**
+     * @return the number of circle events cancelled before they were reached
+     *         (false alarms)
+     */
+    long getCircleEventsInvalidated();
+
+    /**
+     * @return the largest number of circle events queued at once, including
+     *         cancelled events not yet skipped
+     */
+    int getPeakQueueSize();
+
+    /**
+     * @return the largest number of edges on the beach line at once
+     */
+    int getPeakBeachLineLength();
+
+    /**
+     * @return the number of edges split where they cross the top border
+     */
+    long getTopSplits();
+
+    /**
+     * @return the number of faces split along the top border, by an edge joining
+     *         the two points where their edges cross it
+     */
+    long getTopFaceSplits();
+
+    /**
+     * @return the number of half-edges added to the DCEL by the sweep
+     */
+    long getEdgesAllocated();
+
+    /**
+     * @return the number of vertices added to the DCEL by the sweep
+     */
+    long getVerticesAllocated();
+
+    /**
+     * @return the number of faces added to the DCEL by the sweep
+     */
+    long getFacesAllocated();
+
+    /**
+     * Returns the histogram of the time taken by each step. Element {@code i}
+     * counts the steps that took at least {@code 2^i} and less than
+     * {@code 2^(i + 1)} nanoseconds (element 0 also counts steps that took no
+     * measurable time).
+     *
+     * @return the step latency histogram
+     */
+    long[] getStepLatencyHistogram();
+
+    /**
+     * @return the mean time taken by a step, in nanoseconds, or 0 if no steps
+     *         have been taken
+     */
+    double getMeanStepNanos();
+
+    /**
+     * @return the longest time taken by a step, in nanoseconds
+     */
+    long getMaxStepNanos();
+
+    /**
+     * Sets all counters back to zero at the end of the sweep's next step.
+     */
+    void reset();
+
+}
@@ -0,0 +1,607 @@
+package voronoi.algorithm;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * A recording of a complete sweep, from which the state of the diagram at any
+ * height of the sweep line can be drawn without running the sweep again.
+ *
+ * The part of the diagram traced by the time the sweep line reaches height
+ * {@code y} is, for each site, the part of its final cell that is closer to the
+ * site than to the sweep line: the cell clipped by the site's beach line
+ * parabola. A cell is therefore hidden until the sweep line passes its site,
+ * changes only while the beach line crosses it, and is finished once the sweep
+ * line is far enough below all of its vertices. The timeline holds the final
+ * cells, the heights at which each cell appears and is finished, and the
+ * parameters of every event, all in flat arrays.
+ *
+ * A timeline is immutable once recorded, so any number of viewers may share
+ * it. Each viewer moves through the timeline with its own {@link Cursor},
+ * which only touches the cells that change.
+ */
+public final class SweepTimeline {
+
+    /**
+     * The state of a cell whose site the sweep line has not passed yet
+     */
+    public static final int HIDDEN = 0;
+
+    /**
+     * The state of a cell the beach line is crossing
+     */
+    public static final int ACTIVE = 1;
+
+    /**
+     * The state of a cell that has been traced completely
+     */
+    public static final int FINISHED = 2;
+
+    private static final int NONE = ArrayDCEL.NONE;
+
+    private final Rectangle2D bounds;
+
+    private final double[] siteX;
+    private final double[] siteY;
+
+    /**
+     * The vertices of the cell of site {@code i} are at indices
+     * {@code cellStart[i]} (inclusive) to {@code cellStart[i + 1]} (exclusive) of
+     * {@code cellX} and {@code cellY}, in order around the cell
+     */
+    private final int[] cellStart;
+    private final double[] cellX;
+    private final double[] cellY;
+
+    /**
+     * The height of the sweep line at or below which each cell is finished
+     */
+    private final double[] finishY;
+
+    /**
+     * The sites, in order of the height at which their cells appear and are
+     * finished, respectively (from the first to the last)
+     */
+    private final int[] byAppearance;
+    private final int[] byFinish;
+
+    /**
+     * The events, in the order the sweep handles them: the point at which the
+     * sweep line reaches each event, and the radius of its circle (0 for site
+     * events)
+     */
+    private final double[] eventX;
+    private final double[] eventY;
+    private final double[] eventRadius;
+
+    /**
+     * Records the sweep over the given sites.
+     *
+     * @param points - the sites
+     * @param bounds - the bounds of the diagram
+     */
+    public SweepTimeline(final Collection<Point2D> points, final Rectangle2D bounds) {
+        this(points.stream().mapToDouble(Point2D::getX).toArray(), points.stream().mapToDouble(Point2D::getY).toArray(),
+                bounds);
+    }
+
+    /**
+     * Records the sweep over the sites {@code (x[i], y[i])}. Sites are identified
+     * by their index in the given arrays.
+     *
+     * @param x      - the x-coordinates of the sites
+     * @param y      - the y-coordinates of the sites
+     * @param bounds - the bounds of the diagram
+     */
+    public SweepTimeline(final double[] x, final double[] y, final Rectangle2D bounds) {
+        final ArrayVoronoi voronoi = new ArrayVoronoi(x, y, bounds);
+        voronoi.run();
+        final ArrayDCEL dcel = voronoi.getDCEL();
+
+        final int n = x.length;
+        this.bounds = bounds;
+        this.siteX = x.clone();
+        this.siteY = y.clone();
+
+        // Find the cell of each site, counting its vertices
+        final int[] cell = new int[n];
+        Arrays.fill(cell, NONE);
+        final int[] vertexCount = new int[n];
+        for (int face = 0; face < dcel.faceCapacity(); face++) {
+            final int site = dcel.site(face);
+            if (dcel.boundaryEdge(face) == NONE || site == NONE || voronoi.isSpecialFace(face) || cell[site] != NONE)
+                continue;
+
+            cell[site] = face;
+            final int start = dcel.boundaryEdge(face);
+            int edge = start;
+            do {
+                vertexCount[site]++;
+                edge = dcel.next(edge);
+            } while (edge != start);
+        }
+
+        this.cellStart = new int[n + 1];
+        for (int i = 0; i < n; i++)
+            cellStart[i + 1] = cellStart[i] + vertexCount[i];
+        this.cellX = new double[cellStart[n]];
+        this.cellY = new double[cellStart[n]];
+        this.finishY = new double[n];
+
+        // Copy the cells, and collect a circle event for each vertex inside the bounds
+        final boolean[] seen = new boolean[dcel.vertexCapacity()];
+        final double[] circleX = new double[cellStart[n]];
+        final double[] circleY = new double[cellStart[n]];
+        final double[] circleRadius = new double[cellStart[n]];
+        int circles = 0;
+        for (int site = 0; site < n; site++) {
+            finishY[site] = y[site];
+            if (cell[site] == NONE)
+                continue;
+
+            final int start = dcel.boundaryEdge(cell[site]);
+            int edge = start;
+            int i = cellStart[site];
+            do {
+                final int vertex = dcel.origin(edge);
+                final double vx = dcel.x(vertex);
+                final double vy = dcel.y(vertex);
+                final double radius = Math.hypot(vx - x[site], vy - y[site]);
+                cellX[i] = vx;
+                cellY[i] = vy;
+                i++;
+
+                finishY[site] = Math.min(finishY[site], vy - radius);
+                if (!seen[vertex] && vx > bounds.getMinX() && vx < bounds.getMaxX() && vy > bounds.getMinY()
+                        && vy < bounds.getMaxY()) {
+                    seen[vertex] = true;
+                    circleX[circles] = vx;
+                    circleY[circles] = vy - radius;
+                    circleRadius[circles] = radius;
+                    circles++;
+                }
+                edge = dcel.next(edge);
+            } while (edge != start);
+        }
+
+        this.byAppearance = SiteOrder.sort(siteX, siteY);
+        this.byFinish = SiteOrder.sort(siteX, finishY);
+
+        // Merge the site events and circle events into sweep order
+        final double[] allX = Arrays.copyOf(siteX, n + circles);
+        final double[] allY = Arrays.copyOf(siteY, n + circles);
+        System.arraycopy(circleX, 0, allX, n, circles);
+        System.arraycopy(circleY, 0, allY, n, circles);
+        final int[] order = SiteOrder.sort(allX, allY);
+
+        this.eventX = new double[n + circles];
+        this.eventY = new double[n + circles];
+        this.eventRadius = new double[n + circles];
+        for (int i = 0; i < order.length; i++) {
+            eventX[i] = allX[order[i]];
+            eventY[i] = allY[order[i]];
+            eventRadius[i] = order[i] < n ? 0 : circleRadius[order[i] - n];
+        }
+    }
+
+    /**
+     * @param site   - the index of a site
+     * @param sweepY - the height of the sweep line
+     * @return the state of the cell of the given site ({@link #HIDDEN},
+     *         {@link #ACTIVE} or {@link #FINISHED}) when the sweep line is at the
+     *         given height
+     */
+    public int getState(final int site, final double sweepY) {
+        if (sweepY >= siteY[site])
+            return HIDDEN;
+        return sweepY <= finishY[site] ? FINISHED : ACTIVE;
+    }
+
+    /**
+     * @return a new cursor, at the start of the sweep
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * @return the bounds of the diagram
+     */
+    public Rectangle2D getBounds() {
+        return bounds;
+    }
+
+    /**
+     * @return the number of sites
+     */
+    public int getSiteCount() {
+        return siteX.length;
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the x-coordinate of the given site
+     */
+    public double getSiteX(final int site) {
+        return siteX[site];
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the y-coordinate of the given site
+     */
+    public double getSiteY(final int site) {
+        return siteY[site];
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the number of vertices of the final cell of the given site
+     */
+    public int getCellVertexCount(final int site) {
+        return cellStart[site + 1] - cellStart[site];
+    }
+
+    /**
+     * @param site   - the index of a site
+     * @param vertex - the index of a vertex of the cell, in order around the cell
+     * @return the x-coordinate of the given vertex of the final cell
+     */
+    public double getCellX(final int site, final int vertex) {
+        return cellX[cellStart[site] + vertex];
+    }
+
+    /**
+     * @param site   - the index of a site
+     * @param vertex - the index of a vertex of the cell, in order around the cell
+     * @return the y-coordinate of the given vertex of the final cell
+     */
+    public double getCellY(final int site, final int vertex) {
+        return cellY[cellStart[site] + vertex];
+    }
+
+    /**
+     * @param site - the index of a site
+     * @return the height of the sweep line at or below which the cell of the
+     *         given site is finished
+     */
+    public double getFinishY(final int site) {
+        return finishY[site];
+    }
+
+    /**
+     * @return the number of events, counting each vertex inside the bounds as one
+     *         circle event
+     */
+    public int getEventCount() {
+        return eventX.length;
+    }
+
+    /**
+     * @param event - the index of an event, in sweep order
+     * @return the x-coordinate of the point at which the sweep line reaches the
+     *         event (the site, or the bottom of the circle)
+     */
+    public double getEventX(final int event) {
+        return eventX[event];
+    }
+
+    /**
+     * @param event - the index of an event, in sweep order
+     * @return the height of the sweep line at the event
+     */
+    public double getEventY(final int event) {
+        return eventY[event];
+    }
+
+    /**
+     * @param event - the index of an event, in sweep order
+     * @return the radius of the circle of a circle event (whose center is
+     *         {@code radius} above the event point), or 0 for a site event
+     */
+    public double getEventRadius(final int event) {
+        return eventRadius[event];
+    }
+
+    /**
+     * A position on a timeline, belonging to one viewer. Moving the cursor finds
+     * the cells whose state changed, and keeps the set of active cells, in time
+     * proportional to the number of changed and active cells.
+     */
+    public final class Cursor {
+
+        private double sweepY = Double.POSITIVE_INFINITY;
+
+        /**
+         * The number of sites at the start of {@code byAppearance} whose cells have
+         * appeared, and at the start of {@code byFinish} whose cells are finished
+         * (or would be, had they appeared)
+         */
+        private int appeared = 0;
+        private int finished = 0;
+
+        /**
+         * The state of each cell at the current height
+         */
+        private final byte[] state = new byte[siteX.length];
+
+        /**
+         * The active cells, and the index of each cell in this list (or
+         * {@code NONE})
+         */
+        private final int[] active = new int[siteX.length];
+        private final int[] activeIndex = new int[siteX.length];
+        private int activeCount = 0;
+
+        /**
+         * The cells whose state changed in the last move
+         */
+        private int[] changed = new int[16];
+        private int changedCount = 0;
+
+        private double[] outlineX = new double[16];
+        private double[] outlineY = new double[16];
+
+        /**
+         * Where the parabola crosses the edge being clipped
+         */
+        private final double[] roots = new double[2];
+
+        private Cursor() {
+            Arrays.fill(activeIndex, NONE);
+        }
+
+        /**
+         * Moves the cursor to the given height of the sweep line, in either
+         * direction.
+         *
+         * @param sweepY - the height of the sweep line
+         */
+        public void moveTo(final double sweepY) {
+            changedCount = 0;
+            this.sweepY = sweepY;
+
+            while (appeared < byAppearance.length && siteY[byAppearance[appeared]] > sweepY)
+                update(byAppearance[appeared++]);
+            while (appeared > 0 && siteY[byAppearance[appeared - 1]] <= sweepY)
+                update(byAppearance[--appeared]);
+            while (finished < byFinish.length && finishY[byFinish[finished]] >= sweepY)
+                update(byFinish[finished++]);
+            while (finished > 0 && finishY[byFinish[finished - 1]] < sweepY)
+                update(byFinish[--finished]);
+        }
+
+        /**
+         * Recomputes the state of the given cell, recording it as changed if its
+         * state is not the same as before.
+         */
+        private void update(final int site) {
+            final int newState = SweepTimeline.this.getState(site, sweepY);
+            if (newState == state[site])
+                return;
+
+            if (state[site] == ACTIVE) {
+                final int last = active[--activeCount];
+                active[activeIndex[site]] = last;
+                activeIndex[last] = activeIndex[site];
+                activeIndex[site] = NONE;
+            } else if (newState == ACTIVE) {
+                active[activeCount] = site;
+                activeIndex[site] = activeCount++;
+            }
+            state[site] = (byte) newState;
+
+            if (changedCount == changed.length)
+                changed = Arrays.copyOf(changed, changedCount * 2);
+            changed[changedCount++] = site;
+        }
+
+        /**
+         * @return the current height of the sweep line
+         */
+        public double getSweepY() {
+            return sweepY;
+        }
+
+        /**
+         * @param site - the index of a site
+         * @return the state of the given site's cell at the current height
+         */
+        public int getState(final int site) {
+            return state[site];
+        }
+
+        /**
+         * @return the number of cells whose state changed in the last move
+         */
+        public int getChangedCount() {
+            return changedCount;
+        }
+
+        /**
+         * @param i - an index less than {@link #getChangedCount()}
+         * @return the site of a cell whose state changed in the last move
+         */
+        public int getChanged(final int i) {
+            return changed[i];
+        }
+
+        /**
+         * @return the number of active cells
+         */
+        public int getActiveCount() {
+            return activeCount;
+        }
+
+        /**
+         * @param i - an index less than {@link #getActiveCount()}
+         * @return the site of an active cell
+         */
+        public int getActive(final int i) {
+            return active[i];
+        }
+
+        /**
+         * Computes the outline of the traced part of the given cell at the current
+         * height: the whole cell if it is finished, nothing if it is hidden, and
+         * otherwise the cell clipped by its beach line parabola, which is drawn
+         * with the given number of segments. The outline is stored in arrays
+         * that are reused by the next call.
+         *
+         * @see #getOutlineX()
+         * @see #getOutlineY()
+         *
+         * @param site     - the index of a site
+         * @param segments - the number of segments to draw the parabola with
+         * @return the number of points in the outline
+         */
+        public int outline(final int site, final int segments) {
+            final int start = cellStart[site];
+            final int n = cellStart[site + 1] - start;
+            ensureOutlineCapacity(2 * n + segments);
+
+            if (state[site] == HIDDEN)
+                return 0;
+            if (state[site] == FINISHED) {
+                System.arraycopy(cellX, start, outlineX, 0, n);
+                System.arraycopy(cellY, start, outlineY, 0, n);
+                return n;
+            }
+
+            // Start from a vertex inside the parabola if there is one, so that the part
+            // of the parabola inside the cell is reached after leaving the parabola
+            final double sx = siteX[site], sy = siteY[site], h = sy - sweepY;
+            int first = 0;
+            while (first < n && inside(cellX[start + first], cellY[start + first], sx, sy, h) < 0)
+                first++;
+            if (first == n)
+                first = 0;
+
+            int count = 0;
+            double exitX = Double.NaN;
+            for (int k = 0; k < n; k++) {
+                final int i = start + (first + k) % n;
+                final int j = start + (first + k + 1) % n;
+                final double px = cellX[i], py = cellY[i];
+                final double dx = cellX[j] - px, dy = cellY[j] - py;
+
+                final double c = inside(px, py, sx, sy, h);
+                if (c >= 0) {
+                    outlineX[count] = px;
+                    outlineY[count++] = py;
+                }
+
+                // Along the edge, the distance inside the parabola is a concave quadratic
+                // a t^2 + b t + c, which crosses zero at most twice
+                final double a = -dx * dx / (2 * h);
+                final double b = dy - (px - sx) * dx / h;
+                final int crossings = crossings(a, b, c, roots);
+                for (int r = 0; r < crossings; r++) {
+                    final double t = roots[r];
+                    final double cx = px + t * dx;
+                    final double cy = py + t * dy;
+                    if (2 * a * t + b < 0) {
+                        exitX = cx;
+                    } else if (!Double.isNaN(exitX)) {
+                        count = arc(count, exitX, cx, sx, sy, segments);
+                        exitX = Double.NaN;
+                    }
+                    outlineX[count] = cx;
+                    outlineY[count++] = cy;
+                }
+            }
+            if (!Double.isNaN(exitX) && count > 0)
+                count = arc(count, exitX, outlineX[0], sx, sy, segments);
+            return count;
+        }
+
+        /**
+         * Adds the points of the parabola strictly between the given
+         * x-coordinates to the outline.
+         */
+        private int arc(int count, final double fromX, final double toX, final double sx, final double sy,
+                final int segments) {
+            ensureOutlineCapacity(count + segments);
+            final double h = sy - sweepY;
+            for (int i = 1; i < segments; i++) {
+                final double x = fromX + (toX - fromX) * i / segments;
+                outlineX[count] = x;
+                outlineY[count++] = 0.5 * ((x - sx) * (x - sx) / h + sy + sweepY);
+            }
+            return count;
+        }
+
+        private void ensureOutlineCapacity(final int capacity) {
+            if (outlineX.length < capacity) {
+                outlineX = Arrays.copyOf(outlineX, Math.max(capacity, outlineX.length * 2));
+                outlineY = Arrays.copyOf(outlineY, outlineX.length);
+            }
+        }
+
+        /**
+         * @return the x-coordinates of the last outline computed, in its first
+         *         elements
+         */
+        public double[] getOutlineX() {
+            return outlineX;
+        }
+
+        /**
+         * @return the y-coordinates of the last outline computed, in its first
+         *         elements
+         */
+        public double[] getOutlineY() {
+            return outlineY;
+        }
+
+    }
+
+    /**
+     * @return how far the point {@code (px, py)} is above the beach line parabola
+     *         with focus {@code (sx, sy)}, whose focus is {@code h} above the
+     *         sweep line (negative if the point is below the parabola)
+     */
+    private static double inside(final double px, final double py, final double sx, final double sy,
+            final double h) {
+        return py - 0.5 * ((px - sx) * (px - sx) / h + 2 * sy - h);
+    }
+
+    /**
+     * Finds where the quadratic {@code a t^2 + b t + c} crosses zero strictly
+     * between 0 and 1.
+     *
+     * @param roots - the array to store the crossings in, in increasing order
+     * @return the number of crossings
+     */
+    private static int crossings(final double a, final double b, final double c, final double[] roots) {
+        int count = 0;
+        if (a == 0) {
+            if (b != 0) {
+                final double t = -c / b;
+                if (t > 0 && t < 1)
+                    roots[count++] = t;
+            }
+            return count;
+        }
+
+        final double discriminant = b * b - 4 * a * c;
+        if (discriminant <= 0)
+            return 0;
+
+        // Avoid cancellation by computing the larger root first
+        final double q = -0.5 * (b + Math.copySign(Math.sqrt(discriminant), b));
+        final double t1 = q / a;
+        final double t2 = q == 0 ? 0 : c / q;
+        final double lo = Math.min(t1, t2), hi = Math.max(t1, t2);
+        if (lo > 0 && lo < 1)
+            roots[count++] = lo;
+        if (hi > 0 && hi < 1)
+            roots[count++] = hi;
+        return count;
+    }
+
+}
@@ -0,0 +1,1223 @@
+package voronoi.algorithm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import voronoi.algorithm.dcel.DCELCopy;
+import voronoi.algorithm.dcel.Edge;
+import voronoi.algorithm.dcel.Face;
+import voronoi.algorithm.dcel.ParabolaEdge;
+import voronoi.algorithm.dcel.Vertex;
+import voronoi.util.Point2D;
+import voronoi.util.Predicates;
+import voronoi.util.Rectangle2D;
+import voronoi.util.Util;
+
+public class Voronoi {
+
+    /**
+     * The largest difference between the distances from a vertex to two sites,
+     * relative to the size of the bounds, for which the vertex is considered to
+     * lie on their bisector when modifying a finished diagram
+     */
+    private static final double BISECTOR_TOLERANCE = 1e-9;
+
+    /**
+     * The sites of the diagram, in the order they were added (a set, so that sites
+     * can be removed without searching a list)
+     */
+    private final Set<Point2D> points;
+
+    private final Rectangle2D bounds;
+
+    private final DCELFacesWrapper dcel;
+    private Edge topBorder;
+
+    /**
+     * The site events, sorted once in the order the sweep handles them
+     */
+    private final PointEvent[] siteEvents;
+    private int siteCursor = 0;
+
+    /**
+     * The pending circle events, including cancelled ones that have not been
+     * skipped yet
+     */
+    private final PriorityQueue<CircleEvent> circleEvents;
+
+    private final Face beachLine, infiniteFace;
+
+    private final Edge leftBorder;
+    private final Edge rightBorder;
+
+    private final Map<Face, Edge> topPoints;
+
+    /**
+     * An index of the edges of the beach line face, used to locate the arc above
+     * each new point
+     */
+    private final BeachLine beachLineIndex;
+
+    /**
+     * The number of cancelled circle events that have been skipped
+     */
+    private int staleEventCount = 0;
+
+    /**
+     * The listener notified of changes made during the sweep, or null if there is
+     * no such listener
+     */
+    private SweepListener listener = null;
+
+    /**
+     * The metrics updated by the sweep, or null if metrics are not kept
+     */
+    private SweepMetrics metrics = null;
+
+    /**
+     * The cell at which {@link #locate(Point2D)} starts its walk if the grid has
+     * no site for the point, or null to start from a cell on the border
+     */
+    private Face locateHint = null;
+
+    /**
+     * A grid over the bounds with about one bucket per site, holding a site in or
+     * near each bucket, from whose cell {@link #locate(Point2D)} starts its walk;
+     * null if it has not been built. Sites removed since the grid was built are
+     * skipped.
+     */
+    private Point2D[] locateGrid = null;
+    private int gridColumns, gridRows;
+
+    /**
+     * The number of sites when the grid was built
+     */
+    private int gridSiteCount;
+
+    /**
+     * The cell of each site, built on the first modification of the finished
+     * diagram, or null if it has not been built
+     */
+    private Map<Point2D, Face> cells = null;
+
+    public Voronoi(final Collection<Point2D> points, final Rectangle2D bounds) {
+        this.points = new LinkedHashSet<>(points);
+        this.bounds = bounds;
+
+        this.dcel = new DCELFacesWrapper();
+        this.topBorder = dcel.getFaces().get(0).getBoundaryEdge();
+
+        topBorder.getOrigin().setPoint(new Point2D(this.bounds.getMinX(), this.bounds.getMinY()));
+        this.rightBorder = dcel.subdivide(topBorder, new Point2D(this.bounds.getMaxX(), this.bounds.getMinY()));
+        final Edge bottomBorder = dcel.subdivide(rightBorder,
+                new Point2D(this.bounds.getMaxX(), this.bounds.getMaxY()));
+        this.leftBorder = dcel.subdivide(bottomBorder, new Point2D(this.bounds.getMinX(), this.bounds.getMaxY()));
+
+        topBorder.setHorizontal(true);
+        bottomBorder.setHorizontal(true);
+
+        this.beachLine = topBorder.getInteriorFace();
+        this.infiniteFace = topBorder.getTwin().getInteriorFace();
+
+        this.siteEvents = this.points.stream().map(PointEvent::new).toArray(PointEvent[]::new);
+        Arrays.parallelSort(siteEvents);
+        this.circleEvents = new PriorityQueue<>();
+
+        this.topPoints = new HashMap<>();
+
+        this.beachLineIndex = new BeachLine(topBorder.getNext(), topBorder);
+    }
+
+    /**
+     * Creates a deep copy of the given diagram, in the same state of its sweep.
+     *
+     * @see #copy()
+     *
+     * @param original - the diagram to copy
+     */
+    private Voronoi(final Voronoi original) {
+        final DCELCopy copy = new DCELCopy(original.dcel.getFaces());
+
+        this.points = new LinkedHashSet<>(original.points);
+        this.bounds = original.bounds;
+
+        this.dcel = new DCELFacesWrapper(original.dcel, copy);
+        this.topBorder = copy.get(original.topBorder);
+        this.leftBorder = copy.get(original.leftBorder);
+        this.rightBorder = copy.get(original.rightBorder);
+        this.beachLine = copy.get(original.beachLine);
+        this.infiniteFace = copy.get(original.infiniteFace);
+
+        this.siteEvents = original.siteEvents;
+        this.siteCursor = original.siteCursor;
+        this.staleEventCount = original.staleEventCount;
+
+        // Adding the events in the order of the original heap reproduces the heap
+        // exactly, so events at the same height are handled in the same order. The
+        // middle edges of cancelled events may no longer be part of the DCEL, in
+        // which case they are shared, since they are never modified again.
+        this.circleEvents = new PriorityQueue<>(Math.max(1, original.circleEvents.size()));
+        final Map<CircleEvent, CircleEvent> events = new IdentityHashMap<>();
+        for (final CircleEvent event : original.circleEvents) {
+            final Edge midEdge = copy.get(event.midEdge);
+            final CircleEvent eventCopy = new CircleEvent(event, midEdge == null ? event.midEdge : midEdge);
+            circleEvents.add(eventCopy);
+            events.put(event, eventCopy);
+        }
+
+        this.topPoints = new HashMap<>();
+        original.topPoints.forEach((face, edge) -> {
+            if (copy.get(face) != null)
+                topPoints.put(copy.get(face), copy.get(edge));
+        });
+
+        if (topBorder == null) {
+            this.beachLineIndex = new BeachLine();
+        } else {
+            this.beachLineIndex = new BeachLine(topBorder.getNext(), topBorder);
+            for (Edge edge = original.topBorder.getNext(); edge != original.topBorder; edge = edge.getNext()) {
+                final CircleEvent event = original.beachLineIndex.getCircleEvent(edge);
+                if (event != null)
+                    beachLineIndex.setCircleEvent(copy.get(edge), events.get(event));
+            }
+        }
+
+        this.locateHint = copy.get(original.locateHint);
+        if (original.locateGrid != null) {
+            this.locateGrid = original.locateGrid.clone();
+            this.gridColumns = original.gridColumns;
+            this.gridRows = original.gridRows;
+            this.gridSiteCount = original.gridSiteCount;
+        }
+        if (original.cells != null) {
+            this.cells = new HashMap<>();
+            original.cells.forEach((site, face) -> cells.put(site, copy.get(face)));
+        }
+    }
+
+    /**
+     * Creates a deep copy of this diagram, in the same state of its sweep. Stepping
+     * or modifying either diagram afterwards does not affect the other. The
+     * listener and metrics of this diagram are not copied.
+     *
+     * @return the copy
+     */
+    public synchronized Voronoi copy() {
+        return new Voronoi(this);
+    }
+
+    public synchronized PointEvent step() {
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final long edgesAdded = dcel.getEdgesAdded();
+        final long verticesAdded = dcel.getVerticesAdded();
+        final long facesAdded = dcel.getFacesAdded();
+        removeStaleEvents();
+        if (!isQueueEmpty()) {
+            rightBorder.check();
+            if (topBorder != null)
+                beachLineIndex.check(topBorder.getNext(), topBorder);
+            final PointEvent event = isSiteNext() ? siteEvents[siteCursor++] : circleEvents.poll();
+            if (event instanceof CircleEvent) {
+                handleCircleEvent((CircleEvent) event);
+            } else {
+                handlePointEvent(event);
+            }
+
+            if (metrics != null) {
+                metrics.allocated(dcel.getEdgesAdded() - edgesAdded, dcel.getVerticesAdded() - verticesAdded,
+                        dcel.getFacesAdded() - facesAdded);
+                metrics.step(System.nanoTime() - start);
+            }
+            return event;
+        }
+
+        return null;
+    }
+
+    private void handlePointEvent(final PointEvent event) {
+        // The left border meets the beach line at exactly the left edge of the
+        // bounds, so a site on that edge is looked up just inside it
+        final double x = Math.max(event.point.getX(), Math.nextUp(bounds.getMinX()));
+        final Edge edge = beachLineIndex.find(x, event.point.getY());
+        if (edge == null)
+            return;
+
+        if (listener != null)
+            listener.siteEvent(event);
+        if (metrics != null)
+            metrics.siteEvent();
+
+        cancelCircleEvent(edge);
+
+        final Edge next = dcel.subdivide(edge, edge.getOrigin().getPoint());
+        final Edge mid = dcel.subdivide(edge, edge.getOrigin().getPoint());
+
+        final ParabolaEdge par = dcel.splitFaceWithParabola(event.point, next, mid);
+        beachLineIndex.insertAfter(edge, par);
+        beachLineIndex.insertAfter(par, next);
+        par.getTwin().getInteriorFace().setContainedPoint(event.point);
+
+        if (listener != null)
+            listener.arcSplit(edge, par);
+        if (metrics != null)
+            metrics.beachLineLength(beachLineIndex.size());
+
+        if (mid instanceof ParabolaEdge)
+            dcel.convertToNonParEdge((ParabolaEdge) mid).check();
+
+        par.check();
+        par.getTwin().check();
+
+        par.getOrigin().check();
+        par.getTwin().getOrigin().check();
+
+        if (CircleEvent.canGenerateEvent(par.getPrevious())) {
+            final CircleEvent newEvent = new CircleEvent(par.getPrevious());
+            if (isValidEvent(event, newEvent)) {
+                addCircleEvent(newEvent);
+            }
+        }
+        if (CircleEvent.canGenerateEvent(par.getNext())) {
+            final CircleEvent newEvent = new CircleEvent(par.getNext());
+            if (isValidEvent(event, newEvent)) {
+                addCircleEvent(newEvent);
+            }
+        }
+    }
+
+    private void handleCircleEvent(final CircleEvent cevent) {
+        if (listener != null)
+            listener.circleEvent(cevent);
+        if (metrics != null)
+            metrics.circleEvent();
+
+        final Edge prev = cevent.midEdge.getPrevious();
+        final Edge next = cevent.midEdge.getNext();
+
+        cancelCircleEvent(prev);
+        cancelCircleEvent(next);
+
+        final Point2D nextOrigin = next.getOrigin().getPoint();
+
+        final Edge twinNext = cevent.midEdge.getTwin().getNext();
+        final Edge twinPrev = cevent.midEdge.getTwin().getPrevious();
+
+        final Edge fixedEdge = cevent.midEdge.getPrevious().getTwin();
+        Edge movingEdge = cevent.midEdge.getNext().getTwin().getNext();
+        if (movingEdge == cevent.midEdge.getTwin())
+            movingEdge = movingEdge.getNext();
+
+        dcel.collapse(cevent.midEdge);
+        beachLineIndex.remove(cevent.midEdge);
+        dcel.ripVertex(cevent.center, fixedEdge, movingEdge);
+
+        if (!(next instanceof ParabolaEdge))
+            fixedEdge.getOrigin().setPoint(nextOrigin);
+
+        if (prev != leftBorder && prev != rightBorder && CircleEvent.canGenerateEvent(prev)) {
+            final CircleEvent newEvent = new CircleEvent(prev);
+            if (isValidEvent(cevent, newEvent)) {
+                addCircleEvent(newEvent);
+            }
+        }
+        if (next != leftBorder && next != rightBorder && CircleEvent.canGenerateEvent(next)) {
+            final CircleEvent newEvent = new CircleEvent(next);
+            if (isValidEvent(cevent, newEvent)) {
+                addCircleEvent(newEvent);
+            }
+        }
+
+        final double topY = topBorder.getOrigin().getY();
+        if (cevent.center.getY() <= topY) {
+            splitTop(twinPrev, false);
+            splitTop(twinNext, true);
+
+            twinNext.getInteriorFace().setContainedPoint(null);
+
+            // The walk starts at an edge that is kept, so that it always comes back to
+            // it, even if twinNext is dissolved; the top border split above gives the
+            // face at least one such edge
+            Edge start = twinNext;
+            while (isDissolvedAtTop(start)) {
+                start = start.getNext();
+                assert start != twinNext : "No edge of the cell is kept";
+            }
+
+            Edge edge = start;
+            do {
+                if (isDissolvedAtTop(edge)) {
+                    dissolve(edge);
+                    while (edge.getInteriorFace() == null)
+                        edge = edge.getNext();
+                } else {
+                    edge = edge.getNext();
+                }
+            } while (edge != start);
+        }
+
+        removeStaleEvents();
+        if (isQueueEmpty()) {
+            finish(cevent);
+        }
+    }
+
+    /**
+     * @return true if the given edge of a cell closed off beyond the top border
+     *         separates it from another face without a site, and is dissolved to
+     *         join the two; false otherwise
+     */
+    private boolean isDissolvedAtTop(final Edge edge) {
+        final Face adjacent = edge.getTwin().getInteriorFace();
+        return adjacent != topBorder.getTwin().getInteriorFace() && adjacent.getContainedPoint() == null;
+    }
+
+    /**
+     * Adds the given circle event to the event queue, and records it as the
+     * pending event of its middle edge.
+     *
+     * @param event - the event to add
+     */
+    private void addCircleEvent(final CircleEvent event) {
+        circleEvents.add(event);
+        beachLineIndex.setCircleEvent(event.midEdge, event);
+
+        if (listener != null)
+            listener.circleEventAdded(event);
+        if (metrics != null)
+            metrics.circleEventCreated(circleEvents.size());
+    }
+
+    /**
+     * Cancels the pending circle event of the given beach line edge, if there is
+     * one. The event is not removed from the queue; it is skipped when it is
+     * reached.
+     *
+     * @param midEdge - the middle edge of the event to cancel
+     */
+    private void cancelCircleEvent(final Edge midEdge) {
+        final CircleEvent event = beachLineIndex.getCircleEvent(midEdge);
+        if (event != null) {
+            event.cancel();
+            beachLineIndex.setCircleEvent(midEdge, null);
+
+            if (metrics != null)
+                metrics.circleEventInvalidated();
+        }
+    }
+
+    /**
+     * Removes cancelled events from the front of the circle event queue.
+     */
+    private void removeStaleEvents() {
+        while (!circleEvents.isEmpty() && circleEvents.peek().isCancelled()) {
+            final CircleEvent event = circleEvents.poll();
+            staleEventCount++;
+
+            if (listener != null)
+                listener.circleEventSkipped(event);
+        }
+    }
+
+    /**
+     * @return true if there are no site events left and no circle events queued;
+     *         false otherwise
+     */
+    private boolean isQueueEmpty() {
+        return siteCursor == siteEvents.length && circleEvents.isEmpty();
+    }
+
+    /**
+     * @return true if the next site event comes before the next circle event (or
+     *         at the same height); false otherwise
+     */
+    private boolean isSiteNext() {
+        if (siteCursor == siteEvents.length)
+            return false;
+        return circleEvents.isEmpty() || siteEvents[siteCursor].point.getY() >= circleEvents.peek().point.getY();
+    }
+
+    private void finish(final CircleEvent lastEvent) {
+        final Edge lastPar = topBorder.getNext().getNext();
+
+        // The last arc is closed off beyond the top border, even if the last event
+        // happened below it, so that the top border cuts its cell like any other
+        final double closingY = Math.min(lastEvent.point.getY(), bounds.getMinY() - bounds.getHeight());
+        lastPar.getOrigin().setPoint(new Point2D(rightBorder.getOrigin().getX(), closingY));
+        lastPar.getTwin().getOrigin().setPoint(new Point2D(leftBorder.getOrigin().getX(), closingY));
+
+        splitTop(lastPar.getTwin().getNext(), true);
+        splitTop(lastPar.getTwin().getPrevious(), false);
+        lastPar.getTwin().getInteriorFace().setContainedPoint(null);
+
+        dissolve(topBorder);
+        topBorder = null;
+        beachLineIndex.clear();
+        Face extraFace = dissolve(lastPar);
+        Edge startEdge = extraFace.getBoundaryEdge();
+        Edge edge = startEdge;
+        while (edge != startEdge.getPrevious()) {
+            if (edge.getTwin().getInteriorFace().getContainedPoint() == null) {
+                extraFace = dissolve(edge);
+                edge = startEdge = extraFace.getBoundaryEdge();
+            } else {
+                edge = edge.getNext();
+            }
+            edge.check();
+        }
+
+        if (listener != null)
+            listener.finished();
+    }
+
+    /**
+     * Dissolves the given edge, and notifies the listener.
+     *
+     * @see DCELFacesWrapper#dissolve(Edge)
+     *
+     * @param edge - the edge to dissolve
+     * @return the joined face
+     */
+    private Face dissolve(final Edge edge) {
+        final Face interior = edge.getInteriorFace();
+        final Face exterior = edge.getTwin().getInteriorFace();
+        final Face joinedFace = dcel.dissolve(edge);
+
+        if (listener != null)
+            listener.faceDissolve(edge, joinedFace, joinedFace == interior ? exterior : interior);
+
+        return joinedFace;
+    }
+
+    private boolean splitTop(final Edge e, final boolean right) {
+        if (listener != null)
+            listener.topSplit(e, right);
+
+        if (e.getOrigin().getY() > topBorder.getOrigin().getY() //
+                == e.getNext().getOrigin().getY() > topBorder.getOrigin().getY())
+            return false;
+
+        final Face leftFace = (right ? e : e.getTwin()).getInteriorFace();
+        final Face rightFace = (right ? e.getTwin() : e).getInteriorFace();
+
+        final Edge e2 = dcel.subdivide(e, Util.intersectLineHorizontal(e.getOrigin().getPoint(),
+                e.getNext().getOrigin().getPoint(),
+                topBorder.getOrigin().getY()));
+        if (metrics != null)
+            metrics.topSplit();
+
+        if (topPoints.containsKey(leftFace) && leftFace != topBorder.getTwin().getInteriorFace()) {
+            final Edge o1 = topPoints.remove(leftFace);
+            final Edge topEdge = dcel.splitFaceBetween(o1, right ? e2 : e.getTwin());
+
+            if (listener != null)
+                listener.topFaceSplit(leftFace, topEdge);
+            if (metrics != null)
+                metrics.topFaceSplit();
+
+            topEdge.getTwin().getInteriorFace().setContainedPoint(topEdge.getInteriorFace().getContainedPoint());
+        } else {
+            topPoints.put(leftFace, right ? e2 : e.getTwin());
+        }
+
+        if (topPoints.containsKey(rightFace) && rightFace != topBorder.getTwin().getInteriorFace()) {
+            final Edge o1 = right ? e.getTwin() : e2;
+            final Edge o2 = topPoints.remove(rightFace).getPrevious();
+            final Edge topEdge = dcel.splitFaceBetween(o1, o2.getNext());
+
+            if (listener != null)
+                listener.topFaceSplit(rightFace, topEdge);
+            if (metrics != null)
+                metrics.topFaceSplit();
+
+            topEdge.getTwin().getInteriorFace().setContainedPoint(topEdge.getInteriorFace().getContainedPoint());
+        } else {
+            topPoints.put(rightFace, right ? e.getTwin() : e2);
+        }
+
+        return true;
+    }
+
+    private boolean isValidEvent(final PointEvent generatingEvent, final CircleEvent newEvent) {
+        final boolean prevPar = newEvent.midEdge.getPrevious() instanceof ParabolaEdge;
+        final boolean midPar = newEvent.midEdge instanceof ParabolaEdge;
+        final boolean nextPar = newEvent.midEdge.getNext() instanceof ParabolaEdge;
+        if (!prevPar && !nextPar) {
+            return false;
+        } else if (midPar && (prevPar || nextPar)) {
+            final Point2D pp, pn, pm = ((ParabolaEdge) newEvent.midEdge).focus;
+            if (!(prevPar && nextPar)) {
+                final Point2D other = ((ParabolaEdge) (prevPar ? newEvent.midEdge.getPrevious()
+                        : newEvent.midEdge.getNext())).focus;
+                final Edge border = prevPar ? newEvent.midEdge.getNext() : newEvent.midEdge.getPrevious();
+                if (!border.isHorizontal()) {
+                    // Beside a vertical border, the breakpoint between the two arcs moves
+                    // towards the border exactly when the arc beside it belongs to the
+                    // higher site, so compare the sites rather than a point on a circle
+                    // whose center may be too far away to be represented precisely.
+                    // Sites at the same height are ordered as the sweep orders them
+                    return pm.getY() > other.getY() || pm.getY() == other.getY() && pm.getX() < other.getX();
+                } else if (pm.getX() == other.getX()) {
+                    // The breakpoints of the arcs of two sites directly above one another
+                    // move parallel to a horizontal border, and never meet it
+                    return false;
+                } else if (pm.getY() == border.getOrigin().getY()) {
+                    // The arc of a site on a horizontal border meets the border at points
+                    // that move away from the site, so the circle's center has to be on
+                    // the same side of the site as the border
+                    return prevPar ? newEvent.center.getX() < pm.getX() : newEvent.center.getX() > pm.getX();
+                }
+            }
+
+            if (prevPar)
+                pp = ((ParabolaEdge) newEvent.midEdge.getPrevious()).focus;
+            else if (newEvent.midEdge.getPrevious().isHorizontal())
+                pp = newEvent.center.add(newEvent.radius, 0);
+            else
+                pp = newEvent.center.add(0, newEvent.radius);
+
+            if (nextPar)
+                pn = ((ParabolaEdge) newEvent.midEdge.getNext()).focus;
+            else if (newEvent.midEdge.getNext().isHorizontal())
+                pn = newEvent.center.subtract(newEvent.radius, 0);
+            else
+                pn = newEvent.center.add(0, newEvent.radius);
+
+            // The breakpoints converge only if the arcs' foci turn counterclockwise;
+            // three collinear foci have no circle event
+            final double orientation = Predicates.orient2d(pn.getX(), pn.getY(), pp.getX(), pp.getY(), pm.getX(),
+                    pm.getY());
+            return prevPar && nextPar ? orientation > 0 : orientation >= 0;
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Inserts a new site into the finished diagram, without sweeping the other
+     * sites again. The part of each cell that is closer to the new site than to
+     * its own site is cut off along their bisector, and the cut-off pieces are
+     * joined into the cell of the new site, so only the cells neighboring the new
+     * cell are changed.
+     *
+     * @param point - the site to insert
+     * @return the cell of the new site
+     * @throws IllegalStateException    if the sweep has not finished
+     * @throws IllegalArgumentException if the site is outside the bounds of the
+     *                                  diagram, or is already a site of the
+     *                                  diagram
+     */
+    public synchronized Face insert(final Point2D point) {
+        checkFinished();
+        if (!bounds.contains(point.getX(), point.getY()))
+            throw new IllegalArgumentException("Site must be within the bounds of the diagram");
+
+        final Face start = locate(point);
+        if (start.getContainedPoint().equals(point))
+            throw new IllegalArgumentException("Site is already part of the diagram");
+
+        final Face cell = carve(start, point, face -> !isSpecialFace(face));
+        removeJoinVertices(cell);
+
+        points.add(point);
+        if (cells != null)
+            cells.put(point, cell);
+        if (locateGrid != null)
+            locateGrid[gridBucket(point)] = point;
+        locateHint = cell;
+        return cell;
+    }
+
+    /**
+     * Removes a site from the finished diagram, without sweeping the other sites
+     * again. The cell of the site is divided among its neighbors, by giving the
+     * whole cell to the first neighbor and then carving out the part of each other
+     * neighbor as if it were inserted into the cell. Each part is then joined to
+     * the cell of its site, so only the neighboring cells are changed.
+     *
+     * @param site - the site to remove
+     * @throws IllegalStateException    if the sweep has not finished, or the site
+     *                                  is the only site of the diagram
+     * @throws IllegalArgumentException if the point is not a site of the diagram
+     */
+    public synchronized void remove(final Point2D site) {
+        checkFinished();
+        final Face cell = findCell(site);
+
+        final List<Face> neighbors = new ArrayList<>();
+        cell.forEachEdge(edge -> {
+            final Face neighbor = edge.getTwin().getInteriorFace();
+            if (!isSpecialFace(neighbor) && !neighbors.contains(neighbor))
+                neighbors.add(neighbor);
+        });
+        if (neighbors.isEmpty())
+            throw new IllegalStateException("Cannot remove the only site of the diagram");
+
+        final Set<Face> hole = new HashSet<>();
+        hole.add(cell);
+        cell.setContainedPoint(neighbors.get(0).getContainedPoint());
+        for (int i = 1; i < neighbors.size(); i++) {
+            final Face neighbor = neighbors.get(i);
+            final Face part = carve(adjacentFace(neighbor, hole::contains), neighbor.getContainedPoint(),
+                    hole::contains);
+            if (part != null)
+                hole.add(part);
+        }
+
+        for (final Face neighbor : neighbors) {
+            final Point2D neighborSite = neighbor.getContainedPoint();
+            Face part;
+            while ((part = adjacentFace(neighbor,
+                    face -> hole.contains(face) && neighborSite.equals(face.getContainedPoint()))) != null) {
+                final Face joined = part;
+                final Edge startEdge = neighbor.getBoundaryEdge();
+                Edge edge = startEdge;
+                while (edge.getTwin().getInteriorFace() != joined)
+                    edge = edge.getNext();
+                dcel.dissolve(edge);
+            }
+        }
+        for (final Face neighbor : neighbors)
+            removeJoinVertices(neighbor);
+
+        points.remove(site);
+        cells.remove(site);
+        locateHint = neighbors.get(0);
+        if (locateGrid != null && locateGrid[gridBucket(site)] == site)
+            locateGrid[gridBucket(site)] = locateHint.getContainedPoint();
+    }
+
+    /**
+     * Moves a site of the finished diagram, by removing it and inserting it again
+     * at its new position. Like {@link #remove(Point2D)} and
+     * {@link #insert(Point2D)}, only the cells around the old and new positions
+     * are changed.
+     *
+     * @param site        - the site to move
+     * @param newPosition - the new position of the site
+     * @return the cell of the site at its new position
+     * @throws IllegalStateException    if the sweep has not finished, or the site
+     *                                  is the only site of the diagram
+     * @throws IllegalArgumentException if the site is not a site of the diagram,
+     *                                  or the new position is outside the bounds
+     *                                  of the diagram or is already a site of the
+     *                                  diagram
+     */
+    public synchronized Face move(final Point2D site, final Point2D newPosition) {
+        checkFinished();
+        final Face cell = findCell(site);
+        if (site.equals(newPosition))
+            return cell;
+        if (!bounds.contains(newPosition.getX(), newPosition.getY()))
+            throw new IllegalArgumentException("Site must be within the bounds of the diagram");
+        locateHint = cell;
+        if (locate(newPosition).getContainedPoint().equals(newPosition))
+            throw new IllegalArgumentException("Site is already part of the diagram");
+
+        remove(site);
+        return insert(newPosition);
+    }
+
+    /**
+     * Reads the Delaunay triangulation of the sites from the finished diagram. The
+     * sites are numbered in the order of their cells in the DCEL. The diagram is
+     * not changed, so the triangulation can be read while other threads read the
+     * diagram too.
+     *
+     * @return the Delaunay triangulation of the sites
+     * @throws IllegalStateException if the sweep has not finished
+     */
+    public synchronized DelaunayTriangulation getDelaunayTriangulation() {
+        checkFinished();
+        return DelaunayTriangulation.of(dcel, face -> !isSpecialFace(face));
+    }
+
+    /**
+     * Builds an index for finding the cell containing a point in the finished
+     * diagram. The sites are numbered as in {@link #getDelaunayTriangulation()}.
+     * The index is not updated when the diagram is edited.
+     *
+     * @return a point locator over the diagram
+     * @throws IllegalStateException if the sweep has not finished
+     */
+    public synchronized PointLocator getPointLocator() {
+        return new PointLocator(getDelaunayTriangulation(), bounds);
+    }
+
+    private void checkFinished() {
+        removeStaleEvents();
+        if (topBorder != null || !isQueueEmpty())
+            throw new IllegalStateException("Cannot modify the diagram before the sweep has finished");
+    }
+
+    /**
+     * @param site - a site of the finished diagram
+     * @return the cell of the given site
+     * @throws IllegalArgumentException if the point is not a site of the diagram
+     */
+    private Face findCell(final Point2D site) {
+        final Face cell = cells().get(site);
+        if (cell == null)
+            throw new IllegalArgumentException("Point is not a site of the diagram");
+        return cell;
+    }
+
+    /**
+     * @return the cell of each site of the finished diagram
+     */
+    private Map<Point2D, Face> cells() {
+        if (cells == null) {
+            cells = new HashMap<>();
+            dcel.forEachFace(face -> {
+                if (!isSpecialFace(face))
+                    cells.put(face.getContainedPoint(), face);
+            });
+        }
+        return cells;
+    }
+
+    /**
+     * Finds the cell of the finished diagram containing the given point, by
+     * walking from cell to cell towards it. The walk starts from the cell of the
+     * site in the point's bucket of the grid, so that it takes a constant number
+     * of steps on average for evenly spread sites, wherever the point is.
+     *
+     * @param point - the point to locate
+     * @return the cell containing the point
+     */
+    private Face locate(final Point2D point) {
+        // The grid is rebuilt once the number of sites has doubled or halved, so
+        // that it keeps about one bucket per site
+        if (locateGrid == null || points.size() > 2 * gridSiteCount || 2 * points.size() < gridSiteCount)
+            buildLocateGrid();
+
+        final Point2D site = locateGrid[gridBucket(point)];
+        Face face = site == null ? null : cells().get(site);
+        if (face == null)
+            face = locateHint;
+        if (face == null) {
+            final Face outside = beachLine.getBoundaryEdge() != null ? beachLine : infiniteFace;
+            face = outside.getBoundaryEdge().getTwin().getInteriorFace();
+        }
+
+        double distance = squaredDistance(face.getContainedPoint(), point);
+        while (true) {
+            Face closest = null;
+            final Edge startEdge = face.getBoundaryEdge();
+            Edge edge = startEdge;
+            do {
+                final Face neighbor = edge.getTwin().getInteriorFace();
+                if (!isSpecialFace(neighbor)) {
+                    final double d = squaredDistance(neighbor.getContainedPoint(), point);
+                    if (d < distance) {
+                        distance = d;
+                        closest = neighbor;
+                    }
+                }
+                edge = edge.getNext();
+            } while (edge != startEdge);
+
+            if (closest == null)
+                return face;
+            face = closest;
+        }
+    }
+
+    /**
+     * Builds the grid used by {@link #locate(Point2D)}, with about one bucket per
+     * site. Each bucket holds a site within it, or else the site of the bucket
+     * before it, walking the rows back and forth as {@link PointLocator} does.
+     */
+    private void buildLocateGrid() {
+        final int n = Math.max(1, points.size());
+        final double aspect = bounds.getHeight() > 0 ? bounds.getWidth() / bounds.getHeight() : 1;
+        gridColumns = Math.max(1, (int) Math.ceil(Math.sqrt(n * aspect)));
+        gridRows = Math.max(1, (int) Math.ceil((double) n / gridColumns));
+        gridSiteCount = points.size();
+
+        locateGrid = new Point2D[gridColumns * gridRows];
+        for (final Point2D site : points)
+            locateGrid[gridBucket(site)] = site;
+
+        Point2D previous = null;
+        for (int row = 0; row < gridRows; row++) {
+            for (int i = 0; i < gridColumns; i++) {
+                final int bucket = row * gridColumns + (row % 2 == 0 ? i : gridColumns - 1 - i);
+                if (locateGrid[bucket] == null)
+                    locateGrid[bucket] = previous;
+                else
+                    previous = locateGrid[bucket];
+            }
+        }
+    }
+
+    /**
+     * @return the bucket of the grid containing the given point, which must be
+     *         within the bounds
+     */
+    private int gridBucket(final Point2D point) {
+        final int column = Math.min(gridColumns - 1,
+                Math.max(0, (int) ((point.getX() - bounds.getMinX()) / bounds.getWidth() * gridColumns)));
+        final int row = Math.min(gridRows - 1,
+                Math.max(0, (int) ((point.getY() - bounds.getMinY()) / bounds.getHeight() * gridRows)));
+        return row * gridColumns + column;
+    }
+
+    private static double squaredDistance(final Point2D a, final Point2D b) {
+        final double dx = a.getX() - b.getX(), dy = a.getY() - b.getY();
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * @param face   - a face
+     * @param filter - the faces to look for
+     * @return a face accepted by the filter that shares an edge with the given
+     *         face, or null if there is no such face
+     */
+    private static Face adjacentFace(final Face face, final Predicate<Face> filter) {
+        final Edge startEdge = face.getBoundaryEdge();
+        Edge edge = startEdge;
+        do {
+            if (filter.test(edge.getTwin().getInteriorFace()))
+                return edge.getTwin().getInteriorFace();
+            edge = edge.getNext();
+        } while (edge != startEdge);
+        return null;
+    }
+
+    /**
+     * Gives the given point the part of each eligible cell that is closer to it
+     * than to the cell's own site, and joins these parts into one face. Edges
+     * crossing a bisector are subdivided where they cross it; vertices that
+     * already lie on a bisector are used as they are.
+     *
+     * @param start    - an eligible cell with a part closer to the point
+     * @param point    - the point
+     * @param eligible - the cells that may give up a part to the point
+     * @return the joined face, whose contained point is {@code point}, or null if
+     *         no part of the starting cell is closer to the point
+     */
+    private Face carve(final Face start, final Point2D point, final Predicate<Face> eligible) {
+        // Find the cells that overlap the new face, and the side of the bisector
+        // each of their vertices is on. The side of each vertex is only calculated
+        // once, so that the cells around it agree on it.
+        final Map<Vertex, Integer> sides = new HashMap<>();
+        final Set<Face> affected = new LinkedHashSet<>();
+        final ArrayDeque<Face> queue = new ArrayDeque<>();
+        affected.add(start);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            final Face face = queue.poll();
+            final Point2D site = face.getContainedPoint();
+            face.forEachEdge(edge -> sides.computeIfAbsent(edge.getOrigin(), v -> bisectorSide(v, point, site)));
+            face.forEachEdge(edge -> {
+                final Face neighbor = edge.getTwin().getInteriorFace();
+                if (eligible.test(neighbor) && !affected.contains(neighbor)
+                        && (sides.get(edge.getOrigin()) < 0 || sides.get(edge.getNext().getOrigin()) < 0)) {
+                    affected.add(neighbor);
+                    queue.add(neighbor);
+                }
+            });
+        }
+        if (!sides.containsValue(-1))
+            return null;
+
+        final Set<Face> pieces = new HashSet<>();
+        Face joined = null;
+        for (final Face face : affected) {
+            final Face piece = cutFace(face, point, sides);
+            piece.setContainedPoint(point);
+            pieces.add(piece);
+            if (joined == null)
+                joined = piece;
+        }
+
+        // Join the pieces; this also removes the parts of the old edges inside the
+        // joined face
+        boolean dissolved;
+        do {
+            dissolved = false;
+            final Edge startEdge = joined.getBoundaryEdge();
+            Edge edge = startEdge;
+            do {
+                final Face other = edge.getTwin().getInteriorFace();
+                if (other != joined && pieces.contains(other)) {
+                    dcel.dissolve(edge);
+                    dissolved = true;
+                    break;
+                }
+                edge = edge.getNext();
+            } while (edge != startEdge);
+        } while (dissolved);
+
+        return joined;
+    }
+
+    /**
+     * Splits off the part of the given cell that is closer to the given point
+     * than to the cell's site. Edges crossing the bisector are subdivided where
+     * they cross it, unless their neighboring cell has already done so.
+     *
+     * @param face  - the cell to cut
+     * @param point - the point
+     * @param sides - the side of the bisector that each vertex of the cell lies on
+     *              (negative if it is closer to the point, zero if it lies on the
+     *              bisector)
+     * @return the part of the cell closer to the point, which is the cell itself
+     *         if no part of it is further from the point
+     */
+    private Face cutFace(final Face face, final Point2D point, final Map<Vertex, Integer> sides) {
+        final Point2D site = face.getContainedPoint();
+
+        final List<Edge> crossing = new ArrayList<>();
+        face.forEachEdge(edge -> {
+            final int a = sides.get(edge.getOrigin()), b = sides.get(edge.getNext().getOrigin());
+            if (a * b < 0)
+                crossing.add(edge);
+        });
+        for (final Edge edge : crossing) {
+            final Point2D a = edge.getOrigin().getPoint(), b = edge.getNext().getOrigin().getPoint();
+            final double fa = bisectorPower(a, point, site), fb = bisectorPower(b, point, site);
+            final double t = Math.max(0, Math.min(1, fa / (fa - fb)));
+            final Edge split = dcel.subdivide(edge,
+                    new Point2D(a.getX() + t * (b.getX() - a.getX()), a.getY() + t * (b.getY() - a.getY())));
+            sides.put(split.getOrigin(), 0);
+        }
+
+        Edge enter = null, exit = null;
+        boolean outside = false;
+        final Edge startEdge = face.getBoundaryEdge();
+        Edge edge = startEdge;
+        do {
+            final int side = sides.get(edge.getOrigin());
+            final int previous = sides.get(edge.getPrevious().getOrigin());
+            final int next = sides.get(edge.getNext().getOrigin());
+            if (side == 0 && next < 0 && previous >= 0)
+                enter = edge;
+            if (side == 0 && previous < 0 && next >= 0)
+                exit = edge;
+            outside |= side > 0;
+            edge = edge.getNext();
+        } while (edge != startEdge);
+
+        if (!outside)
+            return face;
+        if (enter == null || exit == null)
+            throw new IllegalStateException("Bisector does not cross the cell");
+
+        return dcel.splitFaceBetween(exit, enter).getTwin().getInteriorFace();
+    }
+
+    /**
+     * Removes the vertices of degree 2 on the boundary of the given face, other
+     * than the corners of the bounds. These are left where the other edges of a
+     * vertex have been dissolved, so the two remaining edges lie on one line.
+     *
+     * @param face - the face to clean up
+     */
+    private void removeJoinVertices(final Face face) {
+        final List<Edge> joins = new ArrayList<>();
+        face.forEachEdge(edge -> {
+            final Vertex vertex = edge.getNext().getOrigin();
+            if (vertex.getDegree() == 2 && !isCorner(vertex.getPoint()))
+                joins.add(edge);
+        });
+        for (final Edge edge : joins)
+            dcel.collapse(edge);
+    }
+
+    private boolean isCorner(final Point2D p) {
+        return (p.getX() == bounds.getMinX() || p.getX() == bounds.getMaxX())
+                && (p.getY() == bounds.getMinY() || p.getY() == bounds.getMaxY());
+    }
+
+    /**
+     * @return -1 if {@code vertex} is closer to {@code point} than to
+     *         {@code site}, 1 if it is further, or 0 if it lies on their bisector
+     *         (to within {@link #BISECTOR_TOLERANCE} of the size of the bounds)
+     */
+    private int bisectorSide(final Vertex vertex, final Point2D point, final Point2D site) {
+        final double difference = vertex.getPoint().distance(point) - vertex.getPoint().distance(site);
+        final double scale = Math.max(Math.max(Math.abs(bounds.getMinX()), Math.abs(bounds.getMaxX())),
+                Math.max(Math.abs(bounds.getMinY()), Math.abs(bounds.getMaxY())));
+        if (Math.abs(difference) <= BISECTOR_TOLERANCE * scale)
+            return 0;
+        return difference < 0 ? -1 : 1;
+    }
+
+    /**
+     * @return the difference between the squared distances from {@code p} to
+     *         {@code point} and to {@code site}, which is linear along any line
+     */
+    private static double bisectorPower(final Point2D p, final Point2D point, final Point2D site) {
+        final double dpx = p.getX() - point.getX(), dpy = p.getY() - point.getY();
+        final double dsx = p.getX() - site.getX(), dsy = p.getY() - site.getY();
+        return dpx * dpx + dpy * dpy - dsx * dsx - dsy * dsy;
+    }
+
+    /**
+     * Prints diagnostic information about this Voronoi instance to stdout, given
+     * that the sweep line is currently at the given height (may be null; if it is,
+     * the information that depends on it is not printed).
+     *
+     * @param sweepLineHeight - the height of the sweep line to use for calculating
+     *                        some information, or null to leave this information
+     *                        out of the output.
+     */
+    public void dump(final Double sweepLineHeight) {
+        if (topBorder != null) {
+            Edge ed = topBorder;
+            do {
+                System.out.print("\t");
+                if (ed == topBorder)
+                    System.out.print("(topBorder) ");
+                else if (ed == leftBorder)
+                    System.out.print("(leftBorder) ");
+                else if (ed == rightBorder)
+                    System.out.print("(rightBorder) ");
+                System.out.println(ed);
+                System.out.println("\t  @" + ed.getOrigin().getPoint());
+                if (sweepLineHeight != null && ed != leftBorder)
+                    System.out.println("\t  X=" + Util.beachLineIntersectionX(ed, ed.getNext(), sweepLineHeight));
+                ed = ed.getNext();
+            } while (ed != topBorder);
+        }
+
+        System.out.println();
+        for (final CircleEvent c : circleEvents) {
+            if (!c.isCancelled()) {
+                System.out.println("\t" + c);
+                System.out.println("\t\t" + c.midEdge.getPrevious());
+                System.out.println("\t\t" + c.midEdge);
+                System.out.println("\t\t" + c.midEdge.getNext());
+                System.out.println();
+            }
+        }
+
+        for (final Face f : dcel.getFaces()) {
+            System.out.printf("\tFace %08x", f.hashCode());
+            if (f == beachLine)
+                System.out.println(" (beachLine)");
+            else if (topBorder != null && f == topBorder.getTwin().getInteriorFace())
+                System.out.println(" (outside)");
+            else
+                System.out.println();
+
+            System.out.printf("\t\tPoint = (index %d) %s\n", getPoints().indexOf(f.getContainedPoint()),
+                    f.getContainedPoint());
+
+            final StringBuilder edges = new StringBuilder();
+            f.forEachEdge(edge -> {
+//                edges.append(String.format("%08x ", edge.hashCode()));
+                edges.append("\t\t\t");
+                edges.append(edge);
+                edges.append("\n");
+                edge = edge.getNext();
+            });
+//            System.out.printf("\t\tEdges = [ %s]\n", edges);
+            System.out.printf("\t\tEdges = [\n%s\t\t]\n", edges);
+        }
+    }
+
+    /**
+     * Sets the listener to notify of changes made during the sweep. When no
+     * listener is set, no diagnostic information is produced.
+     *
+     * @param listener - the listener, or null to remove the current listener
+     */
+    public synchronized void setSweepListener(final SweepListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the metrics to update as the sweep runs. When no metrics are set, none
+     * are kept.
+     *
+     * @param metrics - the metrics, or null to stop keeping metrics
+     */
+    public synchronized void setMetrics(final SweepMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return true if there are more events that this Voronoi instance will
+     *         process; false otherwise
+     */
+    public synchronized boolean hasEvents() {
+        removeStaleEvents();
+        return !isQueueEmpty();
+    }
+
+    /**
+     * @return the next event that this Voronoi instance will process, or null if
+     *         there are no more events to process
+     */
+    public synchronized PointEvent nextEvent() {
+        removeStaleEvents();
+        if (isQueueEmpty())
+            return null;
+        return isSiteNext() ? siteEvents[siteCursor] : circleEvents.peek();
+    }
+
+    /**
+     * @return the top border of this Voronoi instance (this may be null)
+     */
+    public Edge getTopBorder() {
+        return topBorder;
+    }
+
+    /**
+     * @return a list of the faces currently tracked by this Voronoi instance
+     */
+    public List<Face> getFaces() {
+        return this.dcel.getFaces();
+    }
+
+    /**
+     * Is the given face a special face, i.e. not related to any point (the special
+     * faces are the beach line face, and the infinite face).
+     *
+     * @param f - the face to check
+     * @return true if the face is special, false otherwise
+     */
+    public boolean isSpecialFace(final Face f) {
+        return f == this.beachLine || f == this.infiniteFace;
+    }
+
+    /**
+     * @return the voronoi points of this Voronoi instance
+     */
+    public List<Point2D> getPoints() {
+        return new ArrayList<>(points);
+    }
+
+    /**
+     * @return the list of events that are currently queued
+     */
+    public List<PointEvent> getEvents() {
+        final List<PointEvent> events = new ArrayList<>(siteEvents.length - siteCursor + circleEvents.size());
+        events.addAll(Arrays.asList(siteEvents).subList(siteCursor, siteEvents.length));
+        circleEvents.stream().filter(e -> !e.isCancelled()).forEach(events::add);
+        return events;
+    }
+
+    /**
+     * @return the number of cancelled circle events that have been skipped, that
+     *         is, events that were invalidated by a change to the beach line
+     *         before they were reached
+     */
+    public int getStaleEventCount() {
+        return staleEventCount;
+    }
+
+}
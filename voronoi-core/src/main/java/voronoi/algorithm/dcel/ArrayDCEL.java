@@ -0,0 +1,843 @@
+package voronoi.algorithm.dcel;
+
+import java.util.Arrays;
+
+/**
+ * A doubly-connected edge list stored as parallel primitive arrays.
+ *
+ * Half-edges, vertices and faces are identified by int handles (indices into
+ * the arrays), instead of by {@link Edge}, {@link Vertex} and {@link Face}
+ * objects. The two halves of an edge are allocated together, so the twin of
+ * half-edge {@code e} is always {@code e ^ 1}. Apart from this, each operation
+ * has the same effect (including which edge is recorded as the incident edge of
+ * a vertex or the boundary edge of a face) as its equivalent in the
+ * {@code Edge} class.
+ *
+ * Removed edges and vertices are recycled by later operations. Faces removed by
+ * joining them to another face are not, so their handles never refer to another
+ * face. Faces released with {@link #release(int)} are recycled once no edge
+ * refers to them any more.
+ *
+ * Like {@link ParabolaEdge}, an edge may be a parabola; instead of a focus
+ * point, each edge stores an int identifying its focus (usually the index of a
+ * site), or {@link #NONE} if it is a straight edge.
+ */
+public class ArrayDCEL {
+
+    /**
+     * The handle used for a missing edge, vertex, face or focus.
+     */
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The next half-edge of each half-edge
+     */
+    private int[] next;
+
+    /**
+     * The previous half-edge of each half-edge
+     */
+    private int[] previous;
+
+    /**
+     * The origin vertex of each half-edge
+     */
+    private int[] origin;
+
+    /**
+     * The interior face of each half-edge, or {@code NONE} if the half-edge has
+     * been removed
+     */
+    private int[] face;
+
+    /**
+     * The focus of each edge (indexed by {@code edge >> 1}), or {@code NONE} if
+     * the edge is a straight line
+     */
+    private int[] focus;
+
+    /**
+     * Whether or not each edge (indexed by {@code edge >> 1}) is horizontal
+     *
+     * @see Edge#isHorizontal()
+     */
+    private boolean[] horizontal;
+
+    private int edgeCount = 0;
+    private int freeEdges = NONE;
+
+    private double[] x;
+    private double[] y;
+
+    /**
+     * An edge incident to each vertex
+     */
+    private int[] incident;
+
+    private int vertexCount = 0;
+    private int freeVertices = NONE;
+
+    /**
+     * An edge on the boundary of each face, or {@code NONE} if the face has been
+     * removed
+     */
+    private int[] boundary;
+
+    /**
+     * The site contained by each face, or {@code NONE} if there is no such site
+     *
+     * @see Face#getContainedPoint()
+     */
+    private int[] site;
+
+    /**
+     * The number of edges each released face still shares with faces in use, or,
+     * for faces that are free to be reused, the next free face
+     */
+    private int[] sharedEdges;
+
+    private int faceCount = 0;
+    private int freeFaces = NONE;
+
+    private int liveEdges = 0;
+    private int liveVertices = 0;
+    private int liveFaces = 0;
+
+    /**
+     * Creates a new DCEL consisting of a single edge, with one vertex and two
+     * faces (the equivalent of {@link Edge#newDCEL()}). The edge has handle 0, its
+     * twin 1, and the interior faces of these are faces 0 and 1, respectively.
+     */
+    public ArrayDCEL() {
+        this(INITIAL_CAPACITY, INITIAL_CAPACITY, INITIAL_CAPACITY);
+        initialize();
+    }
+
+    /**
+     * Removes everything from this DCEL, leaving a single edge as in
+     * {@link #ArrayDCEL()}. The arrays keep their capacity, so a DCEL can be
+     * cleared and filled again without allocating.
+     */
+    public void clear() {
+        edgeCount = vertexCount = faceCount = 0;
+        liveEdges = liveVertices = liveFaces = 0;
+        freeEdges = freeVertices = freeFaces = NONE;
+        initialize();
+    }
+
+    private void initialize() {
+        final int edge = newEdge(NONE);
+        setNext(edge, edge);
+        setNext(edge ^ 1, edge ^ 1);
+
+        final int initialVertex = newVertex(Double.NaN, Double.NaN);
+        setOrigin(edge, initialVertex);
+        setOrigin(edge ^ 1, initialVertex);
+
+        setInteriorFace(edge, newFace());
+        setInteriorFace(edge ^ 1, newFace());
+    }
+
+    private ArrayDCEL(final int edgePairCapacity, final int vertexCapacity, final int faceCapacity) {
+        this.next = new int[Math.max(1, edgePairCapacity) * 2];
+        this.previous = new int[Math.max(1, edgePairCapacity) * 2];
+        this.origin = new int[Math.max(1, edgePairCapacity) * 2];
+        this.face = new int[Math.max(1, edgePairCapacity) * 2];
+        this.focus = new int[Math.max(1, edgePairCapacity)];
+        this.horizontal = new boolean[Math.max(1, edgePairCapacity)];
+
+        this.x = new double[Math.max(1, vertexCapacity)];
+        this.y = new double[Math.max(1, vertexCapacity)];
+        this.incident = new int[Math.max(1, vertexCapacity)];
+
+        this.boundary = new int[Math.max(1, faceCapacity)];
+        this.site = new int[Math.max(1, faceCapacity)];
+        this.sharedEdges = new int[Math.max(1, faceCapacity)];
+    }
+
+    /**
+     * Creates a DCEL with the given numbers of half-edges, vertices and faces, all
+     * of which are unlinked. The DCEL must then be filled in with
+     * {@link #setEdge(int, int, int, int)}, {@link #setVertex(int, double, double, int)}
+     * and {@link #setFace(int, int, int)}, for example to copy a finished
+     * subdivision into it.
+     *
+     * @param edgeCount   - the number of half-edges (must be even, since half-edge
+     *                    {@code e} is the twin of {@code e ^ 1})
+     * @param vertexCount - the number of vertices
+     * @param faceCount   - the number of faces
+     * @return the new DCEL
+     */
+    public static ArrayDCEL allocate(final int edgeCount, final int vertexCount, final int faceCount) {
+        if (edgeCount % 2 != 0)
+            throw new IllegalArgumentException("Half-edge count must be even");
+
+        final ArrayDCEL dcel = new ArrayDCEL(edgeCount / 2, vertexCount, faceCount);
+        Arrays.fill(dcel.next, NONE);
+        Arrays.fill(dcel.previous, NONE);
+        Arrays.fill(dcel.origin, NONE);
+        Arrays.fill(dcel.face, NONE);
+        Arrays.fill(dcel.focus, NONE);
+        Arrays.fill(dcel.incident, NONE);
+        Arrays.fill(dcel.boundary, NONE);
+        Arrays.fill(dcel.site, NONE);
+
+        dcel.edgeCount = dcel.liveEdges = edgeCount;
+        dcel.vertexCount = dcel.liveVertices = vertexCount;
+        dcel.faceCount = dcel.liveFaces = faceCount;
+        return dcel;
+    }
+
+    /**
+     * Sets the links of the given half-edge directly. The previous half-edge of
+     * {@code next} is set to the given half-edge; no other links are changed, so
+     * this does not keep the DCEL consistent by itself.
+     *
+     * @see #allocate(int, int, int)
+     *
+     * @param edge   - the half-edge to set
+     * @param origin - the origin vertex of the half-edge
+     * @param next   - the half-edge after the given half-edge, or {@code NONE}
+     *               if the half-edge has no face, as the twin of an edge of a
+     *               released cell does
+     * @param face   - the interior face of the half-edge
+     */
+    public void setEdge(final int edge, final int origin, final int next, final int face) {
+        this.origin[edge] = origin;
+        this.face[edge] = face;
+        this.next[edge] = next;
+        if (next != NONE)
+            this.previous[next] = edge;
+    }
+
+    /**
+     * Sets the location and incident edge of the given vertex directly.
+     *
+     * @see #allocate(int, int, int)
+     *
+     * @param vertex       - the vertex to set
+     * @param px           - the x-coordinate of the vertex
+     * @param py           - the y-coordinate of the vertex
+     * @param incidentEdge - a half-edge with the given vertex as its origin
+     */
+    public void setVertex(final int vertex, final double px, final double py, final int incidentEdge) {
+        this.x[vertex] = px;
+        this.y[vertex] = py;
+        this.incident[vertex] = incidentEdge;
+    }
+
+    /**
+     * Sets the boundary edge and site of the given face directly.
+     *
+     * @see #allocate(int, int, int)
+     *
+     * @param face         - the face to set
+     * @param boundaryEdge - a half-edge bounding the face, or {@code NONE} if the
+     *                     face has been removed
+     * @param site         - the site contained by the face, or {@code NONE}
+     */
+    public void setFace(final int face, final int boundaryEdge, final int site) {
+        this.boundary[face] = boundaryEdge;
+        this.site[face] = site;
+    }
+
+    /**
+     * Subdivides the given edge and its twin at the point {@code (px, py)}.
+     *
+     * @see Edge#subdivide(voronoi.util.Point2D)
+     *
+     * @param edge - the edge to subdivide
+     * @param px   - the x-coordinate of the new vertex
+     * @param py   - the y-coordinate of the new vertex
+     * @return the newly-added edge, which is the successor of {@code edge}
+     */
+    public int subdivide(final int edge, final double px, final double py) {
+        final int twin = edge ^ 1;
+        final int other = newEdge(focus[edge >> 1]);
+        horizontal[other >> 1] = horizontal[edge >> 1];
+
+        setOrigin(other ^ 1, origin[twin]);
+
+        final int vertex = newVertex(px, py);
+        setOrigin(twin, vertex);
+        setOrigin(other, vertex);
+
+        setNext(other, next[edge]);
+        setNext(edge, other);
+        setPrevious(other ^ 1, previous[twin]);
+        setPrevious(twin, other ^ 1);
+
+        setInteriorFace(other, face[edge]);
+        setInteriorFace(other ^ 1, face[twin]);
+
+        return other;
+    }
+
+    /**
+     * Removes the given edge and joins its endpoints into a single vertex (the
+     * origin of the given edge).
+     *
+     * @see Edge#collapse()
+     *
+     * @param edge - the edge to collapse
+     * @return the joined vertex
+     */
+    public int collapse(final int edge) {
+        final int twin = edge ^ 1;
+        final int collapsedVertex = origin[edge];
+        final int removedVertex = origin[twin];
+
+        final int end = incident[removedVertex];
+        int e = end;
+        do {
+            setOrigin(e, collapsedVertex);
+            e = next[e ^ 1];
+        } while (e != end);
+
+        boundary[face[next[edge]]] = next[edge];
+        boundary[face[next[twin]]] = next[twin];
+
+        setNext(previous[edge], next[edge]);
+        setNext(previous[twin], next[twin]);
+
+        incident[collapsedVertex] = next[edge];
+
+        freeEdge(edge);
+        freeVertex(removedVertex);
+
+        return collapsedVertex;
+    }
+
+    /**
+     * Removes the given edge and joins the faces that it separates, also removing
+     * any neighboring edges separating the same faces. Removed half-edges have
+     * their interior face set to {@code NONE}, but keep their other links, to aid
+     * iteration.
+     *
+     * @see Edge#dissolve()
+     *
+     * @param edge - the edge to dissolve
+     * @return the joined face
+     */
+    public int dissolve(final int edge) {
+        final int twin = edge ^ 1;
+        final int joinedFace = face[edge];
+        final int removedFace = face[twin];
+
+        boundary[removedFace] = NONE;
+        int iter = twin;
+        do {
+            face[iter] = joinedFace;
+            iter = next[iter];
+        } while (iter != twin);
+
+        int e1 = edge;
+        int e2 = twin;
+        do {
+            freeEdge(e1);
+            e1 = next[e1];
+            e2 = previous[e2];
+            if (e1 == (e2 ^ 1))
+                freeVertex(origin[e1]);
+        } while (e1 == (e2 ^ 1));
+        setNext(e2, e1);
+
+        incident[origin[e1]] = e1;
+
+        e1 = twin;
+        e2 = edge;
+        do {
+            e1 = next[e1];
+            e2 = previous[e2];
+            if (e1 == (e2 ^ 1)) {
+                freeEdge(e1);
+                freeVertex(origin[e1]);
+            }
+        } while (e1 == (e2 ^ 1));
+        setNext(e2, e1);
+
+        incident[origin[e1]] = e1;
+        boundary[face[e2]] = e2;
+
+        if (removedFace != joinedFace)
+            liveFaces--;
+
+        return face[e2];
+    }
+
+    /**
+     * Releases the storage of the given face, once nothing more will be added to
+     * it. The face keeps its site, but loses its boundary edge. The edges it
+     * shares with faces released earlier are freed, as are the vertices
+     * surrounded only by released faces. The edges it shares with faces still in
+     * use are kept, so that those faces keep their boundaries; their twins still
+     * have the released face as their interior face. Once every such edge has
+     * been freed too, by releasing the faces on its other side, the handle of the
+     * released face is reused for a new face, so that only the faces near those
+     * in use take up space.
+     *
+     * Every vertex of the face is assumed to have degree at most three, as is the
+     * case for the vertices of a Voronoi diagram inside its bounds.
+     *
+     * @param face - the face to release
+     */
+    public void release(final int face) {
+        final int start = boundary[face];
+        boundary[face] = NONE;
+        liveFaces--;
+
+        // Vertices first, while every edge around the face still has its links
+        int e = start;
+        do {
+            if (isReleased(this.face[e ^ 1]) && isReleased(this.face[previous[e] ^ 1]))
+                freeVertex(origin[e]);
+            e = next[e];
+        } while (e != start);
+
+        int shared = 0;
+        e = start;
+        do {
+            final int following = next[e];
+            final int neighbor = this.face[e ^ 1];
+            if (isReleased(neighbor)) {
+                freeEdge(e);
+                if (--sharedEdges[neighbor] == 0)
+                    freeFace(neighbor);
+            } else {
+                shared++;
+            }
+            e = following;
+        } while (e != start);
+
+        sharedEdges[face] = shared;
+        if (shared == 0)
+            freeFace(face);
+    }
+
+    /**
+     * @return true if the given face, which is the interior face of an edge, has
+     *         been released; false otherwise
+     */
+    private boolean isReleased(final int face) {
+        return boundary[face] == NONE;
+    }
+
+    /**
+     * Splits the face bounded by the given edges by adding a new edge between the
+     * edges' origins.
+     *
+     * @see Edge#splitFaceBetween(Edge, Edge)
+     *
+     * @param edge1 - an edge bounding the face to split
+     * @param edge2 - another such edge
+     * @return the newly-added edge. The newly-added face is the interior face of
+     *         its twin.
+     */
+    public int splitFaceBetween(final int edge1, final int edge2) {
+        return splitFaceBetween(NONE, edge1, edge2);
+    }
+
+    /**
+     * Splits the face bounded by the given edges by adding a new parabola between
+     * the edges' origins.
+     *
+     * @see ParabolaEdge#splitFaceBetween(voronoi.util.Point2D, Edge, Edge)
+     *
+     * @param focus - the focus of the parabola to add
+     * @param edge1 - an edge bounding the face to split
+     * @param edge2 - another such edge
+     * @return the newly-added edge. The newly-added face is the interior face of
+     *         its twin.
+     */
+    public int splitFaceBetween(final int focus, final int edge1, final int edge2) {
+        if (face[edge1] != face[edge2])
+            throw new IllegalArgumentException("Cannot split face between edges bounding different faces");
+
+        final int splitEdge = newEdge(focus);
+        final int splitTwin = splitEdge ^ 1;
+
+        setOrigin(splitTwin, origin[edge1]);
+        setOrigin(splitEdge, origin[edge2]);
+
+        setNext(previous[edge1], splitTwin);
+        setNext(previous[edge2], splitEdge);
+        setPrevious(edge1, splitEdge);
+        setPrevious(edge2, splitTwin);
+
+        setInteriorFace(splitEdge, face[edge1]);
+
+        final int newFace = newFace();
+        int e = splitTwin;
+        do {
+            setInteriorFace(e, newFace);
+            e = next[e];
+        } while (e != splitTwin);
+
+        return splitEdge;
+    }
+
+    /**
+     * Rips the vertex at the origin of the given edges into two vertices, and
+     * connects them with a new edge.
+     *
+     * @see Edge#ripVertex(voronoi.util.Point2D, Edge, Edge)
+     *
+     * @param px         - the x-coordinate of the new origin of the moving edge
+     * @param py         - the y-coordinate of the new origin of the moving edge
+     * @param fixedEdge  - an edge whose origin defines the vertex to rip
+     * @param movingEdge - another edge with the same origin
+     * @return the newly-added edge. The newly-added vertex is the origin of its
+     *         twin's successor.
+     */
+    public int ripVertex(final double px, final double py, final int fixedEdge, final int movingEdge) {
+        if (origin[fixedEdge] != origin[movingEdge])
+            throw new IllegalArgumentException("Cannot rip vertex between edges of different origins");
+
+        final int newEdge = newEdge(NONE);
+        final int newVertex = newVertex(px, py);
+
+        setOrigin(movingEdge, newVertex);
+        setOrigin(newEdge ^ 1, origin[fixedEdge]);
+
+        setPrevious(newEdge, previous[fixedEdge]);
+        setPrevious(fixedEdge, newEdge);
+        setPrevious(newEdge ^ 1, previous[movingEdge]);
+        setPrevious(movingEdge, newEdge ^ 1);
+
+        setInteriorFace(newEdge, face[fixedEdge]);
+        setInteriorFace(newEdge ^ 1, face[movingEdge]);
+
+        final int end = incident[newVertex];
+        int e = end;
+        do {
+            setOrigin(e, newVertex);
+            e = next[e ^ 1];
+        } while (e != end);
+
+        return newEdge;
+    }
+
+    /**
+     * Converts the given parabola into a straight-line edge. Unlike
+     * {@link ParabolaEdge#convertToNonParEdge()}, the edge keeps its handle.
+     *
+     * @param edge - the edge to convert
+     */
+    public void convertToNonParEdge(final int edge) {
+        focus[edge >> 1] = NONE;
+
+        setOrigin(edge, origin[edge]);
+        setOrigin(edge ^ 1, origin[edge ^ 1]);
+        setInteriorFace(edge, face[edge]);
+        setInteriorFace(edge ^ 1, face[edge ^ 1]);
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return the other half of the given half-edge
+     */
+    public static int twin(final int edge) {
+        return edge ^ 1;
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return the half-edge after the given half-edge
+     */
+    public int next(final int edge) {
+        return next[edge];
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return the half-edge before the given half-edge
+     */
+    public int previous(final int edge) {
+        return previous[edge];
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return the origin vertex of the given half-edge
+     */
+    public int origin(final int edge) {
+        return origin[edge];
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return the face bounded by the given half-edge, or {@code NONE} if the
+     *         half-edge has been removed
+     */
+    public int face(final int edge) {
+        return face[edge];
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return the focus of the given half-edge, or {@code NONE} if it is a
+     *         straight line
+     */
+    public int focus(final int edge) {
+        return focus[edge >> 1];
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return true if the given half-edge is a parabola; false otherwise
+     */
+    public boolean isParabola(final int edge) {
+        return focus[edge >> 1] != NONE;
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return whether or not the given half-edge is horizontal
+     */
+    public boolean isHorizontal(final int edge) {
+        return horizontal[edge >> 1];
+    }
+
+    /**
+     * Sets whether or not the given half-edge (and its twin) is horizontal
+     *
+     * @param edge       - a half-edge
+     * @param horizontal - whether or not the edge is horizontal
+     */
+    public void setHorizontal(final int edge, final boolean horizontal) {
+        this.horizontal[edge >> 1] = horizontal;
+    }
+
+    /**
+     * @param vertex - a vertex
+     * @return the x-coordinate of the given vertex
+     */
+    public double x(final int vertex) {
+        return x[vertex];
+    }
+
+    /**
+     * @param vertex - a vertex
+     * @return the y-coordinate of the given vertex
+     */
+    public double y(final int vertex) {
+        return y[vertex];
+    }
+
+    /**
+     * Moves the given vertex to {@code (px, py)}
+     *
+     * @param vertex - a vertex
+     * @param px     - the new x-coordinate of the vertex
+     * @param py     - the new y-coordinate of the vertex
+     */
+    public void setPoint(final int vertex, final double px, final double py) {
+        x[vertex] = px;
+        y[vertex] = py;
+    }
+
+    /**
+     * @param vertex - a vertex
+     * @return an edge with the given vertex as its origin
+     */
+    public int incidentEdge(final int vertex) {
+        return incident[vertex];
+    }
+
+    /**
+     * @param face - a face
+     * @return an edge on the boundary of the given face, or {@code NONE} if the
+     *         face has been removed
+     */
+    public int boundaryEdge(final int face) {
+        return boundary[face];
+    }
+
+    /**
+     * @param face - a face
+     * @return the site contained by the given face, or {@code NONE} if there is no
+     *         such site
+     */
+    public int site(final int face) {
+        return site[face];
+    }
+
+    /**
+     * Sets the site contained by the given face
+     *
+     * @param face - a face
+     * @param site - the site, or {@code NONE}
+     */
+    public void setSite(final int face, final int site) {
+        this.site[face] = site;
+    }
+
+    /**
+     * @return one more than the largest half-edge handle that has been allocated.
+     *         Handles below this may refer to removed half-edges.
+     */
+    public int edgeCapacity() {
+        return edgeCount;
+    }
+
+    /**
+     * @return one more than the largest vertex handle that has been allocated.
+     *         Handles below this may refer to removed vertices.
+     */
+    public int vertexCapacity() {
+        return vertexCount;
+    }
+
+    /**
+     * @return one more than the largest face handle that has been allocated.
+     *         Removed and released faces have no boundary edge.
+     */
+    public int faceCapacity() {
+        return faceCount;
+    }
+
+    /**
+     * @return the number of half-edges in the DCEL
+     */
+    public int getEdgeCount() {
+        return liveEdges;
+    }
+
+    /**
+     * @return the number of vertices in the DCEL
+     */
+    public int getVertexCount() {
+        return liveVertices;
+    }
+
+    /**
+     * @return the number of faces in the DCEL
+     */
+    public int getFaceCount() {
+        return liveFaces;
+    }
+
+    private void setNext(final int edge, final int next) {
+        this.next[edge] = next;
+        this.previous[next] = edge;
+    }
+
+    private void setPrevious(final int edge, final int previous) {
+        this.previous[edge] = previous;
+        this.next[previous] = edge;
+    }
+
+    private void setOrigin(final int edge, final int vertex) {
+        this.origin[edge] = vertex;
+        this.incident[vertex] = edge;
+    }
+
+    private void setInteriorFace(final int edge, final int face) {
+        this.face[edge] = face;
+        this.boundary[face] = edge;
+    }
+
+    /**
+     * Allocates a new pair of half-edges.
+     *
+     * @param focus - the focus of the new edge
+     * @return the first half-edge of the pair; the second is its twin
+     */
+    private int newEdge(final int focus) {
+        final int edge;
+        if (freeEdges != NONE) {
+            edge = freeEdges;
+            freeEdges = this.focus[edge >> 1];
+        } else {
+            if (edgeCount == next.length) {
+                final int capacity = next.length * 2;
+                next = Arrays.copyOf(next, capacity);
+                previous = Arrays.copyOf(previous, capacity);
+                origin = Arrays.copyOf(origin, capacity);
+                face = Arrays.copyOf(face, capacity);
+                this.focus = Arrays.copyOf(this.focus, capacity / 2);
+                horizontal = Arrays.copyOf(horizontal, capacity / 2);
+            }
+            edge = edgeCount;
+            edgeCount += 2;
+        }
+
+        this.focus[edge >> 1] = focus;
+        horizontal[edge >> 1] = false;
+        liveEdges += 2;
+        return edge;
+    }
+
+    /**
+     * Marks the pair containing the given half-edge as free. The free list is
+     * linked through the focus of each free pair, so that the other links of the
+     * half-edges remain valid until the pair is reused.
+     */
+    private void freeEdge(final int edge) {
+        face[edge] = face[edge ^ 1] = NONE;
+        liveEdges -= 2;
+
+        focus[edge >> 1] = freeEdges;
+        freeEdges = edge & ~1;
+    }
+
+    private int newVertex(final double px, final double py) {
+        final int vertex;
+        if (freeVertices != NONE) {
+            vertex = freeVertices;
+            freeVertices = incident[vertex];
+        } else {
+            if (vertexCount == x.length) {
+                final int capacity = x.length * 2;
+                x = Arrays.copyOf(x, capacity);
+                y = Arrays.copyOf(y, capacity);
+                incident = Arrays.copyOf(incident, capacity);
+            }
+            vertex = vertexCount++;
+        }
+
+        x[vertex] = px;
+        y[vertex] = py;
+        liveVertices++;
+        return vertex;
+    }
+
+    private void freeVertex(final int vertex) {
+        incident[vertex] = freeVertices;
+        freeVertices = vertex;
+        liveVertices--;
+    }
+
+    private int newFace() {
+        final int face;
+        if (freeFaces != NONE) {
+            face = freeFaces;
+            freeFaces = sharedEdges[face];
+        } else {
+            if (faceCount == boundary.length) {
+                final int capacity = boundary.length * 2;
+                boundary = Arrays.copyOf(boundary, capacity);
+                site = Arrays.copyOf(site, capacity);
+                sharedEdges = Arrays.copyOf(sharedEdges, capacity);
+            }
+            face = faceCount++;
+        }
+
+        site[face] = NONE;
+        liveFaces++;
+        return face;
+    }
+
+    /**
+     * Marks the given released face, which no edge refers to any more, as free.
+     * The free list is linked through {@link #sharedEdges}, so the face keeps no
+     * boundary edge until it is reused.
+     */
+    private void freeFace(final int face) {
+        sharedEdges[face] = freeFaces;
+        freeFaces = face;
+    }
+
+}
@@ -0,0 +1,89 @@
+package voronoi.algorithm.dcel;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A deep copy of an object DCEL, which maps each element of the original to
+ * its copy. The copy has the same structure as the original, including the
+ * choice of boundary edge of each face and incident edge of each vertex, so
+ * operations on the copy behave exactly as they would on the original. Points
+ * are immutable, so they are shared rather than copied.
+ */
+public final class DCELCopy {
+
+    private final Map<Edge, Edge> edges = new IdentityHashMap<>();
+    private final Map<Vertex, Vertex> vertices = new IdentityHashMap<>();
+    private final Map<Face, Face> faces = new IdentityHashMap<>();
+
+    /**
+     * Copies the given faces, and all of the edges and vertices on their
+     * boundaries. Every edge on the boundary of a copied face must have its twin
+     * on the boundary of another copied face.
+     *
+     * @param original - the faces of the DCEL to copy
+     */
+    public DCELCopy(final Collection<Face> original) {
+        for (final Face face : original) {
+            final Face copy = new Face();
+            copy.setContainedPoint(face.getContainedPoint());
+            faces.put(face, copy);
+        }
+
+        for (final Face face : original) {
+            if (face.getBoundaryEdge() == null)
+                continue;
+
+            face.forEachEdge(edge -> {
+                if (!edges.containsKey(edge)) {
+                    final Edge copy = edge instanceof ParabolaEdge ? new ParabolaEdge(((ParabolaEdge) edge).focus)
+                            : new Edge();
+                    edges.put(edge, copy);
+                }
+                vertices.computeIfAbsent(edge.getOrigin(), v -> new Vertex(v.getPoint()));
+            });
+        }
+
+        edges.forEach((edge, copy) -> {
+            copy.setTwin(edges.get(edge.getTwin()));
+            copy.setNext(edges.get(edge.getNext()));
+            copy.setOrigin(vertices.get(edge.getOrigin()));
+            copy.setInteriorFace(faces.get(edge.getInteriorFace()));
+            copy.setHorizontal(edge.isHorizontal());
+        });
+
+        // Restore the boundary and incident edges that the links above overwrote
+        faces.forEach((face, copy) -> copy.setBoundaryEdge(get(face.getBoundaryEdge())));
+        vertices.forEach((vertex, copy) -> {
+            final Edge incident = get(vertex.getIncidentEdge());
+            if (incident != null)
+                copy.setIncidentEdge(incident);
+        });
+    }
+
+    /**
+     * @param edge - an edge of the original DCEL
+     * @return the copy of the given edge, or null if it was not copied
+     */
+    public Edge get(final Edge edge) {
+        return edge == null ? null : edges.get(edge);
+    }
+
+    /**
+     * @param vertex - a vertex of the original DCEL
+     * @return the copy of the given vertex, or null if it was not copied
+     */
+    public Vertex get(final Vertex vertex) {
+        return vertex == null ? null : vertices.get(vertex);
+    }
+
+    /**
+     * @param face - a face of the original DCEL
+     * @return the copy of the given face, or null if it was not copied
+     */
+    public Face get(final Face face) {
+        return face == null ? null : faces.get(face);
+    }
+
+}
@@ -0,0 +1,368 @@
+package voronoi.algorithm.dcel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A read-only view of an {@link ArrayDCEL} saved to a file, read through a
+ * memory mapping.
+ *
+ * The file starts with a header of six little-endian ints: the magic number
+ * {@link #MAGIC}, the format {@link #VERSION}, the numbers of half-edges,
+ * vertices and faces, and a reserved zero. It is followed by contiguous
+ * little-endian arrays, each indexed by handle:
+ * <ul>
+ * <li>the x-coordinates and then the y-coordinates of the vertices, as
+ * doubles;</li>
+ * <li>the next half-edge, previous half-edge, origin vertex and interior face
+ * of each half-edge, as four int arrays;</li>
+ * <li>the boundary edge and site of each face, as two int arrays.</li>
+ * </ul>
+ * As in {@code ArrayDCEL}, the twin of half-edge {@code e} is {@code e ^ 1}, so
+ * twins are not stored, and a missing handle is {@link ArrayDCEL#NONE}. Removed
+ * edges, vertices and faces are left out when the file is written, so the
+ * handles in the file are compact and need not match those of the DCEL it was
+ * written from.
+ *
+ * Opening a file only maps it; each accessor reads straight from the mapping,
+ * so nothing is deserialized up front.
+ */
+public final class DCELFile implements Closeable {
+
+    /**
+     * The first int of every DCEL file ("VDCL" in ASCII)
+     */
+    public static final int MAGIC = 0x4C434456;
+
+    /**
+     * The version of the format written by {@link #write(ArrayDCEL, Path)}
+     */
+    public static final int VERSION = 1;
+
+    private static final int NONE = ArrayDCEL.NONE;
+
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    /**
+     * The size of the buffer used to write files
+     */
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+
+    private final int edgeCount;
+    private final int vertexCount;
+    private final int faceCount;
+
+    private final DoubleBuffer x;
+    private final DoubleBuffer y;
+
+    private final IntBuffer next;
+    private final IntBuffer previous;
+    private final IntBuffer origin;
+    private final IntBuffer face;
+
+    private final IntBuffer boundary;
+    private final IntBuffer site;
+
+    private DCELFile(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_BYTES)
+                throw new IllegalArgumentException("DCEL file is too short for its header");
+            final IntBuffer header = map(0, HEADER_BYTES).asIntBuffer();
+            if (header.get(0) != MAGIC)
+                throw new IllegalArgumentException("Not a DCEL file");
+            if (header.get(1) != VERSION)
+                throw new IllegalArgumentException("Unsupported DCEL file version " + header.get(1));
+
+            this.edgeCount = header.get(2);
+            this.vertexCount = header.get(3);
+            this.faceCount = header.get(4);
+            if (edgeCount < 0 || edgeCount % 2 != 0 || vertexCount < 0 || faceCount < 0)
+                throw new IllegalArgumentException("DCEL file has invalid counts");
+            if (channel.size() != HEADER_BYTES + 2L * vertexCount * Double.BYTES
+                    + 4L * edgeCount * Integer.BYTES + 2L * faceCount * Integer.BYTES)
+                throw new IllegalArgumentException("DCEL file length does not match its counts");
+
+            long offset = HEADER_BYTES;
+            this.x = map(offset, (long) vertexCount * Double.BYTES).asDoubleBuffer();
+            offset += (long) vertexCount * Double.BYTES;
+            this.y = map(offset, (long) vertexCount * Double.BYTES).asDoubleBuffer();
+            offset += (long) vertexCount * Double.BYTES;
+
+            final long edgeBytes = (long) edgeCount * Integer.BYTES;
+            this.next = map(offset, edgeBytes).asIntBuffer();
+            this.previous = map(offset += edgeBytes, edgeBytes).asIntBuffer();
+            this.origin = map(offset += edgeBytes, edgeBytes).asIntBuffer();
+            this.face = map(offset += edgeBytes, edgeBytes).asIntBuffer();
+            offset += edgeBytes;
+
+            final long faceBytes = (long) faceCount * Integer.BYTES;
+            this.boundary = map(offset, faceBytes).asIntBuffer();
+            this.site = map(offset + faceBytes, faceBytes).asIntBuffer();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps the given section of the file, which must be under 2 GB.
+     */
+    private ByteBuffer map(final long offset, final long length) throws IOException {
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("DCEL file has an array too large to map");
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Maps the given DCEL file.
+     *
+     * @param path - the file to map
+     * @return a read-only view of the DCEL in the file
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a DCEL file of a
+     *                                  supported version, or is truncated
+     */
+    public static DCELFile open(final Path path) throws IOException {
+        return new DCELFile(path);
+    }
+
+    /**
+     * Writes the given DCEL to a file, replacing the file if it exists. Parabolas
+     * are written as straight edges, and whether edges are horizontal is not
+     * kept, so the DCEL should be finished.
+     *
+     * @param dcel - the DCEL to write
+     * @param path - the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(final ArrayDCEL dcel, final Path path) throws IOException {
+        // Number the live faces, half-edges and vertices in order of their handles.
+        // Half-edges can still refer to a released face, so a half-edge is only
+        // live if its face is, and an edge only if one of its halves is
+        final int[] faceMap = new int[dcel.faceCapacity()];
+        int faces = 0;
+        for (int f = 0; f < faceMap.length; f++)
+            faceMap[f] = dcel.boundaryEdge(f) != NONE ? faces++ : NONE;
+
+        final int[] edgeMap = new int[dcel.edgeCapacity()];
+        int edges = 0;
+        for (int e = 0; e < edgeMap.length; e += 2) {
+            if (remap(faceMap, dcel.face(e)) != NONE || remap(faceMap, dcel.face(e ^ 1)) != NONE) {
+                edgeMap[e] = edges++;
+                edgeMap[e ^ 1] = edges++;
+            } else {
+                edgeMap[e] = edgeMap[e ^ 1] = NONE;
+            }
+        }
+
+        final int[] vertexMap = new int[dcel.vertexCapacity()];
+        Arrays.fill(vertexMap, NONE);
+        for (int e = 0; e < edgeMap.length; e++) {
+            if (edgeMap[e] != NONE && dcel.origin(e) != NONE)
+                vertexMap[dcel.origin(e)] = 0;
+        }
+        int vertices = 0;
+        for (int v = 0; v < vertexMap.length; v++) {
+            if (vertexMap[v] != NONE)
+                vertexMap[v] = vertices++;
+        }
+
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(edges).putInt(vertices).putInt(faces).putInt(0);
+
+            for (int v = 0; v < vertexMap.length; v++) {
+                if (vertexMap[v] != NONE)
+                    putDouble(out, buffer, dcel.x(v));
+            }
+            for (int v = 0; v < vertexMap.length; v++) {
+                if (vertexMap[v] != NONE)
+                    putDouble(out, buffer, dcel.y(v));
+            }
+
+            // The links of a half-edge of a released face are left over from the
+            // face, and are not written
+            for (int e = 0; e < edgeMap.length; e++) {
+                if (edgeMap[e] != NONE)
+                    putInt(out, buffer, remap(faceMap, dcel.face(e)) == NONE ? NONE : remap(edgeMap, dcel.next(e)));
+            }
+            for (int e = 0; e < edgeMap.length; e++) {
+                if (edgeMap[e] != NONE)
+                    putInt(out, buffer,
+                            remap(faceMap, dcel.face(e)) == NONE ? NONE : remap(edgeMap, dcel.previous(e)));
+            }
+            for (int e = 0; e < edgeMap.length; e++) {
+                if (edgeMap[e] != NONE)
+                    putInt(out, buffer, remap(vertexMap, dcel.origin(e)));
+            }
+            for (int e = 0; e < edgeMap.length; e++) {
+                if (edgeMap[e] != NONE)
+                    putInt(out, buffer, remap(faceMap, dcel.face(e)));
+            }
+
+            for (int f = 0; f < faceMap.length; f++) {
+                if (faceMap[f] != NONE)
+                    putInt(out, buffer, remap(edgeMap, dcel.boundaryEdge(f)));
+            }
+            for (int f = 0; f < faceMap.length; f++) {
+                if (faceMap[f] != NONE)
+                    putInt(out, buffer, dcel.site(f));
+            }
+
+            flush(out, buffer);
+        }
+    }
+
+    /**
+     * @return the new handle of the given handle, which may be {@code NONE}
+     */
+    private static int remap(final int[] map, final int handle) {
+        return handle == NONE ? NONE : map[handle];
+    }
+
+    private static void putInt(final FileChannel out, final ByteBuffer buffer, final int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES)
+            flush(out, buffer);
+        buffer.putInt(value);
+    }
+
+    private static void putDouble(final FileChannel out, final ByteBuffer buffer, final double value)
+            throws IOException {
+        if (buffer.remaining() < Double.BYTES)
+            flush(out, buffer);
+        buffer.putDouble(value);
+    }
+
+    private static void flush(final FileChannel out, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            out.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Copies the DCEL into the heap, so that it can be modified.
+     *
+     * @return a copy of the DCEL
+     */
+    public ArrayDCEL toArrayDCEL() {
+        final ArrayDCEL dcel = ArrayDCEL.allocate(edgeCount, vertexCount, faceCount);
+        for (int e = 0; e < edgeCount; e++)
+            dcel.setEdge(e, origin(e), next(e), face(e));
+        for (int e = edgeCount - 1; e >= 0; e--) {
+            final int vertex = origin(e);
+            if (vertex != NONE)
+                dcel.setVertex(vertex, x(vertex), y(vertex), e);
+        }
+        for (int f = 0; f < faceCount; f++)
+            dcel.setFace(f, boundaryEdge(f), site(f));
+        return dcel;
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return the next half-edge after the given half-edge
+     */
+    public int next(final int edge) {
+        return next.get(edge);
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return the half-edge before the given half-edge
+     */
+    public int previous(final int edge) {
+        return previous.get(edge);
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return the origin vertex of the given half-edge
+     */
+    public int origin(final int edge) {
+        return origin.get(edge);
+    }
+
+    /**
+     * @param edge - a half-edge
+     * @return the interior face of the given half-edge
+     */
+    public int face(final int edge) {
+        return face.get(edge);
+    }
+
+    /**
+     * @param vertex - a vertex
+     * @return the x-coordinate of the given vertex
+     */
+    public double x(final int vertex) {
+        return x.get(vertex);
+    }
+
+    /**
+     * @param vertex - a vertex
+     * @return the y-coordinate of the given vertex
+     */
+    public double y(final int vertex) {
+        return y.get(vertex);
+    }
+
+    /**
+     * @param face - a face
+     * @return an edge on the boundary of the given face
+     */
+    public int boundaryEdge(final int face) {
+        return boundary.get(face);
+    }
+
+    /**
+     * @param face - a face
+     * @return the site contained by the given face, or {@code NONE}
+     */
+    public int site(final int face) {
+        return site.get(face);
+    }
+
+    /**
+     * @return the number of half-edges in the DCEL
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return the number of vertices in the DCEL
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return the number of faces in the DCEL
+     */
+    public int getFaceCount() {
+        return faceCount;
+    }
+
+    /**
+     * Closes the file. The mapping itself is released once it is no longer
+     * reachable, so the DCEL must not be read after the file is closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
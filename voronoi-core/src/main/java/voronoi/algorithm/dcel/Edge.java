@@ -2,9 +2,8 @@ package voronoi.algorithm.dcel;
 
 import java.util.function.Consumer;
 
-import javafx.geometry.Point2D;
-
-import voronoi.render.Window;
+import voronoi.util.Point2D;
+import voronoi.util.Util;
 
 /**
  * An edge (more correctly, a "half-edge") in a Doubly-connected edge list.
@@ -428,7 +427,7 @@ public class Edge {
     }
 
     public void check() {
-        if (!Window.DO_CHECK)
+        if (!Util.DO_CHECK)
             return;
 
         System.out.printf("Check E %08x (%s)\n", this.hashCode(), new RuntimeException().getStackTrace()[1]);
@@ -2,9 +2,8 @@ package voronoi.algorithm.dcel;
 
 import java.util.function.Consumer;
 
-import javafx.geometry.Point2D;
-
-import voronoi.render.Window;
+import voronoi.util.Point2D;
+import voronoi.util.Util;
 
 /**
  * A face in a doubly-connected edge list
@@ -74,7 +73,7 @@ public class Face {
     }
 
     public void check() {
-        if (!Window.DO_CHECK)
+        if (!Util.DO_CHECK)
             return;
 
         System.out.printf("Check F %08x (%s)\n", this.hashCode(), new RuntimeException().getStackTrace()[1]);
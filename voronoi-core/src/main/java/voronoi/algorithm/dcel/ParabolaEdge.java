@@ -1,6 +1,6 @@
 package voronoi.algorithm.dcel;
 
-import javafx.geometry.Point2D;
+import voronoi.util.Point2D;
 
 /**
  * A parabolic edge.
@@ -2,9 +2,8 @@ package voronoi.algorithm.dcel;
 
 import java.util.function.Consumer;
 
-import javafx.geometry.Point2D;
-
-import voronoi.render.Window;
+import voronoi.util.Point2D;
+import voronoi.util.Util;
 
 /**
  * A vertex in a doubly-connected edge list
@@ -126,7 +125,7 @@ public class Vertex {
     }
 
     public void check() {
-        if (!Window.DO_CHECK)
+        if (!Util.DO_CHECK)
             return;
 
         System.out.printf("Check V %08x (%s)\n", this.hashCode(), new RuntimeException().getStackTrace()[1]);
@@ -1,7 +1,5 @@
 package voronoi.util;
 
-import javafx.geometry.Point2D;
-
 /**
  * A circle with a center and radius
  */
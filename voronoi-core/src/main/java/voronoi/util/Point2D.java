@@ -0,0 +1,106 @@
+package voronoi.util;
+
+/**
+ * An immutable point in two dimensions, with double-precision coordinates.
+ */
+public final class Point2D {
+
+    private final double x;
+    private final double y;
+
+    /**
+     * Creates a new point at {@code (x, y)}
+     *
+     * @param x - the x-coordinate of the point
+     * @param y - the y-coordinate of the point
+     */
+    public Point2D(final double x, final double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * @return the x-coordinate of the point
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * @return the y-coordinate of the point
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * @param x - the x-coordinate of the other point
+     * @param y - the y-coordinate of the other point
+     * @return the distance between this point and {@code (x, y)}
+     */
+    public double distance(final double x, final double y) {
+        return Math.hypot(this.x - x, this.y - y);
+    }
+
+    /**
+     * @param point - the other point
+     * @return the distance between this point and the given point
+     */
+    public double distance(final Point2D point) {
+        return distance(point.x, point.y);
+    }
+
+    /**
+     * @param x - the amount to add to the x-coordinate
+     * @param y - the amount to add to the y-coordinate
+     * @return a point offset from this point by {@code (x, y)}
+     */
+    public Point2D add(final double x, final double y) {
+        return new Point2D(this.x + x, this.y + y);
+    }
+
+    /**
+     * @param x - the amount to subtract from the x-coordinate
+     * @param y - the amount to subtract from the y-coordinate
+     * @return a point offset from this point by {@code (-x, -y)}
+     */
+    public Point2D subtract(final double x, final double y) {
+        return new Point2D(this.x - x, this.y - y);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        long temp = Double.doubleToLongBits(x);
+        result = prime * result + (int) (temp ^ temp >>> 32);
+        temp = Double.doubleToLongBits(y);
+        result = prime * result + (int) (temp ^ temp >>> 32);
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        final Point2D other = (Point2D) obj;
+        return Double.doubleToLongBits(x) == Double.doubleToLongBits(other.x)
+                && Double.doubleToLongBits(y) == Double.doubleToLongBits(other.y);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("Point2D [x=");
+        builder.append(x);
+        builder.append(", y=");
+        builder.append(y);
+        builder.append("]");
+        return builder.toString();
+    }
+
+}
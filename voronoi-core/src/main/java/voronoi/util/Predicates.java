@@ -0,0 +1,176 @@
+package voronoi.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Geometric predicates whose sign is always correct.
+ *
+ * Each predicate first evaluates its determinant in ordinary floating point,
+ * together with a bound on the rounding error of that evaluation (from
+ * Shewchuk, "Adaptive Precision Floating-Point Arithmetic and Fast Robust
+ * Geometric Predicates"). If the determinant is further from zero than the
+ * error bound, its sign is correct and it is returned directly, which is the
+ * case for all but nearly degenerate inputs. Otherwise the determinant is
+ * evaluated again exactly.
+ */
+public final class Predicates {
+
+    /**
+     * Half the distance between 1 and the next larger double, which bounds the
+     * relative error of a single rounded operation
+     */
+    private static final double EPSILON = Math.ulp(1.0) / 2;
+
+    private static final double ORIENT_ERROR_BOUND = (3 + 16 * EPSILON) * EPSILON;
+    private static final double INCIRCLE_ERROR_BOUND = (10 + 96 * EPSILON) * EPSILON;
+
+    private Predicates() {}
+
+    /**
+     * Calculates twice the signed area of the triangle {@code a, b, c}, i.e. the
+     * determinant
+     *
+     * <pre>
+     * | ax - cx  ay - cy |
+     * | bx - cx  by - cy |
+     * </pre>
+     *
+     * The result is positive if the points are in counterclockwise order (when
+     * the y-axis points up), negative if they are in clockwise order, and zero if
+     * they are collinear. The sign is always exact; the magnitude is approximate.
+     *
+     * @param ax - the x-coordinate of the first point
+     * @param ay - the y-coordinate of the first point
+     * @param bx - the x-coordinate of the second point
+     * @param by - the y-coordinate of the second point
+     * @param cx - the x-coordinate of the third point
+     * @param cy - the y-coordinate of the third point
+     * @return the determinant
+     */
+    public static double orient2d(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy) {
+        final double detLeft = (ax - cx) * (by - cy);
+        final double detRight = (ay - cy) * (bx - cx);
+        final double det = detLeft - detRight;
+
+        final double detSum;
+        if (detLeft > 0) {
+            if (detRight <= 0)
+                return det;
+            detSum = detLeft + detRight;
+        } else if (detLeft < 0) {
+            if (detRight >= 0)
+                return det;
+            detSum = -detLeft - detRight;
+        } else {
+            return det;
+        }
+
+        final double errorBound = ORIENT_ERROR_BOUND * detSum;
+        if (det >= errorBound || -det >= errorBound)
+            return det;
+
+        return orient2dExact(ax, ay, bx, by, cx, cy);
+    }
+
+    /**
+     * Calculates the determinant
+     *
+     * <pre>
+     * | ax - dx  ay - dy  (ax - dx) ^ 2 + (ay - dy) ^ 2 |
+     * | bx - dx  by - dy  (bx - dx) ^ 2 + (by - dy) ^ 2 |
+     * | cx - dx  cy - dy  (cx - dx) ^ 2 + (cy - dy) ^ 2 |
+     * </pre>
+     *
+     * If {@code a, b, c} are in counterclockwise order, the result is positive if
+     * {@code d} is inside the circle through them, negative if it is outside, and
+     * zero if it is on the circle (the signs are reversed if they are in clockwise
+     * order). The sign is always exact; the magnitude is approximate.
+     *
+     * @param ax - the x-coordinate of the first point on the circle
+     * @param ay - the y-coordinate of the first point on the circle
+     * @param bx - the x-coordinate of the second point on the circle
+     * @param by - the y-coordinate of the second point on the circle
+     * @param cx - the x-coordinate of the third point on the circle
+     * @param cy - the y-coordinate of the third point on the circle
+     * @param dx - the x-coordinate of the point to test
+     * @param dy - the y-coordinate of the point to test
+     * @return the determinant
+     */
+    public static double incircle(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy, final double dx, final double dy) {
+        final double adx = ax - dx;
+        final double ady = ay - dy;
+        final double bdx = bx - dx;
+        final double bdy = by - dy;
+        final double cdx = cx - dx;
+        final double cdy = cy - dy;
+
+        final double bdxcdy = bdx * cdy;
+        final double cdxbdy = cdx * bdy;
+        final double aLift = adx * adx + ady * ady;
+
+        final double cdxady = cdx * ady;
+        final double adxcdy = adx * cdy;
+        final double bLift = bdx * bdx + bdy * bdy;
+
+        final double adxbdy = adx * bdy;
+        final double bdxady = bdx * ady;
+        final double cLift = cdx * cdx + cdy * cdy;
+
+        final double det = aLift * (bdxcdy - cdxbdy) + bLift * (cdxady - adxcdy) + cLift * (adxbdy - bdxady);
+
+        final double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy)) * aLift
+                + (Math.abs(cdxady) + Math.abs(adxcdy)) * bLift + (Math.abs(adxbdy) + Math.abs(bdxady)) * cLift;
+        final double errorBound = INCIRCLE_ERROR_BOUND * permanent;
+        if (det > errorBound || -det > errorBound)
+            return det;
+
+        return incircleExact(ax, ay, bx, by, cx, cy, dx, dy);
+    }
+
+    private static double orient2dExact(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy) {
+        final BigDecimal acx = exact(ax).subtract(exact(cx));
+        final BigDecimal acy = exact(ay).subtract(exact(cy));
+        final BigDecimal bcx = exact(bx).subtract(exact(cx));
+        final BigDecimal bcy = exact(by).subtract(exact(cy));
+
+        return toDouble(acx.multiply(bcy).subtract(acy.multiply(bcx)));
+    }
+
+    private static double incircleExact(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy, final double dx, final double dy) {
+        final BigDecimal adx = exact(ax).subtract(exact(dx));
+        final BigDecimal ady = exact(ay).subtract(exact(dy));
+        final BigDecimal bdx = exact(bx).subtract(exact(dx));
+        final BigDecimal bdy = exact(by).subtract(exact(dy));
+        final BigDecimal cdx = exact(cx).subtract(exact(dx));
+        final BigDecimal cdy = exact(cy).subtract(exact(dy));
+
+        final BigDecimal aLift = adx.multiply(adx).add(ady.multiply(ady));
+        final BigDecimal bLift = bdx.multiply(bdx).add(bdy.multiply(bdy));
+        final BigDecimal cLift = cdx.multiply(cdx).add(cdy.multiply(cdy));
+
+        return toDouble(aLift.multiply(bdx.multiply(cdy).subtract(cdx.multiply(bdy)))
+                .add(bLift.multiply(cdx.multiply(ady).subtract(adx.multiply(cdy))))
+                .add(cLift.multiply(adx.multiply(bdy).subtract(bdx.multiply(ady)))));
+    }
+
+    /**
+     * @return the closest double to the given value, or the smallest double with
+     *         the same sign if that would be zero
+     */
+    private static double toDouble(final BigDecimal value) {
+        final double result = value.doubleValue();
+        return result == 0 ? value.signum() * Double.MIN_VALUE : result;
+    }
+
+    /**
+     * @return the exact value of the given double
+     */
+    private static BigDecimal exact(final double value) {
+        return new BigDecimal(value);
+    }
+
+}
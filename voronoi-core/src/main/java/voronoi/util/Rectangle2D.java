@@ -0,0 +1,100 @@
+package voronoi.util;
+
+/**
+ * An immutable axis-aligned rectangle, defined by its minimum corner and its
+ * size.
+ */
+public final class Rectangle2D {
+
+    private final double minX;
+    private final double minY;
+    private final double width;
+    private final double height;
+
+    /**
+     * Creates a new rectangle with its minimum corner at {@code (minX, minY)} and
+     * the given size.
+     *
+     * @param minX   - the x-coordinate of the left side of the rectangle
+     * @param minY   - the y-coordinate of the top side of the rectangle
+     * @param width  - the width of the rectangle
+     * @param height - the height of the rectangle
+     */
+    public Rectangle2D(final double minX, final double minY, final double width, final double height) {
+        if (width < 0 || height < 0)
+            throw new IllegalArgumentException("Rectangle2D width and height must be non-negative");
+
+        this.minX = minX;
+        this.minY = minY;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return the x-coordinate of the left side of the rectangle
+     */
+    public double getMinX() {
+        return minX;
+    }
+
+    /**
+     * @return the y-coordinate of the top side of the rectangle
+     */
+    public double getMinY() {
+        return minY;
+    }
+
+    /**
+     * @return the x-coordinate of the right side of the rectangle
+     */
+    public double getMaxX() {
+        return minX + width;
+    }
+
+    /**
+     * @return the y-coordinate of the bottom side of the rectangle
+     */
+    public double getMaxY() {
+        return minY + height;
+    }
+
+    /**
+     * @return the width of the rectangle
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the rectangle
+     */
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * @param x - the x-coordinate of the point to check
+     * @param y - the y-coordinate of the point to check
+     * @return true if the point {@code (x, y)} lies within this rectangle (or on
+     *         its boundary); false otherwise
+     */
+    public boolean contains(final double x, final double y) {
+        return x >= minX && x <= getMaxX() && y >= minY && y <= getMaxY();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("Rectangle2D [minX=");
+        builder.append(minX);
+        builder.append(", minY=");
+        builder.append(minY);
+        builder.append(", width=");
+        builder.append(width);
+        builder.append(", height=");
+        builder.append(height);
+        builder.append("]");
+        return builder.toString();
+    }
+
+}
@@ -1,12 +1,28 @@
 package voronoi.util;
 
-import javafx.geometry.Point2D;
-
 import voronoi.algorithm.dcel.Edge;
 import voronoi.algorithm.dcel.ParabolaEdge;
 
 public class Util {
 
+    /**
+     * Whether or not to run the (slow, verbose) consistency checks on the DCEL and
+     * beach line after each modification
+     */
+    public static final boolean DO_CHECK = false;
+
+    /**
+     * The y-coordinate given to the center of a circle event that never happens
+     * at any finite height: that of an arc between a vertical border and an arc
+     * whose focus is at the same height, which the vertical bisector of the two
+     * foci never lets meet the border. Such an arc would be squeezed out
+     * infinitely far beyond the top border by any perturbation of the sites, so
+     * it is squeezed out here instead, after every other event, which leaves the
+     * bisector vertical to within rounding once it is clipped to the top border.
+     * The value is finite so that the radius and height of the event are too.
+     */
+    public static final double FAR_AWAY = -Double.MAX_VALUE / 4;
+
     private Util() {}
 
     /**
@@ -29,6 +45,32 @@ public class Util {
         return 0.5 * ((x - px) * (x - px) / (py - sweepLineHeight) + py + sweepLineHeight);
     }
 
+    /**
+     * Calculates how many straight segments a beach line parabola must be drawn
+     * with between two x-coordinates, so that no segment strays further than the
+     * given tolerance from the parabola. The parabola's second derivative is
+     * {@code 1 / (y0 - h)} everywhere, so a chord of width {@code w} strays at
+     * most {@code w ^ 2 / (8 (y0 - h))} from it: wide arcs of narrow parabolas get
+     * many segments, and short or flat arcs get few.
+     *
+     * @param x0              - the x-coordinate of one end of the arc
+     * @param x1              - the x-coordinate of the other end of the arc
+     * @param focus           - the focus of the parabola
+     * @param sweepLineHeight - the height of the sweep line
+     * @param tolerance       - the largest distance allowed between a segment and
+     *                        the parabola
+     * @param maxSegments     - the largest number of segments to return
+     * @return the number of segments, from 1 to {@code maxSegments}
+     */
+    public static int beachLineSegments(final double x0, final double x1, final Point2D focus,
+            final double sweepLineHeight, final double tolerance, final int maxSegments) {
+        final double segmentWidth = Math.sqrt(8 * tolerance * (focus.getY() - sweepLineHeight));
+        final double segments = Math.ceil(Math.abs(x1 - x0) / segmentWidth);
+        if (!(segments > 1))
+            return 1;
+        return segments < maxSegments ? (int) segments : maxSegments;
+    }
+
     /**
      * Calculates the x-coordinate of the intersection point between the two given
      * edges, given that the sweep line is at {@code y = sweepLineHeight}. There are
@@ -83,22 +125,8 @@ public class Util {
             final Point2D leftParCenter = ((ParabolaEdge) leftEdge).focus;
             final Point2D rightParCenter = ((ParabolaEdge) rightEdge).focus;
 
-            final double xl = leftParCenter.getX();
-            final double yl = leftParCenter.getY();
-            final double xr = rightParCenter.getX();
-            final double yr = rightParCenter.getY();
-
-            final double det = Math.sqrt((yl - sweepLineHeight) * (yr - sweepLineHeight)
-                    * ((xl - xr) * (xl - xr) + (yl - yr) * (yl - yr)));
-            final double nb = xr * (yl - sweepLineHeight) - xl * (yr - sweepLineHeight);
-
-            final double int1 = (nb + det) / (yl - yr);
-//            final double int2 = (nb - det) / (yl - yr);
-
-            // There are two solutions; if the center of the left parabola is above
-            // the center of the right parabola, it's the smaller of the two
-            // In other words, always pick int1
-            return int1; // yl < yr ? Math.min(int1, int2) : Math.max(int1, int2);
+            return parabolaIntersectionX(leftParCenter.getX(), leftParCenter.getY(), rightParCenter.getX(),
+                    rightParCenter.getY(), sweepLineHeight);
         } else {
             final boolean left;
             final Point2D parCenter;
@@ -122,14 +150,77 @@ public class Util {
                 return rightEdge.getOrigin().getX();
             }
 
-            final double det = Math.sqrt((sweepLineHeight - parCenter.getY())
-                    * (sweepLineHeight + parCenter.getY() - 2 * y));
-            if (Double.isNaN(det))
+            final double x = parabolaHorizontalIntersectionX(parCenter.getX(), parCenter.getY(), y, left,
+                    sweepLineHeight);
+            if (Double.isNaN(x))
                 return left ? rightEdge.getOrigin().getX() : leftEdge.getOrigin().getX();
-            return left ? parCenter.getX() - det : parCenter.getX() + det;
+            return x;
         }
     }
 
+    /**
+     * Calculates the x-coordinate of the intersection between two beach line
+     * parabolas, given that the sweep line is at {@code y = sweepLineHeight}.
+     *
+     * @see #beachLineIntersectionX(Edge, Edge, double)
+     *
+     * @param xl              - the x-coordinate of the focus of the left parabola
+     * @param yl              - the y-coordinate of the focus of the left parabola
+     * @param xr              - the x-coordinate of the focus of the right parabola
+     * @param yr              - the y-coordinate of the focus of the right parabola
+     * @param sweepLineHeight - the height of the sweep line
+     * @return the x-coordinate of the intersection between the parabolas
+     */
+    public static double parabolaIntersectionX(final double xl, final double yl, final double xr, final double yr,
+            final double sweepLineHeight) {
+        // Work relative to the left focus, so that the result does not lose
+        // precision when the foci are close together but far from the origin
+        final double dx = xr - xl;
+        final double al = yl - sweepLineHeight;
+        final double ar = yr - sweepLineHeight;
+        final double det = Math.sqrt(al * ar * (dx * dx + (yl - yr) * (yl - yr)));
+        final double nb = dx * al;
+
+        // Parabolas whose foci are at the same height meet only on the bisector of
+        // the foci, which the formulas below cannot divide out once both foci are
+        // on the sweep line
+        if (yl == yr)
+            return xl + 0.5 * dx;
+
+        // There are two solutions; if the center of the left parabola is above
+        // the center of the right parabola, it's the smaller of the two
+        // In other words, always pick (nb + det) / (yl - yr)
+        if (nb >= 0 || al == 0)
+            return xl + (nb + det) / (yl - yr);
+
+        // nb + det would cancel, and (yl - yr) may be tiny, so use the equivalent
+        // (nb + det) / (yl - yr) = (nb ^ 2 - det ^ 2) / ((yl - yr)(nb - det)), in
+        // which the factor (yl - yr) cancels out of the numerator
+        return xl + al * (dx * dx - ar * (yl - yr)) / (nb - det);
+    }
+
+    /**
+     * Calculates the x-coordinate of the intersection between a beach line
+     * parabola and a horizontal line, given that the sweep line is at
+     * {@code y = sweepLineHeight}.
+     *
+     * @see #beachLineIntersectionX(Edge, Edge, double)
+     *
+     * @param fx              - the x-coordinate of the focus of the parabola
+     * @param fy              - the y-coordinate of the focus of the parabola
+     * @param y               - the y-coordinate of the horizontal line
+     * @param left            - true if the parabola is left of the intersection;
+     *                        false if it is right of the intersection
+     * @param sweepLineHeight - the height of the sweep line
+     * @return the x-coordinate of the intersection, or {@code NaN} if the parabola
+     *         and line do not intersect
+     */
+    public static double parabolaHorizontalIntersectionX(final double fx, final double fy, final double y,
+            final boolean left, final double sweepLineHeight) {
+        final double det = Math.sqrt((sweepLineHeight - fy) * (sweepLineHeight + fy - 2 * y));
+        return left ? fx - det : fx + det;
+    }
+
     /**
      * Calculates the intersection point between the line through the points
      * {@code a} and {@code b}, and the horizontal line at the given y-coordinate.
@@ -140,7 +231,26 @@ public class Util {
      * @return the point at which the given lines intersect.
      */
     public static Point2D intersectLineHorizontal(final Point2D a, final Point2D b, final double y) {
-        return new Point2D((b.getX() - a.getX()) / (b.getY() - a.getY()) * (y - a.getY()) + a.getX(), y);
+        return new Point2D(intersectLineHorizontalX(a.getX(), a.getY(), b.getX(), b.getY(), y), y);
+    }
+
+    /**
+     * Calculates the x-coordinate of the intersection point between the line
+     * through the points {@code (x1, y1)} and {@code (x2, y2)}, and the horizontal
+     * line at the given y-coordinate.
+     *
+     * @param x1 - the x-coordinate of the first point that the line passes through
+     * @param y1 - the y-coordinate of the first point that the line passes through
+     * @param x2 - the x-coordinate of the second point that the line passes
+     *           through
+     * @param y2 - the y-coordinate of the second point that the line passes
+     *           through
+     * @param y  - the y-coordinate of the horizontal line
+     * @return the x-coordinate of the point at which the given lines intersect.
+     */
+    public static double intersectLineHorizontalX(final double x1, final double y1, final double x2,
+            final double y2, final double y) {
+        return (x2 - x1) / (y2 - y1) * (y - y1) + x1;
     }
 
     /**
@@ -153,12 +263,24 @@ public class Util {
      * @return the x-coordinate of the center of the circle.
      */
     public static double circleCenterX(final Point2D a, final Point2D b, final double centerY) {
-        final double x1 = a.getX();
-        final double y1 = a.getY();
-        final double x2 = b.getX();
-        final double y2 = b.getY();
+        return circleCenterX(a.getX(), a.getY(), b.getX(), b.getY(), centerY);
+    }
 
-        return 0.5 * ((y1 * y1 - y2 * y2 - 2 * centerY * (y1 - y2)) / (x1 - x2) + x1 + x2);
+    /**
+     * Calculates the x-coordinate of the circle containing points
+     * {@code (x1, y1)} and {@code (x2, y2)}, given that the y-coordinate of the
+     * center is at the given value.
+     *
+     * @param x1      - the x-coordinate of the first point on the circle
+     * @param y1      - the y-coordinate of the first point on the circle
+     * @param x2      - the x-coordinate of the second point on the circle
+     * @param y2      - the y-coordinate of the second point on the circle
+     * @param centerY - the y-coordinate of the center of the circle
+     * @return the x-coordinate of the center of the circle.
+     */
+    public static double circleCenterX(final double x1, final double y1, final double x2, final double y2,
+            final double centerY) {
+        return 0.5 * ((y1 - y2) * (y1 + y2 - 2 * centerY) / (x1 - x2) + x1 + x2);
     }
 
     /**
@@ -171,12 +293,24 @@ public class Util {
      * @return the y-coordinate of the center of the circle.
      */
     public static double circleCenterY(final Point2D a, final Point2D b, final double centerX) {
-        final double x1 = a.getX();
-        final double y1 = a.getY();
-        final double x2 = b.getX();
-        final double y2 = b.getY();
+        return circleCenterY(a.getX(), a.getY(), b.getX(), b.getY(), centerX);
+    }
 
-        return 0.5 * ((x1 * x1 - x2 * x2 - 2 * centerX * (x1 - x2)) / (y1 - y2) + y1 + y2);
+    /**
+     * Calculates the y-coordinate of the circle containing points
+     * {@code (x1, y1)} and {@code (x2, y2)}, given that the x-coordinate of the
+     * center is at the given value.
+     *
+     * @param x1      - the x-coordinate of the first point on the circle
+     * @param y1      - the y-coordinate of the first point on the circle
+     * @param x2      - the x-coordinate of the second point on the circle
+     * @param y2      - the y-coordinate of the second point on the circle
+     * @param centerX - the x-coordinate of the center of the circle
+     * @return the y-coordinate of the center of the circle.
+     */
+    public static double circleCenterY(final double x1, final double y1, final double x2, final double y2,
+            final double centerX) {
+        return 0.5 * ((x1 - x2) * (x1 + x2 - 2 * centerX) / (y1 - y2) + y1 + y2);
     }
 
     /**
@@ -188,22 +322,58 @@ public class Util {
      * @return the center of the circle
      */
     public static Point2D circleCenter(final Point2D a, final Point2D b, final Point2D c) {
-        // See https://math.stackexchange.com/a/1460096
-        final double ax = a.getX();
-        final double ay = a.getY();
-        final double bx = b.getX();
-        final double by = b.getY();
-        final double cx = c.getX();
-        final double cy = c.getY();
-        final double a2 = ax * ax + ay * ay;
-        final double b2 = bx * bx + by * by;
-        final double c2 = cx * cx + cy * cy;
-
-        final double m11 = ax * by + ay * cx + bx * cy - ax * cy - ay * bx - by * cx;
-        final double m12 = a2 * by + ay * c2 + b2 * cy - a2 * cy - ay * b2 - by * c2;
-        final double m13 = a2 * bx + ax * c2 + b2 * cx - a2 * cx - ax * b2 - bx * c2;
-
-        return new Point2D(0.5 * m12 / m11, -0.5 * m13 / m11);
+        return circleCenter(a.getX(), a.getY(), b.getX(), b.getY(), c.getX(), c.getY());
+    }
+
+    /**
+     * Calculates the center point of the circle containing the three given points.
+     *
+     * @param ax - the x-coordinate of the first point on the circle
+     * @param ay - the y-coordinate of the first point on the circle
+     * @param bx - the x-coordinate of the second point on the circle
+     * @param by - the y-coordinate of the second point on the circle
+     * @param cx - the x-coordinate of the third point on the circle
+     * @param cy - the y-coordinate of the third point on the circle
+     * @return the center of the circle
+     */
+    public static Point2D circleCenter(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy) {
+        final double[] center = new double[2];
+        circleCenter(ax, ay, bx, by, cx, cy, center);
+        return new Point2D(center[0], center[1]);
+    }
+
+    /**
+     * Calculates the center point of the circle containing the three given points,
+     * without allocating.
+     *
+     * @param ax     - the x-coordinate of the first point on the circle
+     * @param ay     - the y-coordinate of the first point on the circle
+     * @param bx     - the x-coordinate of the second point on the circle
+     * @param by     - the y-coordinate of the second point on the circle
+     * @param cx     - the x-coordinate of the third point on the circle
+     * @param cy     - the y-coordinate of the third point on the circle
+     * @param result - an array of at least two elements, in which the x- and
+     *               y-coordinates of the center are stored
+     */
+    public static void circleCenter(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy, final double[] result) {
+        // Work relative to a, so that the result does not lose precision when the
+        // points are close together but far from the origin. The denominator is
+        // the orientation of the points, whose sign is exact, so nearly collinear
+        // points give a center on the correct side (and exactly collinear points
+        // give an infinite or NaN center)
+        final double bax = bx - ax;
+        final double bay = by - ay;
+        final double cax = cx - ax;
+        final double cay = cy - ay;
+        final double b2 = bax * bax + bay * bay;
+        final double c2 = cax * cax + cay * cay;
+
+        final double d = 2 * Predicates.orient2d(ax, ay, bx, by, cx, cy);
+
+        result[0] = ax + (cay * b2 - bay * c2) / d;
+        result[1] = ay + (bax * c2 - cax * b2) / d;
     }
 
     /**
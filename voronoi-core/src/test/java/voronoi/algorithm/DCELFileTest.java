@@ -0,0 +1,142 @@
+package voronoi.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.algorithm.dcel.DCELFile;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Writes swept {@link ArrayDCEL}s to files with {@link DCELFile}, and checks
+ * that the mapped file and its {@link DCELFile#toArrayDCEL()} copy hold the
+ * same cells as the DCEL they were written from.
+ */
+class DCELFileTest {
+
+    private static final Rectangle2D BOUNDS = new Rectangle2D(0, 0, 1000, 800);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTrip() throws IOException {
+        final ArrayVoronoi voronoi = sweep(new Random(0), 500);
+        voronoi.run();
+        checkRoundTrip(voronoi.getDCEL());
+    }
+
+    @Test
+    void roundTripWithRemovedElements() throws IOException {
+        // Cells passed to a sink are released from the DCEL, which leaves free
+        // slots that the file leaves out
+        final ArrayVoronoi voronoi = sweep(new Random(1), 2000);
+        voronoi.setCellSink((site, x, y, count) -> {});
+        voronoi.run();
+        final ArrayDCEL dcel = voronoi.getDCEL();
+
+        final Path path = directory.resolve("diagram.dcel");
+        DCELFile.write(dcel, path);
+        try (DCELFile file = DCELFile.open(path)) {
+            assertTrue(file.getFaceCount() < dcel.faceCapacity(), "Free faces were written");
+        }
+        checkRoundTrip(dcel);
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        final Path path = directory.resolve("diagram.dcel");
+        final ByteBuffer header = ByteBuffer.allocate(6 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(DCELFile.MAGIC + 1).putInt(DCELFile.VERSION).putInt(0).putInt(0).putInt(0).putInt(0);
+        Files.write(path, header.array());
+        assertThrows(IllegalArgumentException.class, () -> DCELFile.open(path));
+
+        header.putInt(0, DCELFile.MAGIC).putInt(2 * Integer.BYTES, 2);
+        Files.write(path, header.array());
+        assertThrows(IllegalArgumentException.class, () -> DCELFile.open(path), "Truncated file");
+    }
+
+    private static ArrayVoronoi sweep(final Random random, final int count) {
+        final double[] x = new double[count];
+        final double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = random.nextDouble() * BOUNDS.getWidth();
+            y[i] = random.nextDouble() * BOUNDS.getHeight();
+        }
+        return new ArrayVoronoi(x, y, BOUNDS);
+    }
+
+    /**
+     * Writes the DCEL to a file, and checks that both the file and its copy in
+     * the heap have the same cells as the DCEL, and that the file and the copy
+     * agree on every handle.
+     */
+    private void checkRoundTrip(final ArrayDCEL dcel) throws IOException {
+        final Path path = directory.resolve("diagram.dcel");
+        DCELFile.write(dcel, path);
+        try (DCELFile file = DCELFile.open(path)) {
+            final ArrayDCEL copy = file.toArrayDCEL();
+            final Map<Integer, List<Double>> cells = cells(dcel);
+            assertEquals(cells, cells(copy));
+
+            assertEquals(copy.edgeCapacity(), file.getEdgeCount(), "Number of half-edges");
+            assertEquals(copy.vertexCapacity(), file.getVertexCount(), "Number of vertices");
+            assertEquals(copy.faceCapacity(), file.getFaceCount(), "Number of faces");
+            for (int e = 0; e < file.getEdgeCount(); e++) {
+                assertArrayEquals(new int[] { copy.next(e), copy.previous(e), copy.origin(e), copy.face(e) },
+                        new int[] { file.next(e), file.previous(e), file.origin(e), file.face(e) },
+                        "Half-edge " + e);
+                if (file.next(e) != ArrayDCEL.NONE)
+                    assertEquals(e, file.previous(file.next(e)), "Previous of the next of half-edge " + e);
+            }
+            for (int v = 0; v < file.getVertexCount(); v++) {
+                assertEquals(copy.x(v), file.x(v), "x-coordinate of vertex " + v);
+                assertEquals(copy.y(v), file.y(v), "y-coordinate of vertex " + v);
+            }
+            for (int f = 0; f < file.getFaceCount(); f++) {
+                assertEquals(copy.boundaryEdge(f), file.boundaryEdge(f), "Boundary edge of face " + f);
+                assertEquals(copy.site(f), file.site(f), "Site of face " + f);
+            }
+        }
+    }
+
+    /**
+     * @return the vertex coordinates around the cell of each site, starting from
+     *         the boundary edge of the cell
+     */
+    private static Map<Integer, List<Double>> cells(final ArrayDCEL dcel) {
+        final Map<Integer, List<Double>> cells = new HashMap<>();
+        for (int face = 0; face < dcel.faceCapacity(); face++) {
+            final int start = dcel.boundaryEdge(face);
+            if (start == ArrayDCEL.NONE || dcel.site(face) == ArrayDCEL.NONE)
+                continue;
+
+            final List<Double> vertices = new ArrayList<>();
+            int edge = start;
+            do {
+                vertices.add(dcel.x(dcel.origin(edge)));
+                vertices.add(dcel.y(dcel.origin(edge)));
+                edge = dcel.next(edge);
+            } while (edge != start);
+            cells.put(dcel.site(face), vertices);
+        }
+        return cells;
+    }
+
+}
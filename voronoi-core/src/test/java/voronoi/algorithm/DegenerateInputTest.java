@@ -0,0 +1,246 @@
+package voronoi.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.Timeout.ThreadMode;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.algorithm.dcel.Face;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Sweeps inputs that are degenerate for Fortune's algorithm with both
+ * {@link Voronoi} and {@link ArrayVoronoi}, and checks that each distinct site
+ * gets exactly one cell, and that the cells cover the bounds.
+ */
+@Timeout(value = 30, unit = TimeUnit.SECONDS, threadMode = ThreadMode.SEPARATE_THREAD)
+class DegenerateInputTest {
+
+    private static final Rectangle2D BOUNDS = new Rectangle2D(0, 0, 1000, 800);
+
+    @Test
+    void twoSitesAtTheSameHeight() {
+        check(new double[] { 300, 700 }, new double[] { 400, 400 });
+    }
+
+    @Test
+    void threeSitesAtTheSameHeight() {
+        check(new double[] { 300, 500, 700 }, new double[] { 400, 400, 400 });
+    }
+
+    @Test
+    void sitesAtTheSameHeightCloseTogether() {
+        check(new double[] { 713.690661858433, 692.1882549880794, 692.188259553167 },
+                new double[] { 400, 400, 400 });
+    }
+
+    @Test
+    void sitesOnAHorizontalLine() {
+        final Random random = new Random(0);
+        final double[] x = new double[2000];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 1 + random.nextDouble() * 998;
+            y[i] = 400;
+        }
+        check(x, y);
+    }
+
+    @Test
+    void sitesAboveOneAnother() {
+        check(new double[] { 500, 500 }, new double[] { 584, 720 });
+    }
+
+    @Test
+    void sitesOnAVerticalLine() {
+        final Random random = new Random(0);
+        final double[] x = new double[1000];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 500;
+            y[i] = 1 + random.nextDouble() * 798;
+        }
+        check(x, y);
+    }
+
+    @Test
+    void singleSiteNearTheBottom() {
+        check(new double[] { 500 }, new double[] { 720 });
+    }
+
+    @Test
+    void cellSpanningTheTopBorder() {
+        check(new double[] { 500, 510 }, new double[] { 720, 790 });
+    }
+
+    @Test
+    void vertexOnTheTopBorder() {
+        check(new double[] { 585, 575, 545 }, new double[] { 15, 25, 25 });
+    }
+
+    @Test
+    void siteEventAtTheHeightOfACircleEvent() {
+        // The circle through the first three sites has its bottom at y = 300
+        check(new double[] { 400, 600, 500, 700 }, new double[] { 400, 400, 500, 300 });
+    }
+
+    @Test
+    void sitesOnTheBorder() {
+        check(new double[] { 0, 1000, 600, 700, 0, 1000, 500 }, new double[] { 400, 300, 0, 800, 0, 800, 400 });
+    }
+
+    @Test
+    void sitesOnTheBottomBorder() {
+        // The arc of a site on the bottom border meets the border on both sides of
+        // the site, and only one side can close with the arc of the next site
+        check(new double[] { 709.5041846558674, 445.2996036243191, 648.9316001628158 },
+                new double[] { 800, 761.1656603360747, 667.3294201325367 });
+    }
+
+    @Test
+    void grid() {
+        final double[] x = new double[50 * 50];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < 50; j++) {
+                x[i * 50 + j] = 10 + 20 * i;
+                y[i * 50 + j] = 8 + 16 * j;
+            }
+        }
+        check(x, y);
+    }
+
+    @Test
+    void sparseGridWithDuplicates() {
+        final Random random = new Random(0);
+        final double[] x = new double[1000];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 5 + 10 * random.nextInt(99);
+            y[i] = 5 + 10 * random.nextInt(79);
+        }
+        check(x, y);
+    }
+
+    @Test
+    void tightClustersAtTheSameHeight() {
+        final Random random = new Random(3);
+        final double[] x = new double[2000];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 200 + 150 * (i % 5) + random.nextGaussian() * 1e-6;
+            y[i] = 400 + random.nextGaussian() * 1e-6;
+        }
+        check(x, y);
+    }
+
+    @Test
+    void tightClustersAboveOneAnother() {
+        final Random random = new Random(3);
+        final double[] x = new double[2000];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 500 + random.nextGaussian() * 1e-6;
+            y[i] = 100 + 150 * (i % 5) + random.nextGaussian() * 1e-6;
+        }
+        check(x, y);
+    }
+
+    /**
+     * Sweeps the given sites with both sweeps, and checks the cells of each.
+     */
+    private static void check(final double[] x, final double[] y) {
+        final Set<Point2D> sites = new LinkedHashSet<>();
+        for (int i = 0; i < x.length; i++)
+            sites.add(new Point2D(x[i], y[i]));
+
+        final ArrayVoronoi arrayVoronoi = new ArrayVoronoi(x, y, BOUNDS);
+        arrayVoronoi.run();
+        checkArrayCells(arrayVoronoi, sites.size());
+        assertDoesNotThrow(arrayVoronoi::getDelaunayTriangulation);
+
+        final Voronoi voronoi = new Voronoi(new ArrayList<>(sites), BOUNDS);
+        while (voronoi.hasEvents())
+            voronoi.step();
+        checkCells(voronoi, sites.size());
+        assertDoesNotThrow(voronoi::getDelaunayTriangulation);
+    }
+
+    private static void checkArrayCells(final ArrayVoronoi voronoi, final int siteCount) {
+        final ArrayDCEL dcel = voronoi.getDCEL();
+        final boolean[] hasCell = new boolean[voronoi.getSiteCount()];
+        int cells = 0;
+        double area = 0;
+        for (int face = 0; face < dcel.faceCapacity(); face++) {
+            final int start = dcel.boundaryEdge(face);
+            if (start == ArrayDCEL.NONE || voronoi.isSpecialFace(face))
+                continue;
+
+            final int site = dcel.site(face);
+            assertTrue(site != ArrayDCEL.NONE, "Cell without a site");
+            assertTrue(!hasCell[site], "Site with more than one cell");
+            hasCell[site] = true;
+            cells++;
+
+            final List<Point2D> vertices = new ArrayList<>();
+            int edge = start;
+            do {
+                vertices.add(new Point2D(dcel.x(dcel.origin(edge)), dcel.y(dcel.origin(edge))));
+                edge = dcel.next(edge);
+            } while (edge != start);
+            area += area(vertices);
+        }
+
+        assertEquals(siteCount, cells, "Number of cells");
+        assertEquals(BOUNDS.getWidth() * BOUNDS.getHeight(), area, 1e-6 * area, "Total area of the cells");
+    }
+
+    private static void checkCells(final Voronoi voronoi, final int siteCount) {
+        final Set<Point2D> sites = new LinkedHashSet<>();
+        int cells = 0;
+        double area = 0;
+        for (final Face face : voronoi.getFaces()) {
+            if (voronoi.isSpecialFace(face))
+                continue;
+
+            assertTrue(face.getContainedPoint() != null, "Cell without a site");
+            assertTrue(sites.add(face.getContainedPoint()), "Site with more than one cell");
+            cells++;
+
+            final List<Point2D> vertices = new ArrayList<>();
+            face.forEachEdge(edge -> vertices.add(edge.getOrigin().getPoint()));
+            area += area(vertices);
+        }
+
+        assertEquals(siteCount, cells, "Number of cells");
+        assertEquals(BOUNDS.getWidth() * BOUNDS.getHeight(), area, 1e-6 * area, "Total area of the cells");
+    }
+
+    /**
+     * @return the area of the polygon with the given vertices, which must lie
+     *         within the bounds
+     */
+    private static double area(final List<Point2D> vertices) {
+        double area = 0;
+        for (int i = 0; i < vertices.size(); i++) {
+            final Point2D a = vertices.get(i);
+            final Point2D b = vertices.get((i + 1) % vertices.size());
+            assertTrue(BOUNDS.contains(a.getX(), a.getY()), "Vertex outside the bounds: " + a);
+            area += a.getX() * b.getY() - b.getX() * a.getY();
+        }
+        return Math.abs(area) / 2;
+    }
+
+}
@@ -0,0 +1,106 @@
+package voronoi.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import voronoi.util.Point2D;
+import voronoi.util.Predicates;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Reads the Delaunay triangulation from diagrams swept with both
+ * {@link Voronoi} and {@link ArrayVoronoi}, and checks that no site lies inside
+ * the circumcircle of any triangle.
+ */
+class DelaunayTriangulationTest {
+
+    private static final Rectangle2D BOUNDS = new Rectangle2D(0, 0, 1000, 800);
+
+    @Test
+    void randomSites() {
+        for (long seed = 0; seed < 10; seed++) {
+            final Random random = new Random(seed);
+            final double[] x = new double[200];
+            final double[] y = new double[x.length];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = random.nextDouble() * BOUNDS.getWidth();
+                y[i] = random.nextDouble() * BOUNDS.getHeight();
+            }
+            check(x, y);
+        }
+    }
+
+    @Test
+    void grid() {
+        // Four sites of each square of the grid lie on one circle
+        final double[] x = new double[20 * 16];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 16; j++) {
+                x[i * 16 + j] = 25 + 50 * i;
+                y[i * 16 + j] = 25 + 50 * j;
+            }
+        }
+        check(x, y);
+    }
+
+    private static void check(final double[] x, final double[] y) {
+        final ArrayVoronoi arrayVoronoi = new ArrayVoronoi(x, y, BOUNDS);
+        arrayVoronoi.run();
+        check(arrayVoronoi.getDelaunayTriangulation());
+
+        final List<Point2D> sites = new ArrayList<>();
+        for (int i = 0; i < x.length; i++)
+            sites.add(new Point2D(x[i], y[i]));
+        final Voronoi voronoi = new Voronoi(sites, BOUNDS);
+        while (voronoi.hasEvents())
+            voronoi.step();
+        check(voronoi.getDelaunayTriangulation());
+    }
+
+    /**
+     * Checks that all triangles have the same orientation and an empty
+     * circumcircle, and that each site is a neighbor of its neighbors.
+     */
+    private static void check(final DelaunayTriangulation triangulation) {
+        final int n = triangulation.getSiteCount();
+        final int[] triangles = triangulation.getTriangles();
+        assertTrue(triangulation.getTriangleCount() > 0, "No triangles");
+
+        double orientation = 0;
+        for (int t = 0; t < triangles.length; t += 3) {
+            final int a = triangles[t], b = triangles[t + 1], c = triangles[t + 2];
+            final double area = Predicates.orient2d(triangulation.getSiteX(a), triangulation.getSiteY(a),
+                    triangulation.getSiteX(b), triangulation.getSiteY(b), triangulation.getSiteX(c),
+                    triangulation.getSiteY(c));
+            assertTrue(area != 0, "Degenerate triangle");
+            if (orientation == 0)
+                orientation = Math.signum(area);
+            assertEquals(orientation, Math.signum(area), "Orientation of triangle " + t / 3);
+
+            for (int d = 0; d < n; d++) {
+                final double inside = Predicates.incircle(triangulation.getSiteX(a), triangulation.getSiteY(a),
+                        triangulation.getSiteX(b), triangulation.getSiteY(b), triangulation.getSiteX(c),
+                        triangulation.getSiteY(c), triangulation.getSiteX(d), triangulation.getSiteY(d));
+                assertTrue(orientation * inside <= 0, "Site " + d + " inside triangle " + t / 3);
+            }
+        }
+
+        for (int site = 0; site < n; site++) {
+            for (int i = 0; i < triangulation.getNeighborCount(site); i++) {
+                final int neighbor = triangulation.getNeighbor(site, i);
+                boolean found = false;
+                for (int j = 0; j < triangulation.getNeighborCount(neighbor); j++)
+                    found |= triangulation.getNeighbor(neighbor, j) == site;
+                assertTrue(found, "Site " + site + " is not a neighbor of its neighbor " + neighbor);
+            }
+        }
+    }
+
+}
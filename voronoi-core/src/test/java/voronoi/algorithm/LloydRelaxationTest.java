@@ -0,0 +1,135 @@
+package voronoi.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Relaxes random sites with {@link LloydRelaxation}, and checks each iteration
+ * against the centroids of a fresh sweep.
+ */
+class LloydRelaxationTest {
+
+    private static final Rectangle2D BOUNDS = new Rectangle2D(0, 0, 1000, 800);
+
+    @Test
+    void movesSitesToTheCentroidsOfTheirCells() {
+        final double[] x = new double[200];
+        final double[] y = new double[x.length];
+        randomSites(new Random(0), x, y);
+        final LloydRelaxation relaxation = new LloydRelaxation(x, y, BOUNDS);
+
+        for (int iteration = 0; iteration < 5; iteration++) {
+            final double[] centroids = centroids(relaxation.getSiteXs(), relaxation.getSiteYs());
+            relaxation.step();
+            for (int i = 0; i < x.length; i++) {
+                assertEquals(centroids[2 * i], relaxation.getSiteX(i), 1e-9, "x-coordinate of site " + i);
+                assertEquals(centroids[2 * i + 1], relaxation.getSiteY(i), 1e-9, "y-coordinate of site " + i);
+            }
+        }
+    }
+
+    @Test
+    void energyNeverIncreases() {
+        final double[] x = new double[100];
+        final double[] y = new double[x.length];
+        randomSites(new Random(1), x, y);
+        final LloydRelaxation relaxation = new LloydRelaxation(x, y, BOUNDS);
+
+        double energy = energy(relaxation.getSiteXs(), relaxation.getSiteYs());
+        for (int iteration = 0; iteration < 30; iteration++) {
+            relaxation.step();
+            final double next = energy(relaxation.getSiteXs(), relaxation.getSiteYs());
+            assertTrue(next <= energy * (1 + 1e-12), "Energy increased in iteration " + iteration);
+            energy = next;
+        }
+    }
+
+    @Test
+    void converges() {
+        final double[] x = new double[50];
+        final double[] y = new double[x.length];
+        randomSites(new Random(2), x, y);
+        final LloydRelaxation relaxation = new LloydRelaxation(x, y, BOUNDS);
+
+        final int iterations = relaxation.run(1000, 1e-3);
+        assertTrue(iterations < 1000, "Did not converge in 1000 iterations");
+        assertEquals(iterations, relaxation.getIteration());
+        assertTrue(relaxation.getMaxDisplacement() <= 1e-3);
+        assertTrue(relaxation.getMeanDisplacement() <= relaxation.getMaxDisplacement());
+    }
+
+    private static void randomSites(final Random random, final double[] x, final double[] y) {
+        for (int i = 0; i < x.length; i++) {
+            x[i] = random.nextDouble() * BOUNDS.getWidth();
+            y[i] = random.nextDouble() * BOUNDS.getHeight();
+        }
+    }
+
+    /**
+     * @return the centroid of the cell of each site, as {@code x0, y0, x1, y1,
+     *         ...}
+     */
+    private static double[] centroids(final double[] x, final double[] y) {
+        final ArrayVoronoi voronoi = new ArrayVoronoi(x, y, BOUNDS);
+        voronoi.run();
+        final ArrayDCEL dcel = voronoi.getDCEL();
+        final double[] centroids = new double[2 * x.length];
+        for (int face = 0; face < dcel.faceCapacity(); face++) {
+            final int start = dcel.boundaryEdge(face);
+            if (start == ArrayDCEL.NONE || voronoi.isSpecialFace(face))
+                continue;
+
+            double area = 0, cx = 0, cy = 0;
+            int edge = start;
+            do {
+                final double ax = dcel.x(dcel.origin(edge)), ay = dcel.y(dcel.origin(edge));
+                final double bx = dcel.x(dcel.origin(dcel.next(edge))), by = dcel.y(dcel.origin(dcel.next(edge)));
+                final double cross = ax * by - bx * ay;
+                area += cross;
+                cx += (ax + bx) * cross;
+                cy += (ay + by) * cross;
+                edge = dcel.next(edge);
+            } while (edge != start);
+            centroids[2 * dcel.site(face)] = cx / (3 * area);
+            centroids[2 * dcel.site(face) + 1] = cy / (3 * area);
+        }
+        return centroids;
+    }
+
+    /**
+     * @return the sum over all cells of the integral of the squared distance to
+     *         the cell's site, which Lloyd's algorithm never increases
+     */
+    private static double energy(final double[] x, final double[] y) {
+        final ArrayVoronoi voronoi = new ArrayVoronoi(x, y, BOUNDS);
+        voronoi.run();
+        final ArrayDCEL dcel = voronoi.getDCEL();
+        double energy = 0;
+        for (int face = 0; face < dcel.faceCapacity(); face++) {
+            final int start = dcel.boundaryEdge(face);
+            if (start == ArrayDCEL.NONE || voronoi.isSpecialFace(face))
+                continue;
+
+            // Sum over the triangles between the site and each edge of the cell
+            final double sx = x[dcel.site(face)], sy = y[dcel.site(face)];
+            int edge = start;
+            do {
+                final double ux = dcel.x(dcel.origin(edge)) - sx, uy = dcel.y(dcel.origin(edge)) - sy;
+                final double vx = dcel.x(dcel.origin(dcel.next(edge))) - sx;
+                final double vy = dcel.y(dcel.origin(dcel.next(edge))) - sy;
+                final double area = (ux * vy - vx * uy) / 2;
+                energy += area / 6 * (ux * ux + uy * uy + vx * vx + vy * vy + ux * vx + uy * vy);
+                edge = dcel.next(edge);
+            } while (edge != start);
+        }
+        return Math.abs(energy);
+    }
+
+}
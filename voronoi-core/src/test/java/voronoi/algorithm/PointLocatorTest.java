@@ -0,0 +1,122 @@
+package voronoi.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import voronoi.algorithm.dcel.ArrayDCEL;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Locates points in diagrams swept with both {@link Voronoi} and
+ * {@link ArrayVoronoi}, and checks each result against the nearest site found
+ * by comparing the distances to all sites.
+ */
+class PointLocatorTest {
+
+    private static final Rectangle2D BOUNDS = new Rectangle2D(0, 0, 1000, 800);
+
+    @Test
+    void randomSites() {
+        for (long seed = 0; seed < 10; seed++) {
+            final Random random = new Random(seed);
+            final double[] x = new double[300];
+            final double[] y = new double[x.length];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = random.nextDouble() * BOUNDS.getWidth();
+                y[i] = random.nextDouble() * BOUNDS.getHeight();
+            }
+            check(x, y, random);
+        }
+    }
+
+    @Test
+    void clusteredSites() {
+        final Random random = new Random(0);
+        final double[] x = new double[300];
+        final double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 100 + 200 * (i % 4) + random.nextGaussian() * 5;
+            y[i] = 400 + random.nextGaussian() * 5;
+        }
+        check(x, y, random);
+    }
+
+    @Test
+    void pointsOutsideTheBounds() {
+        final ArrayVoronoi voronoi = new ArrayVoronoi(new double[] { 300, 700 }, new double[] { 400, 400 }, BOUNDS);
+        voronoi.run();
+        final PointLocator locator = new PointLocator(voronoi.getDelaunayTriangulation(), BOUNDS);
+        assertEquals(ArrayDCEL.NONE, locator.locate(-1, 400));
+        assertEquals(ArrayDCEL.NONE, locator.locate(500, 801));
+        assertArrayEquals(new int[] { 0, ArrayDCEL.NONE, 1 },
+                locator.locateAll(new double[] { 0, 0, 2000, 0, 1000, 800 }));
+    }
+
+    private static void check(final double[] x, final double[] y, final Random random) {
+        final ArrayVoronoi arrayVoronoi = new ArrayVoronoi(x, y, BOUNDS);
+        arrayVoronoi.run();
+        check(new PointLocator(arrayVoronoi.getDelaunayTriangulation(), BOUNDS), random);
+
+        final List<Point2D> sites = new ArrayList<>();
+        for (int i = 0; i < x.length; i++)
+            sites.add(new Point2D(x[i], y[i]));
+        final Voronoi voronoi = new Voronoi(sites, BOUNDS);
+        while (voronoi.hasEvents())
+            voronoi.step();
+        check(voronoi.getPointLocator(), random);
+    }
+
+    /**
+     * Checks that the located site of random points, and of the corners of the
+     * bounds, is as close to each point as the nearest site, both one at a time
+     * and all at once.
+     */
+    private static void check(final PointLocator locator, final Random random) {
+        final double[] coordinates = new double[2 * 2000];
+        for (int i = 0; i < coordinates.length; i += 2) {
+            coordinates[i] = random.nextDouble() * BOUNDS.getWidth();
+            coordinates[i + 1] = random.nextDouble() * BOUNDS.getHeight();
+        }
+        coordinates[0] = BOUNDS.getMinX();
+        coordinates[1] = BOUNDS.getMinY();
+        coordinates[2] = BOUNDS.getMaxX();
+        coordinates[3] = BOUNDS.getMaxY();
+
+        final DelaunayTriangulation triangulation = locator.getTriangulation();
+        final int[] located = new int[coordinates.length / 2];
+        for (int i = 0; i < located.length; i++) {
+            final double px = coordinates[2 * i];
+            final double py = coordinates[2 * i + 1];
+            located[i] = locator.locate(px, py);
+            assertTrue(located[i] >= 0, "No site for " + px + ", " + py);
+
+            double nearest = Double.POSITIVE_INFINITY;
+            for (int site = 0; site < triangulation.getSiteCount(); site++)
+                nearest = Math.min(nearest, distance(triangulation, site, px, py));
+            assertEquals(nearest, distance(triangulation, located[i], px, py),
+                    "Distance to the site of " + px + ", " + py);
+        }
+
+        assertArrayEquals(located, locator.locateAll(coordinates));
+    }
+
+    /**
+     * @return the squared distance from the given site to the point
+     *         {@code (x, y)}
+     */
+    private static double distance(final DelaunayTriangulation triangulation, final int site, final double x,
+            final double y) {
+        final double dx = triangulation.getSiteX(site) - x;
+        final double dy = triangulation.getSiteY(site) - y;
+        return dx * dx + dy * dy;
+    }
+
+}
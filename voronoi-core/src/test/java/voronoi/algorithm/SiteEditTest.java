@@ -0,0 +1,222 @@
+package voronoi.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import voronoi.algorithm.dcel.Face;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Edits finished diagrams with {@link Voronoi#insert(Point2D)},
+ * {@link Voronoi#remove(Point2D)} and {@link Voronoi#move(Point2D, Point2D)},
+ * and checks that each cell is the same as in a fresh sweep over the same
+ * sites.
+ */
+class SiteEditTest {
+
+    private static final Rectangle2D BOUNDS = new Rectangle2D(0, 0, 1000, 800);
+
+    @Test
+    void insertedSites() {
+        for (long seed = 0; seed < 20; seed++) {
+            final Random random = new Random(seed);
+            final List<Point2D> sites = randomSites(random, 50);
+            final Voronoi voronoi = sweep(sites);
+            for (int i = 0; i < 20; i++) {
+                final Point2D site = randomSite(random);
+                sites.add(site);
+                assertSame(site, voronoi.insert(site).getContainedPoint());
+            }
+            checkSameCells(sweep(sites), voronoi);
+        }
+    }
+
+    @Test
+    void sitesOnTheBorder() {
+        final List<Point2D> sites = new ArrayList<>(List.of(new Point2D(0, 400), new Point2D(1000, 300),
+                new Point2D(600, 0), new Point2D(700, 800), new Point2D(0, 0), new Point2D(500, 400)));
+        final Voronoi voronoi = sweep(sites);
+        for (final Point2D site : List.of(new Point2D(0, 700), new Point2D(300, 800), new Point2D(1000, 800),
+                new Point2D(1000, 0), new Point2D(200, 0))) {
+            sites.add(site);
+            voronoi.insert(site);
+        }
+        checkSameCells(sweep(sites), voronoi);
+    }
+
+    @Test
+    void insertedSitesOnTheBorder() {
+        for (long seed = 0; seed < 20; seed++) {
+            final Random random = new Random(seed);
+            final List<Point2D> sites = randomSites(random, 30);
+            final Voronoi voronoi = sweep(sites);
+            for (int i = 0; i < 10; i++) {
+                final Point2D site = borderSite(random);
+                if (sites.contains(site))
+                    continue;
+                sites.add(site);
+                voronoi.insert(site);
+            }
+            checkSameCells(sweep(sites), voronoi);
+        }
+    }
+
+    @Test
+    void removedSites() {
+        for (long seed = 0; seed < 20; seed++) {
+            final Random random = new Random(seed);
+            final List<Point2D> sites = randomSites(random, 50);
+            final Voronoi voronoi = sweep(sites);
+            for (int i = 0; i < 30; i++)
+                voronoi.remove(sites.remove(random.nextInt(sites.size())));
+            checkSameCells(sweep(sites), voronoi);
+        }
+    }
+
+    @Test
+    void removedSitesOnTheBorder() {
+        for (long seed = 0; seed < 20; seed++) {
+            final Random random = new Random(seed);
+            final List<Point2D> sites = randomSites(random, 20);
+            for (int i = 0; i < 10; i++) {
+                final Point2D site = borderSite(random);
+                if (!sites.contains(site))
+                    sites.add(site);
+            }
+            final Voronoi voronoi = sweep(sites);
+            for (int i = 0; i < 15; i++)
+                voronoi.remove(sites.remove(random.nextInt(sites.size())));
+            checkSameCells(sweep(sites), voronoi);
+        }
+    }
+
+    @Test
+    void movedSites() {
+        for (long seed = 0; seed < 20; seed++) {
+            final Random random = new Random(seed);
+            final List<Point2D> sites = randomSites(random, 50);
+            final Voronoi voronoi = sweep(sites);
+            for (int i = 0; i < 30; i++) {
+                final int index = random.nextInt(sites.size());
+                final Point2D site = sites.get(index);
+                Point2D position;
+                do {
+                    position = new Point2D(site.getX() + random.nextGaussian() * 30,
+                            site.getY() + random.nextGaussian() * 30);
+                } while (!BOUNDS.contains(position.getX(), position.getY()));
+                sites.set(index, position);
+                assertSame(position, voronoi.move(site, position).getContainedPoint());
+            }
+            checkSameCells(sweep(sites), voronoi);
+        }
+    }
+
+    @Test
+    void sitesMovedOntoAndOffTheBorder() {
+        for (long seed = 0; seed < 20; seed++) {
+            final Random random = new Random(seed);
+            final List<Point2D> sites = randomSites(random, 30);
+            final Voronoi voronoi = sweep(sites);
+            for (int i = 0; i < 20; i++) {
+                final int index = random.nextInt(sites.size());
+                final Point2D site = sites.get(index);
+                final Point2D position = i % 2 == 0 ? borderSite(random) : randomSite(random);
+                if (sites.contains(position))
+                    continue;
+                sites.set(index, position);
+                voronoi.move(site, position);
+            }
+            checkSameCells(sweep(sites), voronoi);
+        }
+    }
+
+    static List<Point2D> randomSites(final Random random, final int count) {
+        final List<Point2D> sites = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            sites.add(randomSite(random));
+        return sites;
+    }
+
+    static Point2D randomSite(final Random random) {
+        return new Point2D(random.nextDouble() * BOUNDS.getWidth(), random.nextDouble() * BOUNDS.getHeight());
+    }
+
+    /**
+     * @return a random site on one of the sides of the bounds
+     */
+    static Point2D borderSite(final Random random) {
+        final double x = random.nextInt(100) * BOUNDS.getWidth() / 100;
+        final double y = random.nextInt(80) * BOUNDS.getHeight() / 80;
+        switch (random.nextInt(4)) {
+        case 0:
+            return new Point2D(BOUNDS.getMinX(), y);
+        case 1:
+            return new Point2D(BOUNDS.getMaxX(), y);
+        case 2:
+            return new Point2D(x, BOUNDS.getMinY());
+        default:
+            return new Point2D(x, BOUNDS.getMaxY());
+        }
+    }
+
+    static Voronoi sweep(final List<Point2D> sites) {
+        final Voronoi voronoi = new Voronoi(sites, BOUNDS);
+        while (voronoi.hasEvents())
+            voronoi.step();
+        return voronoi;
+    }
+
+    /**
+     * Checks that both diagrams have a cell for the same sites, with the same
+     * area and the same number of vertices.
+     */
+    static void checkSameCells(final Voronoi expected, final Voronoi actual) {
+        final Map<Point2D, double[]> expectedCells = cells(expected);
+        final Map<Point2D, double[]> actualCells = cells(actual);
+        assertEquals(expectedCells.size(), actualCells.size(), "Number of cells");
+        for (final Map.Entry<Point2D, double[]> entry : expectedCells.entrySet()) {
+            final double[] cell = actualCells.get(entry.getKey());
+            assertNotNull(cell, "No cell for " + entry.getKey());
+            assertEquals(entry.getValue()[0], cell[0], 1e-6 * entry.getValue()[0], "Area of " + entry.getKey());
+            assertEquals(entry.getValue()[1], cell[1], "Vertices of " + entry.getKey());
+        }
+    }
+
+    /**
+     * @return the area and the number of distinct vertices of the cell of each
+     *         site
+     */
+    private static Map<Point2D, double[]> cells(final Voronoi voronoi) {
+        final Map<Point2D, double[]> cells = new HashMap<>();
+        for (final Face face : voronoi.getFaces()) {
+            if (voronoi.isSpecialFace(face))
+                continue;
+
+            final List<Point2D> vertices = new ArrayList<>();
+            face.forEachEdge(edge -> vertices.add(edge.getOrigin().getPoint()));
+            double area = 0;
+            int count = 0;
+            for (int i = 0; i < vertices.size(); i++) {
+                final Point2D a = vertices.get(i);
+                final Point2D b = vertices.get((i + 1) % vertices.size());
+                area += a.getX() * b.getY() - b.getX() * a.getY();
+                if (a.distance(b) > 1e-7)
+                    count++;
+            }
+            assertNotNull(face.getContainedPoint(), "Cell without a site");
+            cells.put(face.getContainedPoint(), new double[] { Math.abs(area) / 2, count });
+        }
+        return cells;
+    }
+
+}
@@ -0,0 +1,144 @@
+package voronoi.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import voronoi.util.Rectangle2D;
+
+/**
+ * Sorts files of sites with {@link SiteFile#sort(Path, Path, int)}, and sweeps
+ * them with {@link ArrayVoronoi}.
+ */
+class SiteFileTest {
+
+    private static final Rectangle2D BOUNDS = new Rectangle2D(0, 0, 1000, 800);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sortsInRuns() throws IOException {
+        // Sites on 50 heights, so that each group of sites at the same height spans
+        // several sorted runs
+        final double[] x = new double[10000];
+        final double[] y = new double[x.length];
+        randomSites(new Random(0), x, y, 16);
+        checkSort(x, y, 777);
+    }
+
+    @Test
+    void sortsInOneRun() throws IOException {
+        final double[] x = new double[1000];
+        final double[] y = new double[x.length];
+        randomSites(new Random(1), x, y, 0);
+        checkSort(x, y, x.length);
+    }
+
+    @Test
+    void sortsAnEmptyFile() throws IOException {
+        checkSort(new double[0], new double[0], 10);
+    }
+
+    @Test
+    void rejectsInvalidFiles() throws IOException {
+        final Path input = directory.resolve("sites.bin");
+        assertThrows(IllegalArgumentException.class, () -> SiteFile.sort(input, directory.resolve("s.bin"), 0));
+
+        Files.write(input, new byte[SiteFile.RECORD_BYTES + 1]);
+        assertThrows(IllegalArgumentException.class, () -> SiteFile.open(input));
+
+        SiteFile.write(input, new double[] { 100, 200 }, new double[] { 100, 200 });
+        try (SiteFile unsorted = SiteFile.open(input)) {
+            assertFalse(unsorted.isSorted());
+            assertThrows(IllegalArgumentException.class, () -> new ArrayVoronoi(unsorted, BOUNDS));
+        }
+    }
+
+    @Test
+    void sweepsASortedFile() throws IOException {
+        final double[] x = new double[5000];
+        final double[] y = new double[x.length];
+        randomSites(new Random(2), x, y, 0);
+        final Path input = directory.resolve("sites.bin");
+        SiteFile.write(input, x, y);
+
+        try (SiteFile sites = SiteFile.sort(input, directory.resolve("sorted.bin"), 1000)) {
+            final Map<Integer, double[]> expected = new HashMap<>();
+            final ArrayVoronoi inMemory = new ArrayVoronoi(sites.getXs(), sites.getYs(), BOUNDS);
+            inMemory.setCellSink((site, vx, vy, count) -> expected.put(site, cell(vx, vy, count)));
+            inMemory.run();
+
+            final Map<Integer, double[]> actual = new HashMap<>();
+            final ArrayVoronoi fromFile = new ArrayVoronoi(sites, BOUNDS);
+            fromFile.setCellSink((site, vx, vy, count) -> actual.put(site, cell(vx, vy, count)));
+            fromFile.run();
+
+            assertEquals(x.length, expected.size(), "Number of cells");
+            assertEquals(expected.keySet(), actual.keySet());
+            for (final Map.Entry<Integer, double[]> entry : expected.entrySet())
+                assertArrayEquals(entry.getValue(), actual.get(entry.getKey()), "Cell of site " + entry.getKey());
+        }
+    }
+
+    /**
+     * Writes the sites to a file, sorts it, and checks that the sorted file holds
+     * the sites in the order {@link SiteOrder} puts them in, and that no
+     * temporary files are left.
+     */
+    private void checkSort(final double[] x, final double[] y, final int runLength) throws IOException {
+        final Path input = directory.resolve("sites.bin");
+        final Path output = directory.resolve("sorted.bin");
+        SiteFile.write(input, x, y);
+
+        final int[] order = SiteOrder.sort(x, y);
+        try (SiteFile sorted = SiteFile.sort(input, output, runLength)) {
+            assertEquals(x.length, sorted.size(), "Number of sites");
+            assertTrue(sorted.isSorted(), "Sites are not sorted");
+            for (int i = 0; i < x.length; i++) {
+                assertEquals(x[order[i]], sorted.getX(i), "x-coordinate of site " + i);
+                assertEquals(y[order[i]], sorted.getY(i), "y-coordinate of site " + i);
+            }
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count(), "Temporary files left behind");
+        }
+    }
+
+    /**
+     * @param spacing - the spacing of the heights that the y-coordinates are
+     *                rounded down to, or 0 to keep them as they are
+     */
+    private static void randomSites(final Random random, final double[] x, final double[] y, final int spacing) {
+        for (int i = 0; i < x.length; i++) {
+            x[i] = random.nextDouble() * BOUNDS.getWidth();
+            y[i] = random.nextDouble() * BOUNDS.getHeight();
+            if (spacing > 0)
+                y[i] = Math.floor(y[i] / spacing) * spacing;
+        }
+    }
+
+    private static double[] cell(final double[] x, final double[] y, final int count) {
+        final double[] cell = new double[2 * count];
+        for (int i = 0; i < count; i++) {
+            cell[2 * i] = x[i];
+            cell[2 * i + 1] = y[i];
+        }
+        return cell;
+    }
+
+}
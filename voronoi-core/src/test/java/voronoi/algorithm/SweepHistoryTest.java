@@ -0,0 +1,122 @@
+package voronoi.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import voronoi.algorithm.dcel.Face;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Seeks back and forth through {@link SweepHistory}s, and checks that the
+ * diagram after each seek is in the same state as a straight sweep through the
+ * same number of events.
+ */
+class SweepHistoryTest {
+
+    private static final Rectangle2D BOUNDS = new Rectangle2D(0, 0, 1000, 800);
+
+    @Test
+    void seekBackwardThenForward() {
+        final List<Point2D> sites = randomSites(new Random(0), 100);
+        final List<List<String>> states = straightSweep(sites);
+        final int end = states.size() - 1;
+        final SweepHistory history = new SweepHistory(new Voronoi(sites, BOUNDS), 8, 64);
+
+        // Forward to the end, then back to each step and forward again past it
+        assertEquals(states.get(end), state(history.seek(end)));
+        for (final int target : new int[] { 0, 1, end / 2, 7, 8, 9, end - 1, 3, end }) {
+            assertEquals(states.get(target), state(history.seek(target)), "State after seeking to " + target);
+            assertEquals(target, history.getStep());
+            final int ahead = Math.min(target + 13, end);
+            assertEquals(states.get(ahead), state(history.seek(ahead)), "State after seeking from " + target);
+        }
+    }
+
+    @Test
+    void seekFromEvictedCheckpoints() {
+        final List<Point2D> sites = randomSites(new Random(1), 200);
+        final List<List<String>> states = straightSweep(sites);
+        final int end = states.size() - 1;
+        final SweepHistory history = new SweepHistory(new Voronoi(sites, BOUNDS), 1, 4);
+
+        history.seek(end);
+        assertTrue(history.getCheckpointCount() <= 4, "Checkpoints were not evicted");
+        assertTrue(history.getInterval() > 1, "Interval did not grow");
+        final Random random = new Random(2);
+        for (int i = 0; i < 30; i++) {
+            final int target = random.nextInt(end + 1);
+            assertEquals(states.get(target), state(history.seek(target)), "State after seeking to " + target);
+        }
+    }
+
+    @Test
+    void seekReplacesTheDiagramOnlyWhenGoingBack() {
+        final List<Point2D> sites = randomSites(new Random(3), 20);
+        final Voronoi voronoi = new Voronoi(sites, BOUNDS);
+        final SweepHistory history = new SweepHistory(voronoi, 1000, 2);
+
+        assertSame(voronoi, history.seek(10));
+        assertSame(voronoi, history.seek(15));
+        final Voronoi rewound = history.seek(5);
+        assertNotSame(voronoi, rewound);
+        assertSame(rewound, history.getVoronoi());
+
+        // Seeking past the end stops at the end
+        final Voronoi finished = history.seek(Integer.MAX_VALUE);
+        assertFalse(finished.hasEvents());
+        assertEquals(straightSweep(sites).size() - 1, history.getStep());
+        assertThrows(IllegalArgumentException.class, () -> history.seek(-1));
+    }
+
+    private static List<Point2D> randomSites(final Random random, final int count) {
+        final List<Point2D> sites = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            sites.add(new Point2D(random.nextDouble() * BOUNDS.getWidth(), random.nextDouble() * BOUNDS.getHeight()));
+        return sites;
+    }
+
+    /**
+     * @return the state of a fresh sweep over the sites before the first event
+     *         and after each event
+     */
+    private static List<List<String>> straightSweep(final List<Point2D> sites) {
+        final Voronoi voronoi = new Voronoi(sites, BOUNDS);
+        final List<List<String>> states = new ArrayList<>();
+        states.add(state(voronoi));
+        while (voronoi.hasEvents()) {
+            voronoi.step();
+            states.add(state(voronoi));
+        }
+        return states;
+    }
+
+    /**
+     * @return the vertices around each face, in the order the diagram keeps its
+     *         faces, followed by the queued events in the order they will be
+     *         processed
+     */
+    private static List<String> state(final Voronoi voronoi) {
+        final List<String> state = new ArrayList<>();
+        for (final Face face : voronoi.getFaces()) {
+            final StringBuilder builder = new StringBuilder();
+            builder.append(voronoi.isSpecialFace(face) ? "special" : face.getContainedPoint()).append(':');
+            face.forEachEdge(edge -> builder.append(' ').append(edge.getOrigin().getPoint()));
+            state.add(builder.toString());
+        }
+        voronoi.getEvents().stream().sorted()
+                .forEach(event -> state.add(event.getClass().getSimpleName() + " " + event.point));
+        return state;
+    }
+
+}
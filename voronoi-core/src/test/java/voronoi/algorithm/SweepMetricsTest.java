@@ -0,0 +1,152 @@
+package voronoi.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import voronoi.algorithm.dcel.Edge;
+import voronoi.algorithm.dcel.Face;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Sweeps small inputs with {@link SweepMetrics} attached, and checks the
+ * counters against a {@link SweepListener} and against the number of elements
+ * each DCEL operation adds.
+ */
+class SweepMetricsTest {
+
+    private static final Rectangle2D BOUNDS = new Rectangle2D(0, 0, 1000, 800);
+
+    @Test
+    void threeSites() {
+        final SweepMetrics metrics = sweep(List.of(new Point2D(300, 400), new Point2D(700, 400),
+                new Point2D(500, 200)));
+        assertEquals(3, metrics.getSiteEvents());
+        check(metrics);
+    }
+
+    @Test
+    void randomSites() {
+        final Random random = new Random(0);
+        final List<Point2D> sites = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            sites.add(new Point2D(random.nextDouble() * BOUNDS.getWidth(), random.nextDouble() * BOUNDS.getHeight()));
+        final SweepMetrics metrics = sweep(sites);
+        assertEquals(100, metrics.getSiteEvents());
+        check(metrics);
+    }
+
+    @Test
+    void reset() {
+        final Voronoi voronoi = new Voronoi(List.of(new Point2D(300, 400), new Point2D(700, 400),
+                new Point2D(500, 200), new Point2D(500, 600)), BOUNDS);
+        final SweepMetrics metrics = new SweepMetrics();
+        voronoi.setMetrics(metrics);
+        voronoi.step();
+        voronoi.step();
+        assertEquals(2, metrics.getSteps());
+
+        // The counters read as zero as soon as the reset is requested, and the step
+        // that applies it is not counted
+        metrics.reset();
+        assertEquals(0, metrics.getSteps());
+        assertEquals(0, metrics.getSiteEvents());
+        assertEquals(0, metrics.getPeakBeachLineLength());
+        assertArrayEquals(new long[Long.SIZE], metrics.getStepLatencyHistogram());
+        voronoi.step();
+        assertEquals(0, metrics.getSteps());
+        assertEquals(0, metrics.getEdgesAllocated());
+
+        voronoi.step();
+        assertEquals(1, metrics.getSteps());
+        assertEquals(1, metrics.getSiteEvents() + metrics.getCircleEvents());
+    }
+
+    @Test
+    void registeredAttributes() throws JMException {
+        final SweepMetrics metrics = sweep(List.of(new Point2D(500, 400)));
+        final ObjectName name = metrics.register(SweepMetricsTest.class.getName());
+        try {
+            assertEquals(metrics.getSiteEvents(),
+                    ManagementFactory.getPlatformMBeanServer().getAttribute(name, "SiteEvents"));
+            assertEquals(metrics.getTopFaceSplits(),
+                    ManagementFactory.getPlatformMBeanServer().getAttribute(name, "TopFaceSplits"));
+        } finally {
+            metrics.unregister();
+        }
+    }
+
+    private static SweepMetrics sweep(final List<Point2D> sites) {
+        final Voronoi voronoi = new Voronoi(sites, BOUNDS);
+        final SweepMetrics metrics = new SweepMetrics();
+        final long[] listened = new long[3];
+        voronoi.setMetrics(metrics);
+        voronoi.setSweepListener(new SweepListener() {
+            @Override
+            public void siteEvent(final PointEvent event) {
+                listened[0]++;
+            }
+
+            @Override
+            public void circleEvent(final CircleEvent event) {
+                listened[1]++;
+            }
+
+            @Override
+            public void topFaceSplit(final Face face, final Edge topEdge) {
+                listened[2]++;
+            }
+        });
+        while (voronoi.hasEvents())
+            voronoi.step();
+
+        assertEquals(listened[0], metrics.getSiteEvents(), "Site events");
+        assertEquals(listened[1], metrics.getCircleEvents(), "Circle events");
+        assertEquals(listened[2], metrics.getTopFaceSplits(), "Top face splits");
+        return metrics;
+    }
+
+    /**
+     * Checks the counters of a finished sweep against each other.
+     */
+    private static void check(final SweepMetrics metrics) {
+        assertEquals(metrics.getSiteEvents() + metrics.getCircleEvents(), metrics.getSteps(), "Steps");
+        assertEquals(metrics.getSteps(), sum(metrics.getStepLatencyHistogram()), "Steps in the histogram");
+        assertEquals(metrics.getCircleEventsCreated(), metrics.getCircleEvents() + metrics.getCircleEventsInvalidated(),
+                "Circle events created");
+
+        // Each site adds two edges to the beach line, and each circle event removes
+        // one
+        assertTrue(metrics.getPeakBeachLineLength() > 2, "Peak beach line length");
+        assertTrue(metrics.getPeakBeachLineLength() <= 2 * metrics.getSiteEvents() + 4, "Peak beach line length");
+
+        // Each site adds two vertices (where its arc splits the arc above it) and a
+        // face, each circle event and top border split a vertex, and each split
+        // along the top border a face; each of these comes with an edge, and each
+        // parabola converted into a straight edge is replaced by a new one
+        assertEquals(2 * metrics.getSiteEvents() + metrics.getCircleEvents() + metrics.getTopSplits(),
+                metrics.getVerticesAllocated(), "Vertices");
+        assertEquals(metrics.getSiteEvents() + metrics.getTopFaceSplits(), metrics.getFacesAllocated(), "Faces");
+        assertTrue(metrics.getEdgesAllocated() >= 2 * (metrics.getVerticesAllocated() + metrics.getFacesAllocated()),
+                "Half-edges");
+    }
+
+    private static long sum(final long[] values) {
+        long sum = 0;
+        for (final long value : values)
+            sum += value;
+        return sum;
+    }
+
+}
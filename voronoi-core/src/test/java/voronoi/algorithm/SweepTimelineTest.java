@@ -0,0 +1,141 @@
+package voronoi.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import voronoi.util.Rectangle2D;
+
+/**
+ * Moves {@link SweepTimeline.Cursor}s up and down a recorded sweep, and checks
+ * the state, changed and active cells after each move against the states the
+ * timeline gives for the same height.
+ */
+class SweepTimelineTest {
+
+    private static final Rectangle2D BOUNDS = new Rectangle2D(0, 0, 1000, 800);
+
+    @Test
+    void movesDownThenUp() {
+        final SweepTimeline timeline = timeline(new Random(0), 200);
+        final SweepTimeline.Cursor cursor = timeline.cursor();
+        final int[] previous = states(timeline, Double.POSITIVE_INFINITY);
+
+        // Stop at each event height and just past it, so that every transition is
+        // made one step at a time, first down the sweep and then back up it
+        for (int event = 0; event < timeline.getEventCount(); event++) {
+            checkMove(timeline, cursor, previous, timeline.getEventY(event));
+            checkMove(timeline, cursor, previous, Math.nextDown(timeline.getEventY(event)));
+        }
+        checkMove(timeline, cursor, previous, BOUNDS.getMinY() - BOUNDS.getHeight());
+        for (int site = 0; site < timeline.getSiteCount(); site++)
+            assertEquals(SweepTimeline.FINISHED, cursor.getState(site), "State of site " + site + " at the end");
+
+        for (int event = timeline.getEventCount() - 1; event >= 0; event--) {
+            checkMove(timeline, cursor, previous, Math.nextDown(timeline.getEventY(event)));
+            checkMove(timeline, cursor, previous, timeline.getEventY(event));
+        }
+        checkMove(timeline, cursor, previous, BOUNDS.getMaxY() + 1);
+        for (int site = 0; site < timeline.getSiteCount(); site++)
+            assertEquals(SweepTimeline.HIDDEN, cursor.getState(site), "State of site " + site + " at the start");
+    }
+
+    @Test
+    void jumpsInBothDirections() {
+        final SweepTimeline timeline = timeline(new Random(1), 300);
+        final SweepTimeline.Cursor cursor = timeline.cursor();
+        final int[] previous = states(timeline, Double.POSITIVE_INFINITY);
+        final Random random = new Random(2);
+        for (int i = 0; i < 200; i++) {
+            // Heights from well above the sites to well below the last vertex
+            final double sweepY = BOUNDS.getMaxY() + BOUNDS.getHeight() * (0.5 - 3 * random.nextDouble());
+            checkMove(timeline, cursor, previous, sweepY);
+        }
+    }
+
+    @Test
+    void outlines() {
+        final SweepTimeline timeline = timeline(new Random(3), 50);
+        final SweepTimeline.Cursor cursor = timeline.cursor();
+        cursor.moveTo(BOUNDS.getMaxY() / 2);
+        for (int site = 0; site < timeline.getSiteCount(); site++) {
+            final int count = cursor.outline(site, 8);
+            switch (cursor.getState(site)) {
+            case SweepTimeline.HIDDEN:
+                assertEquals(0, count, "Outline of hidden site " + site);
+                break;
+            case SweepTimeline.FINISHED:
+                assertEquals(timeline.getCellVertexCount(site), count, "Outline of finished site " + site);
+                for (int v = 0; v < count; v++) {
+                    assertEquals(timeline.getCellX(site, v), cursor.getOutlineX()[v]);
+                    assertEquals(timeline.getCellY(site, v), cursor.getOutlineY()[v]);
+                }
+                break;
+            default:
+                // The traced part of an active cell lies above the sweep line
+                for (int v = 0; v < count; v++)
+                    assertTrue(cursor.getOutlineY()[v] >= cursor.getSweepY() - 1e-9,
+                            "Outline of active site " + site + " below the sweep line");
+            }
+        }
+    }
+
+    private static SweepTimeline timeline(final Random random, final int count) {
+        final double[] x = new double[count];
+        final double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = random.nextDouble() * BOUNDS.getWidth();
+            y[i] = random.nextDouble() * BOUNDS.getHeight();
+        }
+        return new SweepTimeline(x, y, BOUNDS);
+    }
+
+    private static int[] states(final SweepTimeline timeline, final double sweepY) {
+        final int[] states = new int[timeline.getSiteCount()];
+        for (int site = 0; site < states.length; site++)
+            states[site] = timeline.getState(site, sweepY);
+        return states;
+    }
+
+    /**
+     * Moves the cursor, and checks that it reports exactly the cells whose state
+     * changed since the previous move, and exactly the active cells.
+     *
+     * @param previous - the states before the move, which are replaced by the
+     *                 states after it
+     */
+    private static void checkMove(final SweepTimeline timeline, final SweepTimeline.Cursor cursor,
+            final int[] previous, final double sweepY) {
+        cursor.moveTo(sweepY);
+        assertEquals(sweepY, cursor.getSweepY());
+        final int[] expected = states(timeline, sweepY);
+
+        final Set<Integer> changed = new HashSet<>();
+        final Set<Integer> active = new HashSet<>();
+        for (int site = 0; site < expected.length; site++) {
+            assertEquals(expected[site], cursor.getState(site), "State of site " + site + " at " + sweepY);
+            if (expected[site] != previous[site])
+                changed.add(site);
+            if (expected[site] == SweepTimeline.ACTIVE)
+                active.add(site);
+        }
+
+        final Set<Integer> reportedChanged = new HashSet<>();
+        for (int i = 0; i < cursor.getChangedCount(); i++)
+            assertTrue(reportedChanged.add(cursor.getChanged(i)), "Site changed twice at " + sweepY);
+        assertEquals(changed, reportedChanged, "Changed sites at " + sweepY);
+
+        final Set<Integer> reportedActive = new HashSet<>();
+        for (int i = 0; i < cursor.getActiveCount(); i++)
+            assertTrue(reportedActive.add(cursor.getActive(i)), "Site active twice at " + sweepY);
+        assertEquals(active, reportedActive, "Active sites at " + sweepY);
+
+        System.arraycopy(expected, 0, previous, 0, expected.length);
+    }
+
+}
@@ -0,0 +1,106 @@
+package voronoi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Evaluates the predicates of {@link Predicates} on grids of nearly degenerate
+ * inputs, a few units in the last place apart, and checks the sign of each
+ * against the determinant evaluated exactly. On these inputs the plain floating
+ * point determinant often has the wrong sign, so the exact fallback decides.
+ */
+class PredicatesTest {
+
+    private static final int GRID = 64;
+
+    @Test
+    void orient2dOfNearlyCollinearPoints() {
+        final double step = Math.ulp(0.5);
+        int wrongWithoutFallback = 0;
+        for (int i = 0; i < GRID; i++) {
+            for (int j = 0; j < GRID; j++) {
+                final double ax = 0.5 + i * step, ay = 0.5 + j * step;
+                final double expected = exactOrient2d(ax, ay, 12, 12, 24, 24);
+                assertEquals(expected, Math.signum(Predicates.orient2d(ax, ay, 12, 12, 24, 24)),
+                        "Sign at " + i + ", " + j);
+                if (Math.signum((ax - 24) * (12 - 24) - (ay - 24) * (12 - 24)) != expected)
+                    wrongWithoutFallback++;
+            }
+        }
+        assertTrue(wrongWithoutFallback > 0, "The filter never failed");
+    }
+
+    @Test
+    void orient2dOfCollinearPoints() {
+        assertEquals(0, Predicates.orient2d(0.1, 0.1, 0.3, 0.3, 0.7, 0.7));
+    }
+
+    @Test
+    void incircleOfNearlyCocircularPoints() {
+        // The four points (c - 0.5, c), (c, c - 0.5), (c + 0.5, c), (c, c + 0.5) are
+        // on one circle, and d is moved around the last of them
+        final double c = 1024.1;
+        final double step = Math.ulp(c);
+        int wrongWithoutFallback = 0;
+        for (int i = 0; i < GRID; i++) {
+            for (int j = 0; j < GRID; j++) {
+                final double dx = c + (i - GRID / 2) * step, dy = c + 0.5 + (j - GRID / 2) * step;
+                final double expected = exactIncircle(c - 0.5, c, c, c - 0.5, c + 0.5, c, dx, dy);
+                assertEquals(expected, Math.signum(Predicates.incircle(c - 0.5, c, c, c - 0.5, c + 0.5, c, dx, dy)),
+                        "Sign at " + i + ", " + j);
+                if (Math.signum(plainIncircle(c - 0.5, c, c, c - 0.5, c + 0.5, c, dx, dy)) != expected)
+                    wrongWithoutFallback++;
+            }
+        }
+        assertTrue(wrongWithoutFallback > 0, "The filter never failed");
+    }
+
+    @Test
+    void incircleOfCocircularPoints() {
+        assertEquals(0, Predicates.incircle(-1, 0, 0, -1, 1, 0, 0, 1));
+        assertTrue(Predicates.incircle(-1, 0, 0, -1, 1, 0, 0, 0.5) > 0, "Inside a counterclockwise circle");
+        assertTrue(Predicates.incircle(-1, 0, 1, 0, 0, -1, 0, 0.5) < 0, "Inside a clockwise circle");
+    }
+
+    private static double plainIncircle(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy, final double dx, final double dy) {
+        final double adx = ax - dx, ady = ay - dy;
+        final double bdx = bx - dx, bdy = by - dy;
+        final double cdx = cx - dx, cdy = cy - dy;
+        return (adx * adx + ady * ady) * (bdx * cdy - cdx * bdy) + (bdx * bdx + bdy * bdy) * (cdx * ady - adx * cdy)
+                + (cdx * cdx + cdy * cdy) * (adx * bdy - bdx * ady);
+    }
+
+    /**
+     * @return the sign of the orientation determinant, evaluated exactly
+     */
+    private static double exactOrient2d(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy) {
+        final BigDecimal acx = new BigDecimal(ax).subtract(new BigDecimal(cx));
+        final BigDecimal acy = new BigDecimal(ay).subtract(new BigDecimal(cy));
+        final BigDecimal bcx = new BigDecimal(bx).subtract(new BigDecimal(cx));
+        final BigDecimal bcy = new BigDecimal(by).subtract(new BigDecimal(cy));
+        return acx.multiply(bcy).subtract(acy.multiply(bcx)).signum();
+    }
+
+    /**
+     * @return the sign of the incircle determinant, evaluated exactly
+     */
+    private static double exactIncircle(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy, final double dx, final double dy) {
+        final BigDecimal adx = new BigDecimal(ax).subtract(new BigDecimal(dx));
+        final BigDecimal ady = new BigDecimal(ay).subtract(new BigDecimal(dy));
+        final BigDecimal bdx = new BigDecimal(bx).subtract(new BigDecimal(dx));
+        final BigDecimal bdy = new BigDecimal(by).subtract(new BigDecimal(dy));
+        final BigDecimal cdx = new BigDecimal(cx).subtract(new BigDecimal(dx));
+        final BigDecimal cdy = new BigDecimal(cy).subtract(new BigDecimal(dy));
+        return adx.pow(2).add(ady.pow(2)).multiply(bdx.multiply(cdy).subtract(cdx.multiply(bdy)))
+                .add(bdx.pow(2).add(bdy.pow(2)).multiply(cdx.multiply(ady).subtract(adx.multiply(cdy))))
+                .add(cdx.pow(2).add(cdy.pow(2)).multiply(adx.multiply(bdy).subtract(bdx.multiply(ady)))).signum();
+    }
+
+}
@@ -0,0 +1,275 @@
+package voronoi.export;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.imageio.ImageIO;
+
+import voronoi.algorithm.Voronoi;
+import voronoi.algorithm.dcel.Edge;
+import voronoi.algorithm.dcel.Face;
+import voronoi.util.Point2D;
+
+/**
+ * Draws finished diagrams to SVG and PNG files without a display, with the same
+ * coloring as the renderer.
+ *
+ * SVG is streamed to a writer one element at a time, so no document is built
+ * in memory. PNG is drawn with the software rasterizer of a
+ * {@link BufferedImage}, which needs no display (running with
+ * {@code -Djava.awt.headless=true} makes sure none is looked for). An exporter
+ * holds no state besides its settings, so one exporter can be used from any
+ * number of threads at once; {@link #exportAll(List, Path)} exports many
+ * diagrams in parallel.
+ */
+public final class DiagramExporter {
+
+    /**
+     * The radius of a drawn site
+     */
+    private static final double POINT_RADIUS = 3;
+
+    private final int width;
+    private final int height;
+    private final boolean colored;
+
+    /**
+     * Creates an exporter that draws diagrams onto an image of the given size, in
+     * the coordinates of the diagrams.
+     *
+     * @param width   - the width of the image
+     * @param height  - the height of the image
+     * @param colored - whether to color each cell by its site, as the renderer's
+     *                color mode does, or to draw in black
+     */
+    public DiagramExporter(final int width, final int height, final boolean colored) {
+        if (width < 1 || height < 1)
+            throw new IllegalArgumentException("Image size must be positive");
+
+        this.width = width;
+        this.height = height;
+        this.colored = colored;
+    }
+
+    /**
+     * Gives each site a hue, derived from the identity of its point, so that a
+     * site keeps its color for as long as its point exists. This is the same hue
+     * the renderer's color mode gives the site.
+     *
+     * @param point - the site
+     * @return the hue of the site, in degrees
+     */
+    public static double hueOf(final Point2D point) {
+        return 360. * ((System.identityHashCode(point) & 0xFFFFFF) / (double) 0xFFFFFF);
+    }
+
+    /**
+     * Writes the given diagram as SVG.
+     *
+     * @param voronoi - the finished diagram
+     * @param out     - the writer to write to, which is not closed
+     * @throws IOException              if the writer fails
+     * @throws IllegalArgumentException if the diagram is not finished
+     */
+    public void writeSvg(final Voronoi voronoi, final Writer out) throws IOException {
+        checkFinished(voronoi);
+
+        out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+                + "\" viewBox=\"0 0 " + width + " " + height + "\">\n");
+        out.write("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+
+        final StringBuilder line = new StringBuilder();
+        for (final Face f : voronoi.getFaces()) {
+            if (voronoi.isSpecialFace(f))
+                continue;
+
+            line.setLength(0);
+            line.append("<polygon points=\"");
+            f.forEachEdge(edge -> {
+                final Point2D p = edge.getOrigin().getPoint();
+                appendCoordinate(line, p.getX()).append(',');
+                appendCoordinate(line, p.getY()).append(' ');
+            });
+            line.setLength(line.length() - 1);
+
+            final double hue = hueOfFace(f);
+            if (colored) {
+                final double brightness = hue < 0 ? 0 : 0.75;
+                line.append("\" fill=\"").append(hex(hue, 0.5, brightness));
+                line.append("\" fill-opacity=\"").append(hue < 0 ? "0.05" : "0.2");
+                line.append("\" stroke=\"").append(hex(hue, 0.5, brightness));
+            } else {
+                line.append("\" fill=\"none\" stroke=\"black");
+            }
+            line.append("\"/>\n");
+            out.append(line);
+        }
+
+        for (final Point2D p : voronoi.getPoints()) {
+            line.setLength(0);
+            line.append("<circle cx=\"");
+            appendCoordinate(line, p.getX()).append("\" cy=\"");
+            appendCoordinate(line, p.getY()).append("\" r=\"").append(POINT_RADIUS);
+            line.append("\" fill=\"").append(colored ? hex(hueOf(p), 1, 0.75) : "black").append("\"/>\n");
+            out.append(line);
+        }
+
+        out.write("</svg>\n");
+    }
+
+    /**
+     * Writes the given diagram to an SVG file, replacing the file if it exists.
+     *
+     * @param voronoi - the finished diagram
+     * @param path    - the file to write
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the diagram is not finished
+     */
+    public void writeSvg(final Voronoi voronoi, final Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeSvg(voronoi, out);
+        }
+    }
+
+    /**
+     * Draws the given diagram onto a new image.
+     *
+     * @param voronoi - the finished diagram
+     * @return the image
+     * @throws IllegalArgumentException if the diagram is not finished
+     */
+    public BufferedImage render(final Voronoi voronoi) {
+        checkFinished(voronoi);
+
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setStroke(new BasicStroke(1));
+
+            final Path2D.Double path = new Path2D.Double();
+            for (final Face f : voronoi.getFaces()) {
+                if (voronoi.isSpecialFace(f))
+                    continue;
+
+                path.reset();
+                final Edge start = f.getBoundaryEdge();
+                Edge edge = start;
+                path.moveTo(edge.getOrigin().getX(), edge.getOrigin().getY());
+                while ((edge = edge.getNext()) != start)
+                    path.lineTo(edge.getOrigin().getX(), edge.getOrigin().getY());
+                path.closePath();
+
+                final double hue = hueOfFace(f);
+                if (colored) {
+                    final double brightness = hue < 0 ? 0 : 0.75;
+                    g.setColor(color(hue, 0.5, brightness, hue < 0 ? 0.05 : 0.2));
+                    g.fill(path);
+                    g.setColor(color(hue, 0.5, brightness, 1));
+                } else {
+                    g.setColor(Color.BLACK);
+                }
+                g.draw(path);
+            }
+
+            final Ellipse2D.Double circle = new Ellipse2D.Double();
+            for (final Point2D p : voronoi.getPoints()) {
+                circle.setFrame(p.getX() - POINT_RADIUS, p.getY() - POINT_RADIUS, 2 * POINT_RADIUS,
+                        2 * POINT_RADIUS);
+                g.setColor(colored ? color(hueOf(p), 1, 0.75, 1) : Color.BLACK);
+                g.fill(circle);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Writes the given diagram to a PNG file, replacing the file if it exists.
+     *
+     * @param voronoi - the finished diagram
+     * @param path    - the file to write
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the diagram is not finished
+     */
+    public void writePng(final Voronoi voronoi, final Path path) throws IOException {
+        if (!ImageIO.write(render(voronoi), "png", path.toFile()))
+            throw new IOException("No PNG writer is available");
+    }
+
+    /**
+     * Writes each of the given diagrams to an SVG file and a PNG file in the given
+     * directory, named {@code diagram-<i>.svg} and {@code diagram-<i>.png} after
+     * the index of the diagram in the list. The diagrams are exported in
+     * parallel, in the common fork-join pool.
+     *
+     * @param diagrams  - the finished diagrams
+     * @param directory - the directory to write to, which must exist
+     * @throws IOException              if a file cannot be written
+     * @throws IllegalArgumentException if a diagram is not finished
+     */
+    public void exportAll(final List<Voronoi> diagrams, final Path directory) throws IOException {
+        try {
+            IntStream.range(0, diagrams.size()).parallel().forEach(i -> {
+                try {
+                    writeSvg(diagrams.get(i), directory.resolve("diagram-" + i + ".svg"));
+                    writePng(diagrams.get(i), directory.resolve("diagram-" + i + ".png"));
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void checkFinished(final Voronoi voronoi) {
+        if (voronoi.hasEvents())
+            throw new IllegalArgumentException("The diagram must be finished to be exported");
+    }
+
+    /**
+     * @return the hue of the site of the given face, or -1 if it has none
+     */
+    private static double hueOfFace(final Face face) {
+        return face.getContainedPoint() == null ? -1 : hueOf(face.getContainedPoint());
+    }
+
+    private static Color color(final double hue, final double saturation, final double brightness,
+            final double opacity) {
+        final int rgb = Color.HSBtoRGB((float) (hue / 360), (float) saturation, (float) brightness);
+        return new Color((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF, (int) Math.round(opacity * 255));
+    }
+
+    private static String hex(final double hue, final double saturation, final double brightness) {
+        final int rgb = Color.HSBtoRGB((float) (hue / 360), (float) saturation, (float) brightness);
+        return String.format("#%06x", rgb & 0xFFFFFF);
+    }
+
+    /**
+     * Appends a coordinate rounded to a thousandth of a pixel, which is far finer
+     * than any image needs and keeps files small.
+     */
+    private static StringBuilder appendCoordinate(final StringBuilder builder, final double value) {
+        return builder.append(Math.round(value * 1000) / 1000.0);
+    }
+
+}
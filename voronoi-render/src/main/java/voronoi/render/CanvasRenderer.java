@@ -0,0 +1,246 @@
+package voronoi.render;
+
+import java.util.List;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+import voronoi.algorithm.SweepTimeline;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+
+/**
+ * Draws a {@link SweepTimeline} straight onto canvases, for diagrams too large
+ * to have a scene graph node per shape.
+ *
+ * The drawing is split into three stacked canvases. Finished cells never change
+ * while the sweep moves forward, so each is drawn once onto the back canvas
+ * when it is finished, and that canvas is only redrawn in full if the sweep
+ * moves backward past a finished cell. The sites are drawn once onto the front
+ * canvas. Only the middle canvas, with the cells the beach line is crossing,
+ * the beach line itself, the next events and the sweep line, is redrawn every
+ * frame, so a frame takes time proportional to the number of cells that changed
+ * or are active, not to the size of the diagram.
+ */
+class CanvasRenderer {
+    private static final int PARABOLA_SEGMENTS = 16;
+
+    /**
+     * The largest number of upcoming circle events to draw
+     */
+    private static final int MAX_CIRCLE_EVENTS = 64;
+
+    private final SweepTimeline timeline;
+    private final SweepTimeline.Cursor cursor;
+    private final Rectangle2D bounds;
+    private final boolean showCircles;
+
+    private final Canvas finishedLayer;
+    private final Canvas activeLayer;
+    private final Canvas siteLayer;
+
+    private final Color[] fills;
+    private final Color[] strokes;
+
+    /**
+     * The height of the sweep line at the last frame
+     */
+    private double lastSweepY = Double.POSITIVE_INFINITY;
+
+    /**
+     * The index of the first event below the sweep line at the last frame
+     */
+    private int nextEvent = 0;
+
+    /**
+     * The radius of the largest circle event
+     */
+    private final double maxRadius;
+
+    /**
+     * The coordinates of the beach line, reused for every frame
+     */
+    private final double[] beachLineX;
+    private final double[] beachLineY;
+
+    /**
+     * Creates the canvases for the given timeline, and draws the sites.
+     *
+     * @param timeline    - the recorded sweep
+     * @param points      - the sites of the timeline, in the same order
+     * @param hues        - the hue of each site, or a negative value for none
+     * @param width       - the width of the canvases
+     * @param height      - the height of the canvases
+     * @param showPoints  - whether or not to draw the sites
+     * @param showCircles - whether or not to draw the upcoming circle events
+     */
+    CanvasRenderer(final SweepTimeline timeline, final List<Point2D> points, final double[] hues, final double width,
+            final double height, final boolean showPoints, final boolean showCircles) {
+        this.timeline = timeline;
+        this.cursor = timeline.cursor();
+        this.bounds = timeline.getBounds();
+        this.showCircles = showCircles;
+
+        this.finishedLayer = new Canvas(width, height);
+        this.activeLayer = new Canvas(width, height);
+        this.siteLayer = new Canvas(width, height);
+
+        final int n = timeline.getSiteCount();
+        this.fills = new Color[n];
+        this.strokes = new Color[n];
+        for (int site = 0; site < n; site++) {
+            final double hue = hues[site];
+            fills[site] = hue < 0 ? Color.gray(0, 0.05) : Color.hsb(hue, 0.5, 0.75, 0.2);
+            strokes[site] = hue < 0 ? Color.BLACK : Color.hsb(hue, 0.5, 0.75);
+        }
+
+        double maxRadius = 0;
+        for (int event = 0; event < timeline.getEventCount(); event++)
+            maxRadius = Math.max(maxRadius, timeline.getEventRadius(event));
+        this.maxRadius = maxRadius;
+
+        final int samples = (int) Math.ceil(bounds.getWidth()) + 1;
+        this.beachLineX = new double[samples];
+        this.beachLineY = new double[samples];
+        for (int i = 0; i < samples; i++)
+            beachLineX[i] = Math.min(bounds.getMinX() + i, bounds.getMaxX());
+
+        if (showPoints) {
+            // Shrink the sites as they get denser, so that they do not cover the cells
+            final double spacing = Math.sqrt(bounds.getWidth() * bounds.getHeight() / n);
+            final double radius = Math.max(0.5, Math.min(3, 0.25 * spacing));
+            final GraphicsContext gc = siteLayer.getGraphicsContext2D();
+            for (int site = 0; site < n; site++) {
+                gc.setFill(hues[site] < 0 ? Color.BLACK : Color.hsb(hues[site], 1, 0.75));
+                gc.fillOval(points.get(site).getX() - radius, points.get(site).getY() - radius, 2 * radius,
+                        2 * radius);
+            }
+        }
+    }
+
+    /**
+     * @return the canvases to add to the scene, from back to front
+     */
+    public Canvas[] getLayers() {
+        return new Canvas[] { finishedLayer, activeLayer, siteLayer };
+    }
+
+    /**
+     * Draws the sweep with the cells at the given height of the sweep line, and
+     * the sweep line itself at a (possibly different) height.
+     *
+     * @param sweepY     - the height of the sweep line for the cells
+     * @param sweepLineY - the height to draw the sweep line at
+     */
+    public void draw(final double sweepY, final double sweepLineY) {
+        cursor.moveTo(sweepY);
+
+        // Finished cells are added to the back canvas as they finish; if any cell is
+        // no longer finished, the back canvas is redrawn from scratch
+        final GraphicsContext finished = finishedLayer.getGraphicsContext2D();
+        boolean redraw = false;
+        for (int i = 0; i < cursor.getChangedCount() && !redraw; i++) {
+            final int site = cursor.getChanged(i);
+            redraw = cursor.getState(site) != SweepTimeline.FINISHED
+                    && timeline.getState(site, lastSweepY) == SweepTimeline.FINISHED;
+        }
+        if (redraw) {
+            finished.clearRect(0, 0, finishedLayer.getWidth(), finishedLayer.getHeight());
+            for (int site = 0; site < timeline.getSiteCount(); site++) {
+                if (cursor.getState(site) == SweepTimeline.FINISHED)
+                    drawCell(finished, site);
+            }
+        } else {
+            for (int i = 0; i < cursor.getChangedCount(); i++) {
+                final int site = cursor.getChanged(i);
+                if (cursor.getState(site) == SweepTimeline.FINISHED)
+                    drawCell(finished, site);
+            }
+        }
+        lastSweepY = sweepY;
+
+        final GraphicsContext active = activeLayer.getGraphicsContext2D();
+        active.clearRect(0, 0, activeLayer.getWidth(), activeLayer.getHeight());
+        for (int i = 0; i < cursor.getActiveCount(); i++)
+            drawCell(active, cursor.getActive(i));
+
+        // Every arc of the beach line belongs to a cell it is crossing, so the beach
+        // line is the lowest of the parabolas of the active cells
+        if (cursor.getActiveCount() > 0) {
+            for (int i = 0; i < beachLineX.length; i++)
+                beachLineY[i] = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < cursor.getActiveCount(); j++) {
+                final int site = cursor.getActive(j);
+                final double sx = timeline.getSiteX(site);
+                final double sy = timeline.getSiteY(site);
+                final double h = sy - sweepY;
+                for (int i = 0; i < beachLineX.length; i++) {
+                    final double dx = beachLineX[i] - sx;
+                    beachLineY[i] = Math.min(beachLineY[i], 0.5 * (dx * dx / h + sy + sweepY));
+                }
+            }
+            for (int i = 0; i < beachLineX.length; i++)
+                beachLineY[i] = Math.max(beachLineY[i], bounds.getMinY());
+
+            active.setStroke(Color.DARKGRAY);
+            active.setLineWidth(2);
+            active.strokePolyline(beachLineX, beachLineY, beachLineX.length);
+        }
+
+        if (showCircles)
+            drawCircleEvents(active, sweepY);
+
+        active.setStroke(Color.BLACK);
+        active.setLineWidth(1);
+        active.strokeLine(0, sweepLineY, activeLayer.getWidth(), sweepLineY);
+    }
+
+    private void drawCell(final GraphicsContext gc, final int site) {
+        final int n = cursor.outline(site, PARABOLA_SEGMENTS);
+        if (n < 3)
+            return;
+
+        gc.setFill(fills[site]);
+        gc.fillPolygon(cursor.getOutlineX(), cursor.getOutlineY(), n);
+        gc.setStroke(strokes[site]);
+        gc.setLineWidth(1);
+        gc.strokePolygon(cursor.getOutlineX(), cursor.getOutlineY(), n);
+    }
+
+    /**
+     * Draws the circles of the next circle events below the sweep line whose
+     * circles the sweep line has reached. The timeline does not record when a
+     * circle event was queued, so this may include a few events whose sites the
+     * sweep line has not all passed yet.
+     */
+    private void drawCircleEvents(final GraphicsContext gc, final double sweepY) {
+        while (nextEvent > 0 && timeline.getEventY(nextEvent - 1) < sweepY)
+            nextEvent--;
+        while (nextEvent < timeline.getEventCount() && timeline.getEventY(nextEvent) >= sweepY)
+            nextEvent++;
+
+        gc.setLineWidth(1);
+        int drawn = 0;
+        for (int event = nextEvent; event < timeline.getEventCount() && drawn < MAX_CIRCLE_EVENTS; event++) {
+            final double x = timeline.getEventX(event);
+            final double y = timeline.getEventY(event);
+            if (y + 2 * maxRadius < sweepY)
+                break;
+
+            // Skip site events, and circles the sweep line has not reached yet
+            final double r = timeline.getEventRadius(event);
+            if (r == 0 || y + 2 * r < sweepY)
+                continue;
+
+            final boolean isNext = event == nextEvent;
+            gc.setStroke(Color.LIGHTGREEN);
+            gc.strokeOval(x - r, y, 2 * r, 2 * r);
+            gc.setFill(isNext ? Color.DODGERBLUE : Color.BLUE);
+            gc.fillOval(x - 2, y + r - 2, 4, 4);
+            gc.setFill(Color.LIME);
+            gc.fillOval(x - 2, y - 2, 4, 4);
+            drawn++;
+        }
+    }
+}
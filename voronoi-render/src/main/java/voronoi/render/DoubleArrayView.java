@@ -0,0 +1,44 @@
+package voronoi.render;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A read-only list view of part of a {@code double} array, which can be pointed
+ * at a different part of an array and reused. It lets a shape's point list be
+ * replaced from a primitive buffer with a single {@code setAll}, which sends
+ * one change notification and boxes each value only once, as the list copies
+ * it.
+ */
+class DoubleArrayView extends AbstractList<Double> implements RandomAccess {
+    private double[] array = new double[0];
+    private int offset;
+    private int size;
+
+    /**
+     * Points the view at the given part of an array.
+     *
+     * @param array  - the array to view
+     * @param offset - the index of the first element of the view
+     * @param size   - the number of elements in the view
+     * @return this view
+     */
+    public DoubleArrayView view(final double[] array, final int offset, final int size) {
+        this.array = array;
+        this.offset = offset;
+        this.size = size;
+        return this;
+    }
+
+    @Override
+    public Double get(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        return array[offset + index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
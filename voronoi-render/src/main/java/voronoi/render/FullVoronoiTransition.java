@@ -0,0 +1,68 @@
+package voronoi.render;
+
+import javafx.animation.Interpolator;
+import javafx.animation.Transition;
+import javafx.util.Duration;
+
+import voronoi.algorithm.SweepTimeline;
+
+/**
+ * Plays back a recorded sweep from start to finish. The sweep is not run on the
+ * FX thread: each frame only moves a cursor on the timeline and redraws the
+ * cells that changed.
+ */
+class FullVoronoiTransition extends Transition {
+
+    private final Window window;
+
+    private final SweepTimeline timeline;
+
+    /**
+     * The shapes of the timeline, or null if it is drawn onto a canvas
+     */
+    private final TimelineGraphics graphics;
+
+    /**
+     * The renderer drawing the timeline onto a canvas, or null if it is drawn
+     * with shapes
+     */
+    private final CanvasRenderer canvas;
+
+    public FullVoronoiTransition(final Window window, final SweepTimeline timeline, final Duration duration) {
+        // Canvas frames are cheap enough to draw at the display's rate
+        super(window.isCanvasMode() ? 60 : 24);
+        this.window = window;
+        this.timeline = timeline;
+
+        if (window.isCanvasMode()) {
+            this.graphics = null;
+            this.canvas = window.createCanvasRenderer(timeline);
+        } else {
+            this.graphics = window.recreateShapes(timeline);
+            this.canvas = null;
+        }
+
+        this.setCycleDuration(duration);
+        this.setInterpolator(Interpolator.LINEAR);
+    }
+
+    @Override
+    protected void interpolate(final double frac) {
+        double sweepY = this.window.getBounds().getMaxY() * (1 - frac) - 2 * this.window.getBounds().getMinY() * frac;
+        double sweepLineY = sweepY;
+        if (frac == 1) {
+            // Finish every cell, and leave the sweep line at the last event
+            sweepY = Double.NEGATIVE_INFINITY;
+            if (this.timeline.getEventCount() > 0)
+                sweepLineY = this.timeline.getEventY(this.timeline.getEventCount() - 1);
+        }
+
+        if (this.canvas != null) {
+            this.canvas.draw(sweepY, sweepLineY);
+        } else {
+            this.window.drawTimeline(this.graphics, sweepY);
+            this.window.drawSweepLine(this.graphics.getSweepLine(), sweepLineY);
+        }
+    }
+
+}
@@ -4,7 +4,6 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
-import javafx.geometry.Point2D;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Line;
 import javafx.scene.shape.Polygon;
@@ -14,6 +13,7 @@ import javafx.scene.text.Text;
 import voronoi.algorithm.CircleEvent;
 import voronoi.algorithm.dcel.Edge;
 import voronoi.algorithm.dcel.Face;
+import voronoi.util.Point2D;
 
 class GraphicsState {
     private Line topLine;
@@ -120,6 +120,13 @@ class GraphicsState {
         private final Shape line;
         private final Text label;
 
+        /**
+         * Where the points of a parabola were sampled into the frame's sample
+         * buffer, as the index of the first point and the number of points
+         */
+        private int sampleStart;
+        private int sampleCount;
+
         BeachLineGraphics(final Shape line, final Text label) {
             this.line = line;
             this.label = label;
@@ -132,6 +139,19 @@ class GraphicsState {
         public Text getLabel() {
             return label;
         }
+
+        public int getSampleStart() {
+            return sampleStart;
+        }
+
+        public int getSampleCount() {
+            return sampleCount;
+        }
+
+        public void setSamples(final int sampleStart, final int sampleCount) {
+            this.sampleStart = sampleStart;
+            this.sampleCount = sampleCount;
+        }
     }
 
     static class FaceGraphics {
@@ -0,0 +1,88 @@
+package voronoi.render;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.Shape;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Keeps the shapes removed from the scene, so that they can be reused for new
+ * elements of the diagram instead of being allocated again. Every shape taken
+ * from the pool has its paint and stroke width reset and is made visible again,
+ * and its geometry is left for the caller to set.
+ */
+class ShapePool {
+    private final Deque<Polygon> polygons = new ArrayDeque<>();
+    private final Deque<Polyline> polylines = new ArrayDeque<>();
+    private final Deque<Line> lines = new ArrayDeque<>();
+    private final Deque<Circle> circles = new ArrayDeque<>();
+    private final Deque<Text> texts = new ArrayDeque<>();
+
+    public Polygon polygon(final Paint fill, final Paint stroke) {
+        final Polygon polygon = polygons.isEmpty() ? new Polygon() : polygons.pop();
+        return style(polygon, fill, stroke, 1);
+    }
+
+    public Polyline polyline(final Paint stroke, final double strokeWidth) {
+        final Polyline polyline = polylines.isEmpty() ? new Polyline() : polylines.pop();
+        return style(polyline, null, stroke, strokeWidth);
+    }
+
+    public Line line(final Paint fill, final double strokeWidth) {
+        final Line line = lines.isEmpty() ? new Line() : lines.pop();
+        return style(line, fill, Color.BLACK, strokeWidth);
+    }
+
+    public Circle circle(final double radius, final Paint fill, final Paint stroke, final double strokeWidth) {
+        final Circle circle = circles.isEmpty() ? new Circle() : circles.pop();
+        circle.setRadius(radius);
+        return style(circle, fill, stroke, strokeWidth);
+    }
+
+    public Text text(final String string, final Paint fill) {
+        final Text text = texts.isEmpty() ? new Text() : texts.pop();
+        text.setText(string);
+        text.setTextAlignment(TextAlignment.LEFT);
+        return style(text, fill, null, 1);
+    }
+
+    private static <T extends Shape> T style(final T shape, final Paint fill, final Paint stroke,
+            final double strokeWidth) {
+        shape.setFill(fill);
+        shape.setStroke(stroke);
+        shape.setStrokeWidth(strokeWidth);
+        shape.setVisible(true);
+        return shape;
+    }
+
+    /**
+     * Returns a shape that has been removed from the scene to the pool. Null
+     * shapes are ignored.
+     *
+     * @param node - the shape to return
+     */
+    public void release(final Node node) {
+        if (node instanceof Polygon) {
+            ((Polygon) node).getPoints().clear();
+            polygons.push((Polygon) node);
+        } else if (node instanceof Polyline) {
+            ((Polyline) node).getPoints().clear();
+            polylines.push((Polyline) node);
+        } else if (node instanceof Line) {
+            lines.push((Line) node);
+        } else if (node instanceof Circle) {
+            circles.push((Circle) node);
+        } else if (node instanceof Text) {
+            texts.push((Text) node);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package voronoi.render;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import voronoi.algorithm.CircleEvent;
+import voronoi.algorithm.PointEvent;
+import voronoi.algorithm.SweepListener;
+import voronoi.algorithm.dcel.Edge;
+import voronoi.algorithm.dcel.Face;
+import voronoi.algorithm.dcel.ParabolaEdge;
+
+/**
+ * Collects the faces and circle events that a sweep adds and removes, so that
+ * the shapes drawing them can be brought up to date after an event without
+ * walking the whole diagram. Every notification is also passed on to a trace
+ * listener, if there is one.
+ */
+class SweepChanges implements SweepListener {
+    private final SweepListener trace;
+
+    /**
+     * The faces added and removed since the changes were last cleared. A face
+     * added and removed again in between is in neither set
+     */
+    private final Set<Face> addedFaces = new LinkedHashSet<>();
+    private final Set<Face> removedFaces = new LinkedHashSet<>();
+
+    /**
+     * The circle events queued, and processed or skipped, since the changes were
+     * last cleared. An event queued and taken off the queue again in between is
+     * in neither set
+     */
+    private final Set<CircleEvent> addedEvents = new LinkedHashSet<>();
+    private final Set<CircleEvent> removedEvents = new LinkedHashSet<>();
+
+    /**
+     * @param trace - the listener to pass every notification on to, or null
+     */
+    SweepChanges(final SweepListener trace) {
+        this.trace = trace;
+    }
+
+    public Set<Face> getAddedFaces() {
+        return addedFaces;
+    }
+
+    public Set<Face> getRemovedFaces() {
+        return removedFaces;
+    }
+
+    public Set<CircleEvent> getAddedEvents() {
+        return addedEvents;
+    }
+
+    public Set<CircleEvent> getRemovedEvents() {
+        return removedEvents;
+    }
+
+    /**
+     * Forgets the changes collected so far.
+     */
+    public void clear() {
+        addedFaces.clear();
+        removedFaces.clear();
+        addedEvents.clear();
+        removedEvents.clear();
+    }
+
+    private void addFace(final Face face) {
+        addedFaces.add(face);
+    }
+
+    private void removeFace(final Face face) {
+        if (!addedFaces.remove(face))
+            removedFaces.add(face);
+    }
+
+    private void removeEvent(final CircleEvent event) {
+        if (!addedEvents.remove(event))
+            removedEvents.add(event);
+    }
+
+    @Override
+    public void siteEvent(final PointEvent event) {
+        if (trace != null)
+            trace.siteEvent(event);
+    }
+
+    @Override
+    public void circleEvent(final CircleEvent event) {
+        removeEvent(event);
+        if (trace != null)
+            trace.circleEvent(event);
+    }
+
+    @Override
+    public void circleEventAdded(final CircleEvent event) {
+        addedEvents.add(event);
+        if (trace != null)
+            trace.circleEventAdded(event);
+    }
+
+    @Override
+    public void circleEventSkipped(final CircleEvent event) {
+        removeEvent(event);
+        if (trace != null)
+            trace.circleEventSkipped(event);
+    }
+
+    @Override
+    public void arcSplit(final Edge arc, final ParabolaEdge newArc) {
+        addFace(newArc.getTwin().getInteriorFace());
+        if (trace != null)
+            trace.arcSplit(arc, newArc);
+    }
+
+    @Override
+    public void topSplit(final Edge edge, final boolean right) {
+        if (trace != null)
+            trace.topSplit(edge, right);
+    }
+
+    @Override
+    public void topFaceSplit(final Face face, final Edge topEdge) {
+        addFace(topEdge.getTwin().getInteriorFace());
+        if (trace != null)
+            trace.topFaceSplit(face, topEdge);
+    }
+
+    @Override
+    public void faceDissolve(final Edge edge, final Face joinedFace, final Face removedFace) {
+        removeFace(removedFace);
+        if (trace != null)
+            trace.faceDissolve(edge, joinedFace, removedFace);
+    }
+
+    @Override
+    public void finished() {
+        if (trace != null)
+            trace.finished();
+    }
+}
@@ -0,0 +1,56 @@
+package voronoi.render;
+
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.text.Text;
+
+import voronoi.algorithm.SweepTimeline;
+
+/**
+ * The shapes that draw a {@link SweepTimeline}, indexed by site. The shapes are
+ * created once for the whole timeline, and only those of changed cells are
+ * updated as it plays.
+ */
+class TimelineGraphics {
+    private final SweepTimeline.Cursor cursor;
+    private final Polygon[] faces;
+    private final Polygon[] insets;
+    private final Text[] labels;
+    private final Polyline beachLine;
+    private final Line sweepLine;
+
+    TimelineGraphics(final SweepTimeline.Cursor cursor, final Polygon[] faces, final Polygon[] insets,
+            final Text[] labels, final Polyline beachLine, final Line sweepLine) {
+        this.cursor = cursor;
+        this.faces = faces;
+        this.insets = insets;
+        this.labels = labels;
+        this.beachLine = beachLine;
+        this.sweepLine = sweepLine;
+    }
+
+    public SweepTimeline.Cursor getCursor() {
+        return cursor;
+    }
+
+    public Polygon getFace(final int site) {
+        return faces[site];
+    }
+
+    public Polygon getInset(final int site) {
+        return insets[site];
+    }
+
+    public Text getLabel(final int site) {
+        return labels[site];
+    }
+
+    public Polyline getBeachLine() {
+        return beachLine;
+    }
+
+    public Line getSweepLine() {
+        return sweepLine;
+    }
+}
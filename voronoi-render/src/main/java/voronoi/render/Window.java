@@ -0,0 +1,1221 @@
+package voronoi.render;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javafx.animation.Transition;
+import javafx.application.Application;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.Shape;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import voronoi.algorithm.CircleEvent;
+import voronoi.algorithm.PointEvent;
+import voronoi.algorithm.PrintSweepListener;
+import voronoi.algorithm.SweepHistory;
+import voronoi.algorithm.SweepTimeline;
+import voronoi.algorithm.Voronoi;
+import voronoi.algorithm.dcel.Edge;
+import voronoi.algorithm.dcel.Face;
+import voronoi.algorithm.dcel.ParabolaEdge;
+import voronoi.algorithm.dcel.Vertex;
+import voronoi.util.Line2D;
+import voronoi.util.Point2D;
+import voronoi.util.Rectangle2D;
+import voronoi.util.Util;
+
+public class Window extends Application {
+
+    private static final Random rand = new Random(11610);
+
+    private static final boolean AUTO_MODE = true;
+    private static final double ANIMATION_LENGTH = 20;
+    private static final boolean REPEAT_ANIMATION = false;
+    private static final boolean REGENERATE_POINTS = true;
+    private static final boolean SHOW_HASHCODES = false;
+    private static final boolean SHOW_POINTS = true;
+    private static final boolean SHOW_POINT_LABELS = true;
+    private static final boolean SHOW_CIRCLES = false;
+    private static final boolean SHOW_MISSING_CIRCLES = false;
+    private static final boolean SHOW_INSETS = true;
+    private static final double INSET_DISTANCE = 8;
+    private static final boolean JITTER_EDGES = false;
+    private static final boolean COLOR_MODE = true;
+    static final boolean TRACE_SWEEP = false;
+
+    private static final int NUM_POINTS = 64;
+    private static final int HISTORY_INTERVAL = 16;
+    private static final int HISTORY_CHECKPOINTS = 64;
+    private static final int PARABOLA_SEGMENTS = 32;
+    private static final int BEACH_LINE_SAMPLES = 256;
+    private static final double PARABOLA_TOLERANCE = 0.25;
+    private static final int MAX_PARABOLA_SEGMENTS = 128;
+    private static final int SCREEN_WIDTH = 1920;
+    private static final int SCREEN_HEIGHT = 1000;
+
+    private final Rectangle2D bounds;
+    private Voronoi voronoi;
+    private final List<Point2D> points;
+
+    /**
+     * The checkpoints of the sweep, used to step backward in interactive mode
+     */
+    private SweepHistory history;
+
+    /**
+     * The recorded sweep, played back in auto mode
+     */
+    private SweepTimeline timeline;
+
+    private int numPoints;
+
+    /**
+     * Whether or not the animation is drawn by a {@link CanvasRenderer}
+     */
+    private boolean canvasMode;
+
+    private Pane mainPanel;
+
+    /**
+     * The layers of the scene, from back to front, and the top border, which
+     * are kept across events
+     */
+    private final Line topLine = new Line();
+    private final Group faceLayer = new Group();
+    private final Group beachLineLayer = new Group();
+    private final Group pointLayer = new Group();
+    private final Group eventLayer = new Group();
+
+    /**
+     * The shapes of the diagram, updated in place after each event, or null if
+     * they have not been created yet
+     */
+    private GraphicsState graphicsState;
+
+    private final ShapePool shapePool = new ShapePool();
+
+    /**
+     * The faces and circle events added and removed by the sweep since the shapes
+     * were last brought up to date, which passes every change on to a printing
+     * listener when the sweep is traced
+     */
+    private final SweepChanges sweepChanges = new SweepChanges(
+            TRACE_SWEEP ? new PrintSweepListener(System.out) : null);
+
+    /**
+     * The diagram the shapes were made for, and the next event of its sweep when
+     * they were last brought up to date
+     */
+    private Voronoi shapedVoronoi;
+    private PointEvent shownNext;
+
+    /**
+     * The events the beach line could generate but that are not queued, which are
+     * drawn with the queued events when {@link #SHOW_MISSING_CIRCLES} is set
+     */
+    private final Set<CircleEvent> missingCircles = new HashSet<>();
+
+    /**
+     * The points sampled on the parabolas of the beach line in the current frame,
+     * alternating x and y, which are reused from frame to frame
+     */
+    private double[] parabolaSamples = new double[1024];
+    private int parabolaSampleCount;
+    private final DoubleArrayView parabolaView = new DoubleArrayView();
+
+    /**
+     * The points of the outline of the face being drawn, alternating x and y,
+     * which are reused from face to face and from frame to frame
+     */
+    private double[] faceOutline = new double[256];
+    private final DoubleArrayView faceView = new DoubleArrayView();
+
+    /**
+     * The points sampled on the beach line of a recorded sweep, alternating x and
+     * y
+     */
+    private final double[] beachLineSamples = new double[(BEACH_LINE_SAMPLES + 1) * 2];
+
+    private Transition activeTransition = null;
+
+    public Window() {
+        final double leftSide = Math.min(100, SCREEN_WIDTH * 0.5);
+        final double rightSide = Math.max(SCREEN_WIDTH - 100, SCREEN_WIDTH * 0.5);
+        final double topSide = SCREEN_HEIGHT * 0.2;
+        final double bottomSide = SCREEN_HEIGHT * 0.8;
+
+        this.bounds = new Rectangle2D(leftSide, topSide, rightSide - leftSide, bottomSide - topSide);
+
+        this.points = new ArrayList<>();
+    }
+
+    /**
+     * Reads the startup parameters, and generates the sites. The number of sites
+     * is given by {@code --points=<n>}, and {@code --renderer=canvas} draws the
+     * animation onto a canvas instead of with a node per shape, for large
+     * diagrams.
+     */
+    @Override
+    public void init() {
+        final Map<String, String> parameters = getParameters().getNamed();
+        this.numPoints = Integer.parseInt(parameters.getOrDefault("points", Integer.toString(NUM_POINTS)));
+        if (numPoints < 1)
+            throw new IllegalArgumentException("Number of points must be positive");
+        this.canvasMode = "canvas".equals(parameters.get("renderer"));
+
+        Stream.generate(
+                () -> new Point2D(rand.nextDouble() * bounds.getWidth() + bounds.getMinX(),
+                        rand.nextDouble() * bounds.getHeight() + bounds.getMinY()))
+                .limit(numPoints)
+                .forEach(points::add);
+
+        this.voronoi = createVoronoi();
+        if (TRACE_SWEEP)
+            this.voronoi.dump(null);
+    }
+
+    @Override
+    public void start(final Stage stage) throws Exception {
+        mainPanel = new Pane();
+
+        final Scene s = new Scene(mainPanel, SCREEN_WIDTH, SCREEN_HEIGHT);
+        stage.setScene(s);
+
+        stage.setX(0);
+        stage.setY(0);
+        stage.show();
+
+        if (AUTO_MODE) {
+            timeline = new SweepTimeline(points, bounds);
+            final Transition trans = new FullVoronoiTransition(this, timeline, Duration.seconds(ANIMATION_LENGTH));
+            trans.setDelay(Duration.seconds(1));
+            trans.play();
+
+            if (REPEAT_ANIMATION) {
+                trans.setOnFinished(new EventHandler<ActionEvent>() {
+
+                    @Override
+                    public void handle(final ActionEvent event) {
+
+                        if (REGENERATE_POINTS) {
+                            Window.this.points.clear();
+                            Stream.generate(
+                                    () -> new Point2D(
+                                            rand.nextDouble() * Window.this.bounds.getWidth()
+                                                    + Window.this.bounds.getMinX(),
+                                            rand.nextDouble() * Window.this.bounds.getHeight()
+                                                    + Window.this.bounds.getMinY()))
+                                    .limit(Window.this.numPoints)
+                                    .forEach(Window.this.points::add);
+                        } else {
+                            Window.this.points.add(new Point2D(
+                                    rand.nextDouble() * Window.this.bounds.getWidth() + Window.this.bounds.getMinX(),
+                                    rand.nextDouble() * Window.this.bounds.getHeight() + Window.this.bounds.getMinY()));
+                        }
+
+                        Window.this.timeline = new SweepTimeline(Window.this.points, Window.this.bounds);
+
+                        final Transition t = new FullVoronoiTransition(Window.this, Window.this.timeline,
+                                Duration.seconds(ANIMATION_LENGTH));
+                        t.setDelay(Duration.seconds(1));
+                        t.setOnFinished(this);
+                        t.play();
+                    }
+
+                });
+            }
+        } else {
+            recreateShapes(bounds.getMaxY());
+            history = new SweepHistory(voronoi, HISTORY_INTERVAL, HISTORY_CHECKPOINTS);
+
+            mainPanel.setOnMouseClicked(mouseeevent -> {
+                if (mouseeevent.getButton() == MouseButton.SECONDARY) {
+                    // Step back by returning to the state before the previous event, and handling
+                    // that event again to find its height
+                    final int step = history.getStep();
+                    if (step == 0)
+                        return;
+
+                    history.seek(step - 2);
+                    final PointEvent event = step > 1 ? history.step() : null;
+                    voronoi = history.getVoronoi();
+                    voronoi.setSweepListener(sweepChanges);
+
+                    if (event != null) {
+                        showEvent(event);
+                    } else {
+                        if (activeTransition != null)
+                            activeTransition.stop();
+                        recreateShapes(bounds.getMaxY());
+                    }
+                } else {
+                    final PointEvent event = history.step();
+                    if (event != null)
+                        showEvent(event);
+                }
+            });
+        }
+    }
+
+    /**
+     * Redraws the diagram after the given event, and animates the sweep line down
+     * to the next event.
+     *
+     * @param event - the event that was just processed
+     */
+    private void showEvent(final PointEvent event) {
+        final double eventY = event.point.getY();
+        final double nextY = voronoi.hasEvents() ? voronoi.nextEvent().point.getY() : eventY;
+
+        if (TRACE_SWEEP)
+            voronoi.dump(eventY);
+
+        final GraphicsState gs = recreateShapes(eventY);
+
+        final double duration = Math.min(2.4, Math.abs(nextY - eventY) / 120 + 0.2);
+
+        if (activeTransition != null)
+            activeTransition.stop();
+        activeTransition = new VoronoiTransition(this, gs, eventY, nextY, Duration.seconds(duration));
+        activeTransition.play();
+        activeTransition.setOnFinished(finished -> Window.this.activeTransition = null);
+    }
+
+    private Voronoi createVoronoi() {
+        final Voronoi voronoi = new Voronoi(this.points, this.bounds);
+        voronoi.setSweepListener(sweepChanges);
+        return voronoi;
+    }
+
+    /**
+     * Brings the shapes of the diagram up to date with the sweep, and draws them
+     * at the given height of the sweep line. The shapes are kept from one call to
+     * the next, keyed by the faces, edges, points and circle events they draw.
+     * Faces and circle events get or lose their shapes as the {@link SweepChanges}
+     * listening to the sweep reports them added or removed, and removed shapes are
+     * pooled for reuse. Only a diagram that has been replaced, or shapes that have
+     * not been created yet, are made from the whole diagram.
+     *
+     * @param sweepLineHeight - the height of the sweep line
+     * @return the shapes of the diagram
+     */
+    public GraphicsState recreateShapes(final double sweepLineHeight) {
+        final boolean fresh = graphicsState == null || voronoi != shapedVoronoi;
+        if (graphicsState == null) {
+            graphicsState = new GraphicsState();
+            graphicsState.setSweepLine(new Line());
+            topLine.setStroke(Color.DARKGRAY);
+            this.mainPanel.getChildren().setAll(topLine, faceLayer, beachLineLayer, pointLayer, eventLayer,
+                    graphicsState.getSweepLine());
+        }
+        final GraphicsState gs = graphicsState;
+
+        topLine.setVisible(voronoi.getTopBorder() != null);
+        gs.setTopLine(voronoi.getTopBorder() != null ? topLine : null);
+
+        // The events the beach line could generate are found by walking it, so they
+        // are found again every time, and their shapes are set aside to be reused
+        final Map<CircleEvent, GraphicsState.EventGraphics> oldMissing = new HashMap<>();
+        for (final CircleEvent cevent : missingCircles) {
+            final GraphicsState.EventGraphics graphics = gs.getCircleEvents().remove(cevent);
+            if (graphics != null)
+                oldMissing.put(cevent, graphics);
+        }
+        missingCircles.clear();
+
+        final PointEvent next = voronoi.hasEvents() ? voronoi.nextEvent() : null;
+        if (fresh) {
+            createShapes(gs, next);
+            shapedVoronoi = voronoi;
+        } else {
+            updateShapes(gs, next);
+        }
+        sweepChanges.clear();
+
+        // The beach line is walked in order every time, since drawing it depends on
+        // the order, but only new edges get new shapes
+        final Map<Edge, GraphicsState.BeachLineGraphics> oldBeachLine = new IdentityHashMap<>(gs.getBeachLine());
+        gs.getBeachLine().clear();
+        final List<Edge> beachLineEdges = new ArrayList<>();
+        final List<Node> addedBeachLine = new ArrayList<>();
+
+        if (voronoi.getTopBorder() != null) {
+            Edge g = voronoi.getTopBorder().getNext().getNext();
+            do {
+                if (g.getPrevious() != voronoi.getTopBorder() && g != voronoi.getTopBorder()
+                        && g.getNext() != voronoi.getTopBorder())
+                    beachLineEdges.add(g);
+
+                final GraphicsState.BeachLineGraphics existing = oldBeachLine.remove(g);
+                if (existing != null) {
+                    gs.getBeachLine().put(g, existing);
+                } else if (g instanceof ParabolaEdge) {
+                    final Point2D focus = ((ParabolaEdge) g).focus;
+
+                    final Color c = COLOR_MODE ? Color.hsb(getHueOfPoint(focus), 1, 0.75)
+                            : Color.BLACK;
+                    final Polyline parabola = shapePool.polyline(c, 2);
+                    addedBeachLine.add(parabola);
+
+                    Text text = null;
+                    if (SHOW_HASHCODES) {
+                        text = shapePool.text(String.format("%08x", g.hashCode()), c);
+                        text.setTextAlignment(TextAlignment.CENTER);
+                        addedBeachLine.add(text);
+                    }
+
+                    gs.putBeachLine(g, parabola, text);
+                } else {
+                    final Line line = shapePool.line(Color.DARKGRAY, 2);
+                    addedBeachLine.add(line);
+
+                    Text text = null;
+                    if (SHOW_HASHCODES) {
+                        text = shapePool.text(String.format("%08x", g.hashCode()), Color.DARKGRAY);
+                        text.setTextAlignment(TextAlignment.CENTER);
+                        addedBeachLine.add(text);
+                    }
+
+                    gs.putBeachLine(g, line, text);
+                }
+                g = g.getNext();
+            } while (g != voronoi.getTopBorder().getNext().getNext());
+        }
+
+        final Set<Node> removedBeachLine = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final GraphicsState.BeachLineGraphics old : oldBeachLine.values())
+            release(removedBeachLine, old.getLine(), old.getLabel());
+        beachLineLayer.getChildren().removeAll(removedBeachLine);
+        beachLineLayer.getChildren().addAll(addedBeachLine);
+
+        if (SHOW_MISSING_CIRCLES) {
+            final List<Node> addedEvents = new ArrayList<>();
+
+            for (final Edge edge : beachLineEdges) {
+                if (CircleEvent.canGenerateEvent(edge)) {
+                    final CircleEvent cevent = new CircleEvent(edge);
+                    if (gs.getCircleEvents().containsKey(cevent))
+                        continue;
+
+                    GraphicsState.EventGraphics graphics = oldMissing.remove(cevent);
+                    if (graphics == null) {
+                        final Circle circle = shapePool.circle(0, null, null, 1);
+                        final Circle eventPt = shapePool.circle(2, null, null, 1);
+                        final Text label = shapePool.text(String.format("%08x", cevent.hashCode()), Color.BLACK);
+                        final Circle center = shapePool.circle(2, null, null, 1);
+                        addedEvents.addAll(Arrays.asList(circle, eventPt, center));
+
+                        gs.putCircleEvent(cevent, circle, eventPt, label, center);
+                        graphics = gs.getCircleEvents().get(cevent);
+                    } else {
+                        gs.getCircleEvents().put(cevent, graphics);
+                    }
+                    missingCircles.add(cevent);
+
+                    graphics.getCircle().setStroke(COLOR_MODE ? Color.SALMON : Color.BLACK);
+                    graphics.getCircle().setStrokeWidth(1);
+                    graphics.getEventPoint().setRadius(2);
+                    graphics.getEventPoint().setFill(COLOR_MODE ? Color.RED : Color.BLACK);
+                    graphics.getEventCenter().setRadius(2);
+                    graphics.getEventCenter().setFill(COLOR_MODE ? Color.MEDIUMPURPLE : Color.BLACK);
+                }
+            }
+
+            final Set<Node> removedEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (final GraphicsState.EventGraphics old : oldMissing.values())
+                release(removedEvents, old.getCircle(), old.getEventPoint(), old.getEventLabel(),
+                        old.getEventCenter());
+            eventLayer.getChildren().removeAll(removedEvents);
+            eventLayer.getChildren().addAll(addedEvents);
+        }
+
+        drawGraphicsState(gs, sweepLineHeight);
+
+        return gs;
+    }
+
+    /**
+     * Replaces the shapes of the faces, points and circle events with new ones for
+     * the whole of the current diagram.
+     *
+     * @param gs   - the shapes of the diagram
+     * @param next - the next event of the sweep, or null
+     */
+    private void createShapes(final GraphicsState gs, final PointEvent next) {
+        final Set<Node> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final GraphicsState.FaceGraphics old : gs.getFaces().values())
+            release(removed, old.getFace(), old.getInset(), old.getLabel());
+        for (final GraphicsState.PointGraphics old : gs.getPoints().values())
+            release(removed, old.getPoint(), old.getLabel());
+        for (final GraphicsState.EventGraphics old : gs.getCircleEvents().values())
+            release(removed, old.getCircle(), old.getEventPoint(), old.getEventLabel(), old.getEventCenter());
+        gs.getFaces().clear();
+        gs.getPoints().clear();
+        gs.getCircleEvents().clear();
+        faceLayer.getChildren().removeAll(removed);
+        pointLayer.getChildren().removeAll(removed);
+        eventLayer.getChildren().removeAll(removed);
+
+        final List<Node> addedFaces = new ArrayList<>();
+        for (final Face f : voronoi.getFaces()) {
+            if (!voronoi.isSpecialFace(f))
+                addFaceShapes(gs, f, addedFaces);
+        }
+        faceLayer.getChildren().addAll(addedFaces);
+
+        if (SHOW_POINTS) {
+            for (final Point2D p : voronoi.getPoints()) {
+                final Color fill = COLOR_MODE ? Color.hsb(getHueOfPoint(p), 1, 0.75) : Color.BLACK;
+                final Circle point = shapePool.circle(next != null && p == next.point ? 4 : 3, fill, null, 1);
+                pointLayer.getChildren().add(point);
+
+                Text label = null;
+                if (SHOW_POINT_LABELS) {
+                    label = shapePool.text(String.format("(%.4g, %.4g)", p.getX(), p.getY()), fill);
+                    pointLayer.getChildren().add(label);
+                }
+
+                gs.putPoint(p, point, label);
+            }
+        }
+
+        if (SHOW_CIRCLES) {
+            final List<Node> addedEvents = new ArrayList<>();
+            for (final PointEvent p : voronoi.getEvents()) {
+                if (p instanceof CircleEvent)
+                    addCircleEventShapes(gs, (CircleEvent) p, p == next, addedEvents);
+            }
+            eventLayer.getChildren().addAll(addedEvents);
+        }
+        shownNext = next;
+    }
+
+    /**
+     * Adds and removes the shapes of the faces and circle events that the sweep
+     * added and removed since the shapes were last brought up to date, and marks
+     * the point and circle event of the new next event.
+     *
+     * @param gs   - the shapes of the diagram
+     * @param next - the next event of the sweep, or null
+     */
+    private void updateShapes(final GraphicsState gs, final PointEvent next) {
+        final Set<Node> removedFaces = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Face f : sweepChanges.getRemovedFaces()) {
+            final GraphicsState.FaceGraphics old = gs.getFaces().remove(f);
+            if (old != null)
+                release(removedFaces, old.getFace(), old.getInset(), old.getLabel());
+        }
+        faceLayer.getChildren().removeAll(removedFaces);
+
+        final List<Node> addedFaces = new ArrayList<>();
+        for (final Face f : sweepChanges.getAddedFaces()) {
+            if (!voronoi.isSpecialFace(f) && !gs.getFaces().containsKey(f))
+                addFaceShapes(gs, f, addedFaces);
+        }
+        faceLayer.getChildren().addAll(addedFaces);
+
+        if (SHOW_CIRCLES) {
+            // Cancelled events stay queued until they are skipped, but are not drawn
+            final Set<Node> removedEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (final CircleEvent cevent : sweepChanges.getRemovedEvents()) {
+                final GraphicsState.EventGraphics old = gs.getCircleEvents().remove(cevent);
+                if (old != null)
+                    release(removedEvents, old.getCircle(), old.getEventPoint(), old.getEventLabel(),
+                            old.getEventCenter());
+            }
+            gs.getCircleEvents().entrySet().removeIf(entry -> {
+                if (!entry.getKey().isCancelled())
+                    return false;
+                final GraphicsState.EventGraphics old = entry.getValue();
+                release(removedEvents, old.getCircle(), old.getEventPoint(), old.getEventLabel(),
+                        old.getEventCenter());
+                return true;
+            });
+            eventLayer.getChildren().removeAll(removedEvents);
+
+            final List<Node> addedEvents = new ArrayList<>();
+            for (final CircleEvent cevent : sweepChanges.getAddedEvents()) {
+                if (!cevent.isCancelled() && !gs.getCircleEvents().containsKey(cevent))
+                    addCircleEventShapes(gs, cevent, cevent == next, addedEvents);
+            }
+            eventLayer.getChildren().addAll(addedEvents);
+        }
+
+        if (next != shownNext) {
+            markNext(gs, shownNext, false);
+            markNext(gs, next, true);
+            shownNext = next;
+        }
+    }
+
+    private void addFaceShapes(final GraphicsState gs, final Face f, final List<Node> added) {
+        Color fill, stroke;
+        if (COLOR_MODE) {
+            final double hue = getHueOfPoint(f.getContainedPoint());
+            final double brightness = hue < 0 ? 0 : 0.75;
+            fill = Color.hsb(hue, 0.5, brightness, hue < 0 ? 0.05 : 0.2);
+            stroke = Color.hsb(hue, 0.5, brightness);
+        } else {
+            fill = null;
+            stroke = Color.BLACK;
+        }
+        final Polygon poly = shapePool.polygon(fill, COLOR_MODE || !SHOW_INSETS ? stroke : null);
+        added.add(poly);
+
+        Polygon inset = null;
+        if (SHOW_INSETS) {
+            inset = shapePool.polygon(fill, stroke);
+            added.add(inset);
+        }
+
+        Text label = null;
+        if (SHOW_HASHCODES) {
+            label = shapePool.text(String.format("%08x", f.hashCode()), stroke);
+            added.add(label);
+        }
+
+        gs.putFace(f, poly, inset, label);
+    }
+
+    private void addCircleEventShapes(final GraphicsState gs, final CircleEvent cevent, final boolean isNext,
+            final List<Node> added) {
+        final Circle circle = shapePool.circle(0, null, null, 1);
+        final Circle eventPt = shapePool.circle(0, null, null, 1);
+        final Text label = shapePool.text(String.format("%08x", cevent.hashCode()), Color.BLACK);
+        final Circle center = shapePool.circle(0, null, null, 1);
+        added.addAll(Arrays.asList(circle, eventPt, center));
+        if (SHOW_HASHCODES)
+            added.add(label);
+
+        gs.putCircleEvent(cevent, circle, eventPt, label, center);
+        styleCircleEvent(gs.getCircleEvents().get(cevent), isNext);
+    }
+
+    private static void styleCircleEvent(final GraphicsState.EventGraphics graphics, final boolean isNext) {
+        graphics.getCircle().setStroke(COLOR_MODE ? Color.LIGHTGREEN : Color.BLACK);
+        graphics.getCircle().setStrokeWidth(isNext ? 2 : 1);
+        graphics.getEventPoint().setRadius(isNext ? 4 : 2);
+        graphics.getEventPoint().setFill(COLOR_MODE ? Color.LIME : Color.BLACK);
+        graphics.getEventCenter().setRadius(isNext ? 4 : 2);
+        graphics.getEventCenter().setFill(COLOR_MODE ? isNext ? Color.DODGERBLUE : Color.BLUE : Color.BLACK);
+    }
+
+    /**
+     * Marks or unmarks the shapes of the given event as those of the next event.
+     *
+     * @param gs     - the shapes of the diagram
+     * @param event  - the event, or null
+     * @param isNext - whether the event is the next event
+     */
+    private void markNext(final GraphicsState gs, final PointEvent event, final boolean isNext) {
+        if (event == null)
+            return;
+        if (gs.getPoints().containsKey(event.point))
+            gs.getPoint(event.point).setRadius(isNext ? 4 : 3);
+        if (event instanceof CircleEvent) {
+            final GraphicsState.EventGraphics graphics = gs.getCircleEvents().get(event);
+            if (graphics != null)
+                styleCircleEvent(graphics, isNext);
+        }
+    }
+
+    /**
+     * Returns the given shapes to the pool, and adds them to the set of shapes to
+     * remove from the scene. Null shapes are skipped.
+     */
+    private void release(final Set<Node> removed, final Node... nodes) {
+        for (final Node node : nodes) {
+            if (node != null) {
+                removed.add(node);
+                shapePool.release(node);
+            }
+        }
+    }
+
+    /**
+     * Creates the shapes for playing back the given timeline, one set per site,
+     * and draws the start of the sweep.
+     *
+     * @param timeline - the recorded sweep
+     * @return the shapes, with a new cursor on the timeline
+     */
+    public TimelineGraphics recreateShapes(final SweepTimeline timeline) {
+        final List<Node> childList = new ArrayList<>();
+
+        final int n = timeline.getSiteCount();
+        final Polygon[] faces = new Polygon[n];
+        final Polygon[] insets = new Polygon[n];
+        final Text[] labels = new Text[n];
+        for (int site = 0; site < n; site++) {
+            final Point2D p = points.get(site);
+
+            final Polygon poly = new Polygon();
+            Color fill, stroke;
+            if (COLOR_MODE) {
+                final double hue = getHueOfPoint(p);
+                fill = Color.hsb(hue, 0.5, 0.75, 0.2);
+                stroke = Color.hsb(hue, 0.5, 0.75);
+                poly.setStroke(stroke);
+            } else {
+                fill = null;
+                stroke = Color.BLACK;
+                poly.setStroke(SHOW_INSETS ? null : stroke);
+            }
+            poly.setFill(fill);
+            childList.add(poly);
+            faces[site] = poly;
+
+            if (SHOW_INSETS) {
+                insets[site] = new Polygon();
+                insets[site].setFill(fill);
+                insets[site].setStroke(stroke);
+                childList.add(insets[site]);
+            }
+
+            if (SHOW_HASHCODES) {
+                labels[site] = new Text(String.format("%08x", p.hashCode()));
+                labels[site].setFill(stroke);
+                labels[site].setVisible(false);
+                childList.add(labels[site]);
+            }
+        }
+
+        final Polyline beachLine = new Polyline();
+        beachLine.setStroke(Color.DARKGRAY);
+        beachLine.setStrokeWidth(2);
+        childList.add(beachLine);
+
+        if (SHOW_POINTS) {
+            for (final Point2D p : points) {
+                final Color fill = COLOR_MODE ? Color.hsb(getHueOfPoint(p), 1, 0.75) : Color.BLACK;
+                childList.add(new Circle(p.getX(), p.getY(), 3, fill));
+
+                if (SHOW_POINT_LABELS) {
+                    final Text label = new Text(p.getX() + 4, p.getY() - 4,
+                            String.format("(%.4g, %.4g)", p.getX(), p.getY()));
+                    label.setFill(fill);
+                    childList.add(label);
+                }
+            }
+        }
+
+        final Line sweepLine = new Line();
+        childList.add(sweepLine);
+
+        // The timeline has shapes of its own, so the diagram's shapes start over
+        graphicsState = null;
+        for (final Group layer : Arrays.asList(faceLayer, beachLineLayer, pointLayer, eventLayer))
+            layer.getChildren().clear();
+
+        final TimelineGraphics tg = new TimelineGraphics(timeline.cursor(), faces, insets, labels, beachLine,
+                sweepLine);
+        drawTimeline(tg, bounds.getMaxY());
+
+        this.mainPanel.getChildren().setAll(childList);
+
+        return tg;
+    }
+
+    /**
+     * Replaces the scene with the canvases of a new canvas renderer for the given
+     * timeline.
+     *
+     * @param timeline - the recorded sweep
+     * @return the renderer
+     */
+    public CanvasRenderer createCanvasRenderer(final SweepTimeline timeline) {
+        // The hues are computed directly, since looking each point up in the list would
+        // take quadratic time on large diagrams
+        final double[] hues = new double[points.size()];
+        for (int i = 0; i < hues.length; i++)
+            hues[i] = COLOR_MODE ? hueOf(points.get(i)) : -1;
+
+        final CanvasRenderer renderer = new CanvasRenderer(timeline, points, hues, SCREEN_WIDTH, SCREEN_HEIGHT,
+                SHOW_POINTS, SHOW_CIRCLES);
+        graphicsState = null;
+        this.mainPanel.getChildren().setAll(renderer.getLayers());
+        renderer.draw(bounds.getMaxY(), bounds.getMaxY());
+        return renderer;
+    }
+
+    /**
+     * Draws the state of a recorded sweep at the given height of the sweep line.
+     * Only the cells that appear, are finished or are crossed by the beach line
+     * are redrawn. The sweep line is only moved if the height is finite.
+     *
+     * @param tg     - the shapes of the timeline
+     * @param sweepY - the height of the sweep line
+     */
+    public void drawTimeline(final TimelineGraphics tg, final double sweepY) {
+        final SweepTimeline.Cursor cursor = tg.getCursor();
+        cursor.moveTo(sweepY);
+
+        for (int i = 0; i < cursor.getChangedCount(); i++) {
+            final int site = cursor.getChanged(i);
+            if (cursor.getState(site) != SweepTimeline.ACTIVE)
+                drawTimelineFace(tg, site);
+        }
+        for (int i = 0; i < cursor.getActiveCount(); i++)
+            drawTimelineFace(tg, cursor.getActive(i));
+
+        // Every arc of the beach line belongs to a cell it is crossing, so the beach
+        // line is the lowest of the parabolas of the active cells
+        int samples = 0;
+        if (cursor.getActiveCount() > 0) {
+            for (int i = 0; i <= BEACH_LINE_SAMPLES; i++) {
+                final double x = bounds.getMinX() + bounds.getWidth() * i / BEACH_LINE_SAMPLES;
+                double y = Double.POSITIVE_INFINITY;
+                for (int j = 0; j < cursor.getActiveCount(); j++) {
+                    final int site = cursor.getActive(j);
+                    y = Math.min(y, Util.beachLineHeightForPoint(x, points.get(site), sweepY));
+                }
+                beachLineSamples[samples++] = x;
+                beachLineSamples[samples++] = Math.max(y, bounds.getMinY());
+            }
+        }
+        tg.getBeachLine().getPoints().setAll(parabolaView.view(beachLineSamples, 0, samples));
+
+        if (Double.isFinite(sweepY))
+            drawSweepLine(tg.getSweepLine(), sweepY);
+    }
+
+    /**
+     * Moves the given sweep line to the given height.
+     *
+     * @param sweepLine - the sweep line
+     * @param sweepY    - the height of the sweep line
+     */
+    public void drawSweepLine(final Line sweepLine, final double sweepY) {
+        sweepLine.setStartX(0);
+        sweepLine.setStartY(sweepY);
+        sweepLine.setEndX(SCREEN_WIDTH);
+        sweepLine.setEndY(sweepY);
+    }
+
+    private void drawTimelineFace(final TimelineGraphics tg, final int site) {
+        final SweepTimeline.Cursor cursor = tg.getCursor();
+        final int n = cursor.outline(site, PARABOLA_SEGMENTS);
+        final double[] x = cursor.getOutlineX();
+        final double[] y = cursor.getOutlineY();
+
+        ensureFaceOutlineCapacity(n);
+        for (int i = 0; i < n; i++) {
+            faceOutline[i * 2] = x[i];
+            faceOutline[i * 2 + 1] = y[i];
+        }
+
+        final Text label = tg.getLabel(site);
+        if (label != null)
+            label.setVisible(n > 2);
+
+        if (n > 2) {
+            drawFace(tg.getFace(site), tg.getInset(site), label, faceOutline, n, site, points.get(site));
+        } else {
+            tg.getFace(site).getPoints().clear();
+            if (tg.getInset(site) != null)
+                tg.getInset(site).getPoints().clear();
+        }
+    }
+
+    /**
+     * @return the graphics of the given edge if it is a parabola of the beach line,
+     *         whose points have been sampled for this frame; null otherwise
+     */
+    private static GraphicsState.BeachLineGraphics sampledParabola(final GraphicsState gs, final Edge edge) {
+        return edge instanceof ParabolaEdge ? gs.getBeachLine().get(edge) : null;
+    }
+
+    private void ensureParabolaSampleCapacity(final int points) {
+        if (parabolaSamples.length < points * 2)
+            parabolaSamples = Arrays.copyOf(parabolaSamples, Math.max(points * 2, parabolaSamples.length * 2));
+    }
+
+    private void ensureFaceOutlineCapacity(final int points) {
+        if (faceOutline.length < points * 2)
+            faceOutline = Arrays.copyOf(faceOutline, Math.max(points * 2, faceOutline.length * 2));
+    }
+
+    public void drawGraphicsState(final GraphicsState gs, final double sweepY) {
+        final Map<Vertex, Point2D> actualPoints = new HashMap<>();
+        parabolaSampleCount = 0;
+
+        if (gs.getTopLine() != null) {
+            gs.getTopLine().setStartX(voronoi.getTopBorder().getOrigin().getX());
+            gs.getTopLine().setStartY(voronoi.getTopBorder().getOrigin().getY());
+            gs.getTopLine().setEndX(voronoi.getTopBorder().getNext().getOrigin().getX());
+            gs.getTopLine().setEndY(voronoi.getTopBorder().getOrigin().getY());
+        }
+
+        if (!gs.getBeachLine().isEmpty()) {
+            double minY = voronoi.getTopBorder().getOrigin().getY();
+            for (final Map.Entry<Edge, GraphicsState.BeachLineGraphics> entry : gs.getBeachLine().entrySet()) {
+                final Edge edge = entry.getKey();
+                final Shape shape = entry.getValue().getLine();
+                final Text text = entry.getValue().getLabel();
+
+                if (edge instanceof ParabolaEdge) {
+                    final Point2D focus = ((ParabolaEdge) edge).focus;
+
+                    final double topY = Util.beachLineHeightForPoint(focus.getX(), focus, sweepY);
+                    if (topY < minY)
+                        minY = topY;
+
+                    final double x0 = Util.beachLineIntersectionX(edge.getPrevious(), edge, sweepY);
+                    final double x1 = Util.beachLineIntersectionX(edge, edge.getNext(), sweepY);
+
+                    final int segments = Util.beachLineSegments(x0, x1, focus, sweepY, PARABOLA_TOLERANCE,
+                            MAX_PARABOLA_SEGMENTS);
+                    final int start = parabolaSampleCount;
+                    ensureParabolaSampleCapacity(start + segments + 1);
+                    for (int i = 0; i <= segments; i++) {
+                        final double x = (x1 - x0) * i / segments + x0;
+                        parabolaSamples[(start + i) * 2] = x;
+                        parabolaSamples[(start + i) * 2 + 1] = Util.beachLineHeightForPoint(x, focus, sweepY);
+                    }
+                    parabolaSampleCount += segments + 1;
+                    entry.getValue().setSamples(start, segments + 1);
+
+                    actualPoints.put(edge.getOrigin(),
+                            new Point2D(parabolaSamples[start * 2], parabolaSamples[start * 2 + 1]));
+
+                    ((Polyline) shape).getPoints()
+                            .setAll(parabolaView.view(parabolaSamples, start * 2, (segments + 1) * 2));
+
+                    if (text != null) {
+                        final double midX = 0.5 * (x0 + x1);
+                        text.setX(midX - text.getLayoutBounds().getWidth() / 2);
+                        text.setY(Util.beachLineHeightForPoint(midX, focus, sweepY));
+                    }
+                } else {
+                    double x0, y0, x1, y1;
+                    if (edge.isHorizontal()) {
+                        x0 = Util.beachLineIntersectionX(edge.getPrevious(), edge, sweepY);
+                        x1 = Util.beachLineIntersectionX(edge, edge.getNext(), sweepY);
+                        y0 = y1 = edge == voronoi.getTopBorder() ? minY : edge.getOrigin().getY();
+
+                        actualPoints.put(edge.getOrigin(), new Point2D(x0, y0));
+                    } else {
+                        x0 = x1 = edge.getOrigin().getX();
+                        y0 = edge.getPrevious() == voronoi.getTopBorder() ? minY : edge.getOrigin().getY();
+                        y1 = edge.getNext() == voronoi.getTopBorder() ? minY : edge.getNext().getOrigin().getY();
+
+                        if (edge.getPrevious() instanceof ParabolaEdge) {
+                            x0 = x1 = edge.getNext().getOrigin().getX();
+                            y0 = Util.beachLineHeightForPoint(x0, ((ParabolaEdge) edge.getPrevious()).focus, sweepY);
+                        } else if (edge.getNext() instanceof ParabolaEdge) {
+                            y1 = Util.beachLineHeightForPoint(x0, ((ParabolaEdge) edge.getNext()).focus, sweepY);
+                        }
+
+                        actualPoints.put(edge.getOrigin(), new Point2D(x0, y0));
+                    }
+
+                    final Line line = (Line) shape;
+                    line.setStartX(x0);
+                    line.setStartY(y0);
+                    line.setEndX(x1);
+                    line.setEndY(y1);
+
+                    if (text != null) {
+                        text.setX(0.5 * (x0 + x1 - text.getLayoutBounds().getWidth()));
+                        text.setY(0.5 * (y0 + y1));
+                    }
+                }
+            }
+        }
+
+        for (final Face f : gs.getFaces().keySet()) {
+            final Polygon poly = gs.getFacePolygon(f);
+
+            int n = 0;
+            final Edge start = f.getBoundaryEdge();
+            Edge edge = start;
+            do {
+                final GraphicsState.BeachLineGraphics arc = sampledParabola(gs, edge);
+                final GraphicsState.BeachLineGraphics twinArc = arc == null ? sampledParabola(gs, edge.getTwin())
+                        : null;
+                if (arc != null) {
+                    final int end = arc.getSampleStart() + arc.getSampleCount();
+                    ensureFaceOutlineCapacity(n + arc.getSampleCount());
+                    for (int i = arc.getSampleStart() + 1; i < end; i++) {
+                        faceOutline[n * 2] = parabolaSamples[i * 2];
+                        faceOutline[n++ * 2 + 1] = parabolaSamples[i * 2 + 1];
+                    }
+                } else if (twinArc != null) {
+                    final int end = twinArc.getSampleStart() + twinArc.getSampleCount();
+                    ensureFaceOutlineCapacity(n + twinArc.getSampleCount());
+                    for (int i = end - 1; i > twinArc.getSampleStart(); i--) {
+                        faceOutline[n * 2] = parabolaSamples[i * 2];
+                        faceOutline[n++ * 2 + 1] = parabolaSamples[i * 2 + 1];
+                    }
+                } else {
+                    final Point2D point = actualPoints.getOrDefault(edge.getOrigin(), edge.getOrigin().getPoint());
+                    ensureFaceOutlineCapacity(n + 1);
+                    faceOutline[n * 2] = point.getX();
+                    faceOutline[n++ * 2 + 1] = point.getY();
+                }
+                edge = edge.getNext();
+            } while (edge != start);
+
+            drawFace(poly, gs.getFaceInset(f), gs.getFaceLabel(f), faceOutline, n, f.hashCode(),
+                    f.getContainedPoint());
+        }
+
+        for (final Point2D p : gs.getPoints().keySet()) {
+            final Circle point = gs.getPoint(p);
+            point.setCenterX(p.getX());
+            point.setCenterY(p.getY());
+
+            final Text label = gs.getPointLabel(p);
+            if (label != null) {
+                label.setX(p.getX() + 4);
+                label.setY(p.getY() - 4);
+            }
+        }
+
+        for (final CircleEvent cevent : gs.getCircleEvents().keySet()) {
+            final Circle circle = gs.getCircleEventCircle(cevent);
+            circle.setCenterX(cevent.center.getX());
+            circle.setCenterY(cevent.center.getY());
+            circle.setRadius(cevent.radius);
+
+            final Circle point = gs.getCircleEventPoint(cevent);
+            point.setCenterX(cevent.point.getX());
+            point.setCenterY(cevent.point.getY());
+
+            final Text label = gs.getCircleEventLabel(cevent);
+            label.setX(cevent.point.getX() - label.getLayoutBounds().getWidth() / 2);
+            label.setY(cevent.point.getY());
+
+            final Circle center = gs.getCircleEventCenter(cevent);
+            center.setCenterX(cevent.center.getX());
+            center.setCenterY(cevent.center.getY());
+        }
+
+        drawSweepLine(gs.getSweepLine(), sweepY);
+    }
+
+    /**
+     * Sets the outline of a cell, its inset and the position of its label.
+     *
+     * @param poly  - the polygon of the cell
+     * @param inset - the inset polygon of the cell, or null
+     * @param label - the label of the cell, or null
+     * @param pts   - the coordinates of the vertices of the cell, alternating x
+     *              and y, in order around the cell, in its first elements
+     * @param count - the number of vertices of the cell
+     * @param seed  - the seed for jittering the edges of the cell
+     * @param site  - the site of the cell, or null
+     */
+    private void drawFace(final Polygon poly, final Polygon inset, final Text label, final double[] pts,
+            final int count, final long seed, final Point2D site) {
+        if (JITTER_EDGES) {
+            final Random rand1 = new Random();
+            final Random rand2 = new Random(seed);
+
+            poly.getPoints().clear();
+            final int n = count * 2;
+            for (int i = 0; i < n; i += 2) {
+                final double x0 = pts[(i - 2 + n) % n];
+                final double y0 = pts[(i - 1 + n) % n];
+                final double x1 = pts[i];
+                final double y1 = pts[i + 1];
+                final double x2 = pts[(i + 2) % n];
+                final double y2 = pts[(i + 3) % n];
+
+                final double len = Math.hypot(x1 - x0, y1 - y0) + Math.hypot(x2 - x1, y2 - y1);
+
+                poly.getPoints()
+                        .add(x1 + (rand1.nextDouble() - 0.5) * len / 100 + rand2.nextGaussian() * len / 100);
+                poly.getPoints()
+                        .add(y1 + (rand1.nextDouble() - 0.5) * len / 100 + rand2.nextGaussian() * len / 100);
+            }
+        } else {
+            poly.getPoints().setAll(faceView.view(pts, 0, count * 2));
+        }
+
+        if (inset != null) {
+            final int numPts = count;
+            if (numPts < 2) {
+                inset.getPoints().clear();
+            } else {
+                Line2DLLNode head = new Line2DLLNode();
+                head.data = new Line2D(pts[0], pts[1], pts[numPts * 2 - 2], pts[numPts * 2 - 1]);
+                Line2DLLNode curr = head;
+                for (int i = 0; i < numPts - 1; i++) {
+                    final Line2DLLNode next = new Line2DLLNode();
+                    next.data = new Line2D(pts[i * 2 + 2], pts[i * 2 + 3], pts[i * 2], pts[i * 2 + 1]);
+                    curr.next = next;
+                    next.prev = curr;
+                    curr = next;
+                }
+                curr.next = head;
+                head.prev = curr;
+
+                final PriorityQueue<EdgeCollapseEvent> pq = new PriorityQueue<>();
+                curr = head;
+                do {
+                    pq.add(new EdgeCollapseEvent(curr));
+                    curr = curr.next;
+                } while (curr != head);
+
+                if (site != null && (int) site.getX() == 651) {
+                    for (final EdgeCollapseEvent ece : pq) {
+                        System.err.println(ece.radius);
+                    }
+                    System.err.println();
+                }
+
+                while (head.next.next != head) {
+                    final EdgeCollapseEvent event = pq.poll();
+                    if (event.radius > INSET_DISTANCE)
+                        break;
+
+                    if (event.mid.prev != event.prev || event.mid.next != event.next || event.prev.next != event.mid
+                            || event.next.prev != event.mid)
+                        continue;
+
+                    event.prev.next = event.next;
+                    event.next.prev = event.prev;
+                    pq.add(new EdgeCollapseEvent(event.prev));
+                    pq.add(new EdgeCollapseEvent(event.next));
+
+                    if (head == event.mid)
+                        head = event.next;
+                }
+
+                inset.getPoints().clear();
+                if (head.next.next != head) {
+                    curr = head;
+                    do {
+                        final Point2D intersect = Util.offsetIntersection(curr.data,
+                                curr.next.data, INSET_DISTANCE);
+
+                        if (site != null && (int) site.getX() == 651) {
+                            for (int i = 0; i < numPts; i++) {
+                                if (Util.distanceOffLine(new Line2D(pts[i * 2], pts[i * 2 + 1],
+                                        pts[i == numPts - 1 ? 0 : i * 2 + 2],
+                                        pts[i == numPts - 1 ? 1 : i * 2 + 3]), intersect) > 0) {
+                                    System.err.println(Arrays.toString(Arrays.copyOf(pts, count * 2)));
+                                    Line2DLLNode ll = head;
+                                    do {
+                                        System.err.print(ll.data);
+                                        System.err.println(", ");
+                                        ll = ll.next;
+                                    } while (ll != head);
+                                    System.err.println();
+                                }
+                            }
+                        }
+
+                        inset.getPoints().addAll(intersect.getX(), intersect.getY());
+                        curr = curr.next;
+                    } while (curr != head);
+                }
+            }
+        }
+
+        if (label != null) {
+            // Copy the points, with the first point also added at the end to remove the
+            // need for the modulo operator.
+            // We sacrifice a small amount of performance here for readability
+            final double[] ptArr = Arrays.copyOf(pts, count * 2 + 2);
+            ptArr[count * 2] = pts[0];
+            ptArr[count * 2 + 1] = pts[1];
+
+            // Formula here: https://en.wikipedia.org/wiki/Centroid (accessed 21 Dec. 2020)
+            final double area = 0.5 * IntStream.range(0, count)
+                    .mapToDouble(i -> ptArr[i * 2] * ptArr[i * 2 + 3] - ptArr[i * 2 + 2] * ptArr[i * 2 + 1])
+                    .sum();
+
+            final double centroidX = 1 / (6 * area) * IntStream.range(0, count)
+                    .mapToDouble(i -> (ptArr[i * 2] + ptArr[i * 2 + 2])
+                            * (ptArr[i * 2] * ptArr[i * 2 + 3] - ptArr[i * 2 + 2] * ptArr[i * 2 + 1]))
+                    .sum();
+            final double centroidY = 1 / (6 * area) * IntStream.range(0, count)
+                    .mapToDouble(i -> (ptArr[i * 2 + 1] + ptArr[i * 2 + 3])
+                            * (ptArr[i * 2] * ptArr[i * 2 + 3] - ptArr[i * 2 + 2] * ptArr[i * 2 + 1]))
+                    .sum();
+
+            label.setX(centroidX - label.getLayoutBounds().getWidth() / 2);
+            label.setY(centroidY);
+        }
+    }
+
+    public double getHueOfPoint(final Point2D point) {
+        if (!points.contains(point))
+            return -1;
+
+        return hueOf(point);
+    }
+
+    private static double hueOf(final Point2D point) {
+        return 360. * ((System.identityHashCode(point) & 0xFFFFFF) / (double) 0xFFFFFF);
+    }
+
+    /**
+     * @return true if the animation is drawn onto a canvas; false if it is drawn
+     *         with a node per shape
+     */
+    public boolean isCanvasMode() {
+        return canvasMode;
+    }
+
+    public Voronoi getVoronoi() {
+        return this.voronoi;
+    }
+
+    public Rectangle2D getBounds() {
+        return bounds;
+    }
+
+    private static class Line2DLLNode {
+        Line2DLLNode prev, next;
+        Line2D data;
+    }
+
+    private static class EdgeCollapseEvent implements Comparable<EdgeCollapseEvent> {
+        final double radius;
+
+        final Line2DLLNode prev, mid, next;
+
+        EdgeCollapseEvent(final Line2DLLNode mid) {
+            this.mid = mid;
+            this.prev = mid.prev;
+            this.next = mid.next;
+
+            final double radius = Util.circleTangentToLines(prev.data, mid.data, next.data).getRadius();
+            this.radius = Double.isFinite(radius) ? radius : -1;
+        }
+
+        @Override
+        public int compareTo(final EdgeCollapseEvent o) {
+            return Double.compare(radius, o.radius);
+        }
+    }
+
+}